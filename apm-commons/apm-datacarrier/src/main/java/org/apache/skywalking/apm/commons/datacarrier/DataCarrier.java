@@ -25,6 +25,8 @@ import org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumeDriver;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumerPool;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IDriver;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.IWaitStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.SleepWaitStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
 import org.apache.skywalking.apm.commons.datacarrier.partition.SimpleRollingPartitioner;
 
@@ -123,10 +125,25 @@ public class DataCarrier<T> {
      * @param num      number of consumer threads
      */
     public DataCarrier consume(IConsumer<T> consumer, int num, long consumeCycle) {
+        return this.consume(consumer, num, consumeCycle, SleepWaitStrategy.CREATOR);
+    }
+
+    /**
+     * set consumeDriver to this Carrier. consumer begin to run when {@link DataCarrier#produce} begin to work.
+     *
+     * @param consumer            single instance of consumer, all consumer threads will all use this instance.
+     * @param num                 number of consumer threads
+     * @param waitStrategyCreator creates the strategy of every consumer thread to wait when there is nothing to
+     *                            consume, such as {@link SleepWaitStrategy} or {@code AdaptiveWaitStrategy}.
+     */
+    public DataCarrier consume(IConsumer<T> consumer,
+                               int num,
+                               long consumeCycle,
+                               IWaitStrategy.Creator waitStrategyCreator) {
         if (driver != null) {
             driver.close(channels);
         }
-        driver = new ConsumeDriver<T>(this.name, this.channels, consumer, num, consumeCycle);
+        driver = new ConsumeDriver<T>(this.name, this.channels, consumer, num, consumeCycle, waitStrategyCreator);
         driver.begin(channels);
         return this;
     }
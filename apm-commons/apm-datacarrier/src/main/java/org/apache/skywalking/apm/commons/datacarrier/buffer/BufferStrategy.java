@@ -19,5 +19,17 @@
 package org.apache.skywalking.apm.commons.datacarrier.buffer;
 
 public enum BufferStrategy {
-    BLOCKING, IF_POSSIBLE
+    /**
+     * Block the producer until there is free space, based on {@link ArrayBlockingQueueBuffer}.
+     */
+    BLOCKING,
+    /**
+     * Drop the data when the slot is still occupied, based on {@link Buffer}.
+     */
+    IF_POSSIBLE,
+    /**
+     * Drop the data when the ring is full, based on the multi-producer/single-consumer {@link RingBuffer}. The
+     * consumer drains only the filled range.
+     */
+    RING
 }
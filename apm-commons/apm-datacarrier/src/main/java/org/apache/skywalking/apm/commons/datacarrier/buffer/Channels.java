@@ -18,6 +18,8 @@
 
 package org.apache.skywalking.apm.commons.datacarrier.buffer;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.IWaitStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
 
 /**
@@ -26,6 +28,10 @@ import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
  */
 public class Channels<T> {
     private final QueueBuffer<T>[] bufferChannels;
+    /**
+     * The wait strategies of the consumer threads, indexed by the channel they consume, signaled after saving data.
+     */
+    private final AtomicReferenceArray<IWaitStrategy> waitStrategies;
     private IDataPartitioner<T> dataPartitioner;
     private final BufferStrategy strategy;
     private final long size;
@@ -34,9 +40,12 @@ public class Channels<T> {
         this.dataPartitioner = partitioner;
         this.strategy = strategy;
         bufferChannels = new QueueBuffer[channelSize];
+        waitStrategies = new AtomicReferenceArray<>(channelSize);
         for (int i = 0; i < channelSize; i++) {
             if (BufferStrategy.BLOCKING.equals(strategy)) {
                 bufferChannels[i] = new ArrayBlockingQueueBuffer<>(bufferSize, strategy);
+            } else if (BufferStrategy.RING.equals(strategy)) {
+                bufferChannels[i] = new RingBuffer<>(bufferSize, strategy);
             } else {
                 bufferChannels[i] = new Buffer<>(bufferSize, strategy);
             }
@@ -48,7 +57,7 @@ public class Channels<T> {
     public boolean save(T data) {
         int index = dataPartitioner.partition(bufferChannels.length, data);
         int retryCountDown = 1;
-        if (BufferStrategy.IF_POSSIBLE.equals(strategy)) {
+        if (!BufferStrategy.BLOCKING.equals(strategy)) {
             int maxRetryCount = dataPartitioner.maxRetryCount();
             if (maxRetryCount > 1) {
                 retryCountDown = maxRetryCount;
@@ -56,6 +65,10 @@ public class Channels<T> {
         }
         for (; retryCountDown > 0; retryCountDown--) {
             if (bufferChannels[index].save(data)) {
+                IWaitStrategy waitStrategy = waitStrategies.get(index);
+                if (waitStrategy != null) {
+                    waitStrategy.signal();
+                }
                 return true;
             }
         }
@@ -90,4 +103,12 @@ public class Channels<T> {
     public QueueBuffer<T> getBuffer(int index) {
         return this.bufferChannels[index];
     }
+
+    /**
+     * Set the wait strategy of the consumer thread which consumes the channel of the given index, to wake it up when
+     * data is saved into the channel.
+     */
+    public void setWaitStrategy(int index, IWaitStrategy waitStrategy) {
+        this.waitStrategies.set(index, waitStrategy);
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer/single-consumer ring queue.
+ * <p>
+ * Every slot has its own sequence, which tells the producer whether the slot is free for the given position, and the
+ * consumer whether the element of the position has been published. The producers claim positions by CAS on the
+ * producer index, and the only consumer drains the published range from the consumer index, rather than scanning the
+ * whole array like {@link Buffer} does. The capacity is rounded up to a power of two.
+ * <p>
+ * The producer index and the consumer index share one {@link AtomicLongArray}, but they are far away from each other
+ * and from the array header, to avoid false sharing between the producers and the consumer.
+ */
+public class RingBuffer<T> implements QueueBuffer<T> {
+    private static final int PRODUCER_INDEX = 15;
+    private static final int CONSUMER_INDEX = 47;
+    private static final int INDEXES_LENGTH = 63;
+
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLongArray indexes;
+    private final int mask;
+    private BufferStrategy strategy;
+
+    RingBuffer(int bufferSize, BufferStrategy strategy) {
+        int capacity = roundToPowerOfTwo(bufferSize);
+        this.buffer = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.indexes = new AtomicLongArray(INDEXES_LENGTH);
+        this.mask = capacity - 1;
+        this.strategy = strategy;
+    }
+
+    @Override
+    public void setStrategy(BufferStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Save the data into the next free slot. When the ring is full, {@link BufferStrategy#BLOCKING} waits for the
+     * consumer, others drop the data.
+     */
+    @Override
+    public boolean save(T data) {
+        long position;
+        int slot;
+        while (true) {
+            position = indexes.get(PRODUCER_INDEX);
+            slot = (int) position & mask;
+            long available = sequences.get(slot) - position;
+            if (available == 0) {
+                if (indexes.compareAndSet(PRODUCER_INDEX, position, position + 1)) {
+                    break;
+                }
+            } else if (available < 0) {
+                // The slot of the previous round hasn't been consumed, the ring is full.
+                if (strategy != BufferStrategy.BLOCKING) {
+                    return false;
+                }
+                Thread.yield();
+            }
+            // Otherwise, the position has been claimed by another producer, try the next one.
+        }
+        buffer[slot] = data;
+        sequences.lazySet(slot, position + 1);
+        return true;
+    }
+
+    @Override
+    public int getBufferSize() {
+        return buffer.length;
+    }
+
+    /**
+     * Drain the published elements, stop at the first position which hasn't been published yet.
+     */
+    @Override
+    public void obtain(List<T> consumeList) {
+        long position = indexes.get(CONSUMER_INDEX);
+        final long end = position + buffer.length;
+        for (; position < end; position++) {
+            int slot = (int) position & mask;
+            if (sequences.get(slot) != position + 1) {
+                break;
+            }
+            consumeList.add((T) buffer[slot]);
+            buffer[slot] = null;
+            sequences.lazySet(slot, position + buffer.length);
+        }
+        indexes.lazySet(CONSUMER_INDEX, position);
+    }
+
+    /**
+     * @return true if there is no published or being published element.
+     */
+    public boolean isEmpty() {
+        return indexes.get(CONSUMER_INDEX) == indexes.get(PRODUCER_INDEX);
+    }
+
+    private static int roundToPowerOfTwo(int value) {
+        if (value <= 1) {
+            return 1;
+        }
+        int highestOneBit = Integer.highestOneBit(value);
+        return highestOneBit == value ? value : highestOneBit << 1;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spin, then yield, then park. The consumer re-checks the buffers immediately in the first rounds after consuming
+ * data, as more data usually follows in a burst. After that, it parks at most one consume cycle, and the producers
+ * unpark it as soon as new data is saved into its channels.
+ * <p>
+ * The data saved between the last empty check and the parking is picked up at the latest when the park times out, so
+ * the latency is never worse than {@link SleepWaitStrategy}.
+ */
+public class AdaptiveWaitStrategy implements IWaitStrategy {
+    public static final Creator CREATOR = AdaptiveWaitStrategy::new;
+
+    private static final int SPIN_ROUNDS = 100;
+    private static final int YIELD_ROUNDS = SPIN_ROUNDS + 10;
+
+    private final long parkNanos;
+    private volatile Thread waiter;
+
+    public AdaptiveWaitStrategy(long consumeCycle) {
+        this.parkNanos = TimeUnit.MILLISECONDS.toNanos(consumeCycle);
+    }
+
+    @Override
+    public void waitFor(int idleRounds) {
+        if (idleRounds <= SPIN_ROUNDS) {
+            return;
+        }
+        if (idleRounds <= YIELD_ROUNDS) {
+            Thread.yield();
+            return;
+        }
+        waiter = Thread.currentThread();
+        LockSupport.parkNanos(this, parkNanos);
+        waiter = null;
+    }
+
+    @Override
+    public void signal() {
+        Thread thread = waiter;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
@@ -41,18 +41,27 @@ public class ConsumeDriver<T> implements IDriver {
         for (int i = 0; i < num; i++) {
             consumerThreads[i] = new ConsumerThread(
                 "DataCarrier." + name + ".Consumer." + i + ".Thread", getNewConsumerInstance(consumerClass, properties),
-                consumeCycle
+                new SleepWaitStrategy(consumeCycle)
             );
             consumerThreads[i].setDaemon(true);
         }
     }
 
     public ConsumeDriver(String name, Channels<T> channels, IConsumer<T> prototype, int num, long consumeCycle) {
+        this(name, channels, prototype, num, consumeCycle, SleepWaitStrategy.CREATOR);
+    }
+
+    public ConsumeDriver(String name,
+                         Channels<T> channels,
+                         IConsumer<T> prototype,
+                         int num,
+                         long consumeCycle,
+                         IWaitStrategy.Creator waitStrategyCreator) {
         this(channels, num);
         prototype.init(new Properties());
         for (int i = 0; i < num; i++) {
             consumerThreads[i] = new ConsumerThread(
-                "DataCarrier." + name + ".Consumer." + i + ".Thread", prototype, consumeCycle);
+                "DataCarrier." + name + ".Consumer." + i + ".Thread", prototype, waitStrategyCreator.create(consumeCycle));
             consumerThreads[i].setDaemon(true);
         }
 
@@ -118,6 +127,7 @@ public class ConsumeDriver<T> implements IDriver {
         for (int channelIndex = 0; channelIndex < channelSize; channelIndex++) {
             int consumerIndex = channelIndex % consumerThreads.length;
             consumerThreads[consumerIndex].addDataSource(channels.getBuffer(channelIndex));
+            channels.setWaitStrategy(channelIndex, consumerThreads[consumerIndex].getWaitStrategy());
         }
 
     }
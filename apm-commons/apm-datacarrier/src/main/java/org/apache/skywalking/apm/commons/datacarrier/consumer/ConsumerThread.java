@@ -27,14 +27,18 @@ public class ConsumerThread<T> extends Thread {
     private volatile boolean running;
     private IConsumer<T> consumer;
     private List<DataSource> dataSources;
-    private long consumeCycle;
+    private IWaitStrategy waitStrategy;
 
-    ConsumerThread(String threadName, IConsumer<T> consumer, long consumeCycle) {
+    ConsumerThread(String threadName, IConsumer<T> consumer, IWaitStrategy waitStrategy) {
         super(threadName);
         this.consumer = consumer;
         running = false;
         dataSources = new ArrayList<DataSource>(1);
-        this.consumeCycle = consumeCycle;
+        this.waitStrategy = waitStrategy;
+    }
+
+    IWaitStrategy getWaitStrategy() {
+        return waitStrategy;
     }
 
     /**
@@ -49,12 +53,16 @@ public class ConsumerThread<T> extends Thread {
         running = true;
 
         final List<T> consumeList = new ArrayList<T>(1500);
+        int idleRounds = 0;
         while (running) {
-            if (!consume(consumeList)) {
-                try {
-                    Thread.sleep(consumeCycle);
-                } catch (InterruptedException e) {
+            if (consume(consumeList)) {
+                idleRounds = 0;
+            } else {
+                // saturate, as an idle consumer could count beyond the int range
+                if (idleRounds < Integer.MAX_VALUE) {
+                    idleRounds++;
                 }
+                waitStrategy.waitFor(idleRounds);
             }
         }
 
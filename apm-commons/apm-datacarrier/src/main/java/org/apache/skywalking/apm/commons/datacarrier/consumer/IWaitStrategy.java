@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+/**
+ * The strategy of a consumer thread to wait, when it found nothing to consume. Every consumer thread owns its
+ * instance, created by the {@link Creator}.
+ */
+public interface IWaitStrategy {
+    /**
+     * Wait before the next consuming round.
+     *
+     * @param idleRounds the number of the continuous rounds found nothing, starts from 1, and stays at
+     *                   {@link Integer#MAX_VALUE} once reached.
+     */
+    void waitFor(int idleRounds);
+
+    /**
+     * Wake up the waiting consumer thread. This is called by the producers after the data saved, so it should be
+     * cheap when the consumer is not waiting.
+     */
+    default void signal() {
+    }
+
+    /**
+     * The creator of {@link IWaitStrategy}.
+     */
+    interface Creator {
+        /**
+         * @param consumeCycle the max time in millis to wait in one round.
+         */
+        IWaitStrategy create(long consumeCycle);
+    }
+}
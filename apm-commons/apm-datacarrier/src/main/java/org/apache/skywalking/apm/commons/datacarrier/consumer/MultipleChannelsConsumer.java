@@ -32,12 +32,16 @@ public class MultipleChannelsConsumer extends Thread {
     private volatile ArrayList<Group> consumeTargets;
     @SuppressWarnings("NonAtomicVolatileUpdate")
     private volatile long size;
-    private final long consumeCycle;
+    private final IWaitStrategy waitStrategy;
 
     public MultipleChannelsConsumer(String threadName, long consumeCycle) {
+        this(threadName, new SleepWaitStrategy(consumeCycle));
+    }
+
+    public MultipleChannelsConsumer(String threadName, IWaitStrategy waitStrategy) {
         super(threadName);
         this.consumeTargets = new ArrayList<Group>();
-        this.consumeCycle = consumeCycle;
+        this.waitStrategy = waitStrategy;
     }
 
     @Override
@@ -45,6 +49,7 @@ public class MultipleChannelsConsumer extends Thread {
         running = true;
 
         final List consumeList = new ArrayList(2000);
+        int idleRounds = 0;
         while (running) {
             boolean hasData = false;
             for (Group target : consumeTargets) {
@@ -52,11 +57,14 @@ public class MultipleChannelsConsumer extends Thread {
                 hasData = hasData || consume;
             }
 
-            if (!hasData) {
-                try {
-                    Thread.sleep(consumeCycle);
-                } catch (InterruptedException e) {
+            if (hasData) {
+                idleRounds = 0;
+            } else {
+                // saturate, as an idle consumer could count beyond the int range
+                if (idleRounds < Integer.MAX_VALUE) {
+                    idleRounds++;
                 }
+                waitStrategy.waitFor(idleRounds);
             }
         }
 
@@ -102,6 +110,9 @@ public class MultipleChannelsConsumer extends Thread {
         newList.add(group);
         consumeTargets = newList;
         size += channels.size();
+        for (int i = 0; i < channels.getChannelSize(); i++) {
+            channels.setWaitStrategy(i, waitStrategy);
+        }
     }
 
     public long size() {
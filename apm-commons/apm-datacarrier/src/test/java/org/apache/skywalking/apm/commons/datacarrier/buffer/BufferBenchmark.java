@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare {@link RingBuffer}, {@link Buffer} and {@link ArrayBlockingQueueBuffer} with 1, 8 and 64 producers. Like
+ * the agent reporters, a single consumer thread keeps draining the buffer in the background. The consumer is not a
+ * benchmark thread, so that the blocking producers are always released when the iteration ends.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, warmups = 1)
+public class BufferBenchmark {
+    private static final SampleData DATA = new SampleData();
+
+    @State(Scope.Benchmark)
+    public static class BufferState {
+        @Param({"RING", "IF_POSSIBLE", "BLOCKING"})
+        private BufferStrategy strategy;
+
+        private QueueBuffer<SampleData> buffer;
+        private volatile boolean consuming;
+        private Thread consumer;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            switch (strategy) {
+                case RING:
+                    buffer = new RingBuffer<>(1024, strategy);
+                    break;
+                case BLOCKING:
+                    buffer = new ArrayBlockingQueueBuffer<>(1024, strategy);
+                    break;
+                default:
+                    buffer = new Buffer<>(1024, strategy);
+            }
+            consuming = true;
+            consumer = new Thread(() -> {
+                List<SampleData> consumeList = new ArrayList<>(1024);
+                while (consuming) {
+                    buffer.obtain(consumeList);
+                    consumeList.clear();
+                }
+            });
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() throws InterruptedException {
+            consuming = false;
+            consumer.join();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean producers1(BufferState state) {
+        return state.buffer.save(DATA);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean producers8(BufferState state) {
+        return state.buffer.save(DATA);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean producers64(BufferState state) {
+        return state.buffer.save(DATA);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(BufferBenchmark.class.getName()).build();
+        new Runner(opt).run();
+    }
+}
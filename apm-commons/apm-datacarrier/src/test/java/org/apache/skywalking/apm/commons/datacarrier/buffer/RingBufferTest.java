@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RingBufferTest {
+    @Test
+    public void testCapacity() {
+        Assert.assertEquals(512, new RingBuffer<Integer>(300, BufferStrategy.RING).getBufferSize());
+        Assert.assertEquals(256, new RingBuffer<Integer>(256, BufferStrategy.RING).getBufferSize());
+        Assert.assertEquals(1, new RingBuffer<Integer>(0, BufferStrategy.RING).getBufferSize());
+    }
+
+    @Test
+    public void testSaveAndObtainInOrder() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4, BufferStrategy.RING);
+        Assert.assertTrue(buffer.isEmpty());
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                Assert.assertTrue(buffer.save(i));
+            }
+            Assert.assertFalse(buffer.save(4));
+
+            List<Integer> result = new ArrayList<>();
+            buffer.obtain(result);
+            Assert.assertEquals(4, result.size());
+            for (int i = 0; i < 4; i++) {
+                Assert.assertEquals(i, result.get(i).intValue());
+            }
+            Assert.assertTrue(buffer.isEmpty());
+        }
+    }
+
+    @Test
+    public void testObtainFilledRangeOnly() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(8, BufferStrategy.RING);
+        buffer.save(1);
+        buffer.save(2);
+        List<Integer> result = new ArrayList<>();
+        buffer.obtain(result);
+        Assert.assertEquals(2, result.size());
+
+        result.clear();
+        buffer.obtain(result);
+        Assert.assertTrue(result.isEmpty());
+
+        buffer.save(3);
+        buffer.obtain(result);
+        Assert.assertEquals(3, result.get(0).intValue());
+    }
+
+    @Test
+    public void testMultipleProducers() throws InterruptedException {
+        final int producerNum = 8;
+        final int perProducer = 10000;
+        final RingBuffer<Integer> buffer = new RingBuffer<>(1024, BufferStrategy.BLOCKING);
+        final CountDownLatch latch = new CountDownLatch(producerNum);
+        for (int p = 0; p < producerNum; p++) {
+            new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    buffer.save(i);
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        List<Integer> result = new ArrayList<>();
+        while (latch.getCount() > 0 || !buffer.isEmpty()) {
+            buffer.obtain(result);
+        }
+        Assert.assertEquals(producerNum * perProducer, result.size());
+    }
+}
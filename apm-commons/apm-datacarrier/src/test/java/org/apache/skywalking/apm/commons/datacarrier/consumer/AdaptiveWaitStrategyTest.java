@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveWaitStrategyTest {
+    @Test
+    public void testWakeUpByProducer() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(2);
+        DataCarrier<SampleData> carrier = new DataCarrier<>(1, 100, BufferStrategy.RING);
+        carrier.consume(new IConsumer<SampleData>() {
+            @Override
+            public void init(final Properties properties) {
+            }
+
+            @Override
+            public void consume(final List<SampleData> data) {
+                for (SampleData ignored : data) {
+                    latch.countDown();
+                }
+            }
+
+            @Override
+            public void onError(final List<SampleData> data, final Throwable t) {
+            }
+
+            @Override
+            public void onExit() {
+            }
+        }, 1, TimeUnit.MINUTES.toMillis(1), AdaptiveWaitStrategy.CREATOR);
+
+        Assert.assertTrue(carrier.produce(new SampleData()));
+        // Wait for the consumer to park, the consume cycle is much longer than the test timeout.
+        Thread.sleep(500);
+        Assert.assertTrue(carrier.produce(new SampleData()));
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        carrier.shutdownConsumers();
+    }
+
+    @Test
+    public void testSignalWithoutWaiter() {
+        AdaptiveWaitStrategy strategy = new AdaptiveWaitStrategy(20);
+        strategy.signal();
+        strategy.waitFor(1);
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.skywalking.apm.agent.core.base64;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * A wrapper of {@link java.util.Base64} with convenient conversion methods between {@code byte[]} and {@code String}
@@ -26,6 +27,15 @@ import java.nio.charset.StandardCharsets;
 public final class Base64 {
     private static final java.util.Base64.Decoder DECODER = java.util.Base64.getDecoder();
     private static final java.util.Base64.Encoder ENCODER = java.util.Base64.getEncoder();
+    private static final byte[] DECODE_TABLE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE_TABLE, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            DECODE_TABLE[alphabet.charAt(i)] = (byte) i;
+        }
+    }
 
     private Base64() {
     }
@@ -34,6 +44,55 @@ public final class Base64 {
         return new String(DECODER.decode(in), StandardCharsets.UTF_8);
     }
 
+    /**
+     * Decode the range of the given chars without copying it, the range must be checked by {@link #isBase64(CharSequence,
+     * int, int)} first.
+     *
+     * @param start the index of the first char, inclusive.
+     * @param end   the index of the last char, exclusive.
+     */
+    public static String decode2UTFString(CharSequence in, int start, int end) {
+        while (end > start && in.charAt(end - 1) == '=') {
+            end--;
+        }
+        byte[] out = new byte[(end - start) * 3 / 4];
+        int length = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = start; i < end; i++) {
+            bits = (bits << 6) | DECODE_TABLE[in.charAt(i)];
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                out[length++] = (byte) (bits >> bitCount);
+            }
+        }
+        return new String(out, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return true if the range of the given chars is a valid Base64 text, which could be decoded by {@link
+     * #decode2UTFString(CharSequence, int, int)}.
+     */
+    public static boolean isBase64(CharSequence in, int start, int end) {
+        int padding = 0;
+        while (end - padding > start && padding < 2 && in.charAt(end - padding - 1) == '=') {
+            padding++;
+        }
+        int dataEnd = end - padding;
+        int dataLength = dataEnd - start;
+        if (dataLength % 4 == 1 || padding > 0 && (end - start) % 4 != 0) {
+            return false;
+        }
+        for (int i = start; i < dataEnd; i++) {
+            char c = in.charAt(i);
+            if (c >= DECODE_TABLE.length || DECODE_TABLE[c] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static String encode(String text) {
         return ENCODER.encodeToString(text.getBytes(StandardCharsets.UTF_8));
     }
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.boot;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+
+/**
+ * The agent-wide scheduler shared by all {@link BootService}s, instead of one single-thread executor per service.
+ * <p>
+ * One daemon timer thread fires all the periodic tasks. Quick tasks, such as the sampling counter reset, run on the
+ * timer thread directly through {@link #scheduleAtFixedRate(String, Runnable, long, long, TimeUnit)}. Tasks doing
+ * network IO must use {@link #scheduleBlockingAtFixedRate(String, Runnable, long, long, TimeUnit)}, they are handed
+ * over to the worker pool, so a slow gRPC call can't delay the other tasks. A blocking task never overlaps itself, the
+ * triggers fired while the previous run is still in progress are skipped and counted.
+ * <p>
+ * The threads are daemon threads and never shut down, the services cancel their own futures in {@link
+ * BootService#shutdown()}.
+ */
+public enum AgentScheduler {
+    INSTANCE;
+
+    private static final ILog LOGGER = LogManager.getLogger(AgentScheduler.class);
+
+    private final ScheduledThreadPoolExecutor timer;
+    private final ThreadPoolExecutor workers;
+    private final ConcurrentHashMap<String, ScheduledTask> tasks = new ConcurrentHashMap<>();
+
+    AgentScheduler() {
+        timer = new ScheduledThreadPoolExecutor(1, new DefaultNamedThreadFactory("Scheduler"));
+        timer.setRemoveOnCancelPolicy(true);
+        // At most one in-flight run per blocking task, so the pool is bounded by the number of tasks.
+        workers = new ThreadPoolExecutor(
+            1, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            new DefaultNamedThreadFactory("Scheduler-Worker")
+        );
+    }
+
+    /**
+     * Run a quick, non-blocking task on the timer thread.
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(String name, Runnable task, long initialDelay, long period,
+                                                  TimeUnit unit) {
+        ScheduledTask scheduledTask = register(name, task, unit.toNanos(period));
+        return timer.scheduleAtFixedRate(scheduledTask::run, initialDelay, period, unit);
+    }
+
+    /**
+     * Run a task which may block, e.g. a remote call, on the worker pool. The run triggered while the previous one is
+     * still in progress is skipped.
+     */
+    public ScheduledFuture<?> scheduleBlockingAtFixedRate(String name, Runnable task, long initialDelay, long period,
+                                                          TimeUnit unit) {
+        ScheduledTask scheduledTask = register(name, task, unit.toNanos(period));
+        return timer.scheduleAtFixedRate(scheduledTask::dispatch, initialDelay, period, unit);
+    }
+
+    /**
+     * Run a one-shot task which may block on the worker pool.
+     */
+    public ScheduledFuture<?> schedule(String name, Runnable task, long delay, TimeUnit unit) {
+        ScheduledTask scheduledTask = register(name, task, 0);
+        return timer.schedule(scheduledTask::dispatch, delay, unit);
+    }
+
+    /**
+     * @return the task of the name, null if not scheduled.
+     */
+    public ScheduledTask getTask(String name) {
+        return tasks.get(name);
+    }
+
+    public Collection<ScheduledTask> getTasks() {
+        return Collections.unmodifiableCollection(tasks.values());
+    }
+
+    private ScheduledTask register(String name, Runnable task, long periodNanos) {
+        // A rebooted service replaces its previous task, only the latest metrics are kept.
+        ScheduledTask scheduledTask = new ScheduledTask(name, task, periodNanos);
+        tasks.put(name, scheduledTask);
+        return scheduledTask;
+    }
+
+    /**
+     * The scheduled task with its timing metrics.
+     */
+    public final class ScheduledTask {
+        private final String name;
+        private final Runnable task;
+        private final long periodNanos;
+        private final AtomicBoolean running = new AtomicBoolean(false);
+        private final AtomicLong runs = new AtomicLong(0);
+        private final AtomicLong skippedRuns = new AtomicLong(0);
+        private final AtomicLong totalNanos = new AtomicLong(0);
+        private volatile long maxNanos;
+
+        private ScheduledTask(String name, Runnable task, long periodNanos) {
+            this.name = name;
+            this.task = task;
+            this.periodNanos = periodNanos;
+        }
+
+        private void dispatch() {
+            if (!running.compareAndSet(false, true)) {
+                skippedRuns.incrementAndGet();
+                return;
+            }
+            try {
+                workers.execute(() -> {
+                    try {
+                        run();
+                    } finally {
+                        running.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                running.set(false);
+                skippedRuns.incrementAndGet();
+                LOGGER.warn(e, "Scheduled task {} is rejected.", name);
+            }
+        }
+
+        private void run() {
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                LOGGER.error(t, "Scheduled task {} failure.", name);
+            } finally {
+                long cost = System.nanoTime() - start;
+                runs.incrementAndGet();
+                totalNanos.addAndGet(cost);
+                if (cost > maxNanos) {
+                    maxNanos = cost;
+                }
+                if (periodNanos > 0 && cost > periodNanos) {
+                    LOGGER.warn(
+                        "Scheduled task {} took {}ms, longer than its period {}ms.", name,
+                        TimeUnit.NANOSECONDS.toMillis(cost), TimeUnit.NANOSECONDS.toMillis(periodNanos)
+                    );
+                }
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getRuns() {
+            return runs.get();
+        }
+
+        public long getSkippedRuns() {
+            return skippedRuns.get();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.get();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+    }
+}
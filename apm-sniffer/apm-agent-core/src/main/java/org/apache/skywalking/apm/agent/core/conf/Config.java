@@ -20,11 +20,14 @@ package org.apache.skywalking.apm.agent.core.conf;
 
 import java.util.Arrays;
 import java.util.List;
+import org.apache.skywalking.apm.agent.core.context.ContextStorageMode;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
 import org.apache.skywalking.apm.agent.core.logging.core.LogLevel;
 import org.apache.skywalking.apm.agent.core.logging.core.LogOutput;
 import org.apache.skywalking.apm.agent.core.logging.core.ResolverType;
 import org.apache.skywalking.apm.agent.core.logging.core.WriterFactory;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InterceptionMode;
+import org.apache.skywalking.apm.agent.core.remote.SegmentSerializationMode;
 import org.apache.skywalking.apm.util.Length;
 
 /**
@@ -86,6 +89,27 @@ public class Config {
          */
         public static int SAMPLE_N_PER_3_SECS = -1;
 
+        /**
+         * Trace the requests not sampled by {@link #SAMPLE_N_PER_3_SECS} too, but report their segments only if they
+         * are slow, have an error span, or share the trace id with a reported one.
+         */
+        public static boolean TAIL_SAMPLING_ENABLE = false;
+
+        /**
+         * The tail sampling keeps the segments taking no less time in milliseconds.
+         */
+        public static long TAIL_SAMPLING_LATENCY_THRESHOLD = 1000;
+
+        /**
+         * The max number of the segments held by the tail sampling, waiting for a kept segment of the same trace.
+         */
+        public static int TAIL_SAMPLING_MAX_PENDING_SEGMENTS = 1000;
+
+        /**
+         * The max time in milliseconds a segment is held by the tail sampling.
+         */
+        public static long TAIL_SAMPLING_PENDING_TIMEOUT = 5000;
+
         /**
          * If the operation name of the first span is included in this set, this segment should be ignored. Multiple
          * values should be separated by `,`.
@@ -145,6 +169,11 @@ public class Config {
          */
         public static boolean KEEP_TRACING = false;
 
+        /**
+         * Where the per-thread tracing context is kept, see {@link ContextStorageMode}.
+         */
+        public static ContextStorageMode CONTEXT_STORAGE = ContextStorageMode.THREAD_LOCAL;
+
         /**
          * Force open TLS for gRPC channel if true.
          */
@@ -205,6 +234,39 @@ public class Config {
          * How long grpc client will timeout in sending data to upstream.
          */
         public static int GRPC_UPSTREAM_TIMEOUT = 30;
+        /**
+         * Keep the segment stream open across the batches, rotate it at half of the upstream timeout.
+         */
+        public static boolean PERSISTENT_SEGMENT_STREAM = false;
+        /**
+         * The max bytes of segments sent through the persistent streams but not completed by the server yet.
+         */
+        public static long SEGMENT_STREAM_MAX_IN_FLIGHT_BYTES = 4 * 1024 * 1024;
+        /**
+         * Where the finished segments are transformed before being sent, see {@link SegmentSerializationMode}.
+         */
+        public static SegmentSerializationMode SEGMENT_SERIALIZATION = SegmentSerializationMode.CONSUMER;
+        /**
+         * The number of threads transforming the segments, works only in {@link SegmentSerializationMode#WORKER_POOL}.
+         */
+        public static int SEGMENT_SERIALIZATION_THREADS = 2;
+        /**
+         * Spool the segments into a memory-mapped file when the collector is unavailable or the buffer is full, and
+         * replay them after the collector is back.
+         */
+        public static boolean SEGMENT_SPOOL_ENABLE = false;
+        /**
+         * The spool file. Default is blank string, means, use "{theSkywalkingAgentJarDir}/spool/segment.spool".
+         */
+        public static String SEGMENT_SPOOL_PATH = "";
+        /**
+         * The max size of the spool file in bytes, the segments are abandoned when the spool is full.
+         */
+        public static long SEGMENT_SPOOL_MAX_SIZE = 64 * 1024 * 1024;
+        /**
+         * The max number of the spooled segments replayed per second.
+         */
+        public static int SEGMENT_SPOOL_REPLAY_RATE = 200;
         /**
          * Get profile task list interval
          */
@@ -217,6 +279,20 @@ public class Config {
          * If true, skywalking agent will enable periodically resolving DNS to update receiver service addresses.
          */
         public static boolean IS_RESOLVE_DNS_PERIODICALLY = false;
+        /**
+         * The compressor of the messages sent to the services in {@link #GRPC_COMPRESSION_SERVICES}, `gzip` is the
+         * only one supported by default. Empty means no compression.
+         */
+        public static String GRPC_COMPRESSION = "";
+        /**
+         * The gRPC services whose messages are compressed, separated by `,`.
+         */
+        public static String GRPC_COMPRESSION_SERVICES = "TraceSegmentReportService,LogReportService,MeterReportService";
+        /**
+         * The number of channels to the selected backend. Each call goes to the channel with the least calls in flight,
+         * so the long segment streams don't block the heartbeat and the other short calls.
+         */
+        public static int GRPC_CHANNEL_POOL_SIZE = 1;
     }
 
     public static class Profile {
@@ -285,12 +361,45 @@ public class Config {
          * The max size of message to send to server.Default is 10 MB.
          */
         public static int MAX_MESSAGE_SIZE = 10 * 1024 * 1024;
+
+        /**
+         * The max time in milliseconds the logs wait to be sent in a batch.
+         */
+        public static long LINGER_MS = 100;
+
+        /**
+         * The max serialized bytes of the logs sent in one stream.
+         */
+        public static long MAX_BATCH_BYTES = 4 * 1024 * 1024;
+
+        /**
+         * The max number of the logs sent in one stream.
+         */
+        public static int MAX_BATCH_COUNT = 2000;
     }
 
     public static class Buffer {
         public static int CHANNEL_SIZE = 5;
 
         public static int BUFFER_SIZE = 300;
+
+        /**
+         * If true, the segment and log reporters use the multi-producer/single-consumer ring buffer, see {@code
+         * BufferStrategy#RING}. The size of each ring is rounded up to a power of two.
+         */
+        public static boolean USE_RING_BUFFER = false;
+
+        /**
+         * If true, the consumer threads of the segment and log reporters spin, yield, then park when there is nothing
+         * to consume, and are woken up by the producers, rather than sleeping a whole consume cycle.
+         */
+        public static boolean ADAPTIVE_CONSUMER_WAIT = false;
+
+        /**
+         * The consume cycle of the segment and log reporters in milliseconds, the max time their consumer threads wait
+         * when there is nothing to consume.
+         */
+        public static long CONSUME_CYCLE = 20;
     }
 
     public static class Logging {
@@ -376,6 +485,14 @@ public class Config {
          * Mount the folders of the plugins. The folder path is relative to agent.jar.
          */
         public static List<String> MOUNT = Arrays.asList("plugins", "activations");
+
+        /**
+         * How to weave the interceptors of the instance methods. DELEGATION delegates every call to a shared
+         * interceptor bridge through a callable of the origin method. ADVICE inlines the interceptor calls into the
+         * enhanced methods, saving the allocations of the callable and the argument types per call. The bootstrap
+         * classes, the inherited methods and the interceptors overriding the arguments are always delegated.
+         */
+        public static InterceptionMode INTERCEPTION_MODE = InterceptionMode.DELEGATION;
     }
 
     public static class Correlation {
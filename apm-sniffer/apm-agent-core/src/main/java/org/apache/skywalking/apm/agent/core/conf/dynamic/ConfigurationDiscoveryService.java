@@ -26,15 +26,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.Getter;
+import org.apache.skywalking.apm.agent.core.boot.AgentScheduler;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
-import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.commands.CommandService;
 import org.apache.skywalking.apm.agent.core.conf.Config;
@@ -89,10 +88,8 @@ public class ConfigurationDiscoveryService implements BootService, GRPCChannelLi
 
     @Override
     public void boot() throws Throwable {
-        getDynamicConfigurationFuture = Executors.newSingleThreadScheduledExecutor(
-            new DefaultNamedThreadFactory("ConfigurationDiscoveryService")
-        ).scheduleAtFixedRate(
-            new RunnableWithExceptionProtection(
+        getDynamicConfigurationFuture = AgentScheduler.INSTANCE.scheduleBlockingAtFixedRate(
+            "ConfigurationDiscoveryService", new RunnableWithExceptionProtection(
                 this::getAgentDynamicConfig,
                 t -> LOGGER.error("Sync config from OAP error.", t)
             ),
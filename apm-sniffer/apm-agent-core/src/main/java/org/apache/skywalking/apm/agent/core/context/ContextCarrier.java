@@ -33,32 +33,38 @@ import org.apache.skywalking.apm.util.StringUtil;
  */
 @Setter(AccessLevel.PACKAGE)
 public class ContextCarrier implements Serializable {
-    @Getter
     private String traceId;
     /**
      * The segment id of the parent.
      */
-    @Getter
     private String traceSegmentId;
     /**
      * The span id in the parent segment.
      */
     @Getter
     private int spanId = -1;
-    @Getter
     private String parentService = Constants.EMPTY_STRING;
-    @Getter
     private String parentServiceInstance = Constants.EMPTY_STRING;
     /**
      * The endpoint(entrance URI/method signature) of the parent service.
      */
-    @Getter
     private String parentEndpoint;
     /**
      * The network address(ip:port, hostname:port) used in the parent service to access the current service.
      */
-    @Getter
     private String addressUsedAtClient;
+    /**
+     * The header this carrier is deserialized from. The string fields above are left null after deserializing, and
+     * read from the header lazily, unless they are set again.
+     */
+    @Setter(AccessLevel.NONE)
+    private SW8Header sw8Header;
+    /**
+     * The sample flag of the parent, false means the parent segment is only a candidate of the tail sampling, and may
+     * not be reported.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private boolean sampled = true;
     /**
      * The extension context contains the optional context to enhance the analysis in some certain scenarios.
      */
@@ -70,6 +76,45 @@ public class ContextCarrier implements Serializable {
     @Getter(AccessLevel.PACKAGE)
     private CorrelationContext correlationContext = new CorrelationContext();
 
+    public String getTraceId() {
+        return traceId == null && sw8Header != null ? sw8Header.getTraceId() : traceId;
+    }
+
+    public String getTraceSegmentId() {
+        return traceSegmentId == null && sw8Header != null ? sw8Header.getTraceSegmentId() : traceSegmentId;
+    }
+
+    public String getParentService() {
+        return parentService == null && sw8Header != null ? sw8Header.getParentService() : parentService;
+    }
+
+    public String getParentServiceInstance() {
+        return parentServiceInstance == null && sw8Header != null
+            ? sw8Header.getParentServiceInstance() : parentServiceInstance;
+    }
+
+    public String getParentEndpoint() {
+        return parentEndpoint == null && sw8Header != null ? sw8Header.getParentEndpoint() : parentEndpoint;
+    }
+
+    public String getAddressUsedAtClient() {
+        return addressUsedAtClient == null && sw8Header != null
+            ? sw8Header.getAddressUsedAtClient() : addressUsedAtClient;
+    }
+
+    /**
+     * @return the header this carrier is deserialized from, if none of the fields has been changed since. Otherwise,
+     * null.
+     */
+    public SW8Header getSw8Header() {
+        if (sw8Header != null && traceId == null && traceSegmentId == null && parentService == null
+            && parentServiceInstance == null && parentEndpoint == null && addressUsedAtClient == null
+            && spanId == sw8Header.getSpanId()) {
+            return sw8Header;
+        }
+        return null;
+    }
+
     /**
      * @return the list of items, which could exist in the current tracing context.
      */
@@ -115,7 +160,7 @@ public class ContextCarrier implements Serializable {
         if (this.isValid(version)) {
             return StringUtil.join(
                 '-',
-                "1",
+                sampled ? "1" : "0",
                 Base64.encode(this.getTraceId()),
                 Base64.encode(this.getTraceSegmentId()),
                 this.getSpanId() + "",
@@ -138,20 +183,18 @@ public class ContextCarrier implements Serializable {
             return this;
         }
         if (HeaderVersion.v3.equals(version)) {
-            String[] parts = text.split("-", 8);
-            if (parts.length == 8) {
-                try {
-                    // parts[0] is sample flag, always trace if header exists.
-                    this.traceId = Base64.decode2UTFString(parts[1]);
-                    this.traceSegmentId = Base64.decode2UTFString(parts[2]);
-                    this.spanId = Integer.parseInt(parts[3]);
-                    this.parentService = Base64.decode2UTFString(parts[4]);
-                    this.parentServiceInstance = Base64.decode2UTFString(parts[5]);
-                    this.parentEndpoint = Base64.decode2UTFString(parts[6]);
-                    this.addressUsedAtClient = Base64.decode2UTFString(parts[7]);
-                } catch (IllegalArgumentException ignored) {
-
-                }
+            SW8Header header = SW8Header.parse(text);
+            if (header != null) {
+                // The fields are decoded from the header only when they are read.
+                this.sw8Header = header;
+                this.sampled = header.isSampled();
+                this.traceId = null;
+                this.traceSegmentId = null;
+                this.spanId = header.getSpanId();
+                this.parentService = null;
+                this.parentServiceInstance = null;
+                this.parentEndpoint = null;
+                this.addressUsedAtClient = null;
             }
         }
         return this;
@@ -168,13 +211,17 @@ public class ContextCarrier implements Serializable {
      */
     boolean isValid(HeaderVersion version) {
         if (HeaderVersion.v3 == version) {
-            return StringUtil.isNotEmpty(traceId)
-                && StringUtil.isNotEmpty(traceSegmentId)
+            if (getSw8Header() != null) {
+                // All the fields have been checked when parsing the header.
+                return true;
+            }
+            return StringUtil.isNotEmpty(getTraceId())
+                && StringUtil.isNotEmpty(getTraceSegmentId())
                 && getSpanId() > -1
-                && StringUtil.isNotEmpty(parentService)
-                && StringUtil.isNotEmpty(parentServiceInstance)
-                && StringUtil.isNotEmpty(parentEndpoint)
-                && StringUtil.isNotEmpty(addressUsedAtClient);
+                && StringUtil.isNotEmpty(getParentService())
+                && StringUtil.isNotEmpty(getParentServiceInstance())
+                && StringUtil.isNotEmpty(getParentEndpoint())
+                && StringUtil.isNotEmpty(getAddressUsedAtClient());
         }
         return false;
     }
@@ -21,7 +21,9 @@ package org.apache.skywalking.apm.agent.core.context;
 import java.util.Objects;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.NoopSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
@@ -32,8 +34,8 @@ import static org.apache.skywalking.apm.agent.core.conf.Config.Agent.OPERATION_N
 
 /**
  * {@link ContextManager} controls the whole context of {@link TraceSegment}. Any {@link TraceSegment} relates to
- * single-thread, so this context use {@link ThreadLocal} to maintain the context, and make sure, since a {@link
- * TraceSegment} starts, all ChildOf spans are in the same context. <p> What is 'ChildOf'?
+ * single-thread, so this context use {@link ContextStorage}, {@link ThreadLocal} by default, to maintain the context,
+ * and make sure, since a {@link TraceSegment} starts, all ChildOf spans are in the same context. <p> What is 'ChildOf'?
  * https://github.com/opentracing/specification/blob/master/specification.md#references-between-spans
  *
  * <p> Also, {@link ContextManager} delegates to all {@link AbstractTracerContext}'s major methods.
@@ -41,12 +43,11 @@ import static org.apache.skywalking.apm.agent.core.conf.Config.Agent.OPERATION_N
 public class ContextManager implements BootService {
     private static final String EMPTY_TRACE_CONTEXT_ID = "N/A";
     private static final ILog LOGGER = LogManager.getLogger(ContextManager.class);
-    private static ThreadLocal<AbstractTracerContext> CONTEXT = new ThreadLocal<AbstractTracerContext>();
-    private static ThreadLocal<RuntimeContext> RUNTIME_CONTEXT = new ThreadLocal<RuntimeContext>();
+    private static final ContextStorage STORAGE = Config.Agent.CONTEXT_STORAGE.newStorage();
     private static ContextManagerExtendService EXTEND_SERVICE;
 
     private static AbstractTracerContext getOrCreate(String operationName, boolean forceSampling) {
-        AbstractTracerContext context = CONTEXT.get();
+        AbstractTracerContext context = STORAGE.getTracerContext();
         if (context == null) {
             if (StringUtil.isEmpty(operationName)) {
                 if (LOGGER.isDebugEnable()) {
@@ -60,20 +61,20 @@ public class ContextManager implements BootService {
                 context = EXTEND_SERVICE.createTraceContext(operationName, forceSampling);
 
             }
-            CONTEXT.set(context);
+            STORAGE.setTracerContext(context);
         }
         return context;
     }
 
     private static AbstractTracerContext get() {
-        return CONTEXT.get();
+        return STORAGE.getTracerContext();
     }
 
     /**
      * @return the first global trace id when tracing. Otherwise, "N/A".
      */
     public static String getGlobalTraceId() {
-        AbstractTracerContext context = CONTEXT.get();
+        AbstractTracerContext context = STORAGE.getTracerContext();
         return Objects.nonNull(context) ? context.getReadablePrimaryTraceId() : EMPTY_TRACE_CONTEXT_ID;
     }
 
@@ -81,7 +82,7 @@ public class ContextManager implements BootService {
      * @return the current segment id when tracing. Otherwise, "N/A".
      */
     public static String getSegmentId() {
-        AbstractTracerContext context = CONTEXT.get();
+        AbstractTracerContext context = STORAGE.getTracerContext();
         return Objects.nonNull(context) ? context.getSegmentId() : EMPTY_TRACE_CONTEXT_ID;
     }
 
@@ -89,7 +90,7 @@ public class ContextManager implements BootService {
      * @return the current span id when tracing. Otherwise, the value is -1.
      */
     public static int getSpanId() {
-        AbstractTracerContext context = CONTEXT.get();
+        AbstractTracerContext context = STORAGE.getTracerContext();
         return Objects.nonNull(context) ? context.getSpanId() : -1;
     }
 
@@ -97,7 +98,7 @@ public class ContextManager implements BootService {
      * @return the current primary endpoint name. Otherwise, the value is null.
      */
     public static String getPrimaryEndpointName() {
-        AbstractTracerContext context = CONTEXT.get();
+        AbstractTracerContext context = STORAGE.getTracerContext();
         return Objects.nonNull(context) ? context.getPrimaryEndpointName() : null;
     }
 
@@ -107,8 +108,13 @@ public class ContextManager implements BootService {
         operationName = StringUtil.cut(operationName, OPERATION_NAME_THRESHOLD);
         if (carrier != null && carrier.isValid()) {
             SamplingService samplingService = ServiceManager.INSTANCE.findService(SamplingService.class);
-            samplingService.forceSampled();
-            context = getOrCreate(operationName, true);
+            if (carrier.isSampled() || !samplingService.isTailSamplingEnabled()) {
+                samplingService.forceSampled();
+                context = getOrCreate(operationName, true);
+            } else {
+                // The parent is a candidate of the tail sampling, sample this one locally.
+                context = getOrCreate(operationName, false);
+            }
             span = context.createEntrySpan(operationName);
             context.extract(carrier);
         } else {
@@ -121,7 +127,9 @@ public class ContextManager implements BootService {
     public static AbstractSpan createLocalSpan(String operationName) {
         operationName = StringUtil.cut(operationName, OPERATION_NAME_THRESHOLD);
         AbstractTracerContext context = getOrCreate(operationName, false);
-        return context.createLocalSpan(operationName);
+        AbstractSpan span = context.createLocalSpan(operationName);
+        continueLazily(span, context);
+        return span;
     }
 
     public static AbstractSpan createExitSpan(String operationName, ContextCarrier carrier, String remotePeer) {
@@ -131,6 +139,7 @@ public class ContextManager implements BootService {
         operationName = StringUtil.cut(operationName, OPERATION_NAME_THRESHOLD);
         AbstractTracerContext context = getOrCreate(operationName, false);
         AbstractSpan span = context.createExitSpan(operationName, remotePeer);
+        continueLazily(span, context);
         context.inject(carrier);
         return span;
     }
@@ -138,7 +147,9 @@ public class ContextManager implements BootService {
     public static AbstractSpan createExitSpan(String operationName, String remotePeer) {
         operationName = StringUtil.cut(operationName, OPERATION_NAME_THRESHOLD);
         AbstractTracerContext context = getOrCreate(operationName, false);
-        return context.createExitSpan(operationName, remotePeer);
+        AbstractSpan span = context.createExitSpan(operationName, remotePeer);
+        continueLazily(span, context);
+        return span;
     }
 
     public static void inject(ContextCarrier carrier) {
@@ -167,6 +178,32 @@ public class ContextManager implements BootService {
         }
     }
 
+    /**
+     * Continue the snapshot by the root local or exit span of every segment the current thread creates, until {@link
+     * #clearLazyContinuation()}, rather than creating a span to continue it right now. Nothing is traced if the thread
+     * doesn't create any span.
+     */
+    public static void continuedLazily(ContextSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("ContextSnapshot can't be null.");
+        }
+        LazyContinuation.set(STORAGE, snapshot);
+    }
+
+    /**
+     * @return true if the snapshot of {@link #continuedLazily(ContextSnapshot)} has been continued by any span.
+     */
+    public static boolean clearLazyContinuation() {
+        return LazyContinuation.clear(STORAGE);
+    }
+
+    private static void continueLazily(AbstractSpan span, AbstractTracerContext context) {
+        // The root span of a segment, the noop spans over the span limit have 0 id too.
+        if (span.getSpanId() == 0 && !(span instanceof NoopSpan)) {
+            LazyContinuation.continueIn(STORAGE, context);
+        }
+    }
+
     public static AbstractTracerContext awaitFinishAsync(AbstractSpan span) {
         final AbstractTracerContext context = get();
         AbstractSpan activeSpan = context.activeSpan();
@@ -200,8 +237,7 @@ public class ContextManager implements BootService {
 
     private static void stopSpan(AbstractSpan span, final AbstractTracerContext context) {
         if (context.stopSpan(span)) {
-            CONTEXT.remove();
-            RUNTIME_CONTEXT.remove();
+            STORAGE.clear();
         }
     }
 
@@ -228,14 +264,17 @@ public class ContextManager implements BootService {
         return get() != null;
     }
 
-    public static RuntimeContext getRuntimeContext() {
-        RuntimeContext runtimeContext = RUNTIME_CONTEXT.get();
-        if (runtimeContext == null) {
-            runtimeContext = new RuntimeContext(RUNTIME_CONTEXT);
-            RUNTIME_CONTEXT.set(runtimeContext);
-        }
+    /**
+     * Drop the tracer context, the runtime context and the lazy continuation kept for the current thread. The plugins
+     * call it when a thread they enhanced terminates, so the storage doesn't keep the contexts of a trace which is never finished.
+     */
+    public static void clearThreadContexts() {
+        STORAGE.clear();
+        STORAGE.clearLazyContinuation();
+    }
 
-        return runtimeContext;
+    public static RuntimeContext getRuntimeContext() {
+        return STORAGE.getRuntimeContext(true);
     }
 
     public static CorrelationContext getCorrelationContext() {
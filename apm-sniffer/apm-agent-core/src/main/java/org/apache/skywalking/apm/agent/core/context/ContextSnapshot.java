@@ -36,6 +36,11 @@ public class ContextSnapshot {
     private CorrelationContext correlationContext;
     private ExtensionContext extensionContext;
     private ProfileStatusContext profileStatusContext;
+    /**
+     * True if the segment of the parent is a candidate of the tail sampling, the continued segment is held in the same
+     * trace until the tail sampling decides to keep them.
+     */
+    private boolean tailSamplingCandidate;
 
     ContextSnapshot(String traceSegmentId,
                     int spanId,
@@ -43,7 +48,8 @@ public class ContextSnapshot {
                     String parentEndpoint,
                     CorrelationContext correlationContext,
                     ExtensionContext extensionContext,
-                    ProfileStatusContext profileStatusContext) {
+                    ProfileStatusContext profileStatusContext,
+                    boolean tailSamplingCandidate) {
         this.traceSegmentId = traceSegmentId;
         this.spanId = spanId;
         this.traceId = primaryTraceId;
@@ -51,6 +57,7 @@ public class ContextSnapshot {
         this.correlationContext = correlationContext.clone();
         this.extensionContext = extensionContext.clone();
         this.profileStatusContext = profileStatusContext.clone();
+        this.tailSamplingCandidate = tailSamplingCandidate;
     }
 
     public boolean isFromCurrent() {
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+/**
+ * Where {@link ContextManager} keeps the {@link AbstractTracerContext} and the {@link RuntimeContext} of the current
+ * thread, chosen by {@code agent.context_storage}, see {@link ContextStorageMode}.
+ */
+public interface ContextStorage {
+    /**
+     * @return the tracer context of the current thread, or null if there is no active trace.
+     */
+    AbstractTracerContext getTracerContext();
+
+    void setTracerContext(AbstractTracerContext context);
+
+    /**
+     * @param create true to create the runtime context if the current thread doesn't have one.
+     * @return the runtime context of the current thread, null only when it doesn't exist and create is false.
+     */
+    RuntimeContext getRuntimeContext(boolean create);
+
+    /**
+     * @param create true to create the lazy continuation if the current thread doesn't have one.
+     * @return the lazy continuation of the current thread, see {@link ContextManager#continuedLazily(ContextSnapshot)},
+     * null only when it doesn't exist and create is false.
+     */
+    LazyContinuation getLazyContinuation(boolean create);
+
+    /**
+     * Clear the lazy continuation of the current thread, if any.
+     *
+     * @return true if its snapshot has been continued by any span since it was set.
+     */
+    boolean clearLazyContinuation();
+
+    /**
+     * Remove the tracer context and the runtime context of the current thread, called after the segment finished. The
+     * lazy continuation is kept, it lasts until {@link #clearLazyContinuation()}.
+     */
+    void clear();
+}
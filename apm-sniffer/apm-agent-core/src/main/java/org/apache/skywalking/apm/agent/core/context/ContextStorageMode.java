@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+/**
+ * The storages of the per-thread context of {@link ContextManager}.
+ */
+public enum ContextStorageMode {
+    /**
+     * Two {@link ThreadLocal}s, one for the tracer context and one for the runtime context.
+     */
+    THREAD_LOCAL,
+    /**
+     * Keep the contexts of the virtual threads in a map keyed by the thread, instead of the {@link ThreadLocal} map
+     * created per virtual thread. The jdk-virtual-thread-plugin bootstrap plugin is required to drop the contexts left
+     * by the virtual threads terminated in the middle of a trace. The platform threads fall back to
+     * {@link #THREAD_LOCAL}.
+     */
+    VIRTUAL_THREAD_AWARE;
+
+    ContextStorage newStorage() {
+        return this == VIRTUAL_THREAD_AWARE ? new VirtualThreadAwareContextStorage() : new ThreadLocalContextStorage();
+    }
+}
@@ -59,7 +59,7 @@ public class IgnoredTracerContext implements AbstractTracerContext {
 
     @Override
     public ContextSnapshot capture() {
-        return new ContextSnapshot(null, -1, null, null, correlationContext, extensionContext, profileStatusContext);
+        return new ContextSnapshot(null, -1, null, null, correlationContext, extensionContext, profileStatusContext, false);
     }
 
     @Override
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+/**
+ * The snapshot continued by the root span of every segment the current thread creates, until it is cleared. It lets a
+ * task propagate the context of its submitter without creating a span of its own, nothing is traced if the task
+ * doesn't create any span.
+ * <p>
+ * It is kept by the {@link ContextStorage} of {@link ContextManager}, along with the other contexts of the thread.
+ */
+public final class LazyContinuation {
+    /**
+     * Avoid the storage lookup of the root spans until any thread uses the lazy continuation.
+     */
+    private static volatile boolean USED = false;
+
+    private ContextSnapshot snapshot;
+    private boolean continued;
+
+    LazyContinuation() {
+    }
+
+    /**
+     * @return true if the snapshot has been continued by any span since it was set.
+     */
+    boolean reset() {
+        boolean wasContinued = continued;
+        snapshot = null;
+        continued = false;
+        return wasContinued;
+    }
+
+    static void set(ContextStorage storage, ContextSnapshot snapshot) {
+        if (!USED) {
+            USED = true;
+        }
+        LazyContinuation continuation = storage.getLazyContinuation(true);
+        continuation.snapshot = snapshot;
+        continuation.continued = false;
+    }
+
+    /**
+     * @return true if the snapshot has been continued by any span since it was set.
+     */
+    static boolean clear(ContextStorage storage) {
+        if (!USED) {
+            return false;
+        }
+        return storage.clearLazyContinuation();
+    }
+
+    /**
+     * Continue the snapshot of the current thread, if any, in the context whose root span was just created.
+     */
+    static void continueIn(ContextStorage storage, AbstractTracerContext context) {
+        if (!USED) {
+            return;
+        }
+        LazyContinuation continuation = storage.getLazyContinuation(false);
+        if (continuation == null || continuation.snapshot == null) {
+            return;
+        }
+        continuation.continued = true;
+        // The root span starts a new segment, the snapshot can't be from it.
+        context.continued(continuation.snapshot);
+    }
+}
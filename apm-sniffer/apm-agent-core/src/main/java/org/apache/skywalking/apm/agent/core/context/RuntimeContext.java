@@ -31,31 +31,126 @@ import org.apache.skywalking.apm.agent.core.conf.RuntimeContextConfiguration;
  * In most cases, it means it only stays in a single thread for context propagation.
  */
 public class RuntimeContext {
-    private final ThreadLocal<RuntimeContext> contextThreadLocal;
-    private Map<Object, Object> context = new ConcurrentHashMap<>(0);
+    /**
+     * Remove this context from its {@link ContextStorage} once it is empty.
+     */
+    private final Runnable removal;
+    /**
+     * The values of the {@link RuntimeContextSlot}s, indexed by the slot.
+     */
+    private Object[] slots;
+    private int occupiedSlots;
+    /**
+     * The values of the keys not registered as slots, created on demand.
+     */
+    private Map<Object, Object> context;
 
     public RuntimeContext(ThreadLocal<RuntimeContext> contextThreadLocal) {
-        this.contextThreadLocal = contextThreadLocal;
+        this(contextThreadLocal::remove);
+    }
+
+    RuntimeContext(Runnable removal) {
+        this.removal = removal;
     }
 
     public void put(Object key, Object value) {
+        RuntimeContextSlot<?> slot = RuntimeContextSlot.find(key);
+        if (slot != null) {
+            putSlot(slot, value);
+            return;
+        }
+        if (context == null) {
+            context = new ConcurrentHashMap<>();
+        }
         context.put(key, value);
     }
 
     public Object get(Object key) {
-        return context.get(key);
+        RuntimeContextSlot<?> slot = RuntimeContextSlot.find(key);
+        if (slot != null) {
+            return getSlot(slot);
+        }
+        return context == null ? null : context.get(key);
     }
 
     @SuppressWarnings("unchecked")
     public <T> T get(Object key, Class<T> type) {
-        return (T) context.get(key);
+        return (T) get(key);
     }
 
     public void remove(Object key) {
-        context.remove(key);
+        RuntimeContextSlot<?> slot = RuntimeContextSlot.find(key);
+        if (slot != null) {
+            removeSlot(slot);
+        } else if (context != null) {
+            context.remove(key);
+        }
+        removeIfEmpty();
+    }
+
+    /**
+     * Put the value into the slot, null value removes it.
+     */
+    public <T> void put(RuntimeContextSlot<T> slot, T value) {
+        putSlot(slot, value);
+        if (value == null) {
+            removeIfEmpty();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(RuntimeContextSlot<T> slot) {
+        return (T) getSlot(slot);
+    }
+
+    public void remove(RuntimeContextSlot<?> slot) {
+        removeSlot(slot);
+        removeIfEmpty();
+    }
+
+    private void putSlot(RuntimeContextSlot<?> slot, Object value) {
+        if (value == null) {
+            removeSlot(slot);
+            return;
+        }
+        int index = slot.getIndex();
+        if (slots == null || index >= slots.length) {
+            Object[] newSlots = new Object[Math.max(index + 1, RuntimeContextSlot.size())];
+            if (slots != null) {
+                System.arraycopy(slots, 0, newSlots, 0, slots.length);
+            }
+            slots = newSlots;
+        }
+        if (slots[index] == null) {
+            occupiedSlots++;
+        }
+        slots[index] = value;
+    }
+
+    private Object getSlot(RuntimeContextSlot<?> slot) {
+        int index = slot.getIndex();
+        Object value = slots == null || index >= slots.length ? null : slots[index];
+        if (value == null && context != null) {
+            // Put by the string key before the slot was registered.
+            value = context.get(slot.getName());
+        }
+        return value;
+    }
+
+    private void removeSlot(RuntimeContextSlot<?> slot) {
+        int index = slot.getIndex();
+        if (slots != null && index < slots.length && slots[index] != null) {
+            slots[index] = null;
+            occupiedSlots--;
+        }
+        if (context != null) {
+            context.remove(slot.getName());
+        }
+    }
 
-        if (context.isEmpty()) {
-            contextThreadLocal.remove();
+    private void removeIfEmpty() {
+        if (occupiedSlots == 0 && (context == null || context.isEmpty())) {
+            removal.run();
         }
     }
 
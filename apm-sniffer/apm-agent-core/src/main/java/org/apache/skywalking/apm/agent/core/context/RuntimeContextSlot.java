@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A registered key of the {@link RuntimeContext}, whose value is kept in a per-thread array at the index of the slot,
+ * rather than in the map of the context. Register the slot once in a static field, e.g.
+ * <pre>
+ * public static final RuntimeContextSlot&lt;Object&gt; REQUEST = RuntimeContextSlot.register("SW_REQUEST");
+ * </pre>
+ * The slots are shared by name, the string key of a registered slot is resolved to the slot by the {@link
+ * RuntimeContext#put(Object, Object)} and the other map-based methods, so the plugins using the string key keep working.
+ *
+ * @param <T> the type of the value
+ */
+public final class RuntimeContextSlot<T> {
+    private static final ConcurrentHashMap<String, RuntimeContextSlot<?>> SLOTS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger(0);
+
+    private final String name;
+    private final int index;
+
+    private RuntimeContextSlot(String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    /**
+     * @return the slot of the name, registered if absent.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RuntimeContextSlot<T> register(String name) {
+        RuntimeContextSlot<?> slot = SLOTS.get(name);
+        if (slot == null) {
+            slot = SLOTS.computeIfAbsent(name, key -> new RuntimeContextSlot<>(key, NEXT_INDEX.getAndIncrement()));
+        }
+        return (RuntimeContextSlot<T>) slot;
+    }
+
+    /**
+     * @return the slot registered by the key, null if the key isn't the name of a slot.
+     */
+    static RuntimeContextSlot<?> find(Object key) {
+        return key instanceof String && !SLOTS.isEmpty() ? SLOTS.get(key) : null;
+    }
+
+    /**
+     * @return the number of the registered slots.
+     */
+    static int size() {
+        return NEXT_INDEX.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    int getIndex() {
+        return index;
+    }
+}
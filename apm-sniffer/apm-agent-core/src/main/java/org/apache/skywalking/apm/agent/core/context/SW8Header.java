@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import java.io.Serializable;
+import org.apache.skywalking.apm.agent.core.base64.Base64;
+
+/**
+ * The parsed sw8 header. The header is only scanned once to locate and check its fields, the Base64-encoded fields are
+ * decoded from the original text when they are read for the first time, and the decoded values are cached. So the
+ * fields never read, such as the ones of an ignored or limited segment, cost nothing.
+ * <p>
+ * The format is {@code sample-traceId-segmentId-spanId-parentService-parentServiceInstance-parentEndpoint-address}, the
+ * fields except the sample flag and the span id are Base64-encoded.
+ * <p>
+ * The header is immutable, except the cache of the decoded fields, so it can be shared by the {@link ContextCarrier}
+ * and the references built from it.
+ */
+public final class SW8Header implements Serializable {
+    private static final int FIELD_NUM = 8;
+    private static final int TRACE_ID = 1;
+    private static final int SEGMENT_ID = 2;
+    private static final int SPAN_ID = 3;
+    private static final int PARENT_SERVICE = 4;
+    private static final int PARENT_SERVICE_INSTANCE = 5;
+    private static final int PARENT_ENDPOINT = 6;
+    private static final int ADDRESS_USED_AT_CLIENT = 7;
+
+    private final String text;
+    /**
+     * The index of the separator after every field, the last one is the length of the text.
+     */
+    private final int[] ends;
+    private final int spanId;
+    private final boolean sampled;
+
+    private transient volatile String traceId;
+    private transient volatile String traceSegmentId;
+    private transient volatile String parentService;
+    private transient volatile String parentServiceInstance;
+    private transient volatile String parentEndpoint;
+    private transient volatile String addressUsedAtClient;
+
+    private SW8Header(String text, int[] ends, int spanId) {
+        this.text = text;
+        this.ends = ends;
+        this.spanId = spanId;
+        this.sampled = !(ends[0] == 1 && text.charAt(0) == '0');
+    }
+
+    /**
+     * @return the parsed header, or null if the text isn't a valid sw8 header.
+     */
+    public static SW8Header parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        int[] ends = new int[FIELD_NUM];
+        int field = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '-') {
+                if (field == FIELD_NUM - 1) {
+                    return null;
+                }
+                ends[field++] = i;
+            }
+        }
+        if (field != FIELD_NUM - 1) {
+            return null;
+        }
+        ends[FIELD_NUM - 1] = text.length();
+        for (int i = TRACE_ID; i < FIELD_NUM; i++) {
+            int start = ends[i - 1] + 1;
+            if (start == ends[i]) {
+                return null;
+            }
+            if (i != SPAN_ID && !Base64.isBase64(text, start, ends[i])) {
+                return null;
+            }
+        }
+        int spanId = parseSpanId(text, ends[SPAN_ID - 1] + 1, ends[SPAN_ID]);
+        if (spanId < 0) {
+            return null;
+        }
+        return new SW8Header(text, ends, spanId);
+    }
+
+    private static int parseSpanId(String text, int start, int end) {
+        if (end - start > 10) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
+
+    private String decode(int field) {
+        return Base64.decode2UTFString(text, ends[field - 1] + 1, ends[field]);
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public String getTraceId() {
+        String value = traceId;
+        if (value == null) {
+            traceId = value = decode(TRACE_ID);
+        }
+        return value;
+    }
+
+    public String getTraceSegmentId() {
+        String value = traceSegmentId;
+        if (value == null) {
+            traceSegmentId = value = decode(SEGMENT_ID);
+        }
+        return value;
+    }
+
+    public int getSpanId() {
+        return spanId;
+    }
+
+    public String getParentService() {
+        String value = parentService;
+        if (value == null) {
+            parentService = value = decode(PARENT_SERVICE);
+        }
+        return value;
+    }
+
+    public String getParentServiceInstance() {
+        String value = parentServiceInstance;
+        if (value == null) {
+            parentServiceInstance = value = decode(PARENT_SERVICE_INSTANCE);
+        }
+        return value;
+    }
+
+    public String getParentEndpoint() {
+        String value = parentEndpoint;
+        if (value == null) {
+            parentEndpoint = value = decode(PARENT_ENDPOINT);
+        }
+        return value;
+    }
+
+    public String getAddressUsedAtClient() {
+        String value = addressUsedAtClient;
+        if (value == null) {
+            addressUsedAtClient = value = decode(ADDRESS_USED_AT_CLIENT);
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
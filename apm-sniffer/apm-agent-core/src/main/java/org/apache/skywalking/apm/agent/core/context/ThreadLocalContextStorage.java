@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+/**
+ * The default {@link ContextStorage}, the tracer context, the runtime context and the lazy continuation are kept in
+ * {@link ThreadLocal}s. A pooled thread runs many tasks, so its lazy continuation is reset for the next task rather than
+ * removed.
+ */
+public class ThreadLocalContextStorage implements ContextStorage {
+    private final ThreadLocal<AbstractTracerContext> tracerContext = new ThreadLocal<AbstractTracerContext>();
+    private final ThreadLocal<RuntimeContext> runtimeContext = new ThreadLocal<RuntimeContext>();
+    private final ThreadLocal<LazyContinuation> lazyContinuation = new ThreadLocal<LazyContinuation>();
+
+    @Override
+    public AbstractTracerContext getTracerContext() {
+        return tracerContext.get();
+    }
+
+    @Override
+    public void setTracerContext(final AbstractTracerContext context) {
+        tracerContext.set(context);
+    }
+
+    @Override
+    public RuntimeContext getRuntimeContext(final boolean create) {
+        RuntimeContext context = runtimeContext.get();
+        if (context == null && create) {
+            context = new RuntimeContext(runtimeContext);
+            runtimeContext.set(context);
+        }
+        return context;
+    }
+
+    @Override
+    public LazyContinuation getLazyContinuation(final boolean create) {
+        LazyContinuation continuation = lazyContinuation.get();
+        if (continuation == null && create) {
+            continuation = new LazyContinuation();
+            lazyContinuation.set(continuation);
+        }
+        return continuation;
+    }
+
+    @Override
+    public boolean clearLazyContinuation() {
+        LazyContinuation continuation = lazyContinuation.get();
+        return continuation != null && continuation.reset();
+    }
+
+    @Override
+    public void clear() {
+        tracerContext.remove();
+        runtimeContext.remove();
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.apm.agent.core.context;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -43,6 +44,7 @@ import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.agent.core.profile.ProfileStatusContext;
 import org.apache.skywalking.apm.agent.core.profile.ProfileTaskExecutionService;
+import org.apache.skywalking.apm.agent.core.sampling.SamplingService;
 import org.apache.skywalking.apm.util.StringUtil;
 
 import static org.apache.skywalking.apm.agent.core.conf.Config.Agent.CLUSTER;
@@ -73,11 +75,17 @@ public class TracingContext implements AbstractTracerContext {
     private TraceSegment segment;
 
     /**
-     * Active spans stored in a Stack, usually called 'ActiveSpanStack'. This {@link LinkedList} is the in-memory
-     * storage-structure. <p> I use {@link LinkedList#removeLast()}, {@link LinkedList#addLast(Object)} and {@link
-     * LinkedList#getLast()} instead of {@link #pop()}, {@link #push(AbstractSpan)}, {@link #peek()}
+     * The initial capacity of the 'ActiveSpanStack'. Most of the contexts never go deeper than this, the backing array
+     * grows on demand for the rest.
      */
-    private LinkedList<AbstractSpan> activeSpanStack = new LinkedList<>();
+    private static final int ACTIVE_SPAN_STACK_INITIAL_CAPACITY = 8;
+
+    /**
+     * Active spans stored in a Stack, usually called 'ActiveSpanStack'. This array-backed {@link ArrayList} is the
+     * in-memory storage-structure, operated from its tail by {@link #pop()}, {@link #push(AbstractSpan)} and {@link
+     * #peek()}, so no node is allocated per span.
+     */
+    private final ArrayList<AbstractSpan> activeSpanStack;
 
     /**
      * @since 8.10.0 replace the removed "firstSpan"(before 8.10.0) reference. see {@link PrimaryEndpoint} for more details.
@@ -119,7 +127,18 @@ public class TracingContext implements AbstractTracerContext {
      * Initialize all fields with default value.
      */
     TracingContext(String firstOPName, SpanLimitWatcher spanLimitWatcher) {
-        this.segment = new TraceSegment();
+        this(firstOPName, spanLimitWatcher, false);
+    }
+
+    /**
+     * @param tailSamplingCandidate true if the context isn't sampled when created, and its segment is reported only if
+     *                              the tail sampling keeps it.
+     */
+    TracingContext(String firstOPName, SpanLimitWatcher spanLimitWatcher, boolean tailSamplingCandidate) {
+        final int spanLimit = spanLimitWatcher.getSpanLimit();
+        this.segment = new TraceSegment(spanLimit);
+        this.segment.setTailSamplingCandidate(tailSamplingCandidate);
+        this.activeSpanStack = new ArrayList<>(Math.max(1, Math.min(ACTIVE_SPAN_STACK_INITIAL_CAPACITY, spanLimit)));
         this.spanIdGenerator = 0;
         isRunningInAsyncMode = false;
         createTime = System.currentTimeMillis();
@@ -129,8 +148,7 @@ public class TracingContext implements AbstractTracerContext {
         if (PROFILE_TASK_EXECUTION_SERVICE == null) {
             PROFILE_TASK_EXECUTION_SERVICE = ServiceManager.INSTANCE.findService(ProfileTaskExecutionService.class);
         }
-        this.profileStatus = PROFILE_TASK_EXECUTION_SERVICE.addProfiling(
-            this, segment.getTraceSegmentId(), firstOPName);
+        this.profileStatus = PROFILE_TASK_EXECUTION_SERVICE.addProfiling(this, firstOPName);
 
         this.correlationContext = new CorrelationContext();
         this.extensionContext = new ExtensionContext();
@@ -176,6 +194,7 @@ public class TracingContext implements AbstractTracerContext {
         carrier.setParentServiceInstance(Config.Agent.INSTANCE_NAME);
         carrier.setParentEndpoint(primaryEndpoint.getName());
         carrier.setAddressUsedAtClient(peer);
+        carrier.setSampled(!this.segment.isTailSamplingCandidate());
 
         this.correlationContext.inject(carrier);
         this.extensionContext.inject(carrier);
@@ -214,7 +233,8 @@ public class TracingContext implements AbstractTracerContext {
             primaryEndpoint.getName(),
             this.correlationContext,
             this.extensionContext,
-            this.profileStatus
+            this.profileStatus,
+            this.segment.isTailSamplingCandidate()
         );
 
         return snapshot;
@@ -232,6 +252,8 @@ public class TracingContext implements AbstractTracerContext {
             this.segment.ref(segmentRef);
             this.activeSpan().ref(segmentRef);
             this.segment.relatedGlobalTrace(snapshot.getTraceId());
+            // Share the sampling decision of the parent, the segment is held in the same trace if the parent is.
+            this.segment.setTailSamplingCandidate(snapshot.isTailSamplingCandidate());
             this.correlationContext.continued(snapshot);
             this.extensionContext.continued(snapshot);
             this.extensionContext.handle(this.activeSpan());
@@ -431,7 +453,7 @@ public class TracingContext implements AbstractTracerContext {
             return;
         }
 
-        PROFILE_TASK_EXECUTION_SERVICE.profilingRecheck(this, segment.getTraceSegmentId(), operationName);
+        PROFILE_TASK_EXECUTION_SERVICE.profilingRecheck(this, operationName);
     }
 
     /**
@@ -453,7 +475,14 @@ public class TracingContext implements AbstractTracerContext {
 
             if (isFinishedInMainThread && (!isRunningInAsyncMode || asyncSpanCounter == 0)) {
                 TraceSegment finishedSegment = segment.finish(isLimitMechanismWorking());
-                TracingContext.ListenerManager.notifyFinish(finishedSegment);
+                if (finishedSegment.isTailSamplingCandidate()) {
+                    for (TraceSegment keptSegment : ServiceManager.INSTANCE.findService(SamplingService.class)
+                                                                           .tailSample(finishedSegment)) {
+                        TracingContext.ListenerManager.notifyFinish(keptSegment);
+                    }
+                } else {
+                    TracingContext.ListenerManager.notifyFinish(finishedSegment);
+                }
                 running = false;
             }
         } finally {
@@ -526,7 +555,7 @@ public class TracingContext implements AbstractTracerContext {
      * @return the top element of 'ActiveSpanStack', and remove it.
      */
     private AbstractSpan pop() {
-        return activeSpanStack.removeLast();
+        return activeSpanStack.remove(activeSpanStack.size() - 1);
     }
 
     /**
@@ -540,7 +569,7 @@ public class TracingContext implements AbstractTracerContext {
         } else {
             primaryEndpoint.set(span);
         }
-        activeSpanStack.addLast(span);
+        activeSpanStack.add(span);
         this.extensionContext.handle(span);
         return span;
     }
@@ -549,10 +578,11 @@ public class TracingContext implements AbstractTracerContext {
      * @return the top element of 'ActiveSpanStack' only.
      */
     private AbstractSpan peek() {
-        if (activeSpanStack.isEmpty()) {
+        final int size = activeSpanStack.size();
+        if (size == 0) {
             return null;
         }
-        return activeSpanStack.getLast();
+        return activeSpanStack.get(size - 1);
     }
 
     private boolean isLimitMechanismWorking() {
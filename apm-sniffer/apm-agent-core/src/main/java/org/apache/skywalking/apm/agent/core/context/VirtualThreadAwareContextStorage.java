@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keep the contexts of the virtual threads in a map keyed by the thread, instead of the {@link ThreadLocal}s. A virtual
+ * thread lives as long as the task it runs, so a {@link ThreadLocal} costs a new map and its entries per task, while
+ * the map costs one entry per traced task and nothing for the others. The entry stays with the virtual thread when it
+ * is unmounted from one carrier thread and mounted on another, so the context follows the continuation.
+ * <p>
+ * {@code java.lang.VirtualThread} is loaded before the agent starts, and the retransformation can't add a field to it,
+ * so the contexts are kept aside rather than in the thread. An entry is removed when the segment finishes, and the
+ * jdk-virtual-thread-plugin removes the entry of a trace never finished when the virtual thread terminates, through
+ * {@link ContextManager#clearThreadContexts()}.
+ * <p>
+ * The platform threads and the JDK without virtual threads use the {@link ThreadLocalContextStorage}.
+ */
+public class VirtualThreadAwareContextStorage implements ContextStorage {
+    private static final String[] VIRTUAL_THREAD_CLASSES = {
+        "java.lang.VirtualThread",
+        // The virtual threads of the platforms without the continuation support, see ThreadBuilders#newVirtualThread.
+        "java.lang.ThreadBuilders$BoundVirtualThread"
+    };
+
+    private final Class<?>[] virtualThreadClasses;
+    private final Map<Thread, Holder> holders = new ConcurrentHashMap<>();
+    private final ThreadLocalContextStorage fallback = new ThreadLocalContextStorage();
+
+    public VirtualThreadAwareContextStorage() {
+        this(findVirtualThreadClasses());
+    }
+
+    /**
+     * @param virtualThreadClasses the thread classes whose instances keep the contexts in the map.
+     */
+    VirtualThreadAwareContextStorage(Class<?>... virtualThreadClasses) {
+        this.virtualThreadClasses = virtualThreadClasses;
+    }
+
+    @Override
+    public AbstractTracerContext getTracerContext() {
+        Thread thread = Thread.currentThread();
+        if (!isVirtual(thread)) {
+            return fallback.getTracerContext();
+        }
+        Holder holder = holders.get(thread);
+        return holder == null ? null : holder.tracerContext;
+    }
+
+    @Override
+    public void setTracerContext(final AbstractTracerContext context) {
+        Thread thread = Thread.currentThread();
+        if (!isVirtual(thread)) {
+            fallback.setTracerContext(context);
+            return;
+        }
+        Holder holder = holders.get(thread);
+        if (holder == null) {
+            if (context == null) {
+                return;
+            }
+            holder = new Holder(thread);
+            holders.put(thread, holder);
+        }
+        holder.tracerContext = context;
+        if (context == null) {
+            holder.removeIfEmpty();
+        }
+    }
+
+    @Override
+    public RuntimeContext getRuntimeContext(final boolean create) {
+        Thread thread = Thread.currentThread();
+        if (!isVirtual(thread)) {
+            return fallback.getRuntimeContext(create);
+        }
+        Holder holder = holders.get(thread);
+        if (holder == null) {
+            if (!create) {
+                return null;
+            }
+            holder = new Holder(thread);
+            holders.put(thread, holder);
+        }
+        if (holder.runtimeContext == null && create) {
+            holder.runtimeContext = new RuntimeContext(holder::removeRuntimeContext);
+        }
+        return holder.runtimeContext;
+    }
+
+    @Override
+    public LazyContinuation getLazyContinuation(final boolean create) {
+        Thread thread = Thread.currentThread();
+        if (!isVirtual(thread)) {
+            return fallback.getLazyContinuation(create);
+        }
+        Holder holder = holders.get(thread);
+        if (holder == null) {
+            if (!create) {
+                return null;
+            }
+            holder = new Holder(thread);
+            holders.put(thread, holder);
+        }
+        if (holder.lazyContinuation == null && create) {
+            holder.lazyContinuation = new LazyContinuation();
+        }
+        return holder.lazyContinuation;
+    }
+
+    @Override
+    public boolean clearLazyContinuation() {
+        Thread thread = Thread.currentThread();
+        if (!isVirtual(thread)) {
+            return fallback.clearLazyContinuation();
+        }
+        Holder holder = holders.get(thread);
+        if (holder == null || holder.lazyContinuation == null) {
+            return false;
+        }
+        // a virtual thread runs one task only, nothing to reuse
+        boolean continued = holder.lazyContinuation.reset();
+        holder.lazyContinuation = null;
+        holder.removeIfEmpty();
+        return continued;
+    }
+
+    @Override
+    public void clear() {
+        Thread thread = Thread.currentThread();
+        if (!isVirtual(thread)) {
+            fallback.clear();
+            return;
+        }
+        Holder holder = holders.get(thread);
+        if (holder != null) {
+            holder.tracerContext = null;
+            holder.runtimeContext = null;
+            holder.removeIfEmpty();
+        }
+    }
+
+    /**
+     * @return the number of the virtual threads keeping contexts.
+     */
+    int size() {
+        return holders.size();
+    }
+
+    private boolean isVirtual(Thread thread) {
+        Class<?> threadClass = thread.getClass();
+        for (Class<?> virtualThreadClass : virtualThreadClasses) {
+            if (threadClass == virtualThreadClass) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Class<?>[] findVirtualThreadClasses() {
+        Class<?>[] classes = new Class<?>[VIRTUAL_THREAD_CLASSES.length];
+        int found = 0;
+        for (String className : VIRTUAL_THREAD_CLASSES) {
+            try {
+                classes[found] = Class.forName(className, false, null);
+                found++;
+            } catch (ClassNotFoundException ignored) {
+                // The JDK doesn't have the virtual threads, or runs them all on the continuations.
+            }
+        }
+        Class<?>[] result = new Class<?>[found];
+        System.arraycopy(classes, 0, result, 0, found);
+        return result;
+    }
+
+    /**
+     * The contexts of a virtual thread, only accessed by the thread itself.
+     */
+    private class Holder {
+        private final Thread thread;
+        private AbstractTracerContext tracerContext;
+        private RuntimeContext runtimeContext;
+        private LazyContinuation lazyContinuation;
+
+        private Holder(Thread thread) {
+            this.thread = thread;
+        }
+
+        private void removeRuntimeContext() {
+            runtimeContext = null;
+            removeIfEmpty();
+        }
+
+        private void removeIfEmpty() {
+            if (tracerContext == null && runtimeContext == null && lazyContinuation == null) {
+                holders.remove(thread, this);
+            }
+        }
+    }
+}
@@ -18,11 +18,6 @@
 
 package org.apache.skywalking.apm.agent.core.context.ids;
 
-import lombok.EqualsAndHashCode;
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
-import lombok.ToString;
-
 /**
  * The <code>DistributedTraceId</code> presents a distributed call chain.
  * <p>
@@ -31,13 +26,33 @@ import lombok.ToString;
  * such as: Service : http://www.skywalking.com/cust/query, all the remote, called behind this service, rest remote, db
  * executions, are using the same <code>DistributedTraceId</code> even in different JVM.
  * <p>
- * The <code>DistributedTraceId</code> contains only one string, and can NOT be reset, creating a new instance is the
- * only option.
+ * The <code>DistributedTraceId</code> contains only one id, and can NOT be reset, creating a new instance is the only
+ * option.
  */
-@RequiredArgsConstructor
-@ToString
-@EqualsAndHashCode
 public abstract class DistributedTraceId {
-    @Getter
-    private final String id;
+    /**
+     * @return the textual form of this trace id.
+     */
+    public abstract String getId();
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DistributedTraceId)) {
+            return false;
+        }
+        return getId().equals(((DistributedTraceId) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getId().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "DistributedTraceId(id=" + getId() + ")";
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.ids;
+
+/**
+ * The <code>GlobalId</code> is a unique id generated by {@link GlobalIdGenerator}. It keeps the three parts of the id
+ * as primitive fields, and renders the textual form only when it is read for the first time, such as transforming the
+ * segment or injecting the context into a carrier. Most ids of the ignored or never propagated segments are never
+ * rendered.
+ * <p>
+ * The textual form is the same as the one generated before, {@code <process id>.<thread id>.<timestamp * 10000 +
+ * seq>}, the process id is the 32 hex chars of a random UUID without '-'.
+ */
+public final class GlobalId {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final long processIdHigh;
+    private final long processIdLow;
+    private final long threadId;
+    private final long seq;
+
+    /**
+     * The rendered textual form, racy single-check is fine as the rendering is idempotent.
+     */
+    private String text;
+
+    GlobalId(long processIdHigh, long processIdLow, long threadId, long seq) {
+        this.processIdHigh = processIdHigh;
+        this.processIdLow = processIdLow;
+        this.threadId = threadId;
+        this.seq = seq;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    @Override
+    public String toString() {
+        String result = text;
+        if (result == null) {
+            result = render();
+            text = result;
+        }
+        return result;
+    }
+
+    private String render() {
+        StringBuilder builder = new StringBuilder(64);
+        appendHex(builder, processIdHigh);
+        appendHex(builder, processIdLow);
+        return builder.append('.').append(threadId).append('.').append(seq).toString();
+    }
+
+    private static void appendHex(StringBuilder builder, long value) {
+        for (int shift = 60; shift >= 0; shift -= 4) {
+            builder.append(HEX_DIGITS[(int) (value >>> shift) & 0xF]);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GlobalId)) {
+            return false;
+        }
+        GlobalId that = (GlobalId) o;
+        return processIdHigh == that.processIdHigh && processIdLow == that.processIdLow
+            && threadId == that.threadId && seq == that.seq;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(processIdHigh);
+        result = 31 * result + Long.hashCode(processIdLow);
+        result = 31 * result + Long.hashCode(threadId);
+        result = 31 * result + Long.hashCode(seq);
+        return result;
+    }
+}
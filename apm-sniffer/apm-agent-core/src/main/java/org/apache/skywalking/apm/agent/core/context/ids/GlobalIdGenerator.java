@@ -20,10 +20,10 @@ package org.apache.skywalking.apm.agent.core.context.ids;
 
 import java.util.UUID;
 
-import org.apache.skywalking.apm.util.StringUtil;
-
 public final class GlobalIdGenerator {
-    private static final String PROCESS_ID = UUID.randomUUID().toString().replaceAll("-", "");
+    private static final UUID PROCESS_ID = UUID.randomUUID();
+    private static final long PROCESS_ID_HIGH = PROCESS_ID.getMostSignificantBits();
+    private static final long PROCESS_ID_LOW = PROCESS_ID.getLeastSignificantBits();
     private static final ThreadLocal<IDContext> THREAD_ID_SEQUENCE = ThreadLocal.withInitial(
         () -> new IDContext(System.currentTimeMillis(), (short) 0));
 
@@ -43,11 +43,21 @@ public final class GlobalIdGenerator {
      * @return unique id to represent a trace or segment
      */
     public static String generate() {
-        return StringUtil.join(
-            '.',
-            PROCESS_ID,
-            String.valueOf(Thread.currentThread().getId()),
-            String.valueOf(THREAD_ID_SEQUENCE.get().nextSeq())
+        return generateId().toString();
+    }
+
+    /**
+     * Generate a new id as {@link #generate()} does, but keep the parts as primitives. The textual form is rendered
+     * lazily by {@link GlobalId#toString()}.
+     *
+     * @return unique id to represent a trace or segment
+     */
+    public static GlobalId generateId() {
+        return new GlobalId(
+            PROCESS_ID_HIGH,
+            PROCESS_ID_LOW,
+            Thread.currentThread().getId(),
+            THREAD_ID_SEQUENCE.get().nextSeq()
         );
     }
 
@@ -22,11 +22,15 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * ExceptionCheckContext contains the exceptions that have been checked by the exceptionCheckStrategies.
+ * ExceptionCheckContext contains the exceptions that have been checked by the exceptionCheckStrategies. It is bounded,
+ * the exceptions beyond {@link #MAX_CHECKED_EXCEPTIONS} are not registered, which keeps an error storm of generated
+ * exception classes from growing it, and they are checked by the strategies again, which cache their own decisions.
  */
 public enum ExceptionCheckContext {
     INSTANCE;
 
+    private static final int MAX_CHECKED_EXCEPTIONS = 1024;
+
     private final Set<Class<? extends Throwable>> ignoredExceptions = ConcurrentHashMap.newKeySet(32);
     private final Set<Class<? extends Throwable>> errorStatusExceptions = ConcurrentHashMap.newKeySet(128);
 
@@ -40,11 +44,15 @@ public enum ExceptionCheckContext {
     }
 
     public void registerIgnoredException(Throwable throwable) {
-        ignoredExceptions.add(throwable.getClass());
+        if (ignoredExceptions.size() < MAX_CHECKED_EXCEPTIONS) {
+            ignoredExceptions.add(throwable.getClass());
+        }
     }
 
     public void registerErrorStatusException(Throwable throwable) {
-        errorStatusExceptions.add(throwable.getClass());
+        if (errorStatusExceptions.size() < MAX_CHECKED_EXCEPTIONS) {
+            errorStatusExceptions.add(throwable.getClass());
+        }
     }
 
 }
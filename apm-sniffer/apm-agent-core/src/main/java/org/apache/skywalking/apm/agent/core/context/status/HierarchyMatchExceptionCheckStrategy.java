@@ -18,29 +18,59 @@
 
 package org.apache.skywalking.apm.agent.core.context.status;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 
 /**
  * HierarchyMatchExceptionCheckStrategy does a hierarchy check for a traced exception. If it or its parent has been
  * listed in org.apache.skywalking.apm.agent.core.conf.Config.StatusCheck#IGNORED_EXCEPTIONS, the error status of the
  * span wouldn't be changed.
+ * <p>
+ * The names of the super classes and interfaces are matched rather than loading every ignored exception through the
+ * classloader of the traced one. The decision of every class in the hierarchy is cached in a {@link ClassValue}, so
+ * it is made once per class, shared by the subclasses, and released with the classloader.
  */
 public class HierarchyMatchExceptionCheckStrategy implements ExceptionCheckStrategy {
 
+    private final ClassValue<Boolean> ignoredHierarchies = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            return isIgnored(type);
+        }
+    };
+
+    private volatile Set<String> ignoredExceptionNames;
+
     @Override
     public boolean isError(final Throwable e) {
-        Class<? extends Throwable> clazz = e.getClass();
-        StatusCheckService statusTriggerService = ServiceManager.INSTANCE.findService(StatusCheckService.class);
-        String[] ignoredExceptionNames = statusTriggerService.getIgnoredExceptionNames();
-        for (final String ignoredExceptionName : ignoredExceptionNames) {
-            try {
-                Class<?> parentClazz = Class.forName(ignoredExceptionName, true, clazz.getClassLoader());
-                if (parentClazz.isAssignableFrom(clazz)) {
-                    return false;
-                }
-            } catch (ClassNotFoundException ignore) {
+        return !ignoredHierarchies.get(e.getClass());
+    }
+
+    private boolean isIgnored(final Class<?> type) {
+        if (getIgnoredExceptionNames().contains(type.getName())) {
+            return true;
+        }
+        Class<?> superclass = type.getSuperclass();
+        if (superclass != null && ignoredHierarchies.get(superclass)) {
+            return true;
+        }
+        for (final Class<?> anInterface : type.getInterfaces()) {
+            if (ignoredHierarchies.get(anInterface)) {
+                return true;
             }
         }
-        return true;
+        return false;
+    }
+
+    private Set<String> getIgnoredExceptionNames() {
+        Set<String> names = ignoredExceptionNames;
+        if (names == null) {
+            StatusCheckService statusTriggerService = ServiceManager.INSTANCE.findService(StatusCheckService.class);
+            names = new HashSet<>(Arrays.asList(statusTriggerService.getIgnoredExceptionNames()));
+            ignoredExceptionNames = names;
+        }
+        return names;
     }
 }
@@ -42,4 +42,11 @@ public class StringTag extends AbstractTag<String> {
     public void set(AbstractSpan span, String tagValue) {
         span.tag(this, tagValue);
     }
+
+    /**
+     * Set the tag rendered only when the span is reported.
+     */
+    public void set(AbstractSpan span, LazyTagValue tagValue) {
+        span.tag(this, tagValue);
+    }
 }
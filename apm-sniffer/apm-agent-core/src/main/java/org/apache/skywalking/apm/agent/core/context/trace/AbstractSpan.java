@@ -21,6 +21,7 @@ package org.apache.skywalking.apm.agent.core.context.trace;
 import java.util.Map;
 import org.apache.skywalking.apm.agent.core.context.AsyncSpan;
 import org.apache.skywalking.apm.agent.core.context.tag.AbstractTag;
+import org.apache.skywalking.apm.agent.core.context.tag.LazyTagValue;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.network.trace.component.Component;
 import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
@@ -52,6 +53,16 @@ public interface AbstractSpan extends AsyncSpan {
      */
     AbstractSpan tag(AbstractTag<?> tag, String value);
 
+    /**
+     * Set a tag whose value is rendered only when the span is reported, which saves rendering the expensive values of
+     * the spans not sampled.
+     *
+     * @return this Span instance, for chaining
+     */
+    default AbstractSpan tag(AbstractTag<?> tag, LazyTagValue value) {
+        return tag(tag, value.render());
+    }
+
     /**
      * Record an exception event of the current walltime timestamp.
      *
@@ -19,7 +19,6 @@
 package org.apache.skywalking.apm.agent.core.context.trace;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
@@ -29,10 +28,11 @@ import org.apache.skywalking.apm.agent.core.context.ContextManager;
 import org.apache.skywalking.apm.agent.core.context.TracingContext;
 import org.apache.skywalking.apm.agent.core.context.status.StatusCheckService;
 import org.apache.skywalking.apm.agent.core.context.tag.AbstractTag;
+import org.apache.skywalking.apm.agent.core.context.tag.LazyTagValue;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.util.KeyValuePair;
 import org.apache.skywalking.apm.agent.core.context.util.TagValuePair;
-import org.apache.skywalking.apm.agent.core.context.util.ThrowableTransformer;
+import org.apache.skywalking.apm.agent.core.context.util.ThrowableStackKeyValuePair;
 import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
 import org.apache.skywalking.apm.network.language.agent.v3.SpanType;
 import org.apache.skywalking.apm.network.trace.component.Component;
@@ -42,6 +42,11 @@ import org.apache.skywalking.apm.network.trace.component.Component;
  * distributed trace.
  */
 public abstract class AbstractTracingSpan implements AbstractSpan {
+    /**
+     * @see StatusCheckService
+     */
+    private static StatusCheckService STATUS_CHECK_SERVICE;
+
     /**
      * Span id starts from 0.
      */
@@ -137,6 +142,25 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
         return this;
     }
 
+    @Override
+    public AbstractTracingSpan tag(AbstractTag<?> tag, LazyTagValue value) {
+        if (tags == null) {
+            tags = new ArrayList<>(8);
+        }
+
+        if (tag.isCanOverwrite()) {
+            for (TagValuePair pair : tags) {
+                if (pair.sameWith(tag)) {
+                    pair.setValue(value);
+                    return this;
+                }
+            }
+        }
+
+        tags.add(new TagValuePair(tag, value));
+        return this;
+    }
+
     /**
      * Finish the active Span. When it is finished, it will be archived by the given {@link TraceSegment}, which owners
      * it.
@@ -164,18 +188,20 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
     @Override
     public AbstractTracingSpan log(Throwable t) {
         if (logs == null) {
-            logs = new LinkedList<>();
+            logs = new ArrayList<>(4);
         }
-        if (!errorOccurred && ServiceManager.INSTANCE.findService(StatusCheckService.class).isError(t)) {
-            errorOccurred();
+        if (!errorOccurred) {
+            if (STATUS_CHECK_SERVICE == null) {
+                STATUS_CHECK_SERVICE = ServiceManager.INSTANCE.findService(StatusCheckService.class);
+            }
+            if (STATUS_CHECK_SERVICE.isError(t)) {
+                errorOccurred();
+            }
         }
         logs.add(new LogDataEntity.Builder().add(new KeyValuePair("event", "error"))
                                             .add(new KeyValuePair("error.kind", t.getClass().getName()))
                                             .add(new KeyValuePair("message", t.getMessage()))
-                                            .add(new KeyValuePair(
-                                                "stack",
-                                                ThrowableTransformer.INSTANCE.convert2String(t, 4000)
-                                            ))
+                                            .add(new ThrowableStackKeyValuePair("stack", t, 4000))
                                             .build(System.currentTimeMillis()));
         return this;
     }
@@ -188,7 +214,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
     @Override
     public AbstractTracingSpan log(long timestampMicroseconds, Map<String, ?> fields) {
         if (logs == null) {
-            logs = new LinkedList<>();
+            logs = new ArrayList<>(4);
         }
         LogDataEntity.Builder builder = new LogDataEntity.Builder();
         for (Map.Entry<String, ?> entry : fields.entrySet()) {
@@ -198,6 +224,13 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
         return this;
     }
 
+    /**
+     * @return true if {@link #errorOccurred()} has been called on this span.
+     */
+    public boolean isErrorOccurred() {
+        return errorOccurred;
+    }
+
     /**
      * In the scope of this span tracing context, error occurred, in auto-instrumentation mechanism, almost means throw
      * an exception.
@@ -300,7 +333,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
     @Override
     public void ref(TraceSegmentRef ref) {
         if (refs == null) {
-            refs = new LinkedList<>();
+            refs = new ArrayList<>(Math.min(4, Config.Agent.TRACE_SEGMENT_REF_LIMIT_PER_SPAN));
         }
         /*
          * Provide the OOM protection if the entry span hosts too many references.
@@ -20,6 +20,8 @@ package org.apache.skywalking.apm.agent.core.context.trace;
 
 import org.apache.skywalking.apm.agent.core.conf.Constants;
 import org.apache.skywalking.apm.agent.core.context.TracingContext;
+import org.apache.skywalking.apm.agent.core.context.tag.AbstractTag;
+import org.apache.skywalking.apm.agent.core.context.tag.LazyTagValue;
 import org.apache.skywalking.apm.network.trace.component.Component;
 
 /**
@@ -61,6 +63,14 @@ public class EntrySpan extends StackBasedTracingSpan {
         return this;
     }
 
+    @Override
+    public AbstractTracingSpan tag(AbstractTag<?> tag, LazyTagValue value) {
+        if (stackDepth == currentMaxDepth || isInAsyncMode) {
+            super.tag(tag, value);
+        }
+        return this;
+    }
+
     @Override
     public AbstractTracingSpan setLayer(SpanLayer layer) {
         if (stackDepth == currentMaxDepth || isInAsyncMode) {
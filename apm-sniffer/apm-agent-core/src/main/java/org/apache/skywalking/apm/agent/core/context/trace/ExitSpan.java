@@ -21,6 +21,7 @@ package org.apache.skywalking.apm.agent.core.context.trace;
 import org.apache.skywalking.apm.agent.core.context.ContextCarrier;
 import org.apache.skywalking.apm.agent.core.context.TracingContext;
 import org.apache.skywalking.apm.agent.core.context.tag.AbstractTag;
+import org.apache.skywalking.apm.agent.core.context.tag.LazyTagValue;
 import org.apache.skywalking.apm.network.trace.component.Component;
 
 /**
@@ -71,6 +72,14 @@ public class ExitSpan extends StackBasedTracingSpan implements ExitTypeSpan {
         return this;
     }
 
+    @Override
+    public AbstractTracingSpan tag(AbstractTag<?> tag, LazyTagValue value) {
+        if (stackDepth == 1 || tag.isCanOverwrite() || isInAsyncMode) {
+            super.tag(tag, value);
+        }
+        return this;
+    }
+
     @Override
     public AbstractTracingSpan setLayer(SpanLayer layer) {
         if (stackDepth == 1 || isInAsyncMode) {
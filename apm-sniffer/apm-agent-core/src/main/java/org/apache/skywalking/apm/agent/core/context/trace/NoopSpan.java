@@ -21,6 +21,7 @@ package org.apache.skywalking.apm.agent.core.context.trace;
 import java.util.Map;
 import org.apache.skywalking.apm.agent.core.context.IgnoredTracerContext;
 import org.apache.skywalking.apm.agent.core.context.tag.AbstractTag;
+import org.apache.skywalking.apm.agent.core.context.tag.LazyTagValue;
 import org.apache.skywalking.apm.network.trace.component.Component;
 
 /**
@@ -65,6 +66,11 @@ public class NoopSpan implements AbstractSpan {
         return this;
     }
 
+    @Override
+    public AbstractSpan tag(AbstractTag<?> tag, LazyTagValue value) {
+        return this;
+    }
+
     @Override
     public boolean isEntry() {
         return false;
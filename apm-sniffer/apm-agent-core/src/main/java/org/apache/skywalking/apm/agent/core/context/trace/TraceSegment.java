@@ -18,10 +18,11 @@
 
 package org.apache.skywalking.apm.agent.core.context.trace;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.ids.DistributedTraceId;
+import org.apache.skywalking.apm.agent.core.context.ids.GlobalId;
 import org.apache.skywalking.apm.agent.core.context.ids.GlobalIdGenerator;
 import org.apache.skywalking.apm.agent.core.context.ids.NewDistributedTraceId;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
@@ -33,9 +34,15 @@ import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
  */
 public class TraceSegment {
     /**
-     * The id of this trace segment. Every segment has its unique-global-id.
+     * The initial capacity of {@link #spans}. The array grows on demand, but never needs to be larger than the span
+     * limit of the segment.
      */
-    private String traceSegmentId;
+    private static final int SPANS_INITIAL_CAPACITY = 16;
+
+    /**
+     * The id of this trace segment. Every segment has its unique-global-id, rendered as string only when it is read.
+     */
+    private GlobalId traceSegmentId;
 
     /**
      * The refs of parent trace segments, except the primary one. For most RPC call, {@link #ref} contains only one
@@ -63,14 +70,36 @@ public class TraceSegment {
 
     private boolean isSizeLimited = false;
 
+    /**
+     * True if this segment isn't sampled when created, and is only reported if the tail sampling keeps it.
+     */
+    private boolean tailSamplingCandidate = false;
+
     private final long createTime;
 
+    private long finishTime;
+
+    /**
+     * The transformed form of this segment, set by {@link #serialize()} when the reporter transforms it before the
+     * sending thread.
+     */
+    private volatile SegmentObject serialized;
+
     /**
      * Create a default/empty trace segment, with current time as start time, and generate a new segment id.
      */
     public TraceSegment() {
-        this.traceSegmentId = GlobalIdGenerator.generate();
-        this.spans = new LinkedList<>();
+        this(Config.Agent.SPAN_LIMIT_PER_SEGMENT);
+    }
+
+    /**
+     * Create a default/empty trace segment, whose span list is pre-sized according to the given span limit.
+     *
+     * @param spanLimit the max number of spans this segment could hold, see {@link Config.Agent#SPAN_LIMIT_PER_SEGMENT}
+     */
+    public TraceSegment(int spanLimit) {
+        this.traceSegmentId = GlobalIdGenerator.generateId();
+        this.spans = new ArrayList<>(Math.max(1, Math.min(SPANS_INITIAL_CAPACITY, spanLimit)));
         this.relatedGlobalTraceId = new NewDistributedTraceId();
         this.createTime = System.currentTimeMillis();
     }
@@ -108,11 +137,12 @@ public class TraceSegment {
      */
     public TraceSegment finish(boolean isSizeLimited) {
         this.isSizeLimited = isSizeLimited;
+        this.finishTime = System.currentTimeMillis();
         return this;
     }
 
     public String getTraceSegmentId() {
-        return traceSegmentId;
+        return traceSegmentId.toString();
     }
 
     /**
@@ -130,6 +160,26 @@ public class TraceSegment {
         return this.spans != null && this.spans.size() == 1;
     }
 
+    public boolean isTailSamplingCandidate() {
+        return tailSamplingCandidate;
+    }
+
+    public void setTailSamplingCandidate(boolean tailSamplingCandidate) {
+        this.tailSamplingCandidate = tailSamplingCandidate;
+    }
+
+    /**
+     * @return true if any span of this segment has an error occurred.
+     */
+    public boolean hasErrorSpan() {
+        for (AbstractTracingSpan span : spans) {
+            if (span.isErrorOccurred()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public boolean isIgnore() {
         return ignore;
     }
@@ -139,17 +189,30 @@ public class TraceSegment {
     }
 
     /**
-     * This is a high CPU cost method, only called when sending to collector or test cases.
+     * Transform this finished segment in advance, so the later {@link #transform()} returns the cached result.
+     */
+    public void serialize() {
+        serialized = build();
+    }
+
+    /**
+     * This is a high CPU cost method, only called when sending to collector or test cases, unless the segment has
+     * been serialized.
      *
      * @return the segment as GRPC service parameter
      */
     public SegmentObject transform() {
+        SegmentObject segmentObject = serialized;
+        return segmentObject != null ? segmentObject : build();
+    }
+
+    private SegmentObject build() {
         SegmentObject.Builder traceSegmentBuilder = SegmentObject.newBuilder();
         traceSegmentBuilder.setTraceId(getRelatedGlobalTrace().getId());
         /*
          * Trace Segment
          */
-        traceSegmentBuilder.setTraceSegmentId(this.traceSegmentId);
+        traceSegmentBuilder.setTraceSegmentId(getTraceSegmentId());
         // Don't serialize TraceSegmentReference
 
         // SpanObject
@@ -171,4 +234,11 @@ public class TraceSegment {
     public long createTime() {
         return this.createTime;
     }
+
+    /**
+     * @return the time when the segment finished and was handed to the reporters, 0 if not finished.
+     */
+    public long finishTime() {
+        return this.finishTime;
+    }
 }
@@ -22,6 +22,7 @@ import lombok.Getter;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.ContextCarrier;
 import org.apache.skywalking.apm.agent.core.context.ContextSnapshot;
+import org.apache.skywalking.apm.agent.core.context.SW8Header;
 import org.apache.skywalking.apm.network.language.agent.v3.RefType;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentReference;
 
@@ -29,17 +30,21 @@ import org.apache.skywalking.apm.network.language.agent.v3.SegmentReference;
  * {@link TraceSegmentRef} is like a pointer, which ref to another {@link TraceSegment}, use {@link #spanId} point to
  * the exact span of the ref {@link TraceSegment}.
  * <p>
+ * The reference built from a deserialized {@link ContextCarrier} shares its {@link SW8Header}, and decodes the fields
+ * only when they are read, usually when the segment is reported.
  */
-@Getter
 public class TraceSegmentRef {
+    @Getter
     private SegmentRefType type;
     private String traceId;
     private String traceSegmentId;
+    @Getter
     private int spanId;
     private String parentService;
     private String parentServiceInstance;
     private String parentEndpoint;
     private String addressUsedAtClient;
+    private SW8Header sw8Header;
 
     /**
      * Transform a {@link ContextCarrier} to the <code>TraceSegmentRef</code>
@@ -48,6 +53,11 @@ public class TraceSegmentRef {
      */
     public TraceSegmentRef(ContextCarrier carrier) {
         this.type = SegmentRefType.CROSS_PROCESS;
+        this.sw8Header = carrier.getSw8Header();
+        if (sw8Header != null) {
+            this.spanId = sw8Header.getSpanId();
+            return;
+        }
         this.traceId = carrier.getTraceId();
         this.traceSegmentId = carrier.getTraceSegmentId();
         this.spanId = carrier.getSpanId();
@@ -67,6 +77,30 @@ public class TraceSegmentRef {
         this.parentEndpoint = snapshot.getParentEndpoint();
     }
 
+    public String getTraceId() {
+        return sw8Header != null ? sw8Header.getTraceId() : traceId;
+    }
+
+    public String getTraceSegmentId() {
+        return sw8Header != null ? sw8Header.getTraceSegmentId() : traceSegmentId;
+    }
+
+    public String getParentService() {
+        return sw8Header != null ? sw8Header.getParentService() : parentService;
+    }
+
+    public String getParentServiceInstance() {
+        return sw8Header != null ? sw8Header.getParentServiceInstance() : parentServiceInstance;
+    }
+
+    public String getParentEndpoint() {
+        return sw8Header != null ? sw8Header.getParentEndpoint() : parentEndpoint;
+    }
+
+    public String getAddressUsedAtClient() {
+        return sw8Header != null ? sw8Header.getAddressUsedAtClient() : addressUsedAtClient;
+    }
+
     public SegmentReference transform() {
         SegmentReference.Builder refBuilder = SegmentReference.newBuilder();
         if (SegmentRefType.CROSS_PROCESS.equals(type)) {
@@ -74,12 +108,13 @@ public class TraceSegmentRef {
         } else {
             refBuilder.setRefType(RefType.CrossThread);
         }
-        refBuilder.setTraceId(traceId);
-        refBuilder.setParentTraceSegmentId(traceSegmentId);
+        refBuilder.setTraceId(getTraceId());
+        refBuilder.setParentTraceSegmentId(getTraceSegmentId());
         refBuilder.setParentSpanId(spanId);
-        refBuilder.setParentService(parentService);
-        refBuilder.setParentServiceInstance(parentServiceInstance);
-        refBuilder.setParentEndpoint(parentEndpoint);
+        refBuilder.setParentService(getParentService());
+        refBuilder.setParentServiceInstance(getParentServiceInstance());
+        refBuilder.setParentEndpoint(getParentEndpoint());
+        String addressUsedAtClient = getAddressUsedAtClient();
         if (addressUsedAtClient != null) {
             refBuilder.setNetworkAddressUsedAtPeer(addressUsedAtClient);
         }
@@ -98,12 +133,12 @@ public class TraceSegmentRef {
 
         if (spanId != ref.spanId)
             return false;
-        return traceSegmentId.equals(ref.traceSegmentId);
+        return getTraceSegmentId().equals(ref.getTraceSegmentId());
     }
 
     @Override
     public int hashCode() {
-        int result = traceSegmentId.hashCode();
+        int result = getTraceSegmentId().hashCode();
         result = 31 * result + spanId;
         return result;
     }
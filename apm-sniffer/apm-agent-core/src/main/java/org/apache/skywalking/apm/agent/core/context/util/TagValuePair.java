@@ -19,30 +19,54 @@ package org.apache.skywalking.apm.agent.core.context.util;
 
 import java.util.Objects;
 import org.apache.skywalking.apm.agent.core.context.tag.AbstractTag;
+import org.apache.skywalking.apm.agent.core.context.tag.LazyTagValue;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
 
 public class TagValuePair {
+    private static final ILog LOGGER = LogManager.getLogger(TagValuePair.class);
+
     private AbstractTag key;
     private String value;
+    /**
+     * The value not rendered yet, rendered and released at the first {@link #getValue()}.
+     */
+    private LazyTagValue lazyValue;
 
     public TagValuePair(AbstractTag tag, String value) {
         this.key = tag;
         this.value = value;
     }
 
+    public TagValuePair(AbstractTag tag, LazyTagValue lazyValue) {
+        this.key = tag;
+        this.lazyValue = lazyValue;
+    }
+
     public AbstractTag getKey() {
         return key;
     }
 
     public String getValue() {
+        if (lazyValue != null) {
+            try {
+                value = lazyValue.render();
+            } catch (Throwable t) {
+                // lose the value of the tag only, rather than the whole segment
+                LOGGER.warn(t, "Render the value of tag {} fail.", key.key());
+            }
+            lazyValue = null;
+        }
         return value;
     }
 
     public KeyStringValuePair transform() {
         KeyStringValuePair.Builder keyValueBuilder = KeyStringValuePair.newBuilder();
         keyValueBuilder.setKey(key.key());
-        if (value != null) {
-            keyValueBuilder.setValue(value);
+        String tagValue = getValue();
+        if (tagValue != null) {
+            keyValueBuilder.setValue(tagValue);
         }
         return keyValueBuilder.build();
     }
@@ -53,6 +77,12 @@ public class TagValuePair {
 
     public void setValue(String value) {
         this.value = value;
+        this.lazyValue = null;
+    }
+
+    public void setValue(LazyTagValue lazyValue) {
+        this.value = null;
+        this.lazyValue = lazyValue;
     }
 
     @Override
@@ -62,12 +92,14 @@ public class TagValuePair {
         if (!(o instanceof TagValuePair))
             return false;
         final TagValuePair that = (TagValuePair) o;
-        return Objects.equals(getKey(), that.getKey()) &&
-            Objects.equals(getValue(), that.getValue());
+        // never render the lazy value here, which releases the resources held by it
+        return Objects.equals(key, that.key) &&
+            Objects.equals(value, that.value) &&
+            Objects.equals(lazyValue, that.lazyValue);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getKey(), getValue());
+        return Objects.hash(key, value, lazyValue);
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.util;
+
+import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
+
+/**
+ * The <code>ThrowableStackKeyValuePair</code> holds the throwable of an error log, rather than its rendered stack. The
+ * stack is rendered by {@link ThrowableTransformer} at the first read, which is the transforming of the segment in the
+ * reporting thread, so the traced thread doesn't pay for it.
+ */
+public class ThrowableStackKeyValuePair extends KeyValuePair {
+    private final int maxLength;
+    private Throwable throwable;
+    private volatile String stack;
+
+    public ThrowableStackKeyValuePair(String key, Throwable throwable, int maxLength) {
+        super(key, null);
+        this.throwable = throwable;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public String getValue() {
+        String value = stack;
+        if (value == null) {
+            synchronized (this) {
+                value = stack;
+                if (value == null) {
+                    value = ThrowableTransformer.INSTANCE.convert2String(throwable, maxLength);
+                    stack = value;
+                    throwable = null;
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public KeyStringValuePair transform() {
+        return KeyStringValuePair.newBuilder().setKey(getKey()).setValue(getValue()).build();
+    }
+}
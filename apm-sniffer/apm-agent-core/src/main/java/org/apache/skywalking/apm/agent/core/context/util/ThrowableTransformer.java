@@ -22,36 +22,45 @@ import static org.apache.skywalking.apm.agent.core.conf.Config.Agent.CAUSE_EXCEP
 
 /**
  * {@link ThrowableTransformer} is responsible for transferring stack trace of throwable.
+ * <p>
+ * The frames a cause shares with its enclosing throwable are folded into a "... n more" line, and the rendered stack
+ * never exceeds the max length. The rendering buffer is reused per thread, as the stacks are only rendered in the few
+ * reporting threads, see {@link ThrowableStackKeyValuePair}. An application thread rendering them, e.g. serializing the
+ * segment it finished, drops the buffer by {@link #releaseBuffer()}.
  */
 public enum ThrowableTransformer {
     INSTANCE;
 
     private static final String LINE_SEPARATOR = System.getProperty("line.separator");
 
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
     public String convert2String(Throwable throwable, final int maxLength) {
-        final StringBuilder stackMessage = new StringBuilder();
+        final StringBuilder stackMessage = BUFFER.get();
+        stackMessage.setLength(0);
+        StackTraceElement[] enclosingTrace = null;
         Throwable causeException = throwable;
 
         int depth = CAUSE_EXCEPTION_DEPTH;
         while (causeException != null && depth != 0) {
-            stackMessage.append(printExceptionInfo(causeException));
-
-            boolean isLookDeeper = printStackElement(causeException.getStackTrace(), new AppendListener() {
-                @Override
-                public void append(String value) {
-                    stackMessage.append(value);
-                }
-
-                @Override
-                public boolean overMaxLength() {
-                    return stackMessage.length() > maxLength;
-                }
-            });
+            if (!append(stackMessage, causeException.toString(), maxLength)
+                || !append(stackMessage, LINE_SEPARATOR, maxLength)) {
+                break;
+            }
 
-            if (isLookDeeper) {
+            StackTraceElement[] stackTrace = causeException.getStackTrace();
+            if (stackTrace.length == 0) {
+                /**
+                 * In some cases, people would fill empty stackTrace intentionally.
+                 * This is a quick stop.
+                 */
+                break;
+            }
+            if (!printStackElement(stackTrace, enclosingTrace, stackMessage, maxLength)) {
                 break;
             }
 
+            enclosingTrace = stackTrace;
             causeException = causeException.getCause();
             depth--;
         }
@@ -59,31 +68,57 @@ public enum ThrowableTransformer {
         return stackMessage.toString();
     }
 
-    private String printExceptionInfo(Throwable causeException) {
-        return causeException.toString() + LINE_SEPARATOR;
+    /**
+     * Drop the rendering buffer of the current thread.
+     */
+    public void releaseBuffer() {
+        BUFFER.remove();
     }
 
-    private boolean printStackElement(StackTraceElement[] stackTrace, AppendListener printListener) {
-        if (stackTrace.length == 0) {
-            /**
-             * In some cases, people would fill empty stackTrace intentionally.
-             * This is a quick stop.
-             */
-            return true;
+    /**
+     * @return false if the max length is reached.
+     */
+    private boolean printStackElement(StackTraceElement[] stackTrace, StackTraceElement[] enclosingTrace,
+        StringBuilder stackMessage, int maxLength) {
+        int framesInCommon = 0;
+        if (enclosingTrace != null) {
+            int m = stackTrace.length - 1;
+            int n = enclosingTrace.length - 1;
+            while (m >= 0 && n >= 0 && stackTrace[m].equals(enclosingTrace[n])) {
+                m--;
+                n--;
+            }
+            framesInCommon = stackTrace.length - 1 - m;
         }
 
-        for (StackTraceElement traceElement : stackTrace) {
-            printListener.append("at " + traceElement + LINE_SEPARATOR);
-            if (printListener.overMaxLength()) {
-                return true;
+        for (int i = 0; i < stackTrace.length - framesInCommon; i++) {
+            if (!append(stackMessage, "at ", maxLength)
+                || !append(stackMessage, stackTrace[i].toString(), maxLength)
+                || !append(stackMessage, LINE_SEPARATOR, maxLength)) {
+                return false;
             }
         }
-        return false;
+        if (framesInCommon != 0) {
+            return append(stackMessage, "... ", maxLength)
+                && append(stackMessage, String.valueOf(framesInCommon), maxLength)
+                && append(stackMessage, " more", maxLength)
+                && append(stackMessage, LINE_SEPARATOR, maxLength);
+        }
+        return true;
     }
 
-    private interface AppendListener {
-        void append(String value);
-
-        boolean overMaxLength();
+    /**
+     * Append the value, truncated at the max length.
+     *
+     * @return false if the max length is reached.
+     */
+    private boolean append(StringBuilder stackMessage, String value, int maxLength) {
+        int remaining = maxLength - stackMessage.length();
+        if (value.length() >= remaining) {
+            stackMessage.append(value, 0, Math.max(remaining, 0));
+            return false;
+        }
+        stackMessage.append(value);
+        return true;
     }
 }
@@ -27,6 +27,7 @@ import net.bytebuddy.implementation.SuperMethodCall;
 import net.bytebuddy.implementation.bind.annotation.Morph;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.agent.core.plugin.AbstractClassEnhancePluginDefine;
@@ -149,7 +150,7 @@ public abstract class ClassEnhancePluginDefine extends AbstractClassEnhancePlugi
                     } else {
                         newClassBuilder = newClassBuilder.method(junction)
                                                          .intercept(MethodDelegation.withDefaultConfiguration()
-                                                                                    .withBinders(Morph.Binder.install(OverrideCallable.class))
+                                                                                    .withBinders(Morph.Binder.install(OverrideCallable.class), InterceptedMethodBinder.INSTANCE)
                                                                                     .to(new InstMethodsInterWithOverrideArgs(interceptor, classLoader), delegateNamingResolver.resolve(instanceMethodsInterceptPoint)));
                     }
                 } else {
@@ -157,9 +158,19 @@ public abstract class ClassEnhancePluginDefine extends AbstractClassEnhancePlugi
                         newClassBuilder = newClassBuilder.method(junction)
                                                          .intercept(MethodDelegation.withDefaultConfiguration()
                                                                                     .to(BootstrapInstrumentBoost.forInternalDelegateClass(interceptor)));
+                    } else if (Config.Plugin.INTERCEPTION_MODE == InterceptionMode.ADVICE) {
+                        ElementMatcher.Junction<MethodDescription> inlinable = InlineInterceptors.inlinable(typeDescription);
+                        String delegateName = delegateNamingResolver.resolve(instanceMethodsInterceptPoint);
+                        newClassBuilder = InstMethodsInterAdvice.inline(newClassBuilder, typeDescription, junction.and(inlinable),
+                                                                    interceptor, classLoader, delegateName)
+                                                         .method(junction.and(not(inlinable)))
+                                                         .intercept(MethodDelegation.withDefaultConfiguration()
+                                                                                    .withBinders(InterceptedMethodBinder.INSTANCE)
+                                                                                    .to(new InstMethodsInter(interceptor, classLoader), delegateName));
                     } else {
                         newClassBuilder = newClassBuilder.method(junction)
                                                          .intercept(MethodDelegation.withDefaultConfiguration()
+                                                                                    .withBinders(InterceptedMethodBinder.INSTANCE)
                                                                                     .to(new InstMethodsInter(interceptor, classLoader), delegateNamingResolver.resolve(instanceMethodsInterceptPoint)));
                     }
                 }
@@ -201,7 +212,7 @@ public abstract class ClassEnhancePluginDefine extends AbstractClassEnhancePlugi
                 } else {
                     newClassBuilder = newClassBuilder.method(isStatic().and(staticMethodsInterceptPoint.getMethodsMatcher()))
                                                      .intercept(MethodDelegation.withDefaultConfiguration()
-                                                                                .withBinders(Morph.Binder.install(OverrideCallable.class))
+                                                                                .withBinders(Morph.Binder.install(OverrideCallable.class), InterceptedMethodBinder.INSTANCE)
                                                                                 .to(new StaticMethodsInterWithOverrideArgs(interceptor), delegateNamingResolver.resolve(staticMethodsInterceptPoint)));
                 }
             } else {
@@ -212,6 +223,7 @@ public abstract class ClassEnhancePluginDefine extends AbstractClassEnhancePlugi
                 } else {
                     newClassBuilder = newClassBuilder.method(isStatic().and(staticMethodsInterceptPoint.getMethodsMatcher()))
                                                      .intercept(MethodDelegation.withDefaultConfiguration()
+                                                                                .withBinders(InterceptedMethodBinder.INSTANCE)
                                                                                 .to(new StaticMethodsInter(interceptor), delegateNamingResolver.resolve(staticMethodsInterceptPoint)));
                 }
             }
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Collections;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.LoadedTypeInitializer;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.matcher.ElementMatcher;
+
+import static net.bytebuddy.matcher.ElementMatchers.isAbstract;
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.isNative;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+
+/**
+ * Inline the advice calling an interceptor into the enhanced methods. The interceptor is kept in a static field of the
+ * enhanced class, like the delegate of {@link net.bytebuddy.implementation.MethodDelegation}, and the {@link
+ * InterceptedMethod} of every method is cached by {@link InterceptedMethodBinder}, so nothing is registered globally,
+ * and both are released with the enhanced class.
+ */
+public final class InlineInterceptors {
+    private static final String FIELD_SUFFIX = "$advice";
+    private static final int FIELD_MODIFIERS = Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_VOLATILE | Opcodes.ACC_SYNTHETIC;
+
+    private InlineInterceptors() {
+    }
+
+    /**
+     * @param delegateName    the name resolved by {@link DelegateNamingResolver} for the intercept point, so the
+     *                        retransformation defines the same field.
+     * @param interceptorType the type of the field, which the {@link Interceptor} parameters are declared as.
+     * @return the builder, which inlines the advice into the methods.
+     */
+    public static DynamicType.Builder<?> inline(DynamicType.Builder<?> builder,
+                                                TypeDescription instrumentedType,
+                                                ElementMatcher<? super MethodDescription> methods,
+                                                Class<?> adviceClass,
+                                                Class<?> interceptorType,
+                                                Object interceptor,
+                                                String delegateName) {
+        String fieldName = delegateName + FIELD_SUFFIX;
+        FieldDescription field = new FieldDescription.Latent(
+            instrumentedType, fieldName, FIELD_MODIFIERS,
+            TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(interceptorType), Collections.emptyList());
+        Advice advice = Advice.withCustomMapping()
+                              .bind(Interceptor.class, (Advice.OffsetMapping) (type, method, assigner, argumentHandler, sort) ->
+                                  new Advice.OffsetMapping.Target.ForStackManipulation(FieldAccess.forField(field).read()))
+                              .bind(InterceptedMethodBinder.Bound.class, (Advice.OffsetMapping) (type, method, assigner, argumentHandler, sort) ->
+                                  new Advice.OffsetMapping.Target.ForStackManipulation(InterceptedMethodBinder.load(method.asDefined())))
+                              .to(adviceClass);
+        return builder.defineField(fieldName, interceptorType, FIELD_MODIFIERS)
+                      .initializer(new LoadedTypeInitializer.ForStaticField(fieldName, interceptor))
+                      .visit(advice.on(methods));
+    }
+
+    /**
+     * @return the matcher of the methods could be enhanced by an advice, which must have the code declared by the
+     * enhanced class. The others should be delegated.
+     */
+    public static ElementMatcher.Junction<MethodDescription> inlinable(TypeDescription typeDescription) {
+        return isDeclaredBy(typeDescription).and(not(isAbstract())).and(not(isNative()));
+    }
+
+    /**
+     * Bind the interceptor kept by the enhanced class, as a parameter of the advice.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.PARAMETER)
+    public @interface Interceptor {
+    }
+}
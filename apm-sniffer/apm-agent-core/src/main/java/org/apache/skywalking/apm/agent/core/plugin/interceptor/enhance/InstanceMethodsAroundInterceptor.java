@@ -49,4 +49,38 @@ public interface InstanceMethodsAroundInterceptor {
      */
     void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
         Class<?>[] argumentsTypes, Throwable t);
+
+    /**
+     * called before target method invocation, by the interceptor bridges. Override it to use the cached metadata of
+     * the method, rather than the {@link Method}.
+     *
+     * @param result change this result, if you want to truncate the method.
+     */
+    default void beforeMethod(EnhancedInstance objInst, InterceptedMethod method, Object[] allArguments,
+        MethodInterceptResult result) throws Throwable {
+        beforeMethod(objInst, method.getMethod(), allArguments, method.getParameterTypes(), result);
+    }
+
+    /**
+     * called after target method invocation, by the interceptor bridges. Override it to use the cached metadata of
+     * the method, rather than the {@link Method}.
+     *
+     * @param ret the method's original return value. May be null if the method triggers an exception.
+     * @return the method's actual return value.
+     */
+    default Object afterMethod(EnhancedInstance objInst, InterceptedMethod method, Object[] allArguments,
+        Object ret) throws Throwable {
+        return afterMethod(objInst, method.getMethod(), allArguments, method.getParameterTypes(), ret);
+    }
+
+    /**
+     * called when occur exception, by the interceptor bridges. Override it to use the cached metadata of the method,
+     * rather than the {@link Method}.
+     *
+     * @param t the exception occur.
+     */
+    default void handleMethodException(EnhancedInstance objInst, InterceptedMethod method, Object[] allArguments,
+        Throwable t) {
+        handleMethodException(objInst, method.getMethod(), allArguments, method.getParameterTypes(), t);
+    }
 }
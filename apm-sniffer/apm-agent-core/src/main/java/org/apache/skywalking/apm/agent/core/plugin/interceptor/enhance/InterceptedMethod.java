@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.skywalking.apm.agent.core.util.MethodUtil;
+
+/**
+ * The metadata of an enhanced method, created once per method and passed to the interceptors on every call, so the
+ * parameter types aren't cloned, and the operation names aren't rebuilt per call.
+ */
+public final class InterceptedMethod {
+    private final Method method;
+    private final Class<?>[] parameterTypes;
+    private final String declaringClassName;
+    private volatile String operationName;
+    private final ConcurrentHashMap<String, String> prefixedNames = new ConcurrentHashMap<>(4);
+
+    public InterceptedMethod(Method method) {
+        this.method = method;
+        this.parameterTypes = method.getParameterTypes();
+        this.declaringClassName = method.getDeclaringClass().getName();
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public String getName() {
+        return method.getName();
+    }
+
+    public String getDeclaringClassName() {
+        return declaringClassName;
+    }
+
+    /**
+     * @return the parameter types, shared by all the calls, which must not be changed.
+     */
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    /**
+     * @return the name built by {@link MethodUtil#generateOperationName(Method)}.
+     */
+    public String getOperationName() {
+        String name = operationName;
+        if (name == null) {
+            name = MethodUtil.generateOperationName(method);
+            operationName = name;
+        }
+        return name;
+    }
+
+    /**
+     * @param prefix a constant prefix, such as {@code "Jedis/"}.
+     * @return the prefix followed by the method name.
+     */
+    public String getOperationName(String prefix) {
+        String name = prefixedNames.get(prefix);
+        if (name == null) {
+            name = prefix + method.getName();
+            String existing = prefixedNames.putIfAbsent(prefix, name);
+            if (existing != null) {
+                name = existing;
+            }
+        }
+        return name;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bind.MethodDelegationBinder;
+import net.bytebuddy.implementation.bind.annotation.TargetMethodAnnotationDrivenBinder;
+import net.bytebuddy.implementation.bytecode.Duplication;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.TypeCreation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.constant.MethodConstant;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.jar.asm.MethodVisitor;
+
+/**
+ * Binds the {@link InterceptedMethod} of the intercepted method to a parameter annotated by {@link Bound}. The
+ * {@link InterceptedMethod} is created once in the static initializer of the enhanced class, and kept in a static
+ * field of it, so the interceptor bridges get it per call without any lookup, and it is released with the class.
+ */
+public enum InterceptedMethodBinder implements TargetMethodAnnotationDrivenBinder.ParameterBinder<InterceptedMethodBinder.Bound> {
+    INSTANCE;
+
+    private static final TypeDescription INTERCEPTED_METHOD = TypeDescription.ForLoadedType.of(InterceptedMethod.class);
+
+    private static final MethodDescription.InDefinedShape CONSTRUCTOR;
+
+    static {
+        try {
+            CONSTRUCTOR = new MethodDescription.ForLoadedConstructor(InterceptedMethod.class.getConstructor(Method.class));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Marks the {@link InterceptedMethod} parameter of an interceptor bridge.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.PARAMETER)
+    public @interface Bound {
+    }
+
+    @Override
+    public Class<Bound> getHandledType() {
+        return Bound.class;
+    }
+
+    @Override
+    public MethodDelegationBinder.ParameterBinding<?> bind(AnnotationDescription.Loadable<Bound> annotation,
+                                                           MethodDescription source,
+                                                           ParameterDescription target,
+                                                           Implementation.Target implementationTarget,
+                                                           Assigner assigner,
+                                                           Assigner.Typing typing) {
+        if (!target.getType().asErasure().represents(InterceptedMethod.class)) {
+            throw new IllegalStateException("The " + target + " annotated by @Bound isn't an InterceptedMethod");
+        }
+        if (!source.isMethod()) {
+            return MethodDelegationBinder.ParameterBinding.Illegal.INSTANCE;
+        }
+        return new MethodDelegationBinder.ParameterBinding.Anonymous(load(source.asDefined()));
+    }
+
+    /**
+     * @param method the intercepted method.
+     * @return the stack manipulation reading the {@link InterceptedMethod} of the method from the static field of the
+     * enhanced class. The field is defined and initialized at the first use in the class.
+     */
+    public static StackManipulation load(MethodDescription.InDefinedShape method) {
+        return new CachedInterceptedMethod(method);
+    }
+
+    private static class CachedInterceptedMethod extends StackManipulation.AbstractBase {
+        private final MethodDescription.InDefinedShape method;
+
+        private CachedInterceptedMethod(MethodDescription.InDefinedShape method) {
+            this.method = method;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+            FieldDescription field = implementationContext.cache(new StackManipulation.Compound(
+                TypeCreation.of(INTERCEPTED_METHOD),
+                Duplication.SINGLE,
+                MethodConstant.of(method),
+                MethodInvocation.invoke(CONSTRUCTOR)
+            ), INTERCEPTED_METHOD);
+            return FieldAccess.forField(field).read().apply(methodVisitor, implementationContext);
+        }
+    }
+}
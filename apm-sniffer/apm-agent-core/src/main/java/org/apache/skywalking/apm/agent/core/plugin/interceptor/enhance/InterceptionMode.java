@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+/**
+ * How the non-bootstrap instance methods are woven with their {@link InstanceMethodsAroundInterceptor}s, or the v2
+ * ones.
+ */
+public enum InterceptionMode {
+    /**
+     * Delegate the call to the shared {@link InstMethodsInter}, through a {@code @SuperCall} callable of the origin
+     * method.
+     */
+    DELEGATION,
+    /**
+     * Inline the interceptor calls into the enhanced method by {@link InstMethodsInterAdvice}. No callable is created
+     * and the argument types are resolved once. The inherited, abstract and native methods, and the ones overriding
+     * the arguments, are still delegated.
+     */
+    ADVICE
+}
@@ -48,4 +48,36 @@ public interface StaticMethodsAroundInterceptor {
      */
     void handleMethodException(Class clazz, Method method, Object[] allArguments, Class<?>[] parameterTypes,
         Throwable t);
+
+    /**
+     * called before target method invocation, by the interceptor bridges. Override it to use the cached metadata of
+     * the method, rather than the {@link Method}.
+     *
+     * @param result change this result, if you want to truncate the method.
+     */
+    default void beforeMethod(Class clazz, InterceptedMethod method, Object[] allArguments,
+        MethodInterceptResult result) {
+        beforeMethod(clazz, method.getMethod(), allArguments, method.getParameterTypes(), result);
+    }
+
+    /**
+     * called after target method invocation, by the interceptor bridges. Override it to use the cached metadata of
+     * the method, rather than the {@link Method}.
+     *
+     * @param ret the method's original return value.
+     * @return the method's actual return value.
+     */
+    default Object afterMethod(Class clazz, InterceptedMethod method, Object[] allArguments, Object ret) {
+        return afterMethod(clazz, method.getMethod(), allArguments, method.getParameterTypes(), ret);
+    }
+
+    /**
+     * called when occur exception, by the interceptor bridges. Override it to use the cached metadata of the method,
+     * rather than the {@link Method}.
+     *
+     * @param t the exception occur.
+     */
+    default void handleMethodException(Class clazz, InterceptedMethod method, Object[] allArguments, Throwable t) {
+        handleMethodException(clazz, method.getMethod(), allArguments, method.getParameterTypes(), t);
+    }
 }
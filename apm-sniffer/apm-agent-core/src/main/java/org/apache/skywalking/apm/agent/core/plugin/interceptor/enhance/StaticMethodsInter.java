@@ -18,7 +18,6 @@
 
 package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
 
-import java.lang.reflect.Method;
 import java.util.concurrent.Callable;
 import net.bytebuddy.implementation.bind.annotation.AllArguments;
 import net.bytebuddy.implementation.bind.annotation.Origin;
@@ -42,6 +41,12 @@ public class StaticMethodsInter {
      */
     private String staticMethodsAroundInterceptorClassName;
 
+    /**
+     * The interceptor instance, resolved at the first call. The bridge is created per enhanced class, so the
+     * classloader of the target class never changes.
+     */
+    private volatile StaticMethodsAroundInterceptor interceptor;
+
     /**
      * Set the name of {@link StaticMethodsInter#staticMethodsAroundInterceptorClassName}
      *
@@ -63,14 +68,17 @@ public class StaticMethodsInter {
      *                   bug, if anything triggers this condition ).
      */
     @RuntimeType
-    public Object intercept(@Origin Class<?> clazz, @AllArguments Object[] allArguments, @Origin Method method,
+    public Object intercept(@Origin Class<?> clazz, @AllArguments Object[] allArguments, @InterceptedMethodBinder.Bound InterceptedMethod method,
         @SuperCall Callable<?> zuper) throws Throwable {
-        StaticMethodsAroundInterceptor interceptor = InterceptorInstanceLoader.load(staticMethodsAroundInterceptorClassName, clazz
-            .getClassLoader());
+        StaticMethodsAroundInterceptor interceptor = this.interceptor;
+        if (interceptor == null) {
+            interceptor = InterceptorInstanceLoader.load(staticMethodsAroundInterceptorClassName, clazz.getClassLoader());
+            this.interceptor = interceptor;
+        }
 
         MethodInterceptResult result = new MethodInterceptResult();
         try {
-            interceptor.beforeMethod(clazz, method, allArguments, method.getParameterTypes(), result);
+            interceptor.beforeMethod(clazz, method, allArguments, result);
         } catch (Throwable t) {
             LOGGER.error(t, "class[{}] before static method[{}] intercept failure", clazz, method.getName());
         }
@@ -84,14 +92,14 @@ public class StaticMethodsInter {
             }
         } catch (Throwable t) {
             try {
-                interceptor.handleMethodException(clazz, method, allArguments, method.getParameterTypes(), t);
+                interceptor.handleMethodException(clazz, method, allArguments, t);
             } catch (Throwable t2) {
                 LOGGER.error(t2, "class[{}] handle static method[{}] exception failure", clazz, method.getName(), t2.getMessage());
             }
             throw t;
         } finally {
             try {
-                ret = interceptor.afterMethod(clazz, method, allArguments, method.getParameterTypes(), ret);
+                ret = interceptor.afterMethod(clazz, method, allArguments, ret);
             } catch (Throwable t) {
                 LOGGER.error(t, "class[{}] after static method[{}] intercept failure:{}", clazz, method.getName(), t.getMessage());
             }
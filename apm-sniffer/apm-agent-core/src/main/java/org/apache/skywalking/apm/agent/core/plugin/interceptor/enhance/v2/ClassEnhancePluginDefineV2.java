@@ -26,6 +26,7 @@ import net.bytebuddy.implementation.SuperMethodCall;
 import net.bytebuddy.implementation.bind.annotation.Morph;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.plugin.AbstractClassEnhancePluginDefine;
 import org.apache.skywalking.apm.agent.core.plugin.EnhanceContext;
 import org.apache.skywalking.apm.agent.core.plugin.PluginException;
@@ -37,6 +38,9 @@ import org.apache.skywalking.apm.agent.core.plugin.interceptor.StaticMethodsInte
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.ConstructorInter;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.DelegateNamingResolver;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InlineInterceptors;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InterceptedMethodBinder;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InterceptionMode;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.OverrideCallable;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.v2.ConstructorInterceptV2Point;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.v2.DeclaredInstanceMethodsInterceptV2Point;
@@ -86,7 +90,7 @@ public abstract class ClassEnhancePluginDefineV2 extends AbstractClassEnhancePlu
                     newClassBuilder = newClassBuilder.method(
                         isStatic().and(staticMethodsInterceptV2Point.getMethodsMatcher()))
                                                      .intercept(MethodDelegation.withDefaultConfiguration()
-                                                                                .withBinders(Morph.Binder.install(OverrideCallable.class))
+                                                                                .withBinders(Morph.Binder.install(OverrideCallable.class), InterceptedMethodBinder.INSTANCE)
                                                                                 .to(new StaticMethodsInterV2WithOverrideArgs(interceptor), delegateNamingResolver.resolve(staticMethodsInterceptV2Point)));
                 }
             } else {
@@ -99,6 +103,7 @@ public abstract class ClassEnhancePluginDefineV2 extends AbstractClassEnhancePlu
                     newClassBuilder = newClassBuilder.method(
                         isStatic().and(staticMethodsInterceptV2Point.getMethodsMatcher()))
                                                      .intercept(MethodDelegation.withDefaultConfiguration()
+                                                                                .withBinders(InterceptedMethodBinder.INSTANCE)
                                                                                 .to(new StaticMethodsInterV2(interceptor), delegateNamingResolver.resolve(staticMethodsInterceptV2Point)));
                 }
             }
@@ -178,7 +183,7 @@ public abstract class ClassEnhancePluginDefineV2 extends AbstractClassEnhancePlu
                     } else {
                         newClassBuilder = newClassBuilder.method(junction)
                                                          .intercept(MethodDelegation.withDefaultConfiguration()
-                                                                                    .withBinders(Morph.Binder.install(OverrideCallable.class))
+                                                                                    .withBinders(Morph.Binder.install(OverrideCallable.class), InterceptedMethodBinder.INSTANCE)
                                                                                     .to(new InstMethodsInterV2WithOverrideArgs(interceptor, classLoader), fieldNamingResolver.resolve(instanceMethodsInterceptV2Point)));
                     }
                 } else {
@@ -186,9 +191,19 @@ public abstract class ClassEnhancePluginDefineV2 extends AbstractClassEnhancePlu
                         newClassBuilder = newClassBuilder.method(junction)
                                                          .intercept(MethodDelegation.withDefaultConfiguration()
                                                                                     .to(BootstrapInstrumentBoost.forInternalDelegateClass(interceptor)));
+                    } else if (Config.Plugin.INTERCEPTION_MODE == InterceptionMode.ADVICE) {
+                        ElementMatcher.Junction<MethodDescription> inlinable = InlineInterceptors.inlinable(typeDescription);
+                        String delegateName = fieldNamingResolver.resolve(instanceMethodsInterceptV2Point);
+                        newClassBuilder = InstMethodsInterV2Advice.inline(newClassBuilder, typeDescription, junction.and(inlinable),
+                                                                    interceptor, classLoader, delegateName)
+                                                         .method(junction.and(not(inlinable)))
+                                                         .intercept(MethodDelegation.withDefaultConfiguration()
+                                                                                    .withBinders(InterceptedMethodBinder.INSTANCE)
+                                                                                    .to(new InstMethodsInterV2(interceptor, classLoader), delegateName));
                     } else {
                         newClassBuilder = newClassBuilder.method(junction)
                                                          .intercept(MethodDelegation.withDefaultConfiguration()
+                                                                                    .withBinders(InterceptedMethodBinder.INSTANCE)
                                                                                     .to(new InstMethodsInterV2(interceptor, classLoader), fieldNamingResolver.resolve(instanceMethodsInterceptV2Point)));
                     }
                 }
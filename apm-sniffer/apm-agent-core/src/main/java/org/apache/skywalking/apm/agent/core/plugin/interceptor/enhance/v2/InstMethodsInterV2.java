@@ -17,10 +17,8 @@
 
 package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.v2;
 
-import java.lang.reflect.Method;
 import java.util.concurrent.Callable;
 import net.bytebuddy.implementation.bind.annotation.AllArguments;
-import net.bytebuddy.implementation.bind.annotation.Origin;
 import net.bytebuddy.implementation.bind.annotation.RuntimeType;
 import net.bytebuddy.implementation.bind.annotation.SuperCall;
 import net.bytebuddy.implementation.bind.annotation.This;
@@ -28,6 +26,8 @@ import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.agent.core.plugin.PluginException;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InterceptedMethod;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InterceptedMethodBinder;
 import org.apache.skywalking.apm.agent.core.plugin.loader.InterceptorInstanceLoader;
 
 /**
@@ -49,12 +49,12 @@ public class InstMethodsInterV2 {
 
     @RuntimeType
     public Object intercept(@This Object obj, @AllArguments Object[] allArguments, @SuperCall Callable<?> zuper,
-                            @Origin Method method) throws Throwable {
+                            @InterceptedMethodBinder.Bound InterceptedMethod method) throws Throwable {
         EnhancedInstance targetObject = (EnhancedInstance) obj;
 
         MethodInvocationContext context = new MethodInvocationContext();
         try {
-            interceptor.beforeMethod(targetObject, method, allArguments, method.getParameterTypes(), context);
+            interceptor.beforeMethod(targetObject, method, allArguments, context);
         } catch (Throwable t) {
             LOGGER.error(t, "class[{}] before method[{}] intercept failure", obj.getClass(), method.getName());
         }
@@ -68,14 +68,14 @@ public class InstMethodsInterV2 {
             }
         } catch (Throwable t) {
             try {
-                interceptor.handleMethodException(targetObject, method, allArguments, method.getParameterTypes(), t, context);
+                interceptor.handleMethodException(targetObject, method, allArguments, t, context);
             } catch (Throwable t2) {
                 LOGGER.error(t2, "class[{}] handle method[{}] exception failure", obj.getClass(), method.getName());
             }
             throw t;
         } finally {
             try {
-                ret = interceptor.afterMethod(targetObject, method, allArguments, method.getParameterTypes(), ret, context);
+                ret = interceptor.afterMethod(targetObject, method, allArguments, ret, context);
             } catch (Throwable t) {
                 LOGGER.error(t, "class[{}] after method[{}] intercept failure", obj.getClass(), method.getName());
             }
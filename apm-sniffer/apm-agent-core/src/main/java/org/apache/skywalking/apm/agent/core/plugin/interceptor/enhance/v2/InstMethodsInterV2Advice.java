@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.v2;
+
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.plugin.PluginException;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InlineInterceptors;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InterceptedMethod;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InterceptedMethodBinder;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InterceptionMode;
+import org.apache.skywalking.apm.agent.core.plugin.loader.InterceptorInstanceLoader;
+
+/**
+ * The v2 version of {@link org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstMethodsInterAdvice},
+ * inlined into the enhanced instance methods in the {@link InterceptionMode#ADVICE} mode, and calling the {@link
+ * InstanceMethodsAroundInterceptorV2} the same way as {@link InstMethodsInterV2}.
+ */
+public class InstMethodsInterV2Advice {
+    public static final ILog LOGGER = LogManager.getLogger(InstMethodsInterV2Advice.class);
+
+    /**
+     * @param instanceMethodsAroundInterceptorClassName class full name.
+     * @param delegateName                              the delegate field name of the intercept point.
+     * @return the builder, which inlines the advice calling the interceptor into the methods.
+     */
+    public static DynamicType.Builder<?> inline(DynamicType.Builder<?> builder,
+                                                TypeDescription typeDescription,
+                                                ElementMatcher<? super MethodDescription> methods,
+                                                String instanceMethodsAroundInterceptorClassName,
+                                                ClassLoader classLoader,
+                                                String delegateName) {
+        InstanceMethodsAroundInterceptorV2 interceptor;
+        try {
+            interceptor = InterceptorInstanceLoader.load(instanceMethodsAroundInterceptorClassName, classLoader);
+        } catch (Throwable t) {
+            throw new PluginException("Can't create InstanceMethodsAroundInterceptorV2.", t);
+        }
+        return InlineInterceptors.inline(builder, typeDescription, methods, InstMethodsInterV2Advice.class,
+                                         InstanceMethodsAroundInterceptorV2.class, interceptor, delegateName);
+    }
+
+    /**
+     * @return true, if the interceptor has defined the return value, and the origin method should be skipped.
+     */
+    @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class)
+    public static boolean enter(@InlineInterceptors.Interceptor InstanceMethodsAroundInterceptorV2 interceptor,
+                                @InterceptedMethodBinder.Bound InterceptedMethod method,
+                                @Advice.This Object obj,
+                                @Advice.AllArguments Object[] allArguments,
+                                @Advice.Local("allArguments") Object[] arguments,
+                                @Advice.Local("context") MethodInvocationContext context) {
+        // every read of @AllArguments builds a new array, so read it once, and share it with the exit advice
+        arguments = allArguments;
+        context = new MethodInvocationContext();
+        try {
+            interceptor.beforeMethod((EnhancedInstance) obj, method, arguments, context);
+        } catch (Throwable t) {
+            LOGGER.error(t, "class[{}] before method[{}] intercept failure", obj.getClass(), method.getName());
+        }
+        return !context.isContinue();
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class)
+    public static void exit(@InlineInterceptors.Interceptor InstanceMethodsAroundInterceptorV2 interceptor,
+                            @InterceptedMethodBinder.Bound InterceptedMethod method,
+                            @Advice.This Object obj,
+                            @Advice.Local("allArguments") Object[] allArguments,
+                            @Advice.Local("context") MethodInvocationContext context,
+                            @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object ret,
+                            @Advice.Thrown Throwable throwable) {
+        if (!context.isContinue()) {
+            ret = context._ret();
+        }
+        if (throwable != null) {
+            try {
+                interceptor.handleMethodException(
+                    (EnhancedInstance) obj, method, allArguments, throwable, context);
+            } catch (Throwable t) {
+                LOGGER.error(t, "class[{}] handle method[{}] exception failure", obj.getClass(), method.getName());
+            }
+        }
+        try {
+            ret = interceptor.afterMethod((EnhancedInstance) obj, method, allArguments, ret, context);
+        } catch (Throwable t) {
+            LOGGER.error(t, "class[{}] after method[{}] intercept failure", obj.getClass(), method.getName());
+        }
+    }
+}
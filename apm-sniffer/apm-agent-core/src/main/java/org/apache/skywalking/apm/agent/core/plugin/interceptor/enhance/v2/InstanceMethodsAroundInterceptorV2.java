@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.v2;
 import java.lang.reflect.Method;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.ClassInstanceMethodsEnhancePluginDefine;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InterceptedMethod;
 
 /**
  * A v2 interceptor, which intercept method's invocation. The target methods will be defined in {@link
@@ -51,4 +52,37 @@ public interface InstanceMethodsAroundInterceptorV2 {
     void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
                                Class<?>[] argumentsTypes, Throwable t, MethodInvocationContext context);
 
+    /**
+     * called before target method invocation, by the interceptor bridges. Override it to use the cached metadata of
+     * the method, rather than the {@link Method}.
+     *
+     * @param context the method invocation context including result context.
+     */
+    default void beforeMethod(EnhancedInstance objInst, InterceptedMethod method, Object[] allArguments,
+                              MethodInvocationContext context) throws Throwable {
+        beforeMethod(objInst, method.getMethod(), allArguments, method.getParameterTypes(), context);
+    }
+
+    /**
+     * called after target method invocation, by the interceptor bridges. Override it to use the cached metadata of
+     * the method, rather than the {@link Method}.
+     *
+     * @param ret the method's original return value. May be null if the method triggers an exception.
+     * @return the method's actual return value.
+     */
+    default Object afterMethod(EnhancedInstance objInst, InterceptedMethod method, Object[] allArguments,
+                               Object ret, MethodInvocationContext context) throws Throwable {
+        return afterMethod(objInst, method.getMethod(), allArguments, method.getParameterTypes(), ret, context);
+    }
+
+    /**
+     * called when occur exception, by the interceptor bridges. Override it to use the cached metadata of the method,
+     * rather than the {@link Method}.
+     *
+     * @param t the exception occur.
+     */
+    default void handleMethodException(EnhancedInstance objInst, InterceptedMethod method, Object[] allArguments,
+                                       Throwable t, MethodInvocationContext context) {
+        handleMethodException(objInst, method.getMethod(), allArguments, method.getParameterTypes(), t, context);
+    }
 }
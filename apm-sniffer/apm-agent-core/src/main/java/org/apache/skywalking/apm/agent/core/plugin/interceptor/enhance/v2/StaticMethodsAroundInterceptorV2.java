@@ -19,6 +19,7 @@
 package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.v2;
 
 import java.lang.reflect.Method;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InterceptedMethod;
 
 /**
  * The static method's interceptor v2 interface. Any plugin, which wants to intercept static methods, must implement this
@@ -49,4 +50,38 @@ public interface StaticMethodsAroundInterceptorV2 {
      */
     void handleMethodException(Class clazz, Method method, Object[] allArguments, Class<?>[] parameterTypes,
         Throwable t, MethodInvocationContext context);
+
+    /**
+     * called before target method invocation, by the interceptor bridges. Override it to use the cached metadata of
+     * the method, rather than the {@link Method}.
+     *
+     * @param context the method invocation context including result context.
+     */
+    default void beforeMethod(Class clazz, InterceptedMethod method, Object[] allArguments,
+                              MethodInvocationContext context) {
+        beforeMethod(clazz, method.getMethod(), allArguments, method.getParameterTypes(), context);
+    }
+
+    /**
+     * called after target method invocation, by the interceptor bridges. Override it to use the cached metadata of
+     * the method, rather than the {@link Method}.
+     *
+     * @param ret the method's original return value.
+     * @return the method's actual return value.
+     */
+    default Object afterMethod(Class clazz, InterceptedMethod method, Object[] allArguments, Object ret,
+        MethodInvocationContext context) {
+        return afterMethod(clazz, method.getMethod(), allArguments, method.getParameterTypes(), ret, context);
+    }
+
+    /**
+     * called when occur exception, by the interceptor bridges. Override it to use the cached metadata of the method,
+     * rather than the {@link Method}.
+     *
+     * @param t the exception occur.
+     */
+    default void handleMethodException(Class clazz, InterceptedMethod method, Object[] allArguments, Throwable t,
+        MethodInvocationContext context) {
+        handleMethodException(clazz, method.getMethod(), allArguments, method.getParameterTypes(), t, context);
+    }
 }
@@ -18,7 +18,6 @@
 
 package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.v2;
 
-import java.lang.reflect.Method;
 import java.util.concurrent.Callable;
 import net.bytebuddy.implementation.bind.annotation.AllArguments;
 import net.bytebuddy.implementation.bind.annotation.Origin;
@@ -26,6 +25,8 @@ import net.bytebuddy.implementation.bind.annotation.RuntimeType;
 import net.bytebuddy.implementation.bind.annotation.SuperCall;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InterceptedMethod;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InterceptedMethodBinder;
 import org.apache.skywalking.apm.agent.core.plugin.loader.InterceptorInstanceLoader;
 
 /**
@@ -42,6 +43,12 @@ public class StaticMethodsInterV2 {
      */
     private String staticMethodsAroundInterceptorClassName;
 
+    /**
+     * The interceptor instance, resolved at the first call. The bridge is created per enhanced class, so the
+     * classloader of the target class never changes.
+     */
+    private volatile StaticMethodsAroundInterceptorV2 interceptor;
+
     /**
      * Set the name of {@link StaticMethodsInterV2#staticMethodsAroundInterceptorClassName}
      *
@@ -63,14 +70,17 @@ public class StaticMethodsInterV2 {
      *                   bug, if anything triggers this condition ).
      */
     @RuntimeType
-    public Object intercept(@Origin Class<?> clazz, @AllArguments Object[] allArguments, @Origin Method method,
+    public Object intercept(@Origin Class<?> clazz, @AllArguments Object[] allArguments, @InterceptedMethodBinder.Bound InterceptedMethod method,
         @SuperCall Callable<?> zuper) throws Throwable {
-        StaticMethodsAroundInterceptorV2 interceptor = InterceptorInstanceLoader.load(staticMethodsAroundInterceptorClassName,
-                                                                                      clazz.getClassLoader());
+        StaticMethodsAroundInterceptorV2 interceptor = this.interceptor;
+        if (interceptor == null) {
+            interceptor = InterceptorInstanceLoader.load(staticMethodsAroundInterceptorClassName, clazz.getClassLoader());
+            this.interceptor = interceptor;
+        }
 
         MethodInvocationContext context = new MethodInvocationContext();
         try {
-            interceptor.beforeMethod(clazz, method, allArguments, method.getParameterTypes(), context);
+            interceptor.beforeMethod(clazz, method, allArguments, context);
         } catch (Throwable t) {
             LOGGER.error(t, "class[{}] before static method[{}] intercept failure", clazz, method.getName());
         }
@@ -84,14 +94,14 @@ public class StaticMethodsInterV2 {
             }
         } catch (Throwable t) {
             try {
-                interceptor.handleMethodException(clazz, method, allArguments, method.getParameterTypes(), t, context);
+                interceptor.handleMethodException(clazz, method, allArguments, t, context);
             } catch (Throwable t2) {
                 LOGGER.error(t2, "class[{}] handle static method[{}] exception failure", clazz, method.getName(), t2.getMessage());
             }
             throw t;
         } finally {
             try {
-                ret = interceptor.afterMethod(clazz, method, allArguments, method.getParameterTypes(), ret, context);
+                ret = interceptor.afterMethod(clazz, method, allArguments, ret, context);
             } catch (Throwable t) {
                 LOGGER.error(t, "class[{}] after static method[{}] intercept failure:{}", clazz, method.getName(), t.getMessage());
             }
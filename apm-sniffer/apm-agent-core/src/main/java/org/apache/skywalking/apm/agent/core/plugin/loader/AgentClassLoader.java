@@ -28,6 +28,7 @@ import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -62,6 +63,11 @@ public class AgentClassLoader extends ClassLoader {
     private List<File> classpath;
     private List<Jar> allJars;
     private ReentrantLock jarScanLock = new ReentrantLock();
+    /**
+     * The interceptor instances created by {@link InterceptorInstanceLoader} through this loader, keyed by the interned
+     * interceptor class name. They are kept here, rather than in a global map, so they live as long as this loader.
+     */
+    final ConcurrentHashMap<String, Object> interceptorInstances = new ConcurrentHashMap<>();
 
     public static AgentClassLoader getDefault() {
         return DEFAULT_LOADER;
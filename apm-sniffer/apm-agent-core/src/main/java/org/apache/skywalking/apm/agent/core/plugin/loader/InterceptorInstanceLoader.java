@@ -18,12 +18,16 @@
 
 package org.apache.skywalking.apm.agent.core.plugin.loader;
 
-import org.apache.skywalking.apm.agent.core.boot.AgentPackageNotFoundException;
-
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.skywalking.apm.agent.core.boot.AgentPackageNotFoundException;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 
 /**
  * The <code>InterceptorInstanceLoader</code> is a classes finder and container.
@@ -31,12 +35,25 @@ import java.util.concurrent.locks.ReentrantLock;
  * This is a very important class in sky-walking's auto-instrumentation mechanism. If you want to fully understand why
  * need this, and how it works, you need have knowledge about Classloader appointment mechanism.
  * <p>
+ * The cache has two levels. The first level maps the identity of a target classloader to its extend {@link
+ * AgentClassLoader}, the second level is {@link AgentClassLoader#interceptorInstances}, keyed by the interned
+ * interceptor class name. Reads of both levels are lock-free, only the creation of a new {@link AgentClassLoader} is
+ * serialized.
+ * <p>
+ * The first level holds the target classloader and the {@link AgentClassLoader} weakly. The {@link AgentClassLoader}
+ * is kept alive by the interceptor classes it defined, which are referenced by the enhanced classes of the target
+ * classloader, so the entry is released once the target classloader is unloaded.
  */
 public class InterceptorInstanceLoader {
+    private static final ILog LOGGER = LogManager.getLogger(InterceptorInstanceLoader.class);
+
+    private static final ConcurrentHashMap<LoaderKey, PluginLoaderReference> EXTEND_PLUGIN_CLASSLOADERS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Object> STALE_REFERENCES = new ReferenceQueue<>();
 
-    private static ConcurrentHashMap<String, Object> INSTANCE_CACHE = new ConcurrentHashMap<String, Object>();
-    private static ReentrantLock INSTANCE_LOAD_LOCK = new ReentrantLock();
-    private static Map<ClassLoader, ClassLoader> EXTEND_PLUGIN_CLASSLOADERS = new HashMap<ClassLoader, ClassLoader>();
+    private static final AtomicInteger CREATED_PLUGIN_CLASSLOADERS = new AtomicInteger();
+    private static final AtomicInteger RELEASED_PLUGIN_CLASSLOADERS = new AtomicInteger();
+    private static final AtomicInteger CREATED_INSTANCES = new AtomicInteger();
+    private static final LongAdder INSTANCE_LOAD_NANOS = new LongAdder();
 
     /**
      * Load an instance of interceptor, and keep it singleton. Create {@link AgentClassLoader} for each
@@ -52,28 +69,120 @@ public class InterceptorInstanceLoader {
         if (targetClassLoader == null) {
             targetClassLoader = InterceptorInstanceLoader.class.getClassLoader();
         }
-        String instanceKey = className + "_OF_" + targetClassLoader.getClass()
-                                                                   .getName() + "@" + Integer.toHexString(targetClassLoader
-            .hashCode());
-        Object inst = INSTANCE_CACHE.get(instanceKey);
+        AgentClassLoader pluginLoader = getPluginLoader(targetClassLoader);
+        Object inst = pluginLoader.interceptorInstances.get(className);
         if (inst == null) {
-            INSTANCE_LOAD_LOCK.lock();
-            ClassLoader pluginLoader;
-            try {
-                pluginLoader = EXTEND_PLUGIN_CLASSLOADERS.get(targetClassLoader);
-                if (pluginLoader == null) {
-                    pluginLoader = new AgentClassLoader(targetClassLoader);
-                    EXTEND_PLUGIN_CLASSLOADERS.put(targetClassLoader, pluginLoader);
-                }
-            } finally {
-                INSTANCE_LOAD_LOCK.unlock();
-            }
+            long startTime = System.nanoTime();
             inst = Class.forName(className, true, pluginLoader).newInstance();
-            if (inst != null) {
-                INSTANCE_CACHE.put(instanceKey, inst);
+            Object previous = pluginLoader.interceptorInstances.putIfAbsent(className.intern(), inst);
+            if (previous != null) {
+                inst = previous;
+            } else {
+                long cost = System.nanoTime() - startTime;
+                CREATED_INSTANCES.incrementAndGet();
+                INSTANCE_LOAD_NANOS.add(cost);
+                LOGGER.debug("Interceptor {} of {} is loaded in {} us.", className, targetClassLoader, TimeUnit.NANOSECONDS
+                    .toMicros(cost));
             }
         }
 
         return (T) inst;
     }
+
+    /**
+     * @return the extend {@link AgentClassLoader} of the target classloader, created at the first time.
+     */
+    static AgentClassLoader getPluginLoader(ClassLoader targetClassLoader) throws AgentPackageNotFoundException {
+        AgentClassLoader pluginLoader = lookup(new LoaderKey(targetClassLoader, null));
+        if (pluginLoader != null) {
+            return pluginLoader;
+        }
+        synchronized (EXTEND_PLUGIN_CLASSLOADERS) {
+            expungeStaleEntries();
+            LoaderKey key = new LoaderKey(targetClassLoader, STALE_REFERENCES);
+            pluginLoader = lookup(key);
+            if (pluginLoader == null) {
+                pluginLoader = new AgentClassLoader(targetClassLoader);
+                EXTEND_PLUGIN_CLASSLOADERS.put(key, new PluginLoaderReference(key, pluginLoader, STALE_REFERENCES));
+                LOGGER.info(
+                    "Plugin classloader is created for {}. {} plugin classloader(s) created, {} released, {} interceptor(s) loaded in {} ms.",
+                    targetClassLoader, CREATED_PLUGIN_CLASSLOADERS.incrementAndGet(), RELEASED_PLUGIN_CLASSLOADERS.get(),
+                    CREATED_INSTANCES.get(), TimeUnit.NANOSECONDS.toMillis(INSTANCE_LOAD_NANOS.sum())
+                );
+            }
+            return pluginLoader;
+        }
+    }
+
+    /**
+     * @return the number of target classloaders which are still cached.
+     */
+    static int size() {
+        synchronized (EXTEND_PLUGIN_CLASSLOADERS) {
+            expungeStaleEntries();
+            return EXTEND_PLUGIN_CLASSLOADERS.size();
+        }
+    }
+
+    private static AgentClassLoader lookup(LoaderKey key) {
+        PluginLoaderReference reference = EXTEND_PLUGIN_CLASSLOADERS.get(key);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Remove the entries whose target classloader or {@link AgentClassLoader} has been collected.
+     */
+    private static void expungeStaleEntries() {
+        Reference<?> reference;
+        while ((reference = STALE_REFERENCES.poll()) != null) {
+            boolean removed;
+            if (reference instanceof LoaderKey) {
+                removed = EXTEND_PLUGIN_CLASSLOADERS.remove(reference) != null;
+            } else {
+                PluginLoaderReference pluginLoaderReference = (PluginLoaderReference) reference;
+                removed = EXTEND_PLUGIN_CLASSLOADERS.remove(pluginLoaderReference.key, pluginLoaderReference);
+            }
+            if (removed) {
+                RELEASED_PLUGIN_CLASSLOADERS.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Identity key of the target classloader, it doesn't prevent the classloader from being unloaded.
+     */
+    private static class LoaderKey extends WeakReference<ClassLoader> {
+        private final int hash;
+
+        LoaderKey(ClassLoader classLoader, ReferenceQueue<Object> queue) {
+            super(classLoader, queue);
+            this.hash = System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LoaderKey)) {
+                return false;
+            }
+            ClassLoader classLoader = get();
+            return classLoader != null && classLoader == ((LoaderKey) o).get();
+        }
+    }
+
+    private static class PluginLoaderReference extends WeakReference<AgentClassLoader> {
+        private final LoaderKey key;
+
+        PluginLoaderReference(LoaderKey key, AgentClassLoader pluginLoader, ReferenceQueue<Object> queue) {
+            super(pluginLoader, queue);
+            this.key = key;
+        }
+    }
 }
@@ -24,13 +24,12 @@ import io.grpc.StatusRuntimeException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.boot.AgentScheduler;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
-import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.commands.CommandService;
 import org.apache.skywalking.apm.agent.core.conf.Config;
@@ -122,19 +121,15 @@ public class ProfileTaskChannelService implements BootService, Runnable, GRPCCha
 
         if (Config.Profile.ACTIVE) {
             // query task list
-            getTaskListFuture = Executors.newSingleThreadScheduledExecutor(
-                new DefaultNamedThreadFactory("ProfileGetTaskService")
-            ).scheduleWithFixedDelay(
-                new RunnableWithExceptionProtection(
+            getTaskListFuture = AgentScheduler.INSTANCE.scheduleBlockingAtFixedRate(
+                "ProfileGetTaskService", new RunnableWithExceptionProtection(
                     this,
                     t -> LOGGER.error("Query profile task list failure.", t)
                 ), 0, Config.Collector.GET_PROFILE_TASK_INTERVAL, TimeUnit.SECONDS
             );
 
-            sendSnapshotFuture = Executors.newSingleThreadScheduledExecutor(
-                new DefaultNamedThreadFactory("ProfileSendSnapshotService")
-            ).scheduleWithFixedDelay(
-                new RunnableWithExceptionProtection(
+            sendSnapshotFuture = AgentScheduler.INSTANCE.scheduleBlockingAtFixedRate(
+                "ProfileSendSnapshotService", new RunnableWithExceptionProtection(
                     () -> {
                         List<TracingThreadSnapshot> buffer = new ArrayList<>(Config.Profile.SNAPSHOT_TRANSPORT_BUFFER_SIZE);
                         snapshotQueue.drainTo(buffer);
@@ -73,7 +73,6 @@ public class ProfileTaskExecutionContext {
      * @return is add profile success
      */
     public ProfileStatusContext attemptProfiling(TracingContext tracingContext,
-                                                 String traceSegmentId,
                                                  String firstSpanOPName) {
         // check has limited the max parallel profiling count
         final int profilingEndpointCount = currentEndpointProfilingCount.get();
@@ -97,7 +96,7 @@ public class ProfileTaskExecutionContext {
         }
 
         ThreadProfiler profiler;
-        if ((profiler = addProfilingThread(tracingContext, traceSegmentId)) != null) {
+        if ((profiler = addProfilingThread(tracingContext, tracingContext.getSegmentId())) != null) {
             return profiler.profilingStatus();
         }
         return ProfileStatusContext.createWithNone();
@@ -123,7 +122,7 @@ public class ProfileTaskExecutionContext {
     /**
      * profiling recheck
      */
-    public void profilingRecheck(TracingContext tracingContext, String traceSegmentId, String firstSpanOPName) {
+    public void profilingRecheck(TracingContext tracingContext, String firstSpanOPName) {
         // if started, keep profiling
         if (tracingContext.profileStatus().isBeingWatched()) {
             return;
@@ -131,7 +130,7 @@ public class ProfileTaskExecutionContext {
 
         // update profiling status
         tracingContext.profileStatus()
-            .updateStatus(attemptProfiling(tracingContext, traceSegmentId, firstSpanOPName));
+            .updateStatus(attemptProfiling(tracingContext, firstSpanOPName));
     }
 
     /**
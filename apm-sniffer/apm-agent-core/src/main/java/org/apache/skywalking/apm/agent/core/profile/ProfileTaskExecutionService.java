@@ -21,11 +21,15 @@ package org.apache.skywalking.apm.agent.core.profile;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import org.apache.skywalking.apm.agent.core.boot.AgentScheduler;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
 import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
@@ -45,10 +49,6 @@ public class ProfileTaskExecutionService implements BootService, TracingThreadLi
 
     private static final ILog LOGGER = LogManager.getLogger(ProfileTaskExecutionService.class);
 
-    // add a schedule while waiting for the task to start or finish
-    private final static ScheduledExecutorService PROFILE_TASK_SCHEDULE = Executors.newSingleThreadScheduledExecutor(
-        new DefaultNamedThreadFactory("PROFILE-TASK-SCHEDULE"));
-
     // last command create time, use to next query task list
     private volatile long lastCommandCreateTime = -1;
 
@@ -62,6 +62,9 @@ public class ProfileTaskExecutionService implements BootService, TracingThreadLi
     // profile task list, include running and waiting running tasks
     private final List<ProfileTask> profileTaskList = Collections.synchronizedList(new LinkedList<>());
 
+    // the pending start and stop tasks, cancelled when shutdown
+    private final Set<ScheduledFuture<?>> scheduledTasks = ConcurrentHashMap.newKeySet();
+
     /**
      * add profile task from OAP
      */
@@ -84,14 +87,13 @@ public class ProfileTaskExecutionService implements BootService, TracingThreadLi
 
         // schedule to start task
         long timeToProcessMills = task.getStartTime() - System.currentTimeMillis();
-        PROFILE_TASK_SCHEDULE.schedule(() -> processProfileTask(task), timeToProcessMills, TimeUnit.MILLISECONDS);
+        schedule("PROFILE-TASK-START", () -> processProfileTask(task), timeToProcessMills, TimeUnit.MILLISECONDS);
     }
 
     /**
      * check and add {@link TracingContext} profiling
      */
     public ProfileStatusContext addProfiling(TracingContext tracingContext,
-                                             String traceSegmentId,
                                              String firstSpanOPName) {
         // get current profiling task, check need profiling
         final ProfileTaskExecutionContext executionContext = taskExecutionContext.get();
@@ -99,7 +101,7 @@ public class ProfileTaskExecutionService implements BootService, TracingThreadLi
             return ProfileStatusContext.createWithNone();
         }
 
-        return executionContext.attemptProfiling(tracingContext, traceSegmentId, firstSpanOPName);
+        return executionContext.attemptProfiling(tracingContext, firstSpanOPName);
     }
 
     /**
@@ -117,14 +119,14 @@ public class ProfileTaskExecutionService implements BootService, TracingThreadLi
     /**
      * Re-check current trace need profiling, in case that third-party plugins change the operation name.
      */
-    public void profilingRecheck(TracingContext tracingContext, String traceSegmentId, String firstSpanOPName) {
+    public void profilingRecheck(TracingContext tracingContext, String firstSpanOPName) {
         // get current profiling task, check need profiling
         final ProfileTaskExecutionContext executionContext = taskExecutionContext.get();
         if (executionContext == null) {
             return;
         }
 
-        executionContext.profilingRecheck(tracingContext, traceSegmentId, firstSpanOPName);
+        executionContext.profilingRecheck(tracingContext, firstSpanOPName);
     }
 
     /**
@@ -141,8 +143,12 @@ public class ProfileTaskExecutionService implements BootService, TracingThreadLi
         // start profiling this task
         currentStartedTaskContext.startProfiling(PROFILE_EXECUTOR);
 
-        PROFILE_TASK_SCHEDULE.schedule(
-            () -> stopCurrentProfileTask(currentStartedTaskContext), task.getDuration(), TimeUnit.MINUTES);
+        schedule("PROFILE-TASK-STOP", () -> stopCurrentProfileTask(currentStartedTaskContext), task.getDuration(), TimeUnit.MINUTES);
+    }
+
+    private void schedule(String name, Runnable task, long delay, TimeUnit unit) {
+        scheduledTasks.removeIf(Future::isDone);
+        scheduledTasks.add(AgentScheduler.INSTANCE.schedule(name, task, delay, unit));
     }
 
     /**
@@ -184,7 +190,10 @@ public class ProfileTaskExecutionService implements BootService, TracingThreadLi
         // remove trace listener
         TracingContext.TracingThreadListenerManager.remove(this);
 
-        PROFILE_TASK_SCHEDULE.shutdown();
+        for (ScheduledFuture<?> scheduledTask : scheduledTasks) {
+            scheduledTask.cancel(true);
+        }
+        scheduledTasks.clear();
 
         PROFILE_EXECUTOR.shutdown();
     }
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.util.ThrowableTransformer;
+import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
+import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.apache.skywalking.apm.network.logging.v3.LogDataBody;
+import org.apache.skywalking.apm.network.logging.v3.LogTags;
+import org.apache.skywalking.apm.network.logging.v3.TextLog;
+import org.apache.skywalking.apm.network.logging.v3.TraceContext;
+
+/**
+ * The <code>CapturedLogEvent</code> is the lightweight record of a log event, captured by the log appender
+ * interceptors and enqueued by {@link LogReportServiceClient#produce(CapturedLogEvent)}. It is transformed into the
+ * {@link LogData} in the reporting thread, so the appending thread only copies the fields.
+ * <p>
+ * The fields which could change after the appending, the formatted text and the arguments, are captured as strings.
+ * The throwable is rendered at the transforming time. The trace ids are read as strings, the generated ids render
+ * their text once and cache it, so only the first read in a segment renders it, and the segment report reuses it.
+ */
+@Getter
+@Builder
+public class CapturedLogEvent {
+    private static final int MAX_EXCEPTION_LENGTH = 2048;
+
+    private final long timestamp;
+    private final String level;
+    private final String logger;
+    private final String thread;
+    /**
+     * The formatted text, or the message template if the arguments are captured.
+     */
+    private final String text;
+    private final String[] arguments;
+    private final Throwable throwable;
+    /**
+     * True if the throwable is rendered into the text, as the formatted logs without a layout. Otherwise, it is reported
+     * as the exception tag.
+     */
+    private final boolean throwableInText;
+    private final String endpoint;
+    private final String traceId;
+    private final String traceSegmentId;
+    /**
+     * -1 means the log isn't in a traced context.
+     */
+    @Builder.Default
+    private final int spanId = -1;
+    /**
+     * The log data built by the caller, see {@link LogReportServiceClient#produce(LogData.Builder)}.
+     */
+    private final LogData.Builder logData;
+
+    public LogData.Builder transform() {
+        if (logData != null) {
+            return logData;
+        }
+        LogTags.Builder logTags = LogTags.newBuilder();
+        addTag(logTags, "level", level);
+        addTag(logTags, "logger", logger);
+        addTag(logTags, "thread", thread);
+        if (arguments != null) {
+            for (int i = 0; i < arguments.length; i++) {
+                addTag(logTags, "argument." + i, arguments[i]);
+            }
+        }
+        String body = text == null ? "" : text;
+        if (throwableInText) {
+            body = body + "\n" + ThrowableTransformer.INSTANCE.convert2String(throwable, MAX_EXCEPTION_LENGTH);
+        } else if (throwable != null) {
+            addTag(logTags, "exception", ThrowableTransformer.INSTANCE.convert2String(throwable, MAX_EXCEPTION_LENGTH));
+        }
+
+        LogData.Builder builder = LogData.newBuilder()
+                                         .setTimestamp(timestamp)
+                                         .setService(Config.Agent.SERVICE_NAME)
+                                         .setServiceInstance(Config.Agent.INSTANCE_NAME)
+                                         .setTags(logTags)
+                                         .setBody(LogDataBody.newBuilder()
+                                                             .setType(LogDataBody.ContentCase.TEXT.name())
+                                                             .setText(TextLog.newBuilder().setText(body)));
+        if (endpoint != null) {
+            builder.setEndpoint(endpoint);
+        }
+        if (spanId != -1) {
+            builder.setTraceContext(TraceContext.newBuilder()
+                                                .setTraceId(traceId)
+                                                .setTraceSegmentId(traceSegmentId)
+                                                .setSpanId(spanId));
+        }
+        return builder;
+    }
+
+    private static void addTag(LogTags.Builder logTags, String key, String value) {
+        if (value != null) {
+            logTags.addData(KeyStringValuePair.newBuilder().setKey(key).setValue(value));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientInterceptors;
+import io.grpc.CompressorRegistry;
+import io.grpc.MethodDescriptor;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.util.StringUtil;
+
+/**
+ * Compress the messages sent to the given services, such as the high-volume segment and log streams, while the short
+ * calls, e.g. the heartbeat, are left uncompressed.
+ */
+public class CompressionDecorator implements ChannelDecorator {
+    private static final ILog LOGGER = LogManager.getLogger(CompressionDecorator.class);
+
+    private final String compressor;
+    private final Set<String> services;
+
+    /**
+     * @param compressor the name of a compressor registered in the default {@link CompressorRegistry}
+     * @param services   the simple names of the gRPC services, separated by `,`
+     */
+    public CompressionDecorator(String compressor, String services) {
+        String name = StringUtil.isBlank(compressor) ? null : compressor.trim();
+        if (name != null && CompressorRegistry.getDefaultInstance().lookupCompressor(name) == null) {
+            LOGGER.warn("The gRPC compressor {} is not supported, the messages are sent uncompressed.", name);
+            name = null;
+        }
+        this.compressor = name;
+        this.services = Arrays.stream(services.split(","))
+                              .map(String::trim)
+                              .filter(StringUtil::isNotBlank)
+                              .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Channel build(Channel channel) {
+        if (compressor == null || services.isEmpty()) {
+            return channel;
+        }
+        return ClientInterceptors.intercept(channel, new ClientInterceptor() {
+            @Override
+            public <REQ, RESP> ClientCall<REQ, RESP> interceptCall(MethodDescriptor<REQ, RESP> method,
+                CallOptions options, Channel channel) {
+                if (services.contains(simpleServiceName(method))) {
+                    options = options.withCompression(compressor);
+                }
+                return channel.newCall(method, options);
+            }
+        });
+    }
+
+    static String simpleServiceName(MethodDescriptor<?, ?> method) {
+        String serviceName = method.getServiceName();
+        if (serviceName == null) {
+            return "";
+        }
+        return serviceName.substring(serviceName.lastIndexOf('.') + 1);
+    }
+}
@@ -18,36 +18,45 @@
 
 package org.apache.skywalking.apm.agent.core.remote;
 
+import io.grpc.CallOptions;
 import io.grpc.Channel;
+import io.grpc.ClientCall;
 import io.grpc.ConnectivityState;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
 import io.grpc.NameResolverRegistry;
+import io.grpc.Status;
 import io.grpc.internal.DnsNameResolverProvider;
 import io.grpc.netty.NettyChannelBuilder;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class GRPCChannel {
     /**
-     * origin channel
+     * origin channels, one unless the pool size is set
      */
-    private final ManagedChannel originChannel;
+    private final ManagedChannel[] originChannels;
     private final Channel channelWithDecorators;
 
-    private GRPCChannel(String host, int port, List<ChannelBuilder> channelBuilders,
+    private GRPCChannel(String host, int port, int poolSize, List<ChannelBuilder> channelBuilders,
                         List<ChannelDecorator> decorators) throws Exception {
-        ManagedChannelBuilder channelBuilder = NettyChannelBuilder.forAddress(host, port);
-
         NameResolverRegistry.getDefaultRegistry().register(new DnsNameResolverProvider());
 
-        for (ChannelBuilder builder : channelBuilders) {
-            channelBuilder = builder.build(channelBuilder);
+        this.originChannels = new ManagedChannel[Math.max(1, poolSize)];
+        for (int i = 0; i < originChannels.length; i++) {
+            ManagedChannelBuilder channelBuilder = NettyChannelBuilder.forAddress(host, port);
+            for (ChannelBuilder builder : channelBuilders) {
+                channelBuilder = builder.build(channelBuilder);
+            }
+            originChannels[i] = channelBuilder.build();
         }
 
-        this.originChannel = channelBuilder.build();
-
-        Channel channel = originChannel;
+        Channel channel = originChannels.length == 1 ? originChannels[0] : new LeastLoadedChannel(originChannels);
         for (ChannelDecorator decorator : decorators) {
             channel = decorator.build(channel);
         }
@@ -64,23 +73,93 @@ public class GRPCChannel {
     }
 
     public boolean isTerminated() {
-        return originChannel.isTerminated();
+        for (ManagedChannel originChannel : originChannels) {
+            if (!originChannel.isTerminated()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public void shutdownNow() {
-        originChannel.shutdownNow();
+        for (ManagedChannel originChannel : originChannels) {
+            originChannel.shutdownNow();
+        }
     }
 
     public boolean isShutdown() {
-        return originChannel.isShutdown();
+        return originChannels[0].isShutdown();
     }
 
     public boolean isConnected() {
         return isConnected(false);
     }
 
+    /**
+     * @return true if all the pooled channels are ready.
+     */
     public boolean isConnected(boolean requestConnection) {
-        return originChannel.getState(requestConnection) == ConnectivityState.READY;
+        boolean connected = true;
+        for (ManagedChannel originChannel : originChannels) {
+            // Check all, as the connection of every channel should be requested.
+            connected &= originChannel.getState(requestConnection) == ConnectivityState.READY;
+        }
+        return connected;
+    }
+
+    /**
+     * Dispatch every call to the channel with the least calls in flight, a long stream is counted until it is closed.
+     */
+    private static class LeastLoadedChannel extends Channel {
+        private final ManagedChannel[] channels;
+        private final AtomicInteger[] inFlightCalls;
+
+        private LeastLoadedChannel(ManagedChannel[] channels) {
+            this.channels = channels;
+            this.inFlightCalls = new AtomicInteger[channels.length];
+            for (int i = 0; i < channels.length; i++) {
+                inFlightCalls[i] = new AtomicInteger();
+            }
+        }
+
+        @Override
+        public <REQ, RESP> ClientCall<REQ, RESP> newCall(MethodDescriptor<REQ, RESP> method, CallOptions options) {
+            int selected = 0;
+            int least = inFlightCalls[0].get();
+            for (int i = 1; i < inFlightCalls.length && least > 0; i++) {
+                int calls = inFlightCalls[i].get();
+                if (calls < least) {
+                    selected = i;
+                    least = calls;
+                }
+            }
+            final AtomicInteger counter = inFlightCalls[selected];
+            return new ForwardingClientCall.SimpleForwardingClientCall<REQ, RESP>(
+                channels[selected].newCall(method, options)) {
+                @Override
+                public void start(Listener<RESP> responseListener, Metadata headers) {
+                    counter.incrementAndGet();
+                    try {
+                        super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RESP>(
+                            responseListener) {
+                            @Override
+                            public void onClose(Status status, Metadata trailers) {
+                                counter.decrementAndGet();
+                                super.onClose(status, trailers);
+                            }
+                        }, headers);
+                    } catch (RuntimeException e) {
+                        counter.decrementAndGet();
+                        throw e;
+                    }
+                }
+            };
+        }
+
+        @Override
+        public String authority() {
+            return channels[0].authority();
+        }
     }
 
     public static class Builder {
@@ -88,6 +167,7 @@ public class GRPCChannel {
         private final int port;
         private final List<ChannelBuilder> channelBuilders;
         private final List<ChannelDecorator> decorators;
+        private int poolSize = 1;
 
         private Builder(String host, int port) {
             this.host = host;
@@ -101,8 +181,13 @@ public class GRPCChannel {
             return this;
         }
 
+        public Builder poolSize(int poolSize) {
+            this.poolSize = poolSize;
+            return this;
+        }
+
         public GRPCChannel build() throws Exception {
-            return new GRPCChannel(host, port, channelBuilders, decorators);
+            return new GRPCChannel(host, port, poolSize, channelBuilders, decorators);
         }
 
         public Builder addManagedChannelBuilder(ChannelBuilder builder) {
@@ -28,15 +28,14 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.skywalking.apm.agent.core.boot.AgentScheduler;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
-import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
@@ -57,6 +56,7 @@ public class GRPCChannelManager implements BootService, Runnable {
     private volatile List<String> grpcServers;
     private volatile int selectedIdx = -1;
     private volatile int reconnectCount = 0;
+    private final StreamBytesDecorator streamBytes = new StreamBytesDecorator();
 
     @Override
     public void prepare() {
@@ -71,10 +71,8 @@ public class GRPCChannelManager implements BootService, Runnable {
             return;
         }
         grpcServers = Arrays.asList(Config.Collector.BACKEND_SERVICE.split(","));
-        connectCheckFuture = Executors.newSingleThreadScheduledExecutor(
-            new DefaultNamedThreadFactory("GRPCChannelManager")
-        ).scheduleAtFixedRate(
-            new RunnableWithExceptionProtection(
+        connectCheckFuture = AgentScheduler.INSTANCE.scheduleBlockingAtFixedRate(
+            "GRPCChannelManager", new RunnableWithExceptionProtection(
                 this,
                 t -> LOGGER.error("unexpected exception.", t)
             ), 0, Config.Collector.GRPC_CHANNEL_CHECK_INTERVAL, TimeUnit.SECONDS
@@ -145,6 +143,12 @@ public class GRPCChannelManager implements BootService, Runnable {
                                                     .addManagedChannelBuilder(new TLSChannelBuilder())
                                                     .addChannelDecorator(new AgentIDDecorator())
                                                     .addChannelDecorator(new AuthenticationDecorator())
+                                                    .addChannelDecorator(new CompressionDecorator(
+                                                        Config.Collector.GRPC_COMPRESSION,
+                                                        Config.Collector.GRPC_COMPRESSION_SERVICES
+                                                    ))
+                                                    .addChannelDecorator(streamBytes)
+                                                    .poolSize(Config.Collector.GRPC_CHANNEL_POOL_SIZE)
                                                     .build();
                         reconnectCount = 0;
                         reconnect = false;
@@ -179,6 +183,13 @@ public class GRPCChannelManager implements BootService, Runnable {
         return managedChannel.getChannel();
     }
 
+    /**
+     * @return the bytes sent to every gRPC service, since the agent started.
+     */
+    public StreamBytesDecorator getStreamBytes() {
+        return streamBytes;
+    }
+
     /**
      * If the given exception is triggered by network problem, connect in background.
      */
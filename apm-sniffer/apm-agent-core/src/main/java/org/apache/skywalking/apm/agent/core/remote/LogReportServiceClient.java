@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.agent.core.remote;
 
 import io.grpc.Channel;
 import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
@@ -35,7 +36,9 @@ import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.agent.core.util.CollectionUtil;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.AdaptiveWaitStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.SleepWaitStrategy;
 import org.apache.skywalking.apm.network.common.v3.Commands;
 import org.apache.skywalking.apm.network.logging.v3.LogData;
 import org.apache.skywalking.apm.network.logging.v3.LogReportServiceGrpc;
@@ -44,11 +47,18 @@ import org.apache.skywalking.apm.network.logging.v3.LogReportServiceGrpc;
 public class LogReportServiceClient implements BootService, GRPCChannelListener, IConsumer<LogData.Builder> {
     private static final ILog LOGGER = LogManager.getLogger(LogReportServiceClient.class);
 
-    private volatile DataCarrier<LogData.Builder> carrier;
+    private volatile DataCarrier<CapturedLogEvent> carrier;
     private volatile GRPCChannelStatus status;
 
     private volatile LogReportServiceGrpc.LogReportServiceStub logReportServiceStub;
 
+    /**
+     * The batch to send, only accessed by the consumer thread.
+     */
+    private final List<LogData> pending = new ArrayList<>();
+    private long pendingBytes;
+    private long pendingSince;
+
     @Override
     public void prepare() throws Throwable {
         ServiceManager.INSTANCE.findService(GRPCChannelManager.class).addChannelListener(this);
@@ -59,9 +69,12 @@ public class LogReportServiceClient implements BootService, GRPCChannelListener,
         carrier = new DataCarrier<>("gRPC-log", "gRPC-log",
                                     Config.Buffer.CHANNEL_SIZE,
                                     Config.Buffer.BUFFER_SIZE,
-                                    BufferStrategy.IF_POSSIBLE
+                                    Config.Buffer.USE_RING_BUFFER ? BufferStrategy.RING : BufferStrategy.IF_POSSIBLE
+        );
+        carrier.consume(
+            new CapturedLogEventConsumer(), 1, Config.Buffer.CONSUME_CYCLE,
+            Config.Buffer.ADAPTIVE_CONSUMER_WAIT ? AdaptiveWaitStrategy.CREATOR : SleepWaitStrategy.CREATOR
         );
-        carrier.consume(this, 1);
     }
 
     @Override
@@ -70,7 +83,16 @@ public class LogReportServiceClient implements BootService, GRPCChannelListener,
     }
 
     public void produce(LogData.Builder logData) {
-        if (Objects.nonNull(logData) && !carrier.produce(logData)) {
+        if (Objects.nonNull(logData)) {
+            produce(CapturedLogEvent.builder().logData(logData).build());
+        }
+    }
+
+    /**
+     * Enqueue the captured log event, it is transformed into the {@link LogData} in batches by the consumer.
+     */
+    public void produce(CapturedLogEvent logEvent) {
+        if (Objects.nonNull(logEvent) && !carrier.produce(logEvent)) {
             if (LOGGER.isDebugEnable()) {
                 LOGGER.debug("One log has been abandoned, cause by buffer is full.");
             }
@@ -82,55 +104,113 @@ public class LogReportServiceClient implements BootService, GRPCChannelListener,
 
     }
 
+    /**
+     * Add the logs to the pending batch, which is sent in one stream once it reaches {@link Log#MAX_BATCH_COUNT} logs
+     * or {@link Log#MAX_BATCH_BYTES} serialized bytes, or it has lingered for {@link Log#LINGER_MS}.
+     */
     @Override
     public void consume(final List<LogData.Builder> dataList) {
         if (CollectionUtil.isEmpty(dataList)) {
             return;
         }
 
-        if (GRPCChannelStatus.CONNECTED.equals(status)) {
-            GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
-
-            StreamObserver<LogData> logDataStreamObserver = logReportServiceStub
-                .withDeadlineAfter(Collector.GRPC_UPSTREAM_TIMEOUT, TimeUnit.SECONDS)
-                .collect(
-                    new StreamObserver<Commands>() {
-                        @Override
-                        public void onNext(final Commands commands) {
-
-                        }
-
-                        @Override
-                        public void onError(final Throwable throwable) {
-                            status.finished();
-                            LOGGER.error(throwable, "Try to send {} log data to collector, with unexpected exception.",
-                                         dataList.size()
-                            );
-                            ServiceManager.INSTANCE
-                                .findService(GRPCChannelManager.class)
-                                .reportError(throwable);
-                        }
-
-                        @Override
-                        public void onCompleted() {
-                            status.finished();
-                        }
-                    });
-
-            boolean isFirst = true;
-            for (final LogData.Builder logData : dataList) {
-                if (isFirst) {
-                    // Only set service name of the first element in one stream
-                    // https://github.com/apache/skywalking-data-collect-protocol/blob/master/logging/Logging.proto
-                    // Log collecting protocol defines LogData#service is required in the first element only.
-                    logData.setService(Config.Agent.SERVICE_NAME);
-                    isFirst = false;
-                }
-                logDataStreamObserver.onNext(logData.build());
+        if (!GRPCChannelStatus.CONNECTED.equals(status)) {
+            discardPending();
+            return;
+        }
+        for (final LogData.Builder logData : dataList) {
+            LogData data = logData.build();
+            int size = data.getSerializedSize();
+            if (size > Log.MAX_MESSAGE_SIZE) {
+                LOGGER.warn("One log of {} bytes has been abandoned, cause by it exceeds the max message size.", size);
+                continue;
+            }
+            if (!pending.isEmpty() && pendingBytes + size > Log.MAX_BATCH_BYTES) {
+                flush();
+            }
+            if (pending.isEmpty()) {
+                pendingSince = System.currentTimeMillis();
+            }
+            pending.add(data);
+            pendingBytes += size;
+            if (pending.size() >= Log.MAX_BATCH_COUNT) {
+                flush();
             }
-            logDataStreamObserver.onCompleted();
-            status.wait4Finish();
         }
+        flushIfLingered();
+    }
+
+    @Override
+    public void nothingToConsume() {
+        flushIfLingered();
+    }
+
+    private void flushIfLingered() {
+        if (!pending.isEmpty() && System.currentTimeMillis() - pendingSince >= Log.LINGER_MS) {
+            flush();
+        }
+    }
+
+    private void discardPending() {
+        pending.clear();
+        pendingBytes = 0;
+    }
+
+    /**
+     * Send the pending batch in one stream.
+     */
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (!GRPCChannelStatus.CONNECTED.equals(status)) {
+            discardPending();
+            return;
+        }
+        final int batchSize = pending.size();
+        GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
+
+        StreamObserver<LogData> logDataStreamObserver = logReportServiceStub
+            .withDeadlineAfter(Collector.GRPC_UPSTREAM_TIMEOUT, TimeUnit.SECONDS)
+            .collect(
+                new StreamObserver<Commands>() {
+                    @Override
+                    public void onNext(final Commands commands) {
+
+                    }
+
+                    @Override
+                    public void onError(final Throwable throwable) {
+                        status.finished();
+                        LOGGER.error(throwable, "Try to send {} log data to collector, with unexpected exception.",
+                                     batchSize
+                        );
+                        ServiceManager.INSTANCE
+                            .findService(GRPCChannelManager.class)
+                            .reportError(throwable);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        status.finished();
+                    }
+                });
+
+        boolean isFirst = true;
+        for (final LogData logData : pending) {
+            if (isFirst && !Config.Agent.SERVICE_NAME.equals(logData.getService())) {
+                // Only set service name of the first element in one stream
+                // https://github.com/apache/skywalking-data-collect-protocol/blob/master/logging/Logging.proto
+                // Log collecting protocol defines LogData#service is required in the first element only.
+                logDataStreamObserver.onNext(logData.toBuilder().setService(Config.Agent.SERVICE_NAME).build());
+            } else {
+                logDataStreamObserver.onNext(logData);
+            }
+            isFirst = false;
+        }
+        discardPending();
+        logDataStreamObserver.onCompleted();
+        status.wait4Finish();
     }
 
     @Override
@@ -140,7 +220,7 @@ public class LogReportServiceClient implements BootService, GRPCChannelListener,
 
     @Override
     public void onExit() {
-
+        flush();
     }
 
     @Override
@@ -157,4 +237,43 @@ public class LogReportServiceClient implements BootService, GRPCChannelListener,
     public void shutdown() {
         carrier.shutdownConsumers();
     }
+
+    /**
+     * Transform the captured log events of one batch in the consumer thread, and hand them to {@link
+     * #consume(List)}.
+     */
+    private class CapturedLogEventConsumer implements IConsumer<CapturedLogEvent> {
+        @Override
+        public void init(final Properties properties) {
+            LogReportServiceClient.this.init(properties);
+        }
+
+        @Override
+        public void consume(final List<CapturedLogEvent> data) {
+            List<LogData.Builder> dataList = new ArrayList<>(data.size());
+            for (final CapturedLogEvent logEvent : data) {
+                try {
+                    dataList.add(logEvent.transform());
+                } catch (Throwable t) {
+                    LOGGER.error(t, "Transform the log event of logger {} failure.", logEvent.getLogger());
+                }
+            }
+            LogReportServiceClient.this.consume(dataList);
+        }
+
+        @Override
+        public void onError(final List<CapturedLogEvent> data, final Throwable t) {
+            LOGGER.error(t, "Try to consume {} log data to sender, with unexpected exception.", data.size());
+        }
+
+        @Override
+        public void onExit() {
+            LogReportServiceClient.this.onExit();
+        }
+
+        @Override
+        public void nothingToConsume() {
+            LogReportServiceClient.this.nothingToConsume();
+        }
+    }
 }
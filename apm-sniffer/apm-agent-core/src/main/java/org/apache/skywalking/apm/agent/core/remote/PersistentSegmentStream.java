@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.commands.CommandService;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.network.common.v3.Commands;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.TraceSegmentReportServiceGrpc;
+
+/**
+ * Keep one client stream of the segment collecting service open across the batches, rather than opening a new one and
+ * waiting for the server to complete it per batch.
+ * <p>
+ * The back-pressure is based on the flow-control of gRPC, the segment is only written when the stream is ready. The
+ * bytes written but not completed by the server are bounded, when the current stream reaches the bound, it is
+ * completed, and the next stream is opened after the previous ones have been completed. The stream is also rotated
+ * at half of its deadline, so the server always completes it in time.
+ * <p>
+ * All methods should be called in the consumer thread of {@link TraceSegmentServiceClient}.
+ */
+class PersistentSegmentStream {
+    private static final ILog LOGGER = LogManager.getLogger(PersistentSegmentStream.class);
+
+    private final long maxInFlightBytes;
+    private final long deadline;
+    private final long rotationPeriod;
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final Object monitor = new Object();
+    private Stream current;
+
+    /**
+     * @param maxInFlightBytes the max bytes written but not completed by the server.
+     * @param deadline         the deadline of every stream, in seconds. It is also the max time to wait for the stream
+     *                         being ready.
+     */
+    PersistentSegmentStream(long maxInFlightBytes, int deadline) {
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.deadline = TimeUnit.SECONDS.toMillis(deadline);
+        this.rotationPeriod = this.deadline / 2;
+    }
+
+    /**
+     * Send the segments through the current stream, open or rotate it if necessary.
+     *
+     * @param sentListener notified of every sent segment.
+     * @return the index of the first segment not sent because of no ready stream in time, or the size of the data if
+     * all are sent. The segments failed to be transformed are skipped.
+     */
+    int send(TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub serviceStub, List<TraceSegment> data,
+             Consumer<TraceSegment> sentListener) {
+        int index = 0;
+        for (TraceSegment segment : data) {
+            SegmentObject upstreamSegment;
+            try {
+                upstreamSegment = segment.transform();
+            } catch (Throwable t) {
+                LOGGER.error(t, "Transform UpstreamSegment fail, skip it.");
+                index++;
+                continue;
+            }
+            if (!send(serviceStub, upstreamSegment)) {
+                break;
+            }
+            sentListener.accept(segment);
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Send the transformed segment through the current stream, open or rotate it if necessary.
+     *
+     * @return false if the segment is abandoned because of no ready stream in time.
+     */
+    boolean send(TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub serviceStub,
+                 SegmentObject upstreamSegment) {
+        long size = upstreamSegment.getSerializedSize();
+        Stream stream = acquire(serviceStub, size);
+        return stream != null && stream.send(upstreamSegment, size);
+    }
+
+    /**
+     * Complete the current stream if it is open longer than the rotation period.
+     */
+    void rotateIfExpired() {
+        if (current != null && System.currentTimeMillis() - current.openTime >= rotationPeriod) {
+            rotate();
+        }
+    }
+
+    /**
+     * Complete the current stream.
+     */
+    void rotate() {
+        if (current != null) {
+            current.complete();
+            current = null;
+        }
+    }
+
+    private Stream acquire(TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub serviceStub, long size) {
+        if (current != null) {
+            if (current.finished) {
+                current = null;
+            } else if (current.serviceStub != serviceStub
+                || System.currentTimeMillis() - current.openTime >= rotationPeriod
+                || current.sentBytes > 0 && current.sentBytes + size > maxInFlightBytes) {
+                rotate();
+            }
+        }
+        if (current == null) {
+            // An oversize segment is sent alone.
+            if (!await(() -> inFlightBytes.get() == 0 || inFlightBytes.get() + size <= maxInFlightBytes)) {
+                LOGGER.warn("The collector hasn't completed the previous segment streams in {} ms.", deadline);
+                return null;
+            }
+            current = new Stream(serviceStub);
+        }
+        final Stream stream = current;
+        if (!await(() -> stream.finished || stream.isReady())) {
+            LOGGER.warn("The segment stream isn't ready in {} ms.", deadline);
+            stream.cancel();
+        }
+        if (stream.finished) {
+            current = null;
+            return null;
+        }
+        return stream;
+    }
+
+    private boolean await(BooleanSupplier condition) {
+        long timeout = System.currentTimeMillis() + deadline;
+        synchronized (monitor) {
+            while (!condition.getAsBoolean()) {
+                long remaining = timeout - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    monitor.wait(remaining);
+                } catch (InterruptedException ignored) {
+                }
+            }
+        }
+        return true;
+    }
+
+    private void signal() {
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+    }
+
+    private class Stream implements ClientResponseObserver<SegmentObject, Commands> {
+        private final TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub serviceStub;
+        private final long openTime;
+        private volatile ClientCallStreamObserver<SegmentObject> requestStream;
+        private volatile boolean finished;
+        private long sentBytes;
+
+        private Stream(TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub serviceStub) {
+            this.serviceStub = serviceStub;
+            this.openTime = System.currentTimeMillis();
+            serviceStub.withDeadlineAfter(deadline, TimeUnit.MILLISECONDS).collect(this);
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<SegmentObject> requestStream) {
+            this.requestStream = requestStream;
+            requestStream.setOnReadyHandler(PersistentSegmentStream.this::signal);
+        }
+
+        private boolean isReady() {
+            return requestStream.isReady();
+        }
+
+        private boolean send(SegmentObject upstreamSegment, long size) {
+            synchronized (this) {
+                if (finished) {
+                    return false;
+                }
+                sentBytes += size;
+                inFlightBytes.addAndGet(size);
+            }
+            requestStream.onNext(upstreamSegment);
+            return true;
+        }
+
+        private void complete() {
+            requestStream.onCompleted();
+        }
+
+        private void cancel() {
+            requestStream.cancel("Segment stream isn't ready in time.", null);
+        }
+
+        @Override
+        public void onNext(Commands commands) {
+            ServiceManager.INSTANCE.findService(CommandService.class).receiveCommand(commands);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            finish();
+            if (LOGGER.isErrorEnable()) {
+                LOGGER.error(throwable, "Send UpstreamSegment to collector fail with a grpc internal exception.");
+            }
+            ServiceManager.INSTANCE.findService(GRPCChannelManager.class).reportError(throwable);
+        }
+
+        @Override
+        public void onCompleted() {
+            finish();
+        }
+
+        private void finish() {
+            synchronized (this) {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                inFlightBytes.addAndGet(-sentBytes);
+            }
+            signal();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+/**
+ * Where the finished segments are transformed into the {@code SegmentObject}s before being sent to the collector.
+ */
+public enum SegmentSerializationMode {
+    /**
+     * In the consumer thread of the reporter, right before sending.
+     */
+    CONSUMER,
+    /**
+     * In the application thread which finishes the segment.
+     */
+    FINISHING_THREAD,
+    /**
+     * In a dedicated worker pool, sized by {@code collector.segment_serialization_threads}.
+     */
+    WORKER_POOL
+}
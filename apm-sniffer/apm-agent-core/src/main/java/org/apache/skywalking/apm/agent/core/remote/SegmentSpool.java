@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+
+/**
+ * A size-capped, memory-mapped, append-only log of the segments which couldn't be sent, replayed after the collector
+ * is back.
+ * <p>
+ * The file starts with a header of the magic number, the read position and the write position, so the spooled segments
+ * survive a restart of the agent. Every segment is framed as
+ * <pre>
+ * | length (int) | crc32 of the bytes (int) | bytes of the SegmentObject |
+ * </pre>
+ * The read position only moves after the read segments are sent. The frames are written in a ring, a frame not fitting
+ * in the tail of the file wraps to the head once the sent segments have freed the room there, and the reader follows a
+ * wrap marker, or the tail too short for a frame header, back to the head. Once all the segments are sent, both
+ * positions go back to the head of the file. When the file is full, the new segments are rejected, the spool never
+ * overwrites the ones not replayed yet.
+ */
+class SegmentSpool {
+    private static final ILog LOGGER = LogManager.getLogger(SegmentSpool.class);
+
+    private static final int MAGIC = 0x53575350;
+    private static final int READ_POSITION_OFFSET = 8;
+    private static final int WRITE_POSITION_OFFSET = 16;
+    static final int HEADER_SIZE = 32;
+    static final int FRAME_HEADER_SIZE = 8;
+    /**
+     * Written in place of the length of a frame, the next frame is at the head of the file.
+     */
+    private static final int WRAP_MARKER = -1;
+
+    private final RandomAccessFile file;
+    private final FileLock lock;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final CRC32 crc32 = new CRC32();
+    private int readPosition;
+    private int writePosition;
+    /**
+     * The positions after every segment read by the last {@link #peek(int)}, and the position where it stopped.
+     */
+    private int[] peekedPositions = new int[0];
+    private int peekedCount;
+    private int peekedEndPosition;
+
+    /**
+     * @param spoolFile the spool file, created if absent.
+     * @param maxSize   the max size of the file in bytes, at most {@link Integer#MAX_VALUE}.
+     * @throws IOException if the file can't be mapped, or is locked by another process.
+     */
+    SegmentSpool(File spoolFile, long maxSize) throws IOException {
+        this.capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(HEADER_SIZE + FRAME_HEADER_SIZE, maxSize));
+        File dir = spoolFile.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Can't create the spool directory " + dir);
+        }
+        this.file = new RandomAccessFile(spoolFile, "rw");
+        try {
+            FileChannel channel = file.getChannel();
+            this.lock = channel.tryLock();
+            if (lock == null) {
+                throw new IOException("The spool file " + spoolFile + " is used by another process.");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+        recover();
+    }
+
+    private void recover() {
+        if (buffer.getInt(0) == MAGIC) {
+            long read = buffer.getLong(READ_POSITION_OFFSET);
+            long write = buffer.getLong(WRITE_POSITION_OFFSET);
+            if (HEADER_SIZE <= read && read <= capacity && HEADER_SIZE <= write && write <= capacity) {
+                readPosition = (int) read;
+                writePosition = (int) write;
+                return;
+            }
+            LOGGER.warn("The positions of the segment spool are broken, drop the spooled segments.");
+        }
+        buffer.putInt(0, MAGIC);
+        reset();
+    }
+
+    /**
+     * @return false if the spool is full.
+     */
+    synchronized boolean append(SegmentObject segment) {
+        byte[] bytes = segment.toByteArray();
+        long frameSize = FRAME_HEADER_SIZE + bytes.length;
+        int position = writePosition;
+        if (writePosition < readPosition) {
+            // Wrapped, the frame must end before the read position, which equals the write position only when empty.
+            if (position + frameSize >= readPosition) {
+                return false;
+            }
+        } else if (position + frameSize > capacity) {
+            if (HEADER_SIZE + frameSize >= readPosition) {
+                return false;
+            }
+            if (capacity - position >= 4) {
+                buffer.putInt(position, WRAP_MARKER);
+            }
+            position = HEADER_SIZE;
+        }
+        crc32.reset();
+        crc32.update(bytes, 0, bytes.length);
+        buffer.position(position);
+        buffer.putInt(bytes.length);
+        buffer.putInt((int) crc32.getValue());
+        buffer.put(bytes);
+        writePosition = buffer.position();
+        buffer.putLong(WRITE_POSITION_OFFSET, writePosition);
+        return true;
+    }
+
+    /**
+     * Read at most the given number of segments without removing them, the broken ones are skipped. The read segments
+     * stay in the spool until they are {@link #acknowledge(int) acknowledged}, so the segments failed to be replayed
+     * are read again later.
+     */
+    synchronized List<SegmentObject> peek(int max) {
+        List<SegmentObject> segments = new ArrayList<>(Math.min(max, 64));
+        if (peekedPositions.length < max) {
+            peekedPositions = new int[max];
+        }
+        int position = readPosition;
+        while (segments.size() < max && position != writePosition) {
+            // The frames behind the write position are the ones written before the writer wrapped.
+            boolean wrapped = position > writePosition;
+            if (wrapped && (capacity - position < FRAME_HEADER_SIZE || buffer.getInt(position) == WRAP_MARKER)) {
+                position = HEADER_SIZE;
+                continue;
+            }
+            int length = buffer.getInt(position);
+            int checksum = buffer.getInt(position + 4);
+            int start = position + FRAME_HEADER_SIZE;
+            if (length < 0 || (long) start + length > (wrapped ? capacity : writePosition)) {
+                LOGGER.warn("The segment spool is truncated at {}, drop the rest spooled segments.", position);
+                position = writePosition;
+                break;
+            }
+            byte[] bytes = new byte[length];
+            buffer.position(start);
+            buffer.get(bytes);
+            position = start + length;
+            crc32.reset();
+            crc32.update(bytes, 0, bytes.length);
+            if ((int) crc32.getValue() != checksum) {
+                LOGGER.warn("A spooled segment is broken, skip it.");
+                continue;
+            }
+            try {
+                segments.add(SegmentObject.parseFrom(bytes));
+                peekedPositions[segments.size() - 1] = position;
+            } catch (InvalidProtocolBufferException e) {
+                LOGGER.warn(e, "A spooled segment can't be parsed, skip it.");
+            }
+        }
+        peekedCount = segments.size();
+        peekedEndPosition = position;
+        return segments;
+    }
+
+    /**
+     * Remove the first given number of the segments read by the last {@link #peek(int)}, which have been sent.
+     */
+    synchronized void acknowledge(int count) {
+        if (count <= 0 && peekedCount > 0) {
+            return;
+        }
+        // The broken segments behind the last sent one are removed too.
+        readPosition = count >= peekedCount ? peekedEndPosition : peekedPositions[count - 1];
+        peekedCount = 0;
+        if (readPosition == writePosition) {
+            reset();
+        } else {
+            buffer.putLong(READ_POSITION_OFFSET, readPosition);
+        }
+    }
+
+    synchronized boolean isEmpty() {
+        return readPosition == writePosition;
+    }
+
+    /**
+     * @return the bytes of the spooled segments, including the frame headers and the tail skipped by the wrap.
+     */
+    synchronized int size() {
+        if (writePosition >= readPosition) {
+            return writePosition - readPosition;
+        }
+        return capacity - readPosition + writePosition - HEADER_SIZE;
+    }
+
+    synchronized void close() {
+        buffer.force();
+        try {
+            lock.release();
+            file.close();
+        } catch (IOException e) {
+            LOGGER.warn(e, "Close the segment spool failure.");
+        }
+    }
+
+    private void reset() {
+        readPosition = HEADER_SIZE;
+        writePosition = HEADER_SIZE;
+        buffer.putLong(READ_POSITION_OFFSET, readPosition);
+        buffer.putLong(WRITE_POSITION_OFFSET, writePosition);
+    }
+}
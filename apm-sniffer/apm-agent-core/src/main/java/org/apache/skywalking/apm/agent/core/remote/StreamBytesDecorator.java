@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientInterceptors;
+import io.grpc.ClientStreamTracer;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count the bytes sent to every gRPC service, before and after the compression. The counters are kept by the decorator,
+ * so they survive the reconnections.
+ */
+public class StreamBytesDecorator implements ChannelDecorator {
+    private final ConcurrentHashMap<String, StreamBytes> streamBytes = new ConcurrentHashMap<>();
+
+    @Override
+    public Channel build(Channel channel) {
+        return ClientInterceptors.intercept(channel, new ClientInterceptor() {
+            @Override
+            public <REQ, RESP> ClientCall<REQ, RESP> interceptCall(MethodDescriptor<REQ, RESP> method,
+                CallOptions options, Channel channel) {
+                StreamBytes bytes = streamBytes.computeIfAbsent(
+                    CompressionDecorator.simpleServiceName(method), name -> new StreamBytes());
+                return channel.newCall(method, options.withStreamTracerFactory(bytes));
+            }
+        });
+    }
+
+    /**
+     * @param service the simple name of the gRPC service
+     * @return the bytes sent on the wire, after the compression.
+     */
+    public long getOutboundWireBytes(String service) {
+        StreamBytes bytes = streamBytes.get(service);
+        return bytes == null ? 0 : bytes.wireBytes.sum();
+    }
+
+    /**
+     * @param service the simple name of the gRPC service
+     * @return the serialized bytes of the messages, before the compression.
+     */
+    public long getOutboundUncompressedBytes(String service) {
+        StreamBytes bytes = streamBytes.get(service);
+        return bytes == null ? 0 : bytes.uncompressedBytes.sum();
+    }
+
+    private static class StreamBytes extends ClientStreamTracer.Factory {
+        private final LongAdder wireBytes = new LongAdder();
+        private final LongAdder uncompressedBytes = new LongAdder();
+        /**
+         * Stateless, shared by all the streams of the service.
+         */
+        private final ClientStreamTracer tracer = new ClientStreamTracer() {
+            @Override
+            public void outboundWireSize(long bytes) {
+                wireBytes.add(bytes);
+            }
+
+            @Override
+            public void outboundUncompressedSize(long bytes) {
+                uncompressedBytes.add(bytes);
+            }
+        };
+
+        @Override
+        public ClientStreamTracer newClientStreamTracer(ClientStreamTracer.StreamInfo info, Metadata headers) {
+            return tracer;
+        }
+    }
+}
@@ -20,10 +20,24 @@ package org.apache.skywalking.apm.agent.core.remote;
 
 import io.grpc.Channel;
 import io.grpc.stub.StreamObserver;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.apache.skywalking.apm.agent.core.boot.AgentPackagePath;
+import org.apache.skywalking.apm.agent.core.boot.AgentScheduler;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
+import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
 import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.commands.CommandService;
@@ -31,17 +45,30 @@ import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.TracingContext;
 import org.apache.skywalking.apm.agent.core.context.TracingContextListener;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.core.context.util.ThrowableTransformer;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.meter.Counter;
+import org.apache.skywalking.apm.agent.core.meter.CounterMode;
+import org.apache.skywalking.apm.agent.core.meter.Histogram;
+import org.apache.skywalking.apm.agent.core.meter.MeterId;
+import org.apache.skywalking.apm.agent.core.meter.MeterService;
+import org.apache.skywalking.apm.agent.core.meter.MeterType;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.AdaptiveWaitStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.SleepWaitStrategy;
 import org.apache.skywalking.apm.network.common.v3.Commands;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 import org.apache.skywalking.apm.network.language.agent.v3.TraceSegmentReportServiceGrpc;
+import org.apache.skywalking.apm.util.StringUtil;
 
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.ADAPTIVE_CONSUMER_WAIT;
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.BUFFER_SIZE;
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.CHANNEL_SIZE;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.CONSUME_CYCLE;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.USE_RING_BUFFER;
 import static org.apache.skywalking.apm.agent.core.remote.GRPCChannelStatus.CONNECTED;
 
 @DefaultImplementor
@@ -51,9 +78,44 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
     private long lastLogTime;
     private long segmentUplinkedCounter;
     private long segmentAbandonedCounter;
+    /**
+     * The sum and the max of the latency in millis, from the segment finished to sent.
+     */
+    private long segmentSendLatencySum;
+    private long segmentSendLatencyMax;
+    /**
+     * The meters of the segments sent, abandoned and replayed from the spool, and of the latency in millis from the
+     * segment finished to sent, registered to the {@link MeterService} when booted.
+     */
+    private final Counter sentCounter = counter("sent_segment_counter");
+    private final Counter abandonedCounter = counter("abandoned_segment_counter");
+    private final Counter replayedCounter = counter("replayed_segment_counter");
+    private final Histogram sendLatency = new Histogram(
+        new MeterId("segment_send_latency", MeterType.HISTOGRAM, Collections.emptyList()),
+        Arrays.asList(0d, 10d, 20d, 50d, 100d, 200d, 500d, 1000d, 5000d)
+    );
     private volatile DataCarrier<TraceSegment> carrier;
     private volatile TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub serviceStub;
     private volatile GRPCChannelStatus status = GRPCChannelStatus.DISCONNECT;
+    /**
+     * The long-lived stream, only used when {@link Config.Collector#PERSISTENT_SEGMENT_STREAM} is enabled, and only
+     * accessed in the consumer thread.
+     */
+    private PersistentSegmentStream persistentStream;
+    /**
+     * The pool transforming the finished segments, only used in {@link SegmentSerializationMode#WORKER_POOL}.
+     */
+    private ExecutorService serializationPool;
+    /**
+     * The spool of the segments which couldn't be sent, only used when {@link Config.Collector#SEGMENT_SPOOL_ENABLE}.
+     */
+    private volatile SegmentSpool spool;
+    private final AtomicLong segmentReplayedCounter = new AtomicLong();
+    /**
+     * Replay the spool on the worker pool of the {@link AgentScheduler}, the consumer thread never waits for it.
+     */
+    private volatile ScheduledFuture<?> replayFuture;
+    private long lastReplayTime;
 
     @Override
     public void prepare() {
@@ -65,8 +127,32 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
         lastLogTime = System.currentTimeMillis();
         segmentUplinkedCounter = 0;
         segmentAbandonedCounter = 0;
-        carrier = new DataCarrier<>(CHANNEL_SIZE, BUFFER_SIZE, BufferStrategy.IF_POSSIBLE);
-        carrier.consume(this, 1);
+        MeterService meterService = ServiceManager.INSTANCE.findService(MeterService.class);
+        meterService.register(sentCounter);
+        meterService.register(abandonedCounter);
+        meterService.register(replayedCounter);
+        meterService.register(sendLatency);
+        if (Config.Collector.PERSISTENT_SEGMENT_STREAM) {
+            persistentStream = new PersistentSegmentStream(
+                Config.Collector.SEGMENT_STREAM_MAX_IN_FLIGHT_BYTES, Config.Collector.GRPC_UPSTREAM_TIMEOUT);
+        }
+        if (Config.Collector.SEGMENT_SERIALIZATION == SegmentSerializationMode.WORKER_POOL) {
+            final int threads = Math.max(1, Config.Collector.SEGMENT_SERIALIZATION_THREADS);
+            serializationPool = new ThreadPoolExecutor(
+                threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(CHANNEL_SIZE * BUFFER_SIZE),
+                new DefaultNamedThreadFactory("SegmentSerializer")
+            );
+        }
+        if (Config.Collector.SEGMENT_SPOOL_ENABLE) {
+            openSpool();
+        }
+        if (spool != null) {
+            replayFuture = AgentScheduler.INSTANCE.scheduleBlockingAtFixedRate(
+                "SegmentSpoolReplay", this::replaySpool, 1, 1, TimeUnit.SECONDS);
+        }
+        carrier = new DataCarrier<>(
+            CHANNEL_SIZE, BUFFER_SIZE, USE_RING_BUFFER ? BufferStrategy.RING : BufferStrategy.IF_POSSIBLE);
+        carrier.consume(this, 1, CONSUME_CYCLE, ADAPTIVE_CONSUMER_WAIT ? AdaptiveWaitStrategy.CREATOR : SleepWaitStrategy.CREATOR);
     }
 
     @Override
@@ -77,7 +163,32 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
     @Override
     public void shutdown() {
         TracingContext.ListenerManager.remove(this);
+        if (serializationPool != null) {
+            serializationPool.shutdown();
+        }
         carrier.shutdownConsumers();
+        if (replayFuture != null) {
+            replayFuture.cancel(true);
+        }
+        if (spool != null) {
+            spool.close();
+        }
+    }
+
+    private static Counter counter(String name) {
+        return new Counter(new MeterId(name, MeterType.COUNTER, Collections.emptyList()), CounterMode.INCREMENT);
+    }
+
+    private void openSpool() {
+        try {
+            String path = Config.Collector.SEGMENT_SPOOL_PATH;
+            if (StringUtil.isEmpty(path)) {
+                path = AgentPackagePath.getPath() + "/spool/segment.spool";
+            }
+            spool = new SegmentSpool(new File(path), Config.Collector.SEGMENT_SPOOL_MAX_SIZE);
+        } catch (Exception e) {
+            LOGGER.error(e, "Open the segment spool failure, the segments will be abandoned during the collector outages.");
+        }
     }
 
     @Override
@@ -87,65 +198,170 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
 
     @Override
     public void consume(List<TraceSegment> data) {
-        if (CONNECTED.equals(status)) {
-            final GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
-            StreamObserver<SegmentObject> upstreamSegmentStreamObserver = serviceStub.withDeadlineAfter(
-                Config.Collector.GRPC_UPSTREAM_TIMEOUT, TimeUnit.SECONDS
-            ).collect(new StreamObserver<Commands>() {
-                @Override
-                public void onNext(Commands commands) {
-                    ServiceManager.INSTANCE.findService(CommandService.class)
-                                           .receiveCommand(commands);
-                }
-
-                @Override
-                public void onError(
-                    Throwable throwable) {
-                    status.finished();
-                    if (LOGGER.isErrorEnable()) {
-                        LOGGER.error(
-                            throwable,
-                            "Send UpstreamSegment to collector fail with a grpc internal exception."
-                        );
-                    }
-                    ServiceManager.INSTANCE
-                        .findService(GRPCChannelManager.class)
-                        .reportError(throwable);
-                }
-
-                @Override
-                public void onCompleted() {
-                    status.finished();
-                }
-            });
-
+        if (CONNECTED.equals(status) && persistentStream != null) {
+            int unsent = 0;
             try {
+                unsent = persistentStream.send(serviceStub, data, this::recordSent);
+            } catch (Throwable t) {
+                LOGGER.error(t, "Transform and send UpstreamSegment to collector fail.");
+            }
+            spoolOrAbandon(data.subList(unsent, data.size()));
+        } else if (CONNECTED.equals(status)) {
+            boolean sent = collect(upstreamSegmentStreamObserver -> {
                 for (TraceSegment segment : data) {
                     SegmentObject upstreamSegment = segment.transform();
                     upstreamSegmentStreamObserver.onNext(upstreamSegment);
                 }
-            } catch (Throwable t) {
-                LOGGER.error(t, "Transform and send UpstreamSegment to collector fail.");
+            });
+            if (sent) {
+                data.forEach(this::recordSent);
+            } else {
+                // Some of them may have been received, the collector may get them twice after the replay.
+                spoolOrAbandon(data);
             }
-
-            upstreamSegmentStreamObserver.onCompleted();
-
-            status.wait4Finish();
-            segmentUplinkedCounter += data.size();
         } else {
-            segmentAbandonedCounter += data.size();
+            spoolOrAbandon(data);
         }
 
         printUplinkStatus();
     }
 
+    /**
+     * Open a stream, write the segments through the writer, and wait for the collector completing the stream.
+     *
+     * @return false if the writer or the stream failed, some of the segments may have been received by the collector.
+     */
+    private boolean collect(Consumer<StreamObserver<SegmentObject>> writer) {
+        final GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
+        final AtomicBoolean failed = new AtomicBoolean();
+        StreamObserver<SegmentObject> upstreamSegmentStreamObserver = serviceStub.withDeadlineAfter(
+            Config.Collector.GRPC_UPSTREAM_TIMEOUT, TimeUnit.SECONDS
+        ).collect(new StreamObserver<Commands>() {
+            @Override
+            public void onNext(Commands commands) {
+                ServiceManager.INSTANCE.findService(CommandService.class)
+                                       .receiveCommand(commands);
+            }
+
+            @Override
+            public void onError(
+                Throwable throwable) {
+                failed.set(true);
+                status.finished();
+                if (LOGGER.isErrorEnable()) {
+                    LOGGER.error(
+                        throwable,
+                        "Send UpstreamSegment to collector fail with a grpc internal exception."
+                    );
+                }
+                ServiceManager.INSTANCE
+                    .findService(GRPCChannelManager.class)
+                    .reportError(throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+                status.finished();
+            }
+        });
+
+        try {
+            writer.accept(upstreamSegmentStreamObserver);
+        } catch (Throwable t) {
+            failed.set(true);
+            LOGGER.error(t, "Transform and send UpstreamSegment to collector fail.");
+        }
+
+        upstreamSegmentStreamObserver.onCompleted();
+
+        status.wait4Finish();
+        return !failed.get();
+    }
+
+    private void spoolOrAbandon(List<TraceSegment> segments) {
+        for (TraceSegment segment : segments) {
+            if (!spool(segment)) {
+                segmentAbandonedCounter++;
+                abandonedCounter.increment(1);
+            }
+        }
+    }
+
+    /**
+     * @return false if the segment is abandoned because the spool is disabled or full.
+     */
+    private boolean spool(TraceSegment segment) {
+        SegmentSpool spool = this.spool;
+        if (spool == null) {
+            return false;
+        }
+        try {
+            return spool.append(segment.transform());
+        } catch (Throwable t) {
+            LOGGER.error(t, "Transform and spool UpstreamSegment fail.");
+            return false;
+        }
+    }
+
+    /**
+     * Send the spooled segments to the collector through a stream of its own, at most {@link
+     * Config.Collector#SEGMENT_SPOOL_REPLAY_RATE} per second. Only the sent segments are removed from the spool, the
+     * others are replayed again later.
+     */
+    private void replaySpool() {
+        if (spool == null || !CONNECTED.equals(status) || spool.isEmpty()) {
+            return;
+        }
+        long currentTimeMillis = System.currentTimeMillis();
+        long allowance = Math.min(
+            Config.Collector.SEGMENT_SPOOL_REPLAY_RATE,
+            (currentTimeMillis - lastReplayTime) * Config.Collector.SEGMENT_SPOOL_REPLAY_RATE / 1000
+        );
+        if (allowance <= 0) {
+            return;
+        }
+        lastReplayTime = currentTimeMillis;
+        List<SegmentObject> replayed = spool.peek((int) allowance);
+        boolean sent = collect(upstreamSegmentStreamObserver -> {
+            for (SegmentObject upstreamSegment : replayed) {
+                upstreamSegmentStreamObserver.onNext(upstreamSegment);
+            }
+        });
+        spool.acknowledge(sent ? replayed.size() : 0);
+        if (sent) {
+            segmentReplayedCounter.addAndGet(replayed.size());
+            replayedCounter.increment(replayed.size());
+        }
+    }
+
+    private void recordSent(TraceSegment segment) {
+        long latency = System.currentTimeMillis() - segment.finishTime();
+        segmentUplinkedCounter++;
+        segmentSendLatencySum += latency;
+        if (latency > segmentSendLatencyMax) {
+            segmentSendLatencyMax = latency;
+        }
+        sentCounter.increment(1);
+        sendLatency.addValue(latency);
+    }
+
     private void printUplinkStatus() {
         long currentTimeMillis = System.currentTimeMillis();
         if (currentTimeMillis - lastLogTime > 30 * 1000) {
             lastLogTime = currentTimeMillis;
             if (segmentUplinkedCounter > 0) {
-                LOGGER.debug("{} trace segments have been sent to collector.", segmentUplinkedCounter);
+                LOGGER.debug(
+                    "{} trace segments have been sent to collector, latency from finished to sent avg {}ms, max {}ms.",
+                    segmentUplinkedCounter, segmentSendLatencySum / segmentUplinkedCounter, segmentSendLatencyMax
+                );
                 segmentUplinkedCounter = 0;
+                segmentSendLatencySum = 0;
+                segmentSendLatencyMax = 0;
+            }
+            long replayed = segmentReplayedCounter.getAndSet(0);
+            if (spool != null && (replayed > 0 || !spool.isEmpty())) {
+                LOGGER.debug(
+                    "{} trace segments have been replayed from the spool, {} bytes left.", replayed, spool.size());
             }
             if (segmentAbandonedCounter > 0) {
                 LOGGER.debug(
@@ -161,8 +377,17 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
     }
 
     @Override
-    public void onExit() {
+    public void nothingToConsume() {
+        if (persistentStream != null) {
+            persistentStream.rotateIfExpired();
+        }
+    }
 
+    @Override
+    public void onExit() {
+        if (persistentStream != null) {
+            persistentStream.rotate();
+        }
     }
 
     @Override
@@ -170,7 +395,43 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
         if (traceSegment.isIgnore()) {
             return;
         }
-        if (!carrier.produce(traceSegment)) {
+        switch (Config.Collector.SEGMENT_SERIALIZATION) {
+            case FINISHING_THREAD:
+                serializeAndProduce(traceSegment);
+                // The application thread doesn't keep the buffer rendering the error stacks.
+                ThrowableTransformer.INSTANCE.releaseBuffer();
+                break;
+            case WORKER_POOL:
+                try {
+                    serializationPool.execute(() -> serializeAndProduce(traceSegment));
+                } catch (RejectedExecutionException e) {
+                    abandonedCounter.increment(1);
+                    if (LOGGER.isDebugEnable()) {
+                        LOGGER.debug("One trace segment has been abandoned, cause by serialization queue is full.");
+                    }
+                }
+                break;
+            default:
+                produce(traceSegment);
+        }
+    }
+
+    private void serializeAndProduce(TraceSegment traceSegment) {
+        try {
+            traceSegment.serialize();
+        } catch (Throwable t) {
+            LOGGER.error(t, "Transform UpstreamSegment fail.");
+            return;
+        }
+        produce(traceSegment);
+    }
+
+    /**
+     * The segment overflowing the buffer is spooled by the finishing thread, only a copy into the mapped spool file.
+     */
+    private void produce(TraceSegment traceSegment) {
+        if (!carrier.produce(traceSegment) && !spool(traceSegment)) {
+            abandonedCounter.increment(1);
             if (LOGGER.isDebugEnable()) {
                 LOGGER.debug("One trace segment has been abandoned, cause by buffer is full.");
             }
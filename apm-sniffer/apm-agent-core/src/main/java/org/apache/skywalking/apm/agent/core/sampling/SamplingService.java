@@ -18,14 +18,13 @@
 
 package org.apache.skywalking.apm.agent.core.sampling;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.skywalking.apm.agent.core.boot.AgentScheduler;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
-import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.conf.dynamic.ConfigurationDiscoveryService;
@@ -33,7 +32,6 @@ import org.apache.skywalking.apm.agent.core.conf.dynamic.watcher.SamplingRateWat
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
-import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
 
 /**
  * The <code>SamplingService</code> take charge of how to sample the {@link TraceSegment}. Every {@link TraceSegment}s
@@ -47,11 +45,14 @@ public class SamplingService implements BootService {
     private static final ILog LOGGER = LogManager.getLogger(SamplingService.class);
 
     private volatile boolean on = false;
-    private volatile AtomicInteger samplingFactorHolder;
+    private volatile StripedSamplingCounter samplingFactorHolder;
     private volatile ScheduledFuture<?> scheduledFuture;
 
     private SamplingRateWatcher samplingRateWatcher;
-    private ScheduledExecutorService service;
+    /**
+     * Not null if {@link Config.Agent#TAIL_SAMPLING_ENABLE}.
+     */
+    private volatile TailSampler tailSampler;
 
     @Override
     public void prepare() {
@@ -59,13 +60,19 @@ public class SamplingService implements BootService {
 
     @Override
     public void boot() {
-        service = Executors.newSingleThreadScheduledExecutor(
-                new DefaultNamedThreadFactory("SamplingService"));
         samplingRateWatcher = new SamplingRateWatcher("agent.sample_n_per_3_secs", this);
         ServiceManager.INSTANCE.findService(ConfigurationDiscoveryService.class)
                                .registerAgentConfigChangeWatcher(samplingRateWatcher);
 
         handleSamplingRateChanged();
+
+        if (Config.Agent.TAIL_SAMPLING_ENABLE) {
+            tailSampler = new TailSampler(
+                Config.Agent.TAIL_SAMPLING_LATENCY_THRESHOLD,
+                Config.Agent.TAIL_SAMPLING_MAX_PENDING_SEGMENTS,
+                Config.Agent.TAIL_SAMPLING_PENDING_TIMEOUT
+            );
+        }
     }
 
     @Override
@@ -89,12 +96,7 @@ public class SamplingService implements BootService {
      */
     public boolean trySampling(String operationName) {
         if (on) {
-            int factor = samplingFactorHolder.get();
-            if (factor < samplingRateWatcher.getSamplingRate()) {
-                return samplingFactorHolder.compareAndSet(factor, factor + 1);
-            } else {
-                return false;
-            }
+            return samplingFactorHolder.tryAcquire();
         }
         return true;
     }
@@ -105,12 +107,34 @@ public class SamplingService implements BootService {
      */
     public void forceSampled() {
         if (on) {
-            samplingFactorHolder.incrementAndGet();
+            samplingFactorHolder.forceAcquire();
+        }
+    }
+
+    /**
+     * @return true if the traces not sampled by {@link #trySampling(String)} should still be traced, and reported only
+     * if {@link #tailSample(TraceSegment)} keeps them.
+     */
+    public boolean isTailSamplingEnabled() {
+        return on && tailSampler != null;
+    }
+
+    /**
+     * Decide whether to report the finished segment, which wasn't sampled when created.
+     *
+     * @return the segments to be reported, which may include the pending segments of the same trace, or be empty if the
+     * given segment is held or dropped.
+     */
+    public List<TraceSegment> tailSample(TraceSegment segment) {
+        TailSampler sampler = tailSampler;
+        if (sampler == null) {
+            return Collections.singletonList(segment);
         }
+        return sampler.sample(segment);
     }
 
     private void resetSamplingFactor() {
-        samplingFactorHolder = new AtomicInteger(0);
+        samplingFactorHolder = new StripedSamplingCounter(samplingRateWatcher.getSamplingRate());
     }
 
     /**
@@ -118,11 +142,15 @@ public class SamplingService implements BootService {
      */
     public void handleSamplingRateChanged() {
         if (samplingRateWatcher.getSamplingRate() > 0) {
-            if (!on) {
+            if (on) {
+                // The budget of the counter is fixed, apply the new rate from now on.
+                this.resetSamplingFactor();
+            } else {
                 on = true;
                 this.resetSamplingFactor();
-                scheduledFuture = service.scheduleAtFixedRate(new RunnableWithExceptionProtection(
-                    this::resetSamplingFactor, t -> LOGGER.error("unexpected exception.", t)), 0, 3, TimeUnit.SECONDS);
+                // The reset is quick, run it on the scheduler thread, a slow remote call can't delay it.
+                scheduledFuture = AgentScheduler.INSTANCE.scheduleAtFixedRate(
+                    "SamplingService", this::resetSamplingFactor, 0, 3, TimeUnit.SECONDS);
                 LOGGER.debug(
                     "Agent sampling mechanism started. Sample {} traces in 3 seconds.",
                     samplingRateWatcher.getSamplingRate()
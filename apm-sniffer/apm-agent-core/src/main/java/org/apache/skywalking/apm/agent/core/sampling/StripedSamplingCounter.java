@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The sampling budget of one window, split into stripes, so the threads sampling concurrently mostly update different
+ * cache lines rather than one shared counter.
+ * <p>
+ * Every stripe owns a part of the budget. A thread takes from the stripe picked by its id first, and only when the
+ * stripe is used up, scans the others. The counts only grow in one window, so the total sampled never exceeds the
+ * budget, and once all stripes are used up, the later attempts return by reading one volatile flag.
+ */
+class StripedSamplingCounter {
+    /**
+     * The distance between two stripes, 16 longs are 128 bytes, to avoid the false sharing of adjacent cache lines.
+     */
+    private static final int PADDING = 16;
+    private static final int MAX_STRIPES = 64;
+
+    private final AtomicLongArray cells;
+    private final int[] budgets;
+    private final int mask;
+    private volatile boolean exhausted;
+
+    /**
+     * @param budget the number of samples in the window.
+     */
+    StripedSamplingCounter(int budget) {
+        this(budget, Runtime.getRuntime().availableProcessors());
+    }
+
+    StripedSamplingCounter(int budget, int parallelism) {
+        int stripes = Math.min(MAX_STRIPES, Math.max(1, Math.min(parallelism, budget)));
+        stripes = Integer.highestOneBit(stripes);
+        this.mask = stripes - 1;
+        this.budgets = new int[stripes];
+        for (int i = 0; i < stripes; i++) {
+            budgets[i] = budget / stripes + (i < budget % stripes ? 1 : 0);
+        }
+        // Pad before the first stripe and after the last one too.
+        this.cells = new AtomicLongArray((stripes + 2) * PADDING);
+        this.exhausted = budget <= 0;
+    }
+
+    /**
+     * @return true if the budget isn't used up, and one is taken.
+     */
+    boolean tryAcquire() {
+        if (exhausted) {
+            return false;
+        }
+        int stripe = stripe();
+        if (tryAcquire(stripe)) {
+            return true;
+        }
+        for (int i = 1; i < budgets.length; i++) {
+            if (tryAcquire((stripe + i) & mask)) {
+                return true;
+            }
+        }
+        exhausted = true;
+        return false;
+    }
+
+    /**
+     * Take one from the budget, even if it has been used up.
+     */
+    void forceAcquire() {
+        cells.incrementAndGet(index(stripe()));
+    }
+
+    /**
+     * @return the number taken in this window, including the forced ones.
+     */
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < budgets.length; i++) {
+            sum += cells.get(index(i));
+        }
+        return sum;
+    }
+
+    private boolean tryAcquire(int stripe) {
+        int index = index(stripe);
+        int budget = budgets[stripe];
+        long used;
+        while ((used = cells.get(index)) < budget) {
+            if (cells.compareAndSet(index, used, used + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int index(int stripe) {
+        return (stripe + 1) * PADDING;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+
+/**
+ * The tail sampling decides to keep a segment after it finished. The segment is kept if it is slower than the
+ * threshold, has an error span, or shares the trace id with a kept segment. The others wait in a bounded pool, and are
+ * flushed together with a kept segment of the same trace, or dropped when the pool is full or they have waited too long.
+ * <p>
+ * The pool is split into stripes by the trace id, so the finishing threads mostly lock different stripes. Every stripe
+ * holds at most its share of the max pending segments, and remembers at most as many kept trace ids.
+ */
+class TailSampler {
+    private static final int MAX_STRIPES = 64;
+
+    private final long latencyThreshold;
+    private final long pendingTimeout;
+    private final Stripe[] stripes;
+    private final int mask;
+
+    /**
+     * @param latencyThreshold   the segment is kept if it takes no less time in milliseconds.
+     * @param maxPendingSegments the max number of the segments waiting in the pool.
+     * @param pendingTimeout     the max time in milliseconds a segment waits in the pool, or a kept trace id is
+     *                           remembered.
+     */
+    TailSampler(long latencyThreshold, int maxPendingSegments, long pendingTimeout) {
+        this.latencyThreshold = latencyThreshold;
+        this.pendingTimeout = pendingTimeout;
+        int size = Integer.highestOneBit(Math.max(1, Math.min(
+            MAX_STRIPES, Math.min(Runtime.getRuntime().availableProcessors(), maxPendingSegments))));
+        this.mask = size - 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe(Math.max(1, maxPendingSegments / size));
+        }
+    }
+
+    /**
+     * @return the segments to be reported, including the given one if it is kept, and the pending ones of the same
+     * trace. Empty if the given one is pending.
+     */
+    List<TraceSegment> sample(TraceSegment segment) {
+        final String traceId = segment.getRelatedGlobalTrace().getId();
+        final boolean keep = segment.finishTime() - segment.createTime() >= latencyThreshold || segment.hasErrorSpan();
+        final long now = System.currentTimeMillis();
+        int h = traceId.hashCode();
+        Stripe stripe = stripes[(h ^ (h >>> 16)) & mask];
+        synchronized (stripe) {
+            stripe.expire(now);
+            if (keep || stripe.keptTraces.containsKey(traceId)) {
+                stripe.keep(traceId, now);
+                Pending pending = stripe.pending.remove(traceId);
+                if (pending == null) {
+                    return Collections.singletonList(segment);
+                }
+                stripe.pendingSegments -= pending.segments.size();
+                pending.segments.add(segment);
+                return pending.segments;
+            }
+            stripe.hold(traceId, segment, now);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * @return the number of the segments waiting in the pool.
+     */
+    int pendingSegments() {
+        int sum = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                sum += stripe.pendingSegments;
+            }
+        }
+        return sum;
+    }
+
+    private class Stripe {
+        private final int capacity;
+        /**
+         * The pending segments by trace id, in the order of the first segment arriving.
+         */
+        private final LinkedHashMap<String, Pending> pending = new LinkedHashMap<>();
+        /**
+         * The kept trace ids and the last time a segment of them was kept, in the order of inserting.
+         */
+        private final LinkedHashMap<String, Long> keptTraces;
+        private int pendingSegments;
+
+        private Stripe(final int capacity) {
+            this.capacity = capacity;
+            this.keptTraces = new LinkedHashMap<String, Long>() {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        private void keep(String traceId, long now) {
+            // Move the trace id to the tail, to keep the insertion order same as the time order.
+            keptTraces.remove(traceId);
+            keptTraces.put(traceId, now);
+        }
+
+        private void hold(String traceId, TraceSegment segment, long now) {
+            Pending traceSegments = pending.get(traceId);
+            if (traceSegments == null) {
+                traceSegments = new Pending(now);
+                pending.put(traceId, traceSegments);
+            }
+            traceSegments.segments.add(segment);
+            pendingSegments++;
+            Iterator<Pending> iterator = pending.values().iterator();
+            while (pendingSegments > capacity && iterator.hasNext()) {
+                pendingSegments -= iterator.next().segments.size();
+                iterator.remove();
+            }
+        }
+
+        private void expire(long now) {
+            Iterator<Pending> pendingIterator = pending.values().iterator();
+            while (pendingIterator.hasNext()) {
+                Pending eldest = pendingIterator.next();
+                if (now - eldest.createTime < pendingTimeout) {
+                    break;
+                }
+                pendingSegments -= eldest.segments.size();
+                pendingIterator.remove();
+            }
+            Iterator<Long> keptIterator = keptTraces.values().iterator();
+            while (keptIterator.hasNext()) {
+                if (now - keptIterator.next() < pendingTimeout) {
+                    break;
+                }
+                keptIterator.remove();
+            }
+        }
+    }
+
+    private static class Pending {
+        private final long createTime;
+        private final List<TraceSegment> segments = new ArrayList<>(2);
+
+        private Pending(long createTime) {
+            this.createTime = createTime;
+        }
+    }
+}
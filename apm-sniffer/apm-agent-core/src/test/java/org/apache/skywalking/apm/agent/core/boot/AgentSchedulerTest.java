@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.boot;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class AgentSchedulerTest {
+
+    @Test
+    public void testSlowBlockingTaskNotDelayQuickTask() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        ScheduledFuture<?> slow = AgentScheduler.INSTANCE.scheduleBlockingAtFixedRate(
+            "test-slow", () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            }, 0, 10, TimeUnit.MILLISECONDS);
+        CountDownLatch quickRuns = new CountDownLatch(5);
+        ScheduledFuture<?> quick = AgentScheduler.INSTANCE.scheduleAtFixedRate(
+            "test-quick", quickRuns::countDown, 0, 10, TimeUnit.MILLISECONDS);
+        try {
+            assertTrue(quickRuns.await(5, TimeUnit.SECONDS));
+
+            AgentScheduler.ScheduledTask slowTask = AgentScheduler.INSTANCE.getTask("test-slow");
+            // The first run is still blocked, the later triggers are skipped rather than queued.
+            assertThat(slowTask.getRuns(), is(0L));
+            assertTrue(slowTask.getSkippedRuns() > 0);
+        } finally {
+            release.countDown();
+            slow.cancel(true);
+            quick.cancel(true);
+        }
+    }
+
+    @Test
+    public void testTaskMetricsAndExceptionIsolation() throws InterruptedException {
+        AtomicInteger counter = new AtomicInteger();
+        CountDownLatch runs = new CountDownLatch(3);
+        ScheduledFuture<?> future = AgentScheduler.INSTANCE.scheduleBlockingAtFixedRate(
+            "test-failure", () -> {
+                counter.incrementAndGet();
+                runs.countDown();
+                throw new IllegalStateException("test");
+            }, 0, 10, TimeUnit.MILLISECONDS);
+        try {
+            // A failed run doesn't cancel the following ones.
+            assertTrue(runs.await(5, TimeUnit.SECONDS));
+        } finally {
+            future.cancel(true);
+        }
+
+        AgentScheduler.ScheduledTask task = AgentScheduler.INSTANCE.getTask("test-failure");
+        assertThat(task.getName(), is("test-failure"));
+        assertTrue(counter.get() >= 3);
+        // The runs don't overlap, the former two are recorded once the third one starts.
+        assertTrue(task.getRuns() >= 2);
+        assertTrue(task.getMaxNanos() > 0);
+        assertTrue(task.getTotalNanos() > 0);
+    }
+
+    @Test
+    public void testOneShotTask() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        AgentScheduler.INSTANCE.schedule("test-once", done::countDown, 10, TimeUnit.MILLISECONDS);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.base64.Base64;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegmentRef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measure the inject/extract round-trips per second of the sw8 header. The eager baseline splits the header and
+ * decodes every field like the previous {@link ContextCarrier#deserialize(String, ContextCarrier.HeaderVersion)},
+ * while the lazy one parses the {@link SW8Header} by offsets, and decodes only the trace id on extracting, like an
+ * entry span whose reference is only read when the segment is reported, or never if the segment is ignored.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ContextCarrierBenchmark {
+
+    @State(Scope.Thread)
+    public static class CarrierState {
+        private final ContextCarrier injected = new ContextCarrier();
+
+        {
+            injected.setTraceId("5f3a0ec1a5b34d5e8bf7c06d3e9b1e27.111.16661234567890001");
+            injected.setTraceSegmentId("5f3a0ec1a5b34d5e8bf7c06d3e9b1e27.111.16661234567890002");
+            injected.setSpanId(3);
+            injected.setParentService("order-service");
+            injected.setParentServiceInstance("e5c1b6f4a1b24bb0a6e0b1c2d3e4f5a6@10.0.0.12");
+            injected.setParentEndpoint("POST:/api/orders/{id}/checkout");
+            injected.setAddressUsedAtClient("payment-service:8080");
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public void eagerRoundTrip(CarrierState state, Blackhole bh) {
+        String header = state.injected.serialize(ContextCarrier.HeaderVersion.v3);
+        String[] parts = header.split("-", 8);
+        ContextCarrier extracted = new ContextCarrier();
+        extracted.setTraceId(Base64.decode2UTFString(parts[1]));
+        extracted.setTraceSegmentId(Base64.decode2UTFString(parts[2]));
+        extracted.setSpanId(Integer.parseInt(parts[3]));
+        extracted.setParentService(Base64.decode2UTFString(parts[4]));
+        extracted.setParentServiceInstance(Base64.decode2UTFString(parts[5]));
+        extracted.setParentEndpoint(Base64.decode2UTFString(parts[6]));
+        extracted.setAddressUsedAtClient(Base64.decode2UTFString(parts[7]));
+        bh.consume(extracted.isValid());
+        bh.consume(extracted.getTraceId());
+        bh.consume(new TraceSegmentRef(extracted));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public void lazyRoundTrip(CarrierState state, Blackhole bh) {
+        String header = state.injected.serialize(ContextCarrier.HeaderVersion.v3);
+        ContextCarrier extracted = new ContextCarrier().deserialize(header, ContextCarrier.HeaderVersion.v3);
+        bh.consume(extracted.isValid());
+        bh.consume(extracted.getTraceId());
+        bh.consume(new TraceSegmentRef(extracted));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public void lazyRoundTripAndReport(CarrierState state, Blackhole bh) {
+        String header = state.injected.serialize(ContextCarrier.HeaderVersion.v3);
+        ContextCarrier extracted = new ContextCarrier().deserialize(header, ContextCarrier.HeaderVersion.v3);
+        bh.consume(extracted.isValid());
+        bh.consume(extracted.getTraceId());
+        bh.consume(new TraceSegmentRef(extracted).transform());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(ContextCarrierBenchmark.class.getSimpleName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+}
@@ -101,6 +101,28 @@ public class ContextCarrierV3HeaderTest {
         Assert.assertTrue(contextCarrier.isValid());
     }
 
+    @Test
+    public void testUnsampledFlag() {
+        ContextCarrier contextCarrier = new ContextCarrier();
+        contextCarrier.setTraceSegmentId("1.2.3");
+        contextCarrier.setTraceId("3.4.5");
+        contextCarrier.setSpanId(4);
+        contextCarrier.setParentService("service");
+        contextCarrier.setParentServiceInstance("instance");
+        contextCarrier.setAddressUsedAtClient("127.0.0.1:8080");
+        contextCarrier.setParentEndpoint("/app");
+        contextCarrier.setSampled(false);
+
+        String header = contextCarrier.serialize(ContextCarrier.HeaderVersion.v3);
+        Assert.assertEquals("0-My40LjU=-MS4yLjM=-4-c2VydmljZQ==-aW5zdGFuY2U=-L2FwcA==-MTI3LjAuMC4xOjgwODA=", header);
+
+        ContextCarrier deserialized = new ContextCarrier().deserialize(header, ContextCarrier.HeaderVersion.v3);
+        Assert.assertTrue(deserialized.isValid());
+        Assert.assertFalse(deserialized.isSampled());
+        Assert.assertTrue(new ContextCarrier().deserialize("1" + header.substring(1), ContextCarrier.HeaderVersion.v3)
+                                              .isSampled());
+    }
+
     @Test
     public void testV2HeaderAccurate() {
         List<DistributedTraceId> distributedTraceIds = new ArrayList<>();
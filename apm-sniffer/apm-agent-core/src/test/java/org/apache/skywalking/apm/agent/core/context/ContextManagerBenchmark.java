@@ -34,6 +34,11 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class ContextManagerBenchmark {
+    private static final Object REQUEST = new Object();
+    private static final RuntimeContextSlot<Object> REQUEST_SLOT = RuntimeContextSlot.register("SLOT_REQUEST");
+    private static final RuntimeContextSlot<Object> DEPTH_SLOT = RuntimeContextSlot.register("SLOT_DEPTH");
+    private static final RuntimeContextSlot<Boolean> FLAG_SLOT = RuntimeContextSlot.register("SLOT_FLAG");
+
     @Benchmark
     @Fork(value = 1, warmups = 1)
     @OutputTimeUnit(TimeUnit.NANOSECONDS)
@@ -42,6 +47,36 @@ public class ContextManagerBenchmark {
         bh.consume(ContextManager.getRuntimeContext().get("KEY"));
     }
 
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void requestStateByStringKeys(Blackhole bh) {
+        RuntimeContext runtimeContext = ContextManager.getRuntimeContext();
+        runtimeContext.put("KEY_REQUEST", REQUEST);
+        runtimeContext.put("KEY_DEPTH", REQUEST);
+        bh.consume(runtimeContext.get("KEY_FLAG"));
+        bh.consume(runtimeContext.get("KEY_REQUEST"));
+        bh.consume(runtimeContext.get("KEY_DEPTH"));
+        runtimeContext.remove("KEY_REQUEST");
+        runtimeContext.remove("KEY_DEPTH");
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void requestStateBySlots(Blackhole bh) {
+        RuntimeContext runtimeContext = ContextManager.getRuntimeContext();
+        runtimeContext.put(REQUEST_SLOT, REQUEST);
+        runtimeContext.put(DEPTH_SLOT, REQUEST);
+        bh.consume(runtimeContext.get(FLAG_SLOT));
+        bh.consume(runtimeContext.get(REQUEST_SLOT));
+        bh.consume(runtimeContext.get(DEPTH_SLOT));
+        runtimeContext.remove(REQUEST_SLOT);
+        runtimeContext.remove(DEPTH_SLOT);
+    }
+
     @Benchmark
     @Fork(value = 1, warmups = 1)
     @OutputTimeUnit(TimeUnit.NANOSECONDS)
@@ -21,6 +21,7 @@ package org.apache.skywalking.apm.agent.core.context;
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
@@ -284,4 +285,72 @@ public class ContextManagerTest {
         assertThat(values.get(2).getValue(), is("exception"));
         assertTrue(values.get(2).getValue().length() <= 4000);
     }
+
+    @Test
+    public void continuedLazilyByRootSpans() {
+        ContextManager.createEntrySpan("/testLazyEntry", null);
+        ContextSnapshot snapshot = ContextManager.capture();
+        ContextManager.stopSpan();
+
+        ContextManager.continuedLazily(snapshot);
+        ContextManager.createExitSpan("/testLazyExit", "127.0.0.1:8080");
+        ContextManager.createLocalSpan("/testLazyLocal");
+        ContextManager.stopSpan();
+        ContextManager.stopSpan();
+        ContextManager.createLocalSpan("/testLazySecondSegment");
+        ContextManager.stopSpan();
+        assertTrue(ContextManager.clearLazyContinuation());
+
+        ContextManager.createLocalSpan("/testNotContinued");
+        ContextManager.stopSpan();
+        assertThat(ContextManager.clearLazyContinuation(), is(false));
+
+        List<TraceSegment> segments = tracingData.getTraceSegments();
+        assertThat(segments.size(), is(4));
+        String parentSegmentId = segments.get(0).getTraceSegmentId();
+        assertThat(segments.get(1).getRef().getTraceSegmentId(), is(parentSegmentId));
+        assertThat(segments.get(2).getRef().getTraceSegmentId(), is(parentSegmentId));
+        assertNull(segments.get(3).getRef());
+    }
+
+    @Test
+    public void clearLazyContinuationWithoutSpan() {
+        ContextManager.createEntrySpan("/testLazyEntry", null);
+        ContextSnapshot snapshot = ContextManager.capture();
+        ContextManager.stopSpan();
+
+        ContextManager.continuedLazily(snapshot);
+        assertThat(ContextManager.clearLazyContinuation(), is(false));
+        assertThat(tracingData.getTraceSegments().size(), is(1));
+    }
+
+    @Test
+    public void renderLazyTagWhenTransformed() {
+        final AtomicInteger renderTimes = new AtomicInteger();
+        AbstractSpan entrySpan = ContextManager.createEntrySpan("/testLazyTag", null);
+        Tags.SQL_PARAMETERS.set(entrySpan, () -> "[" + renderTimes.incrementAndGet() + "]");
+        ContextManager.stopSpan();
+        assertThat(renderTimes.get(), is(0));
+
+        TraceSegment actualSegment = tracingData.getTraceSegments().get(0);
+        SpanObject spanObject = actualSegment.transform().getSpans(0);
+        assertThat(spanObject.getTags(0).getKey(), is(Tags.SQL_PARAMETERS.key()));
+        assertThat(spanObject.getTags(0).getValue(), is("[1]"));
+
+        actualSegment.transform();
+        assertThat(renderTimes.get(), is(1));
+    }
+
+    @Test
+    public void keepSegmentWhenLazyTagFailsToRender() {
+        AbstractSpan entrySpan = ContextManager.createEntrySpan("/testLazyTag", null);
+        Tags.SQL_PARAMETERS.set(entrySpan, () -> {
+            throw new IllegalStateException("render failure");
+        });
+        ContextManager.stopSpan();
+
+        SpanObject spanObject = tracingData.getTraceSegments().get(0).transform().getSpans(0);
+        assertThat(spanObject.getTags(0).getKey(), is(Tags.SQL_PARAMETERS.key()));
+        assertThat(spanObject.getTags(0).getValue(), is(""));
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measure the heap retained per in-flight trace by the {@link ContextStorage}s. Every task keeps a tracer context and a
+ * runtime context while all the tasks are parked, the retained heap is compared with the same tasks without context.
+ * <p>
+ * The tasks run on {@link StandInThread}s standing for the virtual threads on the JDK without them, which keep their
+ * own thread locals just like the virtual threads do. Run with the number of tasks as the argument,
+ * e.g. 1000000 with a large heap, the default is 10000.
+ */
+public class ContextStorageBenchmark {
+    private static final RuntimeContextSlot<Object> SLOT = RuntimeContextSlot.register("BENCHMARK_SLOT");
+
+    public static void main(String[] args) throws Exception {
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        // Warm up the classes and the code paths.
+        measure(new ThreadLocalContextStorage(), 1000);
+        measure(new VirtualThreadAwareContextStorage(StandInThread.class), 1000);
+
+        long baseline = measure(null, tasks);
+        long threadLocal = measure(new ThreadLocalContextStorage(), tasks);
+        long virtualThreadAware = measure(new VirtualThreadAwareContextStorage(StandInThread.class), tasks);
+        System.out.printf("%d in-flight traces, retained bytes per trace: THREAD_LOCAL %d, VIRTUAL_THREAD_AWARE %d%n",
+                          tasks, (threadLocal - baseline) / tasks, (virtualThreadAware - baseline) / tasks
+        );
+    }
+
+    /**
+     * @return the used heap while all the tasks are in-flight.
+     */
+    private static long measure(ContextStorage storage, int tasks) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(tasks);
+        CountDownLatch finish = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            Thread thread = new StandInThread(() -> {
+                if (storage != null) {
+                    storage.setTracerContext(new IgnoredTracerContext());
+                    storage.getRuntimeContext(true).put(SLOT, SLOT);
+                }
+                started.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+                if (storage != null) {
+                    storage.clear();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        started.await();
+        long used = usedHeap();
+        finish.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return used;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static class StandInThread extends Thread {
+        private StandInThread(Runnable task) {
+            super(null, task, "benchmark", 64 * 1024);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class RuntimeContextTest {
+    private static final RuntimeContextSlot<String> SLOT = RuntimeContextSlot.register("TEST_SLOT");
+    private static final RuntimeContextSlot<Object> REQUEST_SLOT = RuntimeContextSlot.register("SW_REQUEST");
+
+    @After
+    public void tearDown() {
+        ContextManager.getRuntimeContext().remove(SLOT);
+        ContextManager.getRuntimeContext().remove(REQUEST_SLOT);
+        ContextManager.getRuntimeContext().remove("TEST_KEY");
+    }
+
+    @Test
+    public void testSlotRegisteredByName() {
+        assertThat(RuntimeContextSlot.register("TEST_SLOT"), sameInstance((Object) SLOT));
+        assertThat(SLOT.getName(), is("TEST_SLOT"));
+    }
+
+    @Test
+    public void testPutGetRemoveSlot() {
+        RuntimeContext runtimeContext = ContextManager.getRuntimeContext();
+        runtimeContext.put(SLOT, "value");
+        assertThat(runtimeContext.get(SLOT), is("value"));
+        // The string key of the slot is resolved to the slot.
+        assertThat(runtimeContext.get("TEST_SLOT"), is((Object) "value"));
+
+        runtimeContext.put("TEST_SLOT", "other");
+        assertThat(runtimeContext.get(SLOT), is("other"));
+
+        runtimeContext.remove(SLOT);
+        assertThat(runtimeContext.get(SLOT), nullValue());
+        // The empty context is released.
+        assertThat(ContextManager.getRuntimeContext() == runtimeContext, is(false));
+    }
+
+    @Test
+    public void testSlotAndMapKeysTogether() {
+        RuntimeContext runtimeContext = ContextManager.getRuntimeContext();
+        runtimeContext.put("TEST_KEY", 1);
+        runtimeContext.put(SLOT, "value");
+
+        runtimeContext.remove("TEST_KEY");
+        assertThat(ContextManager.getRuntimeContext(), sameInstance(runtimeContext));
+        assertThat(runtimeContext.get(SLOT), is("value"));
+
+        runtimeContext.put(SLOT, null);
+        assertThat(ContextManager.getRuntimeContext() == runtimeContext, is(false));
+    }
+
+    @Test
+    public void testLateRegisteredSlotReadsMapValue() {
+        RuntimeContext runtimeContext = ContextManager.getRuntimeContext();
+        runtimeContext.put("TEST_LATE_SLOT", "value");
+        RuntimeContextSlot<String> lateSlot = RuntimeContextSlot.register("TEST_LATE_SLOT");
+        assertThat(runtimeContext.get(lateSlot), is("value"));
+
+        runtimeContext.remove(lateSlot);
+        assertThat(runtimeContext.get("TEST_LATE_SLOT"), nullValue());
+    }
+
+    @Test
+    public void testCaptureSlotValue() {
+        Object request = new Object();
+        ContextManager.getRuntimeContext().put(REQUEST_SLOT, request);
+
+        Map<Object, Object> captured = new HashMap<>();
+        Iterator<Map.Entry<Object, Object>> iterator = ContextManager.getRuntimeContext().capture().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Object, Object> entry = iterator.next();
+            captured.put(entry.getKey(), entry.getValue());
+        }
+        assertThat(captured.get("SW_REQUEST"), sameInstance(request));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import org.apache.skywalking.apm.agent.core.base64.Base64;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegmentRef;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SW8HeaderTest {
+    private static final String HEADER = "1-My40LjU=-MS4yLjM=-4-c2VydmljZQ==-aW5zdGFuY2U=-L2FwcA==-MTI3LjAuMC4xOjgwODA=";
+
+    @Test
+    public void testParseLazily() {
+        SW8Header header = SW8Header.parse(HEADER);
+        Assert.assertNotNull(header);
+        Assert.assertTrue(header.isSampled());
+        Assert.assertEquals("3.4.5", header.getTraceId());
+        Assert.assertEquals("1.2.3", header.getTraceSegmentId());
+        Assert.assertEquals(4, header.getSpanId());
+        Assert.assertEquals("service", header.getParentService());
+        Assert.assertEquals("instance", header.getParentServiceInstance());
+        Assert.assertEquals("/app", header.getParentEndpoint());
+        Assert.assertEquals("127.0.0.1:8080", header.getAddressUsedAtClient());
+        Assert.assertSame(header.getTraceId(), header.getTraceId());
+    }
+
+    @Test
+    public void testDecodeSameAsJdk() {
+        String[] texts = {"a", "ab", "abc", "abcd", "/app/\u4e2d\u6587/\u8def\u5f84", "http://127.0.0.1:8080/?q=1&p=2"};
+        for (String text : texts) {
+            String encoded = Base64.encode(text);
+            Assert.assertTrue(Base64.isBase64(encoded, 0, encoded.length()));
+            Assert.assertEquals(text, Base64.decode2UTFString(encoded, 0, encoded.length()));
+            String unpadded = encoded.replace("=", "");
+            Assert.assertTrue(Base64.isBase64(unpadded, 0, unpadded.length()));
+            Assert.assertEquals(text, Base64.decode2UTFString(unpadded, 0, unpadded.length()));
+        }
+    }
+
+    @Test
+    public void testRejectBrokenHeader() {
+        Assert.assertNull(SW8Header.parse(""));
+        Assert.assertNull(SW8Header.parse("1-My40LjU=-MS4yLjM=-4-c2VydmljZQ==-aW5zdGFuY2U=-L2FwcA=="));
+        Assert.assertNull(SW8Header.parse(HEADER + "-extra"));
+        Assert.assertNull(SW8Header.parse(HEADER.replace("-4-", "--")));
+        Assert.assertNull(SW8Header.parse(HEADER.replace("-4-", "-x-")));
+        Assert.assertNull(SW8Header.parse(HEADER.replace("-4-", "-99999999999-")));
+        Assert.assertNull(SW8Header.parse(HEADER.replace("My40LjU=", "My4*LjU=")));
+        Assert.assertNull(SW8Header.parse(HEADER.replace("L2FwcA==", "L2FwcA=")));
+
+        ContextCarrier carrier = new ContextCarrier().deserialize(
+            HEADER.replace("My40LjU=", "My4*LjU="), ContextCarrier.HeaderVersion.v3);
+        Assert.assertFalse(carrier.isValid());
+    }
+
+    @Test
+    public void testShareHeaderWithRef() {
+        ContextCarrier carrier = new ContextCarrier().deserialize(HEADER, ContextCarrier.HeaderVersion.v3);
+        Assert.assertTrue(carrier.isValid());
+        Assert.assertNotNull(carrier.getSw8Header());
+
+        TraceSegmentRef ref = new TraceSegmentRef(carrier);
+        Assert.assertEquals("1.2.3", ref.getTraceSegmentId());
+        Assert.assertEquals(4, ref.getSpanId());
+        Assert.assertEquals("/app", ref.getParentEndpoint());
+        Assert.assertEquals("127.0.0.1:8080", ref.transform().getNetworkAddressUsedAtPeer());
+
+        carrier.setParentEndpoint("/changed");
+        Assert.assertNull(carrier.getSw8Header());
+        Assert.assertEquals("/changed", carrier.getParentEndpoint());
+        Assert.assertEquals("3.4.5", carrier.getTraceId());
+        Assert.assertEquals("/changed", new TraceSegmentRef(carrier).getParentEndpoint());
+    }
+}
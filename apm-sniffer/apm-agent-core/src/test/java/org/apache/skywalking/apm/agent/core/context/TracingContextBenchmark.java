@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.dynamic.watcher.SpanLimitWatcher;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measure the allocation per span of the span stack and the span archive of {@link TracingContext}. Run with the
+ * {@link GCProfiler} and compare the `gc.alloc.rate.norm` of the LinkedList-based and the array-based variants, the
+ * segment benchmark shows the whole allocation of one 20-spans segment.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TracingContextBenchmark {
+    private static final int SPAN_NUM = 20;
+
+    @State(Scope.Benchmark)
+    public static class ContextState {
+        static {
+            ServiceManager.INSTANCE.boot();
+        }
+
+        private final SpanLimitWatcher spanLimitWatcher = new SpanLimitWatcher("agent.span_limit_per_segment");
+        private final Object span = new Object();
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public void linkedListSpanStack(Blackhole bh, ContextState state) {
+        LinkedList<Object> stack = new LinkedList<>();
+        LinkedList<Object> archive = new LinkedList<>();
+        for (int i = 0; i < SPAN_NUM; i++) {
+            stack.addLast(state.span);
+            archive.add(stack.removeLast());
+        }
+        bh.consume(archive);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public void arrayListSpanStack(Blackhole bh, ContextState state) {
+        ArrayList<Object> stack = new ArrayList<>(8);
+        ArrayList<Object> archive = new ArrayList<>(16);
+        for (int i = 0; i < SPAN_NUM; i++) {
+            stack.add(state.span);
+            archive.add(stack.remove(stack.size() - 1));
+        }
+        bh.consume(archive);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public void segmentWithSpans(Blackhole bh, ContextState state) {
+        TracingContext context = new TracingContext("/benchmark", state.spanLimitWatcher);
+        AbstractSpan entrySpan = context.createEntrySpan("/benchmark");
+        for (int i = 0; i < SPAN_NUM - 1; i++) {
+            AbstractSpan exitSpan = context.createExitSpan("/benchmark/exit", "127.0.0.1:8080");
+            context.stopSpan(exitSpan);
+        }
+        bh.consume(context.stopSpan(entrySpan));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(TracingContextBenchmark.class.getSimpleName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+}
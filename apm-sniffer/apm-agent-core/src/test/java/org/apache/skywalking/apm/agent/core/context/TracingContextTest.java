@@ -18,6 +18,8 @@
 
 package org.apache.skywalking.apm.agent.core.context;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.conf.dynamic.watcher.SpanLimitWatcher;
@@ -39,11 +41,13 @@ public class TracingContextTest {
     @BeforeClass
     public static void beforeClass() {
         Config.Agent.KEEP_TRACING = true;
+        Config.Agent.TAIL_SAMPLING_ENABLE = true;
     }
 
     @AfterClass
     public static void afterClass() {
         Config.Agent.KEEP_TRACING = false;
+        Config.Agent.TAIL_SAMPLING_ENABLE = false;
         ServiceManager.INSTANCE.shutdown();
     }
 
@@ -80,4 +84,42 @@ public class TracingContextTest {
         }
     }
 
+    @Test
+    public void testHoldContinuedSegmentInTraceOfTailSamplingCandidate() throws InterruptedException {
+        final List<TraceSegment> reported = new CopyOnWriteArrayList<>();
+        TracingContextListener listener = new TracingContextListener() {
+            @Override
+            public void afterFinished(TraceSegment traceSegment) {
+                reported.add(traceSegment);
+            }
+        };
+        TracingContext.ListenerManager.add(listener);
+        try {
+            TracingContext parentContext = new TracingContext("/parent", spanLimitWatcher, true);
+            AbstractSpan entrySpan = parentContext.createEntrySpan("/parent");
+            ContextSnapshot snapshot = parentContext.capture();
+            Assert.assertTrue(snapshot.isTailSamplingCandidate());
+
+            // Sampled when created in the other thread, but held with the parent once continued.
+            Thread thread = new Thread(() -> {
+                TracingContext childContext = new TracingContext("/child", spanLimitWatcher);
+                AbstractSpan localSpan = childContext.createLocalSpan("/child");
+                childContext.continued(snapshot);
+                childContext.stopSpan(localSpan);
+            });
+            thread.start();
+            thread.join();
+            Assert.assertTrue(reported.isEmpty());
+
+            // The error of the parent keeps the whole trace.
+            entrySpan.errorOccurred();
+            parentContext.stopSpan(entrySpan);
+            Assert.assertEquals(2, reported.size());
+            Assert.assertEquals(snapshot.getTraceId(), reported.get(0).getRelatedGlobalTrace());
+            Assert.assertEquals(snapshot.getTraceSegmentId(), reported.get(0).getRef().getTraceSegmentId());
+            Assert.assertEquals(snapshot.getTraceSegmentId(), reported.get(1).getTraceSegmentId());
+        } finally {
+            TracingContext.ListenerManager.remove(listener);
+        }
+    }
 }
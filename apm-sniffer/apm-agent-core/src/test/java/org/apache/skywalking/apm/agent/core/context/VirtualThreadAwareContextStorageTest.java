@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assume;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class VirtualThreadAwareContextStorageTest {
+    private final VirtualThreadAwareContextStorage storage = new VirtualThreadAwareContextStorage(StandInThread.class);
+
+    @Test
+    public void testKeepContextInVirtualThread() throws Throwable {
+        runInStandInThread(() -> assertKeepContext(storage));
+    }
+
+    @Test
+    public void testKeepContextInRealVirtualThread() throws Throwable {
+        // Only runs on JDK 21+, where the storage finds java.lang.VirtualThread by itself.
+        Method startVirtualThread = findStartVirtualThread();
+        Assume.assumeTrue(startVirtualThread != null);
+        VirtualThreadAwareContextStorage realStorage = new VirtualThreadAwareContextStorage();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = (Thread) startVirtualThread.invoke(null, (Runnable) () -> {
+            try {
+                assertKeepContext(realStorage);
+                // The context stays with the virtual thread when it is mounted on another carrier thread.
+                realStorage.setTracerContext(new IgnoredTracerContext());
+                Thread.sleep(10);
+                Thread.yield();
+                assertThat(realStorage.getTracerContext() instanceof IgnoredTracerContext, is(true));
+                assertThat(realStorage.size(), is(1));
+                realStorage.clear();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        thread.join();
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        assertThat(realStorage.size(), is(0));
+    }
+
+    @Test
+    public void testReleaseEmptyRuntimeContext() throws Throwable {
+        runInStandInThread(() -> {
+            assertThat(storage.getRuntimeContext(false), nullValue());
+            assertThat(storage.size(), is(0));
+
+            RuntimeContext runtimeContext = storage.getRuntimeContext(true);
+            runtimeContext.put("TEST_KEY", "value");
+            assertThat(storage.size(), is(1));
+            runtimeContext.remove("TEST_KEY");
+            assertThat(storage.getRuntimeContext(false), nullValue());
+            assertThat(storage.size(), is(0));
+        });
+    }
+
+    @Test
+    public void testClearUnfinishedTraceOfTerminatedThread() throws Throwable {
+        runInStandInThread(() -> {
+            storage.setTracerContext(new IgnoredTracerContext());
+            storage.getRuntimeContext(true).put("TEST_KEY", "value");
+            storage.getLazyContinuation(true);
+            // What the jdk-virtual-thread-plugin does when the virtual thread terminates.
+            storage.clear();
+            storage.clearLazyContinuation();
+        });
+        assertThat(storage.size(), is(0));
+    }
+
+    @Test
+    public void testKeepLazyContinuationAfterSegmentFinished() throws Throwable {
+        runInStandInThread(() -> {
+            LazyContinuation continuation = storage.getLazyContinuation(true);
+            storage.setTracerContext(new IgnoredTracerContext());
+            // the segment finished, while the task is still running
+            storage.clear();
+            assertThat(storage.getLazyContinuation(false), sameInstance(continuation));
+            assertThat(storage.size(), is(1));
+
+            assertThat(storage.clearLazyContinuation(), is(false));
+            assertThat(storage.getLazyContinuation(false), nullValue());
+            assertThat(storage.size(), is(0));
+        });
+    }
+
+    @Test
+    public void testFallbackToThreadLocal() {
+        AbstractTracerContext context = new IgnoredTracerContext();
+        storage.setTracerContext(context);
+        assertThat(storage.getTracerContext(), sameInstance(context));
+        storage.getRuntimeContext(true).put("TEST_KEY", "value");
+        assertThat(storage.size(), is(0));
+
+        LazyContinuation continuation = storage.getLazyContinuation(true);
+        assertThat(storage.size(), is(0));
+
+        storage.clear();
+        assertThat(storage.getTracerContext(), nullValue());
+        assertThat(storage.getRuntimeContext(false), nullValue());
+        // kept for the next task of the thread
+        assertThat(storage.clearLazyContinuation(), is(false));
+        assertThat(storage.getLazyContinuation(false), sameInstance(continuation));
+    }
+
+    private static void assertKeepContext(VirtualThreadAwareContextStorage storage) {
+        AbstractTracerContext context = new IgnoredTracerContext();
+        storage.setTracerContext(context);
+        assertThat(storage.getTracerContext(), sameInstance(context));
+        assertThat(storage.size(), is(1));
+
+        RuntimeContext runtimeContext = storage.getRuntimeContext(true);
+        runtimeContext.put("TEST_KEY", "value");
+        assertThat(storage.getRuntimeContext(false), sameInstance(runtimeContext));
+
+        storage.clear();
+        assertThat(storage.getTracerContext(), nullValue());
+        assertThat(storage.getRuntimeContext(false), nullValue());
+        assertThat(storage.size(), is(0));
+    }
+
+    private static Method findStartVirtualThread() {
+        try {
+            return Thread.class.getMethod("startVirtualThread", Runnable.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private void runInStandInThread(Runnable task) throws Throwable {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = new StandInThread(() -> {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        thread.start();
+        thread.join();
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Stands for {@code java.lang.VirtualThread} on the JDK without virtual threads.
+     */
+    private static class StandInThread extends Thread {
+        private StandInThread(Runnable task) {
+            super(task);
+        }
+    }
+}
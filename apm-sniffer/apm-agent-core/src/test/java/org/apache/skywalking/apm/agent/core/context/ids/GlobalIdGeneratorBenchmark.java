@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.ids;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.util.StringUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare the id generation throughput of 64 producer threads, between the string-joined id(before 9.0.0), the
+ * primitive {@link GlobalId} never rendered (ignored or not propagated segments), and the one rendered once.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+@Fork(value = 1, warmups = 1)
+public class GlobalIdGeneratorBenchmark {
+    private static final String PROCESS_ID = UUID.randomUUID().toString().replaceAll("-", "");
+
+    @Benchmark
+    public void joinedStringId(Blackhole bh) {
+        bh.consume(StringUtil.join(
+            '.',
+            PROCESS_ID,
+            String.valueOf(Thread.currentThread().getId()),
+            String.valueOf(System.currentTimeMillis() * 10000)
+        ));
+    }
+
+    @Benchmark
+    public void primitiveId(Blackhole bh) {
+        bh.consume(GlobalIdGenerator.generateId());
+    }
+
+    @Benchmark
+    public void renderedId(Blackhole bh) {
+        bh.consume(GlobalIdGenerator.generateId().toString());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(GlobalIdGeneratorBenchmark.class.getSimpleName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.ids;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GlobalIdGeneratorTest {
+    @Test
+    public void testTextualForm() {
+        String id = GlobalIdGenerator.generate();
+        String[] parts = id.split("\\.");
+        Assert.assertEquals(3, parts.length);
+        Assert.assertTrue(parts[0].matches("[0-9a-f]{32}"));
+        Assert.assertEquals(String.valueOf(Thread.currentThread().getId()), parts[1]);
+        Assert.assertTrue(Long.parseLong(parts[2]) > 0);
+    }
+
+    @Test
+    public void testSameProcessIdAndUniqueSeq() {
+        GlobalId first = GlobalIdGenerator.generateId();
+        GlobalId second = GlobalIdGenerator.generateId();
+        Assert.assertNotEquals(first, second);
+        Assert.assertNotEquals(first.toString(), second.toString());
+        Assert.assertEquals(
+            first.toString().substring(0, first.toString().indexOf('.')),
+            second.toString().substring(0, second.toString().indexOf('.'))
+        );
+    }
+
+    @Test
+    public void testRenderOnce() {
+        GlobalId id = GlobalIdGenerator.generateId();
+        Assert.assertSame(id.toString(), id.toString());
+    }
+
+    @Test
+    public void testDistributedTraceIdEquality() {
+        NewDistributedTraceId newId = new NewDistributedTraceId();
+        PropagatedTraceId propagatedId = new PropagatedTraceId(newId.getId());
+        Assert.assertEquals(newId, propagatedId);
+        Assert.assertEquals(newId.hashCode(), propagatedId.hashCode());
+    }
+}
@@ -18,6 +18,8 @@
 
 package org.apache.skywalking.apm.agent.core.context.status;
 
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -25,6 +27,7 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.infra.Blackhole;
 import org.openjdk.jmh.runner.Runner;
@@ -67,6 +70,36 @@ public class HierarchyMatchExceptionBenchmark {
         private final Throwable tripleT = new RuntimeException(new RuntimeException(new NullPointerException()));
     }
 
+    /**
+     * An error storm of distinct exception classes, each defined by its own classloader like the generated proxies.
+     * There are more of them than the bounded {@link ExceptionCheckContext} registers.
+     */
+    @State(Scope.Benchmark)
+    public static class ErrorStormState extends ThrowableState {
+        private static final int STORM_SIZE = 4096;
+
+        private final Throwable[] stormT = new Throwable[STORM_SIZE];
+        private final String[] ignoredExceptionNames = ServiceManager.INSTANCE.findService(StatusCheckService.class)
+                                                                              .getIgnoredExceptionNames();
+        private int index;
+
+        @Setup
+        public void setup() throws Exception {
+            for (int i = 0; i < STORM_SIZE; i++) {
+                Class<? extends RuntimeException> type = new ByteBuddy().subclass(RuntimeException.class)
+                                                                         .name("org.apache.skywalking.storm.StormException" + i)
+                                                                         .make()
+                                                                         .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                                                                         .getLoaded();
+                stormT[i] = type.newInstance();
+            }
+        }
+
+        private Throwable next() {
+            return stormT[index++ & (STORM_SIZE - 1)];
+        }
+    }
+
     @Benchmark
     public void depthOneBenchmark(Blackhole bh, ThrowableState state) {
         bh.consume(ServiceManager.INSTANCE.findService(StatusCheckService.class).isError(state.singleT));
@@ -82,6 +115,31 @@ public class HierarchyMatchExceptionBenchmark {
         bh.consume(ServiceManager.INSTANCE.findService(StatusCheckService.class).isError(state.tripleT));
     }
 
+    @Benchmark
+    public void errorStormBenchmark(Blackhole bh, ErrorStormState state) {
+        bh.consume(ServiceManager.INSTANCE.findService(StatusCheckService.class).isError(state.next()));
+    }
+
+    /**
+     * The hierarchy check of the previous versions, loading every ignored exception through the classloader of the
+     * traced one for every exception class not registered in the {@link ExceptionCheckContext}.
+     */
+    @Benchmark
+    public void errorStormForNameBenchmark(Blackhole bh, ErrorStormState state) {
+        Class<? extends Throwable> clazz = state.next().getClass();
+        boolean isError = true;
+        for (final String ignoredExceptionName : state.ignoredExceptionNames) {
+            try {
+                if (Class.forName(ignoredExceptionName, true, clazz.getClassLoader()).isAssignableFrom(clazz)) {
+                    isError = false;
+                    break;
+                }
+            } catch (ClassNotFoundException ignore) {
+            }
+        }
+        bh.consume(isError);
+    }
+
     public static void main(String[] args) throws Exception {
         Options options = new OptionsBuilder()
                 .include(HierarchyMatchExceptionBenchmark.class.getSimpleName()).build();
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.skywalking.apm.agent.core.context.tag.LazyTagValue;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.context.trace.EntrySpan;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TagValuePairTest {
+
+    @Test
+    public void testCompareWithoutRendering() {
+        AtomicInteger rendered = new AtomicInteger();
+        LazyTagValue value = () -> "SELECT " + rendered.incrementAndGet();
+
+        TagValuePair pair = new TagValuePair(Tags.DB_STATEMENT, value);
+        assertThat(pair, is(new TagValuePair(Tags.DB_STATEMENT, value)));
+        assertThat(pair.hashCode(), is(new TagValuePair(Tags.DB_STATEMENT, value).hashCode()));
+        assertThat(pair, not(new TagValuePair(Tags.DB_STATEMENT, () -> "SELECT 1")));
+        assertThat(rendered.get(), is(0));
+
+        assertThat(pair.getValue(), is("SELECT 1"));
+        assertThat(pair.getValue(), is("SELECT 1"));
+        assertThat(rendered.get(), is(1));
+    }
+
+    @Test
+    public void testEntrySpanKeepsLazyTagsOfLastEntryOnly() throws Exception {
+        EntrySpan span = new EntrySpan(0, -1, "/outer", null);
+        span.start();
+        span.start();
+        span.tag(Tags.DB_STATEMENT, () -> "inner");
+        span.finish(null);
+        // back in the outer entry, which must not override the tags of the inner one
+        span.tag(Tags.DB_STATEMENT, () -> "outer");
+
+        List<TagValuePair> tags = FieldGetter.get2LevelParentFieldValue(span, "tags");
+        assertThat(tags.size(), is(1));
+        assertThat(tags.get(0).getValue(), is("inner"));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ThrowableTransformerTest {
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    @Test
+    public void testFoldFramesInCommon() {
+        Exception cause = new IllegalStateException("cause");
+        cause.setStackTrace(new StackTraceElement[] {
+            new StackTraceElement("Cause", "fail", "Cause.java", 1),
+            new StackTraceElement("Caller", "call", "Caller.java", 2),
+            new StackTraceElement("Main", "main", "Main.java", 3)
+        });
+        Exception exception = new RuntimeException("wrapper", cause);
+        exception.setStackTrace(new StackTraceElement[] {
+            new StackTraceElement("Caller", "call", "Caller.java", 5),
+            new StackTraceElement("Main", "main", "Main.java", 3)
+        });
+
+        String stack = ThrowableTransformer.INSTANCE.convert2String(exception, 4000);
+        assertThat(stack, is(
+            "java.lang.RuntimeException: wrapper" + LINE_SEPARATOR
+                + "at Caller.call(Caller.java:5)" + LINE_SEPARATOR
+                + "at Main.main(Main.java:3)" + LINE_SEPARATOR
+                + "java.lang.IllegalStateException: cause" + LINE_SEPARATOR
+                + "at Cause.fail(Cause.java:1)" + LINE_SEPARATOR
+                + "at Caller.call(Caller.java:2)" + LINE_SEPARATOR
+                + "... 1 more" + LINE_SEPARATOR));
+    }
+
+    @Test
+    public void testMaxLength() {
+        Exception exception = new RuntimeException(new RuntimeException(new RuntimeException()));
+        String stack = ThrowableTransformer.INSTANCE.convert2String(exception, 100);
+        assertThat(stack.length(), is(100));
+        assertThat(ThrowableTransformer.INSTANCE.convert2String(exception, 4000).startsWith(stack), is(true));
+    }
+
+    @Test
+    public void testDeferredStack() throws Exception {
+        Exception exception = new IllegalArgumentException("deferred");
+        ThrowableStackKeyValuePair pair = new ThrowableStackKeyValuePair("stack", exception, 4000);
+        assertThat(FieldGetter.<Throwable>getValue(pair, "throwable"), is(exception));
+
+        String stack = pair.getValue();
+        assertThat(stack, is(ThrowableTransformer.INSTANCE.convert2String(exception, 4000)));
+        assertThat(stack, containsString("java.lang.IllegalArgumentException: deferred"));
+        assertThat(FieldGetter.<Throwable>getValue(pair, "throwable"), nullValue());
+        assertThat(pair.transform().getValue(), is(stack));
+        assertThat(pair.transform().getKey(), is("stack"));
+    }
+}
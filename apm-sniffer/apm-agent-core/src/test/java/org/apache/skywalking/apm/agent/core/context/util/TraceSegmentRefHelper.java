@@ -22,11 +22,6 @@ import org.apache.skywalking.apm.agent.core.context.trace.TraceSegmentRef;
 
 public class TraceSegmentRefHelper {
     public static String getPeerHost(TraceSegmentRef ref) {
-        try {
-            return FieldGetter.getValue(ref, "addressUsedAtClient");
-        } catch (Exception e) {
-        }
-
-        return null;
+        return ref.getAddressUsedAtClient();
     }
 }
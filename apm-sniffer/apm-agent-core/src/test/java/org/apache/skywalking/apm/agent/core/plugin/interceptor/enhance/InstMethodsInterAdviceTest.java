@@ -0,0 +1,348 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.plugin.AbstractClassEnhancePluginDefine;
+import org.apache.skywalking.apm.agent.core.plugin.EnhanceContext;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.ConstructorInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.InstanceMethodsInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.v2.ClassInstanceMethodsEnhancePluginDefineV2;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.v2.InstanceMethodsAroundInterceptorV2;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.v2.MethodInvocationContext;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.v2.InstanceMethodsInterceptV2Point;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassMatch;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.apache.skywalking.apm.agent.core.plugin.match.NameMatch.byName;
+
+public class InstMethodsInterAdviceTest {
+    private static final List<String> EVENTS = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        EVENTS.clear();
+        Config.Plugin.INTERCEPTION_MODE = InterceptionMode.ADVICE;
+    }
+
+    @After
+    public void tearDown() {
+        Config.Plugin.INTERCEPTION_MODE = InterceptionMode.DELEGATION;
+    }
+
+    @Test
+    public void testInterceptByAdvice() throws Throwable {
+        Class<?> enhanced = enhance(Service.class, new ServiceInstrumentation(false));
+        for (Method method : enhanced.getDeclaredMethods()) {
+            Assert.assertFalse("inlined, not rebased", method.getName().contains("$original$"));
+        }
+        Object service = enhanced.newInstance();
+        Assert.assertTrue(service instanceof EnhancedInstance);
+
+        Assert.assertEquals("hello skywalking!", invoke(service, "greet", "skywalking"));
+        Assert.assertEquals(Arrays.asList(
+            "before greet[class java.lang.String] [skywalking]", "after greet hello skywalking"), EVENTS);
+
+        EVENTS.clear();
+        Assert.assertEquals(42L, invoke(service, "count"));
+        Assert.assertEquals(Arrays.asList("before count[] []", "after count 42"), EVENTS);
+
+        EVENTS.clear();
+        try {
+            invoke(service, "fail", 1);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("fail 1", e.getMessage());
+        }
+        Assert.assertEquals(Arrays.asList(
+            "before fail[int] [1]", "exception fail fail 1", "after fail null"), EVENTS);
+    }
+
+    @Test
+    public void testInterceptV2ByAdvice() throws Throwable {
+        Object service = enhance(Service.class, new ServiceInstrumentationV2()).newInstance();
+
+        Assert.assertEquals("hello v2", invoke(service, "greet", "v2"));
+        Assert.assertEquals(Arrays.asList("before greet", "after greet hello v2 with context"), EVENTS);
+
+        EVENTS.clear();
+        try {
+            invoke(service, "fail", 2);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("fail 2", e.getMessage());
+        }
+        Assert.assertEquals(Arrays.asList(
+            "before fail", "exception fail fail 2 with context", "after fail null with context"), EVENTS);
+    }
+
+    @Test
+    public void testDelegateInheritedMethods() throws Throwable {
+        Object service = enhance(SubService.class, new ServiceInstrumentation(false)).newInstance();
+
+        Assert.assertEquals("hello sub!", invoke(service, "greet", "sub"));
+        Assert.assertEquals(Arrays.asList(
+            "before greet[class java.lang.String] [sub]", "after greet hello sub"), EVENTS);
+    }
+
+    @Test
+    public void testMixWithOverrideArgsInterceptor() throws Throwable {
+        Object service = enhance(
+            Service.class, new ServiceInstrumentation(false), new ServiceInstrumentation(true)).newInstance();
+
+        Assert.assertEquals("hello overridden!!", invoke(service, "greet", "origin"));
+        Assert.assertEquals(4, EVENTS.size());
+    }
+
+    @Test
+    public void testKeepInterceptorInEnhancedClass() throws Throwable {
+        ServiceInstrumentation instrumentation = new ServiceInstrumentation(false);
+        Class<?> enhanced = enhance(Service.class, instrumentation);
+        Field field = interceptorField(enhanced);
+        Assert.assertTrue(Modifier.isStatic(field.getModifiers()));
+        Assert.assertTrue(field.get(null) instanceof RecordingInterceptor);
+
+        // the retransformation by the same plugin must define the same field
+        Assert.assertEquals(field.getName(), interceptorField(enhance(Service.class, instrumentation)).getName());
+    }
+
+    @Test
+    public void testReleaseEnhancedClass() throws Throwable {
+        WeakReference<Class<?>> enhanced = enhanceAndCall();
+        for (int i = 0; i < 100 && enhanced.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull("the enhanced class is still referenced", enhanced.get());
+    }
+
+    private static WeakReference<Class<?>> enhanceAndCall() throws Throwable {
+        Class<?> enhanced = enhance(Service.class, new ServiceInstrumentation(false));
+        Assert.assertEquals("hello gc!", invoke(enhanced.newInstance(), "greet", "gc"));
+        return new WeakReference<>(enhanced);
+    }
+
+    private static Field interceptorField(Class<?> enhanced) {
+        for (Field field : enhanced.getDeclaredFields()) {
+            if (InstanceMethodsAroundInterceptor.class == field.getType()) {
+                return field;
+            }
+        }
+        throw new AssertionError("no interceptor field");
+    }
+
+    private static Class<?> enhance(Class<?> type, AbstractClassEnhancePluginDefine... defines) {
+        ClassLoader classLoader = InstMethodsInterAdviceTest.class.getClassLoader();
+        DynamicType.Builder<?> builder = new ByteBuddy().rebase(type);
+        EnhanceContext context = new EnhanceContext();
+        for (AbstractClassEnhancePluginDefine define : defines) {
+            builder = define.define(TypeDescription.ForLoadedType.of(type), builder, classLoader, context);
+        }
+        return builder.make().load(classLoader, ClassLoadingStrategy.Default.CHILD_FIRST).getLoaded();
+    }
+
+    private static Object invoke(Object target, String name, Object... args) throws Throwable {
+        for (Method method : target.getClass().getMethods()) {
+            if (method.getName().equals(name)) {
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        }
+        throw new NoSuchMethodException(name);
+    }
+
+    public static class Service {
+        public String greet(String name) {
+            return "hello " + name;
+        }
+
+        public long count() {
+            return 1L;
+        }
+
+        public void fail(int code) {
+            throw new IllegalStateException("fail " + code);
+        }
+    }
+
+    public static class SubService extends Service {
+    }
+
+    public static class RecordingInterceptor implements InstanceMethodsAroundInterceptor {
+        @Override
+        public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                 Class<?>[] argumentsTypes, MethodInterceptResult result) {
+            EVENTS.add("before " + method.getName() + Arrays.toString(argumentsTypes) + " " + Arrays.toString(allArguments));
+            if (method.getName().equals("count")) {
+                result.defineReturnValue(42L);
+            }
+        }
+
+        @Override
+        public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                  Class<?>[] argumentsTypes, Object ret) {
+            EVENTS.add("after " + method.getName() + " " + ret);
+            return method.getName().equals("greet") ? ret + "!" : ret;
+        }
+
+        @Override
+        public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                          Class<?>[] argumentsTypes, Throwable t) {
+            EVENTS.add("exception " + method.getName() + " " + t.getMessage());
+        }
+    }
+
+    public static class OverrideArgsInterceptor implements InstanceMethodsAroundInterceptor {
+        @Override
+        public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                 Class<?>[] argumentsTypes, MethodInterceptResult result) {
+            EVENTS.add("override " + method.getName());
+            allArguments[0] = "overridden";
+        }
+
+        @Override
+        public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                  Class<?>[] argumentsTypes, Object ret) {
+            EVENTS.add("after override " + ret);
+            return ret + "!";
+        }
+
+        @Override
+        public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                          Class<?>[] argumentsTypes, Throwable t) {
+        }
+    }
+
+    public static class RecordingInterceptorV2 implements InstanceMethodsAroundInterceptorV2 {
+        @Override
+        public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                 Class<?>[] argumentsTypes, MethodInvocationContext context) {
+            EVENTS.add("before " + method.getName());
+            context.setContext("context");
+        }
+
+        @Override
+        public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                  Class<?>[] argumentsTypes, Object ret, MethodInvocationContext context) {
+            EVENTS.add("after " + method.getName() + " " + ret + " with " + context.getContext());
+            return ret;
+        }
+
+        @Override
+        public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                          Class<?>[] argumentsTypes, Throwable t, MethodInvocationContext context) {
+            EVENTS.add("exception " + method.getName() + " " + t.getMessage() + " with " + context.getContext());
+        }
+    }
+
+    private static class ServiceInstrumentation extends ClassInstanceMethodsEnhancePluginDefine {
+        private final boolean overrideArgs;
+
+        private ServiceInstrumentation(boolean overrideArgs) {
+            this.overrideArgs = overrideArgs;
+        }
+
+        @Override
+        protected ClassMatch enhanceClass() {
+            return byName(Service.class.getName());
+        }
+
+        @Override
+        public ConstructorInterceptPoint[] getConstructorsInterceptPoints() {
+            return new ConstructorInterceptPoint[0];
+        }
+
+        @Override
+        public InstanceMethodsInterceptPoint[] getInstanceMethodsInterceptPoints() {
+            return new InstanceMethodsInterceptPoint[] {
+                new InstanceMethodsInterceptPoint() {
+                    @Override
+                    public ElementMatcher<MethodDescription> getMethodsMatcher() {
+                        return overrideArgs ? named("greet") : named("greet").or(named("count")).or(named("fail"));
+                    }
+
+                    @Override
+                    public String getMethodsInterceptor() {
+                        return overrideArgs ? OverrideArgsInterceptor.class.getName() : RecordingInterceptor.class.getName();
+                    }
+
+                    @Override
+                    public boolean isOverrideArgs() {
+                        return overrideArgs;
+                    }
+                }
+            };
+        }
+    }
+
+    private static class ServiceInstrumentationV2 extends ClassInstanceMethodsEnhancePluginDefineV2 {
+        @Override
+        protected ClassMatch enhanceClass() {
+            return byName(Service.class.getName());
+        }
+
+        @Override
+        public ConstructorInterceptPoint[] getConstructorsInterceptPoints() {
+            return new ConstructorInterceptPoint[0];
+        }
+
+        @Override
+        public InstanceMethodsInterceptV2Point[] getInstanceMethodsInterceptV2Points() {
+            return new InstanceMethodsInterceptV2Point[] {
+                new InstanceMethodsInterceptV2Point() {
+                    @Override
+                    public ElementMatcher<MethodDescription> getMethodsMatcher() {
+                        return named("greet").or(named("fail"));
+                    }
+
+                    @Override
+                    public String getMethodsInterceptorV2() {
+                        return RecordingInterceptorV2.class.getName();
+                    }
+
+                    @Override
+                    public boolean isOverrideArgs() {
+                        return false;
+                    }
+                }
+            };
+        }
+    }
+}
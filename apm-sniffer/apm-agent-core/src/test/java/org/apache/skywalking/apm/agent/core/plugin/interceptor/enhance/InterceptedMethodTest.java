@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.MethodDelegation;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+public class InterceptedMethodTest {
+    private static final List<InterceptedMethod> INTERCEPTED = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        INTERCEPTED.clear();
+    }
+
+    @Test
+    public void testMetadata() throws Exception {
+        Method method = Service.class.getMethod("query", String.class, int.class);
+        InterceptedMethod intercepted = new InterceptedMethod(method);
+
+        Assert.assertSame(method, intercepted.getMethod());
+        Assert.assertEquals("query", intercepted.getName());
+        Assert.assertEquals(Service.class.getName(), intercepted.getDeclaringClassName());
+        Assert.assertArrayEquals(new Class<?>[] {String.class, int.class}, intercepted.getParameterTypes());
+        Assert.assertSame(intercepted.getParameterTypes(), intercepted.getParameterTypes());
+        Assert.assertEquals(Service.class.getName() + ".query(java.lang.String,int)", intercepted.getOperationName());
+        Assert.assertSame(intercepted.getOperationName(), intercepted.getOperationName());
+        Assert.assertEquals("Redis/query", intercepted.getOperationName("Redis/"));
+        Assert.assertSame(intercepted.getOperationName("Redis/"), intercepted.getOperationName("Redis/"));
+    }
+
+    @Test
+    public void testBridgeReusesMetadata() throws Throwable {
+        Class<? extends Service> enhanced = enhance(MetadataInterceptor.class.getName());
+        Service service = enhanced.getDeclaredConstructor().newInstance();
+
+        Assert.assertEquals("k-1", service.query("k", 1));
+        Assert.assertEquals("k-2", service.query("k", 2));
+
+        Assert.assertEquals(4, INTERCEPTED.size());
+        for (InterceptedMethod intercepted : INTERCEPTED) {
+            Assert.assertSame(INTERCEPTED.get(0), intercepted);
+        }
+        Assert.assertEquals(Service.class.getMethod("query", String.class, int.class), INTERCEPTED.get(0).getMethod());
+
+        InterceptedMethod bound = null;
+        for (Field field : enhanced.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == InterceptedMethod.class) {
+                Assert.assertNull("only one field per method", bound);
+                field.setAccessible(true);
+                bound = (InterceptedMethod) field.get(null);
+            }
+        }
+        Assert.assertSame(INTERCEPTED.get(0), bound);
+    }
+
+    @Test
+    public void testLegacyInterceptorStillWorks() throws Throwable {
+        Service service = enhance(LegacyInterceptor.class.getName()).getDeclaredConstructor().newInstance();
+
+        Assert.assertEquals("legacy [class java.lang.String, int]", service.query("k", 1));
+    }
+
+    private static Class<? extends Service> enhance(String interceptor) {
+        return new ByteBuddy().subclass(Service.class)
+                              .method(named("query"))
+                              .intercept(MethodDelegation.withDefaultConfiguration()
+                                                         .withBinders(InterceptedMethodBinder.INSTANCE)
+                                                         .to(new InstMethodsInter(interceptor, InterceptedMethodTest.class.getClassLoader())))
+                              .make()
+                              .load(InterceptedMethodTest.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                              .getLoaded();
+    }
+
+    public static class Service implements EnhancedInstance {
+        public String query(String key, int version) {
+            return key + "-" + version;
+        }
+
+        @Override
+        public Object getSkyWalkingDynamicField() {
+            return null;
+        }
+
+        @Override
+        public void setSkyWalkingDynamicField(Object value) {
+        }
+    }
+
+    public static class MetadataInterceptor implements InstanceMethodsAroundInterceptor {
+        @Override
+        public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                 Class<?>[] argumentsTypes, MethodInterceptResult result) {
+            throw new AssertionError("the metadata API should be called");
+        }
+
+        @Override
+        public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                  Class<?>[] argumentsTypes, Object ret) {
+            throw new AssertionError("the metadata API should be called");
+        }
+
+        @Override
+        public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                          Class<?>[] argumentsTypes, Throwable t) {
+        }
+
+        @Override
+        public void beforeMethod(EnhancedInstance objInst, InterceptedMethod method, Object[] allArguments,
+                                 MethodInterceptResult result) {
+            INTERCEPTED.add(method);
+        }
+
+        @Override
+        public Object afterMethod(EnhancedInstance objInst, InterceptedMethod method, Object[] allArguments,
+                                  Object ret) {
+            INTERCEPTED.add(method);
+            return ret;
+        }
+    }
+
+    public static class LegacyInterceptor implements InstanceMethodsAroundInterceptor {
+        private Class<?>[] argumentsTypes;
+
+        @Override
+        public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                 Class<?>[] argumentsTypes, MethodInterceptResult result) {
+            this.argumentsTypes = argumentsTypes;
+            result.defineReturnValue("legacy");
+        }
+
+        @Override
+        public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                  Class<?>[] argumentsTypes, Object ret) {
+            Assert.assertSame(this.argumentsTypes, argumentsTypes);
+            return ret + " " + Arrays.toString(argumentsTypes);
+        }
+
+        @Override
+        public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                          Class<?>[] argumentsTypes, Throwable t) {
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.plugin.EnhanceContext;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.ConstructorInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.InstanceMethodsInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassMatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.apache.skywalking.apm.agent.core.plugin.match.NameMatch.byName;
+
+/**
+ * Measure the per-call overhead of an empty {@link InstanceMethodsAroundInterceptor} in the {@link
+ * InterceptionMode#DELEGATION} and {@link InterceptionMode#ADVICE} modes, against the origin method. Run with the
+ * {@link GCProfiler} to compare the `gc.alloc.rate.norm` of the modes too.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InterceptionModeBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class TargetState {
+        private final Call origin = new Target();
+        private Call delegated;
+        private Call inlined;
+        private final Object arg = new Object();
+
+        @Setup
+        public void setUp() throws Exception {
+            delegated = enhance(InterceptionMode.DELEGATION);
+            inlined = enhance(InterceptionMode.ADVICE);
+            Config.Plugin.INTERCEPTION_MODE = InterceptionMode.DELEGATION;
+        }
+
+        private static Call enhance(InterceptionMode mode) throws Exception {
+            Config.Plugin.INTERCEPTION_MODE = mode;
+            ClassLoader classLoader = InterceptionModeBenchmark.class.getClassLoader();
+            return (Call) new TargetInstrumentation().define(
+                TypeDescription.ForLoadedType.of(Target.class), new ByteBuddy().rebase(Target.class), classLoader,
+                new EnhanceContext()
+            ).make().load(classLoader, ClassLoadingStrategy.Default.CHILD_FIRST).getLoaded().newInstance();
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public void origin(TargetState state, Blackhole bh) {
+        bh.consume(state.origin.call(state.arg));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public void delegation(TargetState state, Blackhole bh) {
+        bh.consume(state.delegated.call(state.arg));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public void advice(TargetState state, Blackhole bh) {
+        bh.consume(state.inlined.call(state.arg));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(InterceptionModeBenchmark.class.getSimpleName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+
+    public interface Call {
+        Object call(Object arg);
+    }
+
+    public static class Target implements Call {
+        @Override
+        public Object call(Object arg) {
+            return arg;
+        }
+    }
+
+    public static class EmptyInterceptor implements InstanceMethodsAroundInterceptor {
+        @Override
+        public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                 Class<?>[] argumentsTypes, MethodInterceptResult result) {
+        }
+
+        @Override
+        public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                  Class<?>[] argumentsTypes, Object ret) {
+            return ret;
+        }
+
+        @Override
+        public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                          Class<?>[] argumentsTypes, Throwable t) {
+        }
+    }
+
+    private static class TargetInstrumentation extends ClassInstanceMethodsEnhancePluginDefine {
+        @Override
+        protected ClassMatch enhanceClass() {
+            return byName(Target.class.getName());
+        }
+
+        @Override
+        public ConstructorInterceptPoint[] getConstructorsInterceptPoints() {
+            return new ConstructorInterceptPoint[0];
+        }
+
+        @Override
+        public InstanceMethodsInterceptPoint[] getInstanceMethodsInterceptPoints() {
+            return new InstanceMethodsInterceptPoint[] {
+                new InstanceMethodsInterceptPoint() {
+                    @Override
+                    public ElementMatcher<MethodDescription> getMethodsMatcher() {
+                        return named("call");
+                    }
+
+                    @Override
+                    public String getMethodsInterceptor() {
+                        return EmptyInterceptor.class.getName();
+                    }
+
+                    @Override
+                    public boolean isOverrideArgs() {
+                        return false;
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.loader;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class InterceptorInstanceLoaderTest {
+
+    @Test
+    public void testSingletonPerClassLoader() throws Exception {
+        ClassLoader targetClassLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        // Interceptors of the tests are defined by the parent, hold the plugin loader to keep the cache entry.
+        AgentClassLoader pluginLoader = InterceptorInstanceLoader.getPluginLoader(targetClassLoader);
+
+        MockInterceptor interceptor = InterceptorInstanceLoader.load(MockInterceptor.class.getName(), targetClassLoader);
+        assertThat(InterceptorInstanceLoader.load(MockInterceptor.class.getName(), targetClassLoader), sameInstance(interceptor));
+        assertThat(InterceptorInstanceLoader.getPluginLoader(targetClassLoader), sameInstance(pluginLoader));
+
+        AgentClassLoader bootstrapPluginLoader = InterceptorInstanceLoader.getPluginLoader(InterceptorInstanceLoader.class.getClassLoader());
+        MockInterceptor bootstrapInterceptor = InterceptorInstanceLoader.load(MockInterceptor.class.getName(), null);
+        assertThat(bootstrapInterceptor, not(sameInstance(interceptor)));
+        assertThat(InterceptorInstanceLoader.load(MockInterceptor.class.getName(), null), sameInstance(bootstrapInterceptor));
+        assertThat(bootstrapPluginLoader, not(sameInstance(pluginLoader)));
+    }
+
+    @Test
+    public void testReleaseUnloadedClassLoader() throws Exception {
+        int size = InterceptorInstanceLoader.size();
+        WeakReference<ClassLoader> targetClassLoader = loadWithTemporaryClassLoader();
+
+        for (int i = 0; i < 50 && targetClassLoader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertThat(targetClassLoader.get(), nullValue());
+        assertThat(InterceptorInstanceLoader.size() <= size, is(true));
+    }
+
+    private WeakReference<ClassLoader> loadWithTemporaryClassLoader() throws Exception {
+        ClassLoader targetClassLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        InterceptorInstanceLoader.load(MockInterceptor.class.getName(), targetClassLoader);
+        return new WeakReference<>(targetClassLoader);
+    }
+
+    public static class MockInterceptor {
+    }
+}
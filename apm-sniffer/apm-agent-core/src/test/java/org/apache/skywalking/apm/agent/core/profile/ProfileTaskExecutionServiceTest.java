@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.profile;
+
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.context.util.FieldGetter;
+import org.apache.skywalking.apm.network.constants.ProfileConstants;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ProfileTaskExecutionServiceTest {
+
+    @Test
+    public void testCancelPendingTasksWhenShutdown() throws Exception {
+        ProfileTaskExecutionService service = new ProfileTaskExecutionService();
+        service.addProfileTask(profileTask(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+
+        Set<ScheduledFuture<?>> scheduledTasks = FieldGetter.getValue(service, "scheduledTasks");
+        assertThat(scheduledTasks.size(), is(1));
+        ScheduledFuture<?> start = scheduledTasks.iterator().next();
+        assertThat(start.isDone(), is(false));
+
+        service.shutdown();
+
+        assertThat(start.isCancelled(), is(true));
+        assertThat(scheduledTasks.isEmpty(), is(true));
+    }
+
+    private static ProfileTask profileTask(long startTime) {
+        ProfileTask task = new ProfileTask();
+        task.setTaskId("task");
+        task.setFirstSpanOPName("/profile");
+        task.setDuration(ProfileConstants.TASK_DURATION_MIN_MINUTE);
+        task.setThreadDumpPeriod(ProfileConstants.TASK_DUMP_PERIOD_MIN_MILLIS);
+        task.setMaxSamplingCount(1);
+        task.setStartTime(startTime);
+        task.setCreateTime(System.currentTimeMillis());
+        return task;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class CapturedLogEventTest {
+
+    @Test
+    public void testTransform() {
+        LogData logData = CapturedLogEvent.builder()
+                                          .timestamp(1000L)
+                                          .level("ERROR")
+                                          .logger("logger")
+                                          .thread("main")
+                                          .text("failed {}")
+                                          .arguments(new String[] {"null"})
+                                          .throwable(new IllegalStateException("failure"))
+                                          .endpoint("/endpoint")
+                                          .traceId("trace")
+                                          .traceSegmentId("segment")
+                                          .spanId(1)
+                                          .build()
+                                          .transform()
+                                          .build();
+
+        assertThat(logData.getTimestamp(), is(1000L));
+        assertThat(logData.getEndpoint(), is("/endpoint"));
+        assertThat(logData.getBody().getText().getText(), is("failed {}"));
+        assertThat(logData.getTags().getDataCount(), is(5));
+        assertThat(logData.getTags().getData(3).getKey(), is("argument.0"));
+        assertThat(logData.getTags().getData(4).getKey(), is("exception"));
+        assertThat(logData.getTags().getData(4).getValue().startsWith("java.lang.IllegalStateException: failure"), is(true));
+        assertThat(logData.getTraceContext().getTraceId(), is("trace"));
+        assertThat(logData.getTraceContext().getTraceSegmentId(), is("segment"));
+        assertThat(logData.getTraceContext().getSpanId(), is(1));
+    }
+
+    @Test
+    public void testTransformWithoutTraceContext() {
+        LogData logData = CapturedLogEvent.builder()
+                                          .level("INFO")
+                                          .text("message")
+                                          .build()
+                                          .transform()
+                                          .build();
+
+        assertThat(logData.hasTraceContext(), is(false));
+        assertThat(logData.getTags().getDataCount(), is(1));
+    }
+
+    @Test
+    public void testRenderThrowableInText() {
+        LogData logData = CapturedLogEvent.builder()
+                                          .level("ERROR")
+                                          .text("failed")
+                                          .throwable(new IllegalStateException("failure"))
+                                          .throwableInText(true)
+                                          .build()
+                                          .transform()
+                                          .build();
+
+        assertThat(logData.getBody().getText().getText().startsWith("failed\njava.lang.IllegalStateException: failure"), is(true));
+        assertThat(logData.getTags().getDataCount(), is(1));
+    }
+
+    @Test
+    public void testPrebuiltLogData() {
+        LogData.Builder builder = LogData.newBuilder().setTimestamp(1000L);
+        assertThat(CapturedLogEvent.builder().logData(builder).build().transform(), sameInstance(builder));
+    }
+}
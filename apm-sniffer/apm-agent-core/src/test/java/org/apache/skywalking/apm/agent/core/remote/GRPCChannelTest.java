@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.network.common.v3.Commands;
+import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.apache.skywalking.apm.network.logging.v3.LogDataBody;
+import org.apache.skywalking.apm.network.logging.v3.LogReportServiceGrpc;
+import org.apache.skywalking.apm.network.logging.v3.TextLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class GRPCChannelTest {
+    private final List<SocketAddress> callerAddresses = new CopyOnWriteArrayList<>();
+    private final List<LogData> received = new CopyOnWriteArrayList<>();
+    private Server server;
+    private GRPCChannel channel;
+
+    @Before
+    public void setUp() throws Exception {
+        LogReportServiceGrpc.LogReportServiceImplBase service = new LogReportServiceGrpc.LogReportServiceImplBase() {
+            @Override
+            public StreamObserver<LogData> collect(final StreamObserver<Commands> responseObserver) {
+                return new StreamObserver<LogData>() {
+                    @Override
+                    public void onNext(LogData value) {
+                        received.add(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        responseObserver.onNext(Commands.getDefaultInstance());
+                        responseObserver.onCompleted();
+                    }
+                };
+            }
+        };
+        ServerInterceptor callerRecorder = new ServerInterceptor() {
+            @Override
+            public <REQ, RESP> ServerCall.Listener<REQ> interceptCall(ServerCall<REQ, RESP> call, Metadata headers,
+                ServerCallHandler<REQ, RESP> next) {
+                callerAddresses.add(call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR));
+                return next.startCall(call, headers);
+            }
+        };
+        server = NettyServerBuilder.forPort(0)
+                                   .addService(ServerInterceptors.intercept(service, callerRecorder))
+                                   .build()
+                                   .start();
+    }
+
+    @After
+    public void tearDown() {
+        if (channel != null) {
+            channel.shutdownNow();
+        }
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testDispatchToLeastLoadedChannel() throws Exception {
+        channel = GRPCChannel.newBuilder("127.0.0.1", server.getPort())
+                             .addManagedChannelBuilder(new StandardChannelBuilder())
+                             .poolSize(2)
+                             .build();
+        LogReportServiceGrpc.LogReportServiceStub stub = LogReportServiceGrpc.newStub(channel.getChannel());
+
+        CountDownLatch longStreamClosed = new CountDownLatch(1);
+        StreamObserver<LogData> longStream = stub.collect(new ResponseObserver(longStreamClosed));
+        longStream.onNext(log("long"));
+
+        // The long stream is in flight, the short one goes to the other channel.
+        CountDownLatch shortStreamClosed = new CountDownLatch(1);
+        StreamObserver<LogData> shortStream = stub.collect(new ResponseObserver(shortStreamClosed));
+        shortStream.onNext(log("short"));
+        shortStream.onCompleted();
+        assertTrue(shortStreamClosed.await(10, TimeUnit.SECONDS));
+
+        longStream.onCompleted();
+        assertTrue(longStreamClosed.await(10, TimeUnit.SECONDS));
+
+        assertThat(callerAddresses.size(), is(2));
+        assertThat(callerAddresses.get(0), not(callerAddresses.get(1)));
+    }
+
+    @Test
+    public void testCompressAndCountStreamBytes() throws Exception {
+        StreamBytesDecorator streamBytes = new StreamBytesDecorator();
+        channel = GRPCChannel.newBuilder("127.0.0.1", server.getPort())
+                             .addManagedChannelBuilder(new StandardChannelBuilder())
+                             .addChannelDecorator(new CompressionDecorator("gzip", "LogReportService"))
+                             .addChannelDecorator(streamBytes)
+                             .build();
+        LogReportServiceGrpc.LogReportServiceStub stub = LogReportServiceGrpc.newStub(channel.getChannel());
+
+        CountDownLatch closed = new CountDownLatch(1);
+        StreamObserver<LogData> stream = stub.collect(new ResponseObserver(closed));
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            text.append("repeated log text ");
+        }
+        for (int i = 0; i < 100; i++) {
+            stream.onNext(log(text.toString()));
+        }
+        stream.onCompleted();
+        assertTrue(closed.await(10, TimeUnit.SECONDS));
+
+        assertThat(received.size(), is(100));
+        long uncompressed = streamBytes.getOutboundUncompressedBytes("LogReportService");
+        long wire = streamBytes.getOutboundWireBytes("LogReportService");
+        assertTrue(uncompressed > 100 * text.length());
+        assertTrue(wire > 0 && wire < uncompressed / 2);
+    }
+
+    @Test
+    public void testUnsupportedCompressorIgnored() throws Exception {
+        channel = GRPCChannel.newBuilder("127.0.0.1", server.getPort())
+                             .addManagedChannelBuilder(new StandardChannelBuilder())
+                             .addChannelDecorator(new CompressionDecorator("unknown", "LogReportService"))
+                             .build();
+        CountDownLatch closed = new CountDownLatch(1);
+        StreamObserver<LogData> stream = LogReportServiceGrpc.newStub(channel.getChannel())
+                                                             .collect(new ResponseObserver(closed));
+        stream.onNext(log("text"));
+        stream.onCompleted();
+        assertTrue(closed.await(10, TimeUnit.SECONDS));
+        assertThat(received.size(), is(1));
+    }
+
+    private static LogData log(String text) {
+        return LogData.newBuilder()
+                      .setService("service")
+                      .setBody(LogDataBody.newBuilder().setText(TextLog.newBuilder().setText(text)))
+                      .build();
+    }
+
+    private static class ResponseObserver implements StreamObserver<Commands> {
+        private final CountDownLatch closed;
+
+        private ResponseObserver(CountDownLatch closed) {
+            this.closed = closed;
+        }
+
+        @Override
+        public void onNext(Commands value) {
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            closed.countDown();
+        }
+
+        @Override
+        public void onCompleted() {
+            closed.countDown();
+        }
+    }
+}
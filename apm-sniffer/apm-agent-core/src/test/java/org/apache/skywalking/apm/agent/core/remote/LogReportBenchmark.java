@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
+import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.apache.skywalking.apm.network.logging.v3.LogDataBody;
+import org.apache.skywalking.apm.network.logging.v3.LogTags;
+import org.apache.skywalking.apm.network.logging.v3.TextLog;
+import org.apache.skywalking.apm.network.logging.v3.TraceContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measure the work of the appending thread per log, building the {@link LogData} in place versus capturing the
+ * {@link CapturedLogEvent}. The throughput mode shows the logs per second, and the sample mode shows the p0.99 of the
+ * append latency.
+ */
+@BenchmarkMode({
+    Mode.Throughput,
+    Mode.SampleTime
+})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LogReportBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class LogState {
+        private final String level = "INFO";
+        private final String logger = "org.apache.skywalking.Benchmark";
+        private final String thread = "main";
+        private final String text = "Request {} is handled in {} ms";
+        private final Object[] arguments = new Object[] {
+            "/benchmark",
+            10
+        };
+        private final String traceId = "e8f1b9a6c1e54c0c8b1fa1c5bbd3fbe1.54.16542301234560001";
+        private final String traceSegmentId = "e8f1b9a6c1e54c0c8b1fa1c5bbd3fbe1.54.16542301234560000";
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public void buildLogData(Blackhole bh, LogState state) {
+        LogTags.Builder logTags = LogTags.newBuilder()
+                                         .addData(KeyStringValuePair.newBuilder()
+                                                                    .setKey("level").setValue(state.level).build())
+                                         .addData(KeyStringValuePair.newBuilder()
+                                                                    .setKey("logger").setValue(state.logger).build())
+                                         .addData(KeyStringValuePair.newBuilder()
+                                                                    .setKey("thread").setValue(state.thread).build());
+        for (int i = 0; i < state.arguments.length; i++) {
+            logTags.addData(KeyStringValuePair.newBuilder()
+                                              .setKey("argument." + i).setValue(String.valueOf(state.arguments[i])).build());
+        }
+        bh.consume(LogData.newBuilder()
+                          .setTimestamp(System.currentTimeMillis())
+                          .setTags(logTags.build())
+                          .setBody(LogDataBody.newBuilder().setType(LogDataBody.ContentCase.TEXT.name())
+                                              .setText(TextLog.newBuilder().setText(state.text).build()).build())
+                          .setTraceContext(TraceContext.newBuilder()
+                                                       .setTraceId(state.traceId)
+                                                       .setSpanId(0)
+                                                       .setTraceSegmentId(state.traceSegmentId)
+                                                       .build()));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public void captureLogEvent(Blackhole bh, LogState state) {
+        String[] arguments = new String[state.arguments.length];
+        for (int i = 0; i < state.arguments.length; i++) {
+            arguments[i] = String.valueOf(state.arguments[i]);
+        }
+        bh.consume(CapturedLogEvent.builder()
+                                   .timestamp(System.currentTimeMillis())
+                                   .level(state.level)
+                                   .logger(state.logger)
+                                   .thread(state.thread)
+                                   .text(state.text)
+                                   .arguments(arguments)
+                                   .traceId(state.traceId)
+                                   .traceSegmentId(state.traceSegmentId)
+                                   .spanId(0)
+                                   .build());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(LogReportBenchmark.class.getSimpleName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcServerRule;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.network.common.v3.Commands;
+import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.apache.skywalking.apm.network.logging.v3.LogReportServiceGrpc;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class LogReportServiceClientTest {
+
+    @Rule
+    public GrpcServerRule grpcServerRule = new GrpcServerRule().directExecutor();
+
+    private final LogReportServiceClient serviceClient = new LogReportServiceClient();
+    private final List<List<LogData>> upstreamStreams = new ArrayList<>();
+
+    private final LogReportServiceGrpc.LogReportServiceImplBase serviceImplBase = new LogReportServiceGrpc.LogReportServiceImplBase() {
+        @Override
+        public StreamObserver<LogData> collect(final StreamObserver<Commands> responseObserver) {
+            List<LogData> stream = new ArrayList<>();
+            upstreamStreams.add(stream);
+            return new StreamObserver<LogData>() {
+                @Override
+                public void onNext(LogData value) {
+                    stream.add(value);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onCompleted() {
+                    responseObserver.onNext(Commands.getDefaultInstance());
+                    responseObserver.onCompleted();
+                }
+            };
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        grpcServerRule.getServiceRegistry().addService(serviceImplBase);
+        Field logReportServiceStub = LogReportServiceClient.class.getDeclaredField("logReportServiceStub");
+        Field status = LogReportServiceClient.class.getDeclaredField("status");
+        logReportServiceStub.setAccessible(true);
+        status.setAccessible(true);
+        logReportServiceStub.set(serviceClient, LogReportServiceGrpc.newStub(grpcServerRule.getChannel()));
+        status.set(serviceClient, GRPCChannelStatus.CONNECTED);
+        Config.Agent.SERVICE_NAME = "service";
+    }
+
+    @After
+    public void tearDown() {
+        Config.Log.LINGER_MS = 100;
+        Config.Log.MAX_BATCH_BYTES = 4 * 1024 * 1024;
+        Config.Log.MAX_BATCH_COUNT = 2000;
+        Config.Agent.SERVICE_NAME = "";
+    }
+
+    @Test
+    public void testFlushByBatchCount() {
+        Config.Log.LINGER_MS = 0;
+        Config.Log.MAX_BATCH_COUNT = 2;
+
+        serviceClient.consume(logs(5));
+
+        assertThat(upstreamStreams.size(), is(3));
+        assertThat(upstreamStreams.get(0).size(), is(2));
+        assertThat(upstreamStreams.get(1).size(), is(2));
+        assertThat(upstreamStreams.get(2).size(), is(1));
+        for (List<LogData> stream : upstreamStreams) {
+            assertThat(stream.get(0).getService(), is("service"));
+        }
+        assertThat(upstreamStreams.get(0).get(1).getService(), is(""));
+    }
+
+    @Test
+    public void testFlushByBatchBytes() {
+        Config.Log.LINGER_MS = 0;
+        List<LogData.Builder> logs = logs(4);
+        Config.Log.MAX_BATCH_BYTES = logs.get(0).build().getSerializedSize() * 2;
+
+        serviceClient.consume(logs);
+
+        assertThat(upstreamStreams.size(), is(2));
+        assertThat(upstreamStreams.get(0).size(), is(2));
+        assertThat(upstreamStreams.get(1).size(), is(2));
+    }
+
+    @Test
+    public void testLinger() throws InterruptedException {
+        Config.Log.LINGER_MS = 50;
+
+        serviceClient.consume(logs(2));
+        serviceClient.consume(logs(2));
+        assertThat(upstreamStreams.size(), is(0));
+
+        Thread.sleep(60);
+        serviceClient.nothingToConsume();
+        assertThat(upstreamStreams.size(), is(1));
+        assertThat(upstreamStreams.get(0).size(), is(4));
+    }
+
+    @Test
+    public void testFlushOnExit() {
+        serviceClient.consume(logs(3));
+        assertThat(upstreamStreams.size(), is(0));
+
+        serviceClient.onExit();
+        assertThat(upstreamStreams.size(), is(1));
+        assertThat(upstreamStreams.get(0).size(), is(3));
+    }
+
+    private static List<LogData.Builder> logs(int count) {
+        LogData.Builder[] logs = new LogData.Builder[count];
+        for (int i = 0; i < count; i++) {
+            logs[i] = LogData.newBuilder().setTimestamp(1000L + i).setServiceInstance("instance");
+        }
+        return Arrays.asList(logs);
+    }
+}
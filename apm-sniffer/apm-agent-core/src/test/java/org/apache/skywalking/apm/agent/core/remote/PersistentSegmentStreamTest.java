@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcServerRule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.network.common.v3.Commands;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.TraceSegmentReportServiceGrpc;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PersistentSegmentStreamTest {
+
+    @Rule
+    public AgentServiceRule agentServiceRule = new AgentServiceRule();
+
+    @Rule
+    public GrpcServerRule grpcServerRule = new GrpcServerRule().directExecutor();
+
+    private final AtomicInteger openedStreams = new AtomicInteger();
+    private final AtomicInteger completedStreams = new AtomicInteger();
+    private final List<SegmentObject> upstreamSegments = new ArrayList<>();
+    private TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub serviceStub;
+    private volatile boolean failStreams;
+
+    @Before
+    public void setUp() {
+        grpcServerRule.getServiceRegistry().addService(new TraceSegmentReportServiceGrpc.TraceSegmentReportServiceImplBase() {
+            @Override
+            public StreamObserver<SegmentObject> collect(final StreamObserver<Commands> responseObserver) {
+                openedStreams.incrementAndGet();
+                return new StreamObserver<SegmentObject>() {
+                    @Override
+                    public void onNext(SegmentObject value) {
+                        if (failStreams) {
+                            responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+                            return;
+                        }
+                        upstreamSegments.add(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completedStreams.incrementAndGet();
+                        responseObserver.onNext(Commands.getDefaultInstance());
+                        responseObserver.onCompleted();
+                    }
+                };
+            }
+        });
+        serviceStub = TraceSegmentReportServiceGrpc.newStub(grpcServerRule.getChannel());
+    }
+
+    @Test
+    public void testShareStreamAcrossBatches() {
+        PersistentSegmentStream stream = new PersistentSegmentStream(1024 * 1024, 30);
+
+        assertThat(stream.send(serviceStub, Arrays.asList(new TraceSegment(), new TraceSegment()), segment -> { }), is(2));
+        assertThat(stream.send(serviceStub, Arrays.asList(new TraceSegment()), segment -> { }), is(1));
+
+        assertThat(upstreamSegments.size(), is(3));
+        assertThat(openedStreams.get(), is(1));
+        assertThat(completedStreams.get(), is(0));
+
+        stream.rotate();
+        assertThat(completedStreams.get(), is(1));
+    }
+
+    @Test
+    public void testRotateWhenInFlightBytesExceeded() {
+        PersistentSegmentStream stream = new PersistentSegmentStream(1, 30);
+
+        assertThat(stream.send(serviceStub, Arrays.asList(new TraceSegment(), new TraceSegment(), new TraceSegment()), segment -> { }), is(3));
+        stream.rotate();
+
+        assertThat(upstreamSegments.size(), is(3));
+        assertThat(openedStreams.get(), is(3));
+        assertThat(completedStreams.get(), is(3));
+    }
+
+    @Test
+    public void testRotateWhenStubChanged() {
+        PersistentSegmentStream stream = new PersistentSegmentStream(1024 * 1024, 30);
+
+        assertThat(stream.send(serviceStub, Arrays.asList(new TraceSegment()), segment -> { }), is(1));
+        assertThat(stream.send(TraceSegmentReportServiceGrpc.newStub(grpcServerRule.getChannel()), Arrays.asList(new TraceSegment()), segment -> { }), is(1));
+
+        assertThat(openedStreams.get(), is(2));
+        assertThat(completedStreams.get(), is(1));
+
+        stream.rotate();
+        assertThat(completedStreams.get(), is(2));
+    }
+
+    @Test
+    public void testSkipSegmentFailedToTransform() {
+        PersistentSegmentStream stream = new PersistentSegmentStream(1024 * 1024, 30);
+        TraceSegment brokenSegment = new TraceSegment() {
+            @Override
+            public SegmentObject transform() {
+                throw new IllegalStateException("broken segment");
+            }
+        };
+
+        List<TraceSegment> sent = new ArrayList<>();
+        assertThat(stream.send(serviceStub, Arrays.asList(new TraceSegment(), brokenSegment, new TraceSegment()), sent::add), is(3));
+        assertThat(upstreamSegments.size(), is(2));
+        assertThat(sent.size(), is(2));
+        stream.rotate();
+    }
+
+    @Test
+    public void testOpenNewStreamAfterStreamFailure() {
+        PersistentSegmentStream stream = new PersistentSegmentStream(1024 * 1024, 30);
+
+        assertThat(stream.send(serviceStub, Arrays.asList(new TraceSegment()), segment -> { }), is(1));
+        failStreams = true;
+        assertThat(stream.send(serviceStub, Arrays.asList(new TraceSegment()), segment -> { }), is(1));
+        failStreams = false;
+        assertThat(stream.send(serviceStub, Arrays.asList(new TraceSegment()), segment -> { }), is(1));
+
+        assertThat(openedStreams.get(), is(2));
+        assertThat(upstreamSegments.size(), is(2));
+        stream.rotate();
+    }
+
+    @Test
+    public void testAbandonAfterServerShutdown() {
+        PersistentSegmentStream stream = new PersistentSegmentStream(1024 * 1024, 30);
+
+        assertThat(stream.send(serviceStub, Arrays.asList(new TraceSegment()), segment -> { }), is(1));
+        grpcServerRule.getServer().shutdownNow();
+
+        assertThat(stream.send(serviceStub, Arrays.asList(new TraceSegment()), segment -> { }), is(0));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.TracingContext;
+import org.apache.skywalking.apm.agent.core.context.TracingContextListener;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measure the segments transformed and encoded per second. The score divided by the number of threads is the
+ * throughput per core, one thread is the whole capacity of the {@link SegmentSerializationMode#CONSUMER} mode, while
+ * the multi-threads ones show how the {@link SegmentSerializationMode#WORKER_POOL} and the {@link
+ * SegmentSerializationMode#FINISHING_THREAD} modes scale.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SegmentSerializationBenchmark {
+    private static final int SPAN_NUM = 20;
+
+    @State(Scope.Benchmark)
+    public static class SegmentState {
+        static {
+            ServiceManager.INSTANCE.boot();
+        }
+
+        private TraceSegment segment;
+
+        @Setup
+        public void setup() {
+            TracingContextListener listener = traceSegment -> segment = traceSegment;
+            TracingContext.ListenerManager.add(listener);
+            AbstractSpan entrySpan = ContextManager.createEntrySpan("/benchmark", null);
+            Tags.URL.set(entrySpan, "http://127.0.0.1:8080/benchmark");
+            for (int i = 0; i < SPAN_NUM - 1; i++) {
+                AbstractSpan exitSpan = ContextManager.createExitSpan("/benchmark/exit", "127.0.0.1:8080");
+                Tags.HTTP.METHOD.set(exitSpan, "GET");
+                ContextManager.stopSpan();
+            }
+            ContextManager.stopSpan();
+            TracingContext.ListenerManager.remove(listener);
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    public byte[] serialize1Thread(SegmentState state) {
+        return state.segment.transform().toByteArray();
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(4)
+    public byte[] serialize4Threads(SegmentState state) {
+        return state.segment.transform().toByteArray();
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(Threads.MAX)
+    public byte[] serializeMaxThreads(SegmentState state) {
+        return state.segment.transform().toByteArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(SegmentSerializationBenchmark.class.getSimpleName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.List;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class SegmentSpoolTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static SegmentObject segment(int i) {
+        return SegmentObject.newBuilder()
+                            .setTraceId("trace-" + i)
+                            .setTraceSegmentId("segment-" + i)
+                            .setService("service")
+                            .build();
+    }
+
+    private static List<SegmentObject> poll(SegmentSpool spool, int max) {
+        List<SegmentObject> segments = spool.peek(max);
+        spool.acknowledge(segments.size());
+        return segments;
+    }
+
+    @Test
+    public void testAppendAndPoll() throws Exception {
+        SegmentSpool spool = new SegmentSpool(new File(folder.getRoot(), "segment.spool"), 1024 * 1024);
+        for (int i = 0; i < 10; i++) {
+            assertThat(spool.append(segment(i)), is(true));
+        }
+
+        List<SegmentObject> polled = poll(spool, 4);
+        assertThat(polled.size(), is(4));
+        assertThat(polled.get(0), is(segment(0)));
+        assertThat(polled.get(3), is(segment(3)));
+        assertThat(spool.isEmpty(), is(false));
+
+        polled = poll(spool, 100);
+        assertThat(polled.size(), is(6));
+        assertThat(polled.get(5), is(segment(9)));
+        assertThat(spool.isEmpty(), is(true));
+        assertThat(spool.size(), is(0));
+        spool.close();
+    }
+
+    @Test
+    public void testKeepSegmentsNotAcknowledged() throws Exception {
+        SegmentSpool spool = new SegmentSpool(new File(folder.getRoot(), "segment.spool"), 1024 * 1024);
+        for (int i = 0; i < 5; i++) {
+            spool.append(segment(i));
+        }
+
+        assertThat(spool.peek(4).size(), is(4));
+        spool.acknowledge(0);
+        List<SegmentObject> peeked = spool.peek(4);
+        assertThat(peeked.get(0), is(segment(0)));
+
+        spool.acknowledge(2);
+        peeked = spool.peek(10);
+        assertThat(peeked.size(), is(3));
+        assertThat(peeked.get(0), is(segment(2)));
+        spool.acknowledge(3);
+        assertThat(spool.isEmpty(), is(true));
+        spool.close();
+    }
+
+    @Test
+    public void testRejectWhenFull() throws Exception {
+        int frameSize = SegmentSpool.FRAME_HEADER_SIZE + segment(0).getSerializedSize();
+        SegmentSpool spool = new SegmentSpool(
+            new File(folder.getRoot(), "segment.spool"), SegmentSpool.HEADER_SIZE + frameSize * 2);
+
+        assertThat(spool.append(segment(0)), is(true));
+        assertThat(spool.append(segment(1)), is(true));
+        assertThat(spool.append(segment(2)), is(false));
+
+        assertThat(poll(spool, 10).size(), is(2));
+        assertThat(spool.append(segment(2)), is(true));
+        spool.close();
+    }
+
+    @Test
+    public void testWrapToHeadAfterPartialReplay() throws Exception {
+        File file = new File(folder.getRoot(), "segment.spool");
+        int frameSize = SegmentSpool.FRAME_HEADER_SIZE + segment(0).getSerializedSize();
+        int maxSize = SegmentSpool.HEADER_SIZE + frameSize * 3;
+        SegmentSpool spool = new SegmentSpool(file, maxSize);
+        for (int i = 0; i < 3; i++) {
+            assertThat(spool.append(segment(i)), is(true));
+        }
+        assertThat(spool.append(segment(3)), is(false));
+
+        // The room freed at the head is reused without draining the spool.
+        assertThat(poll(spool, 2).size(), is(2));
+        assertThat(spool.append(segment(3)), is(true));
+        assertThat(spool.append(segment(4)), is(false));
+        assertThat(spool.size(), is(frameSize * 2));
+        spool.close();
+
+        spool = new SegmentSpool(file, maxSize);
+        List<SegmentObject> polled = poll(spool, 10);
+        assertThat(polled.size(), is(2));
+        assertThat(polled.get(0), is(segment(2)));
+        assertThat(polled.get(1), is(segment(3)));
+        assertThat(spool.isEmpty(), is(true));
+        spool.close();
+    }
+
+    @Test
+    public void testRecoverAfterReopen() throws Exception {
+        File file = new File(folder.getRoot(), "segment.spool");
+        SegmentSpool spool = new SegmentSpool(file, 1024 * 1024);
+        for (int i = 0; i < 3; i++) {
+            spool.append(segment(i));
+        }
+        poll(spool, 1);
+        spool.close();
+
+        spool = new SegmentSpool(file, 1024 * 1024);
+        List<SegmentObject> polled = poll(spool, 10);
+        assertThat(polled.size(), is(2));
+        assertThat(polled.get(0), is(segment(1)));
+        spool.close();
+    }
+
+    @Test
+    public void testSkipBrokenSegment() throws Exception {
+        File file = new File(folder.getRoot(), "segment.spool");
+        SegmentSpool spool = new SegmentSpool(file, 1024 * 1024);
+        spool.append(segment(0));
+        spool.append(segment(1));
+        spool.close();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            int firstPayload = SegmentSpool.HEADER_SIZE + SegmentSpool.FRAME_HEADER_SIZE;
+            raf.seek(firstPayload);
+            int b = raf.read();
+            raf.seek(firstPayload);
+            raf.write(b ^ 0xFF);
+        }
+
+        spool = new SegmentSpool(file, 1024 * 1024);
+        List<SegmentObject> polled = poll(spool, 10);
+        assertThat(polled.size(), is(1));
+        assertThat(polled.get(0), is(segment(1)));
+        spool.close();
+    }
+}
@@ -30,7 +30,9 @@ import org.apache.skywalking.apm.agent.core.context.ContextManager;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
 import org.apache.skywalking.apm.agent.core.context.util.FieldGetter;
+import org.apache.skywalking.apm.agent.core.meter.Counter;
 import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
 import org.apache.skywalking.apm.agent.core.test.tools.SegmentStorage;
 import org.apache.skywalking.apm.agent.core.test.tools.SegmentStoragePoint;
@@ -118,7 +120,7 @@ public class TraceSegmentServiceClientTest {
     }
 
     @Test
-    public void testSendTraceSegmentWithoutException() throws InvalidProtocolBufferException {
+    public void testSendTraceSegmentWithoutException() throws InvalidProtocolBufferException, IllegalAccessException, NoSuchFieldException {
         grpcServerRule.getServiceRegistry().addService(serviceImplBase);
 
         AbstractSpan firstEntrySpan = ContextManager.createEntrySpan("/testFirstEntry", null);
@@ -139,6 +141,28 @@ public class TraceSegmentServiceClientTest {
         assertThat(spanObject.getSpanType(), is(SpanType.Entry));
         assertThat(spanObject.getSpanId(), is(0));
         assertThat(spanObject.getParentSpanId(), is(-1));
+
+        Counter sentCounter = FieldGetter.getValue(serviceClient, "sentCounter");
+        assertThat(sentCounter.get(), is(1d));
+    }
+
+    @Test
+    public void testSendSerializedTraceSegment() {
+        grpcServerRule.getServiceRegistry().addService(serviceImplBase);
+
+        AbstractSpan firstEntrySpan = ContextManager.createEntrySpan("/testFirstEntry", null);
+        firstEntrySpan.setComponent(ComponentsDefine.TOMCAT);
+        ContextManager.stopSpan();
+
+        TraceSegment traceSegment = storage.getTraceSegments().get(0);
+        traceSegment.serialize();
+        SegmentObject serialized = traceSegment.transform();
+        assertThat(traceSegment.transform() == serialized, is(true));
+
+        serviceClient.consume(storage.getTraceSegments());
+
+        assertThat(upstreamSegments.size(), is(1));
+        assertThat(upstreamSegments.get(0), is(serialized));
     }
 
     @Test
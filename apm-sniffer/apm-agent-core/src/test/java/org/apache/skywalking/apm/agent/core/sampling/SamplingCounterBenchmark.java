@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare the single shared {@link AtomicInteger} sampling counter with the {@link StripedSamplingCounter} under
+ * contention. The budget is large enough not to be used up in one iteration, so every call updates the counter, which
+ * is the hot path of a busy service in the beginning of every window. Run by {@link #main(String[])} at 1 to 128
+ * threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SamplingCounterBenchmark {
+    private static final int BUDGET = Integer.MAX_VALUE;
+
+    @State(Scope.Benchmark)
+    public static class AtomicState {
+        private AtomicInteger counter;
+
+        @Setup
+        public void setup() {
+            counter = new AtomicInteger();
+        }
+
+        /**
+         * The sampling of the previous SamplingService.
+         */
+        boolean trySampling() {
+            int factor = counter.get();
+            if (factor < BUDGET) {
+                return counter.compareAndSet(factor, factor + 1);
+            }
+            return false;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class StripedState {
+        private StripedSamplingCounter counter;
+
+        @Setup
+        public void setup() {
+            counter = new StripedSamplingCounter(BUDGET);
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public boolean atomicTrySampling(AtomicState state) {
+        return state.trySampling();
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public boolean stripedTrySampling(StripedState state) {
+        return state.counter.tryAcquire();
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public int atomicForceSampled(AtomicState state) {
+        return state.counter.incrementAndGet();
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public void stripedForceSampled(StripedState state) {
+        state.counter.forceAcquire();
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int threads = 1; threads <= 128; threads *= 2) {
+            Options opt = new OptionsBuilder().include(SamplingCounterBenchmark.class.getSimpleName())
+                                              .threads(threads)
+                                              .build();
+            new Runner(opt).run();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class StripedSamplingCounterTest {
+
+    @Test
+    public void testUseUpBudgetInOneThread() {
+        StripedSamplingCounter counter = new StripedSamplingCounter(10, 4);
+        for (int i = 0; i < 10; i++) {
+            assertThat(counter.tryAcquire(), is(true));
+        }
+        assertThat(counter.tryAcquire(), is(false));
+        assertThat(counter.sum(), is(10L));
+    }
+
+    @Test
+    public void testBudgetLessThanStripes() {
+        StripedSamplingCounter counter = new StripedSamplingCounter(3, 64);
+        assertThat(counter.tryAcquire(), is(true));
+        assertThat(counter.tryAcquire(), is(true));
+        assertThat(counter.tryAcquire(), is(true));
+        assertThat(counter.tryAcquire(), is(false));
+    }
+
+    @Test
+    public void testForceAcquireReducesBudget() {
+        StripedSamplingCounter counter = new StripedSamplingCounter(5, 1);
+        counter.forceAcquire();
+        counter.forceAcquire();
+        int sampled = 0;
+        while (counter.tryAcquire()) {
+            sampled++;
+        }
+        assertThat(sampled, is(3));
+
+        counter.forceAcquire();
+        assertThat(counter.sum(), is(6L));
+    }
+
+    @Test
+    public void testNeverExceedBudgetConcurrently() throws InterruptedException {
+        final int budget = 1000;
+        final StripedSamplingCounter counter = new StripedSamplingCounter(budget, 8);
+        final AtomicInteger sampled = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 500; j++) {
+                    if (counter.tryAcquire()) {
+                        sampled.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(sampled.get(), is(budget));
+        assertThat(counter.sum(), is((long) budget));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.List;
+import org.apache.skywalking.apm.agent.core.context.ids.PropagatedTraceId;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TailSamplerTest {
+
+    private static TraceSegment segment(String traceId, long duration, boolean error) {
+        TraceSegment segment = mock(TraceSegment.class);
+        when(segment.getRelatedGlobalTrace()).thenReturn(new PropagatedTraceId(traceId));
+        when(segment.createTime()).thenReturn(1000L);
+        when(segment.finishTime()).thenReturn(1000L + duration);
+        when(segment.hasErrorSpan()).thenReturn(error);
+        return segment;
+    }
+
+    @Test
+    public void testKeepSlowAndErrorSegments() {
+        TailSampler sampler = new TailSampler(500, 100, 60_000);
+
+        assertThat(sampler.sample(segment("fast", 10, false)).size(), is(0));
+        assertThat(sampler.sample(segment("slow", 500, false)).size(), is(1));
+        assertThat(sampler.sample(segment("error", 10, true)).size(), is(1));
+        assertThat(sampler.pendingSegments(), is(1));
+    }
+
+    @Test
+    public void testFlushPendingSegmentsOfKeptTrace() {
+        TailSampler sampler = new TailSampler(500, 100, 60_000);
+        TraceSegment child1 = segment("trace", 10, false);
+        TraceSegment child2 = segment("trace", 20, false);
+        TraceSegment parent = segment("trace", 1000, false);
+
+        assertThat(sampler.sample(child1).size(), is(0));
+        assertThat(sampler.sample(child2).size(), is(0));
+        List<TraceSegment> kept = sampler.sample(parent);
+        assertThat(kept.size(), is(3));
+        assertThat(kept.get(0), is(child1));
+        assertThat(kept.get(2), is(parent));
+        assertThat(sampler.pendingSegments(), is(0));
+
+        // The later segment of the kept trace is kept too.
+        assertThat(sampler.sample(segment("trace", 10, false)).size(), is(1));
+    }
+
+    @Test
+    public void testEvictWhenPoolIsFull() {
+        TailSampler sampler = new TailSampler(500, 1, 60_000);
+
+        assertThat(sampler.sample(segment("trace1", 10, false)).size(), is(0));
+        assertThat(sampler.sample(segment("trace2", 10, false)).size(), is(0));
+        assertThat(sampler.pendingSegments() <= 1, is(true));
+    }
+
+    @Test
+    public void testExpirePendingSegments() {
+        TailSampler sampler = new TailSampler(500, 100, 0);
+
+        assertThat(sampler.sample(segment("trace", 10, false)).size(), is(0));
+        // Expired before the kept one arrives.
+        assertThat(sampler.sample(segment("trace", 1000, false)).size(), is(1));
+    }
+}
@@ -18,6 +18,9 @@
 
 package org.apache.skywalking.apm.plugin.jdbc;
 
+/**
+ * Render the parameters array like {@code [p1,p2,p3]} by {@link PreparedStatementParameters}.
+ */
 public class PreparedStatementParameterBuilder {
     private static final String EMPTY_LIST = "[]";
     private Object[] parameters;
@@ -38,35 +41,15 @@ public class PreparedStatementParameterBuilder {
             return EMPTY_LIST;
         }
 
-        return getParameterString();
-    }
-
-    private String getParameterString() {
-        StringBuilder stringBuilder = new StringBuilder();
-        boolean first = true;
+        PreparedStatementParameters preparedStatementParameters = new PreparedStatementParameters();
         for (int i = 0; i < getMaxIndex(); i++) {
-            Object parameter = parameters[i];
-            if (!first) {
-                stringBuilder.append(",");
-            }
-            stringBuilder.append(parameter);
-            first = false;
-
-            //  cut the string as soon as it reached the length limitation
-            if (JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH > 0 && (stringBuilder.length() + EMPTY_LIST.length()) > JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH) {
-                return format(stringBuilder).substring(0, JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH) + "...";
-            }
+            preparedStatementParameters.set(i + 1, parameters[i]);
         }
-        return format(stringBuilder);
+        return preparedStatementParameters.render(JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH);
     }
 
     private int getMaxIndex() {
         int maxIdx = maxIndex != null ? maxIndex : parameters.length;
         return Math.min(maxIdx, parameters.length);
     }
-
-    private String format(StringBuilder stringBuilder) {
-        return String.format("[%s]", stringBuilder.toString());
-    }
-
 }
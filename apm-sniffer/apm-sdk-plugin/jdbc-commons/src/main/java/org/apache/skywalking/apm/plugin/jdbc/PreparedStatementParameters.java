@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdbc;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.apache.skywalking.apm.agent.core.context.tag.LazyTagValue;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.NoopSpan;
+
+/**
+ * {@link PreparedStatementParameters} captures the parameters set to a prepared statement. The primitive values are
+ * kept unboxed in a {@code long[]}, the others in an {@code Object[]}, and the arrays are reused by all the executions of
+ * the statement.
+ * <p>
+ * {@link #tag(AbstractSpan)} copies the parameters into a pooled snapshot, rendered into the {@link
+ * Tags#SQL_PARAMETERS} tag only when the span is reported and then returned to the pool. The snapshot keeps the
+ * immutable parameters as they are, the others, such as a {@code java.sql.Timestamp}, are stringified when tagging, as
+ * the application could change them before the span is reported.
+ */
+public class PreparedStatementParameters {
+    private static final byte OBJECT = 0;
+    private static final byte LONG = 1;
+    private static final byte DOUBLE = 2;
+    private static final byte FLOAT = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte CHAR = 5;
+
+    private static final int INITIAL_SIZE = 16;
+    /**
+     * The lock-free pool of the snapshots, taken by the traced threads and returned by the reporting thread. It is
+     * scanned fully when empty or full, so keep it small, and a power of 2.
+     */
+    private static final int SNAPSHOT_POOL_SIZE = 32;
+    private static final AtomicReferenceArray<Snapshot> SNAPSHOT_POOL = new AtomicReferenceArray<>(SNAPSHOT_POOL_SIZE);
+
+    private byte[] types = new byte[INITIAL_SIZE];
+    private long[] values = new long[INITIAL_SIZE];
+    private Object[] objects = new Object[INITIAL_SIZE];
+    private int maxIndex = 0;
+
+    /**
+     * Set the parameter of the index starting from 1, the boxed primitive values are kept unboxed.
+     */
+    public void set(int index, Object parameter) {
+        if (parameter instanceof Integer || parameter instanceof Long
+            || parameter instanceof Short || parameter instanceof Byte) {
+            set(index, LONG, ((Number) parameter).longValue());
+        } else if (parameter instanceof Double) {
+            set(index, ((Double) parameter).doubleValue());
+        } else if (parameter instanceof Float) {
+            set(index, ((Float) parameter).floatValue());
+        } else if (parameter instanceof Boolean) {
+            set(index, ((Boolean) parameter).booleanValue());
+        } else if (parameter instanceof Character) {
+            set(index, ((Character) parameter).charValue());
+        } else if (index > 0) {
+            int slot = slot(index);
+            types[slot] = OBJECT;
+            objects[slot] = parameter;
+        }
+    }
+
+    public void set(int index, long parameter) {
+        set(index, LONG, parameter);
+    }
+
+    public void set(int index, double parameter) {
+        set(index, DOUBLE, Double.doubleToRawLongBits(parameter));
+    }
+
+    public void set(int index, float parameter) {
+        set(index, FLOAT, Float.floatToRawIntBits(parameter));
+    }
+
+    public void set(int index, boolean parameter) {
+        set(index, BOOLEAN, parameter ? 1 : 0);
+    }
+
+    public void set(int index, char parameter) {
+        set(index, CHAR, parameter);
+    }
+
+    private void set(int index, byte type, long value) {
+        if (index > 0) {
+            int slot = slot(index);
+            types[slot] = type;
+            values[slot] = value;
+            objects[slot] = null;
+        }
+    }
+
+    private int slot(int index) {
+        if (index > types.length) {
+            grow(Math.max(index, types.length * 2));
+        }
+        maxIndex = Math.max(maxIndex, index);
+        return index - 1;
+    }
+
+    private void grow(int size) {
+        types = Arrays.copyOf(types, size);
+        values = Arrays.copyOf(values, size);
+        objects = Arrays.copyOf(objects, size);
+    }
+
+    public int getMaxIndex() {
+        return maxIndex;
+    }
+
+    /**
+     * Tag the parameters to the span, rendered only when the span is reported. The parameters are copied, as the
+     * statement could be executed again with the other parameters before that.
+     */
+    public void tag(AbstractSpan span) {
+        if (maxIndex == 0 || span instanceof NoopSpan) {
+            return;
+        }
+        Snapshot snapshot = Snapshot.take();
+        copyTo(snapshot);
+        Tags.SQL_PARAMETERS.set(span, snapshot);
+    }
+
+    private void copyTo(PreparedStatementParameters target) {
+        if (target.types.length < maxIndex) {
+            target.grow(maxIndex);
+        }
+        System.arraycopy(types, 0, target.types, 0, maxIndex);
+        System.arraycopy(values, 0, target.values, 0, maxIndex);
+        for (int i = 0; i < maxIndex; i++) {
+            Object parameter = objects[i];
+            target.objects[i] = parameter == null || isImmutable(parameter) ? parameter : String.valueOf(parameter);
+        }
+        target.maxIndex = maxIndex;
+    }
+
+    /**
+     * The boxed primitive values are kept unboxed, so only the other immutable types are checked.
+     */
+    private static boolean isImmutable(Object parameter) {
+        return parameter instanceof String || parameter instanceof BigDecimal || parameter instanceof BigInteger;
+    }
+
+    int getCapacity() {
+        return types.length;
+    }
+
+    /**
+     * Release the object parameters and reset the max index.
+     */
+    void clear() {
+        Arrays.fill(objects, 0, maxIndex, null);
+        maxIndex = 0;
+    }
+
+    /**
+     * Render the parameters like {@code [p1,p2,p3]}. Once the rendered string reaches {@code maxLength} characters, it
+     * is cut and ended by {@code ...} without rendering the rest, a non-positive {@code maxLength} means no limit.
+     */
+    public String render(int maxLength) {
+        StringBuilder builder = new StringBuilder().append('[');
+        for (int i = 0; i < maxIndex; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            append(builder, i, maxLength);
+            if (maxLength > 0 && builder.length() >= maxLength) {
+                builder.setLength(maxLength);
+                return builder.append("...").toString();
+            }
+        }
+        return builder.append(']').toString();
+    }
+
+    private void append(StringBuilder builder, int slot, int maxLength) {
+        switch (types[slot]) {
+            case LONG:
+                builder.append(values[slot]);
+                break;
+            case DOUBLE:
+                builder.append(Double.longBitsToDouble(values[slot]));
+                break;
+            case FLOAT:
+                builder.append(Float.intBitsToFloat((int) values[slot]));
+                break;
+            case BOOLEAN:
+                builder.append(values[slot] != 0);
+                break;
+            case CHAR:
+                builder.append((char) values[slot]);
+                break;
+            default:
+                Object parameter = objects[slot];
+                CharSequence text = parameter instanceof CharSequence ? (CharSequence) parameter : String.valueOf(parameter);
+                int end = text.length();
+                if (maxLength > 0) {
+                    // the long parameters are cut before appended
+                    end = Math.min(end, maxLength - builder.length());
+                }
+                builder.append(text, 0, end);
+        }
+    }
+
+    /**
+     * The copy of the parameters tagged to a span, returned to the pool once rendered, unless it has grown for too many
+     * parameters.
+     */
+    private static final class Snapshot extends PreparedStatementParameters implements LazyTagValue {
+        static Snapshot take() {
+            int start = (int) Thread.currentThread().getId();
+            for (int i = 0; i < SNAPSHOT_POOL_SIZE; i++) {
+                int slot = (start + i) & (SNAPSHOT_POOL_SIZE - 1);
+                if (SNAPSHOT_POOL.get(slot) != null) {
+                    Snapshot snapshot = SNAPSHOT_POOL.getAndSet(slot, null);
+                    if (snapshot != null) {
+                        return snapshot;
+                    }
+                }
+            }
+            return new Snapshot();
+        }
+
+        private void release() {
+            clear();
+            if (getCapacity() > INITIAL_SIZE) {
+                return;
+            }
+            int start = (int) Thread.currentThread().getId();
+            for (int i = 0; i < SNAPSHOT_POOL_SIZE; i++) {
+                int slot = (start + i) & (SNAPSHOT_POOL_SIZE - 1);
+                if (SNAPSHOT_POOL.get(slot) == null && SNAPSHOT_POOL.compareAndSet(slot, null, this)) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public String render() {
+            try {
+                return render(JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH);
+            } finally {
+                release();
+            }
+        }
+    }
+}
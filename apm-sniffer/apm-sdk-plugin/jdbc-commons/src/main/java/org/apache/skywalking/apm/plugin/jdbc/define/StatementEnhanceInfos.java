@@ -18,8 +18,9 @@
 
 package org.apache.skywalking.apm.plugin.jdbc.define;
 
-import java.util.Arrays;
+import org.apache.skywalking.apm.plugin.jdbc.PreparedStatementParameters;
 import org.apache.skywalking.apm.plugin.jdbc.trace.ConnectionInfo;
+import org.apache.skywalking.apm.plugin.jdbc.trace.StatementSpanTemplate;
 
 /**
  * {@link StatementEnhanceInfos} contain the {@link ConnectionInfo} and
@@ -29,8 +30,8 @@ public class StatementEnhanceInfos {
     private ConnectionInfo connectionInfo;
     private String statementName;
     private String sql;
-    private Object[] parameters;
-    private int maxIndex = 0;
+    private PreparedStatementParameters parameters;
+    private StatementSpanTemplate spanTemplate;
 
     public StatementEnhanceInfos(ConnectionInfo connectionInfo, String sql, String statementName) {
         this.connectionInfo = connectionInfo;
@@ -50,30 +51,51 @@ public class StatementEnhanceInfos {
         return statementName;
     }
 
-    public void setParameter(int index, final Object parameter) {
-        maxIndex = maxIndex > index ? maxIndex : index;
-        index--; // start from 1
-        if (parameters == null) {
-            final int initialSize = Math.max(16, maxIndex);
-            parameters = new Object[initialSize];
-            Arrays.fill(parameters, null);
-        }
-        int length = parameters.length;
-        if (index >= length) {
-            int newSize = Math.max(index + 1, length * 2);
-            Object[] newParameters = new Object[newSize];
-            System.arraycopy(parameters, 0, newParameters, 0, length);
-            Arrays.fill(newParameters, length, newSize, null);
-            parameters = newParameters;
+    /**
+     * @return the span template of the statement, built at the first execution, null if the connection info is unknown.
+     */
+    public StatementSpanTemplate getSpanTemplate() {
+        if (spanTemplate == null && connectionInfo != null) {
+            spanTemplate = new StatementSpanTemplate(connectionInfo, statementName, sql);
         }
-        parameters[index] = parameter;
+        return spanTemplate;
+    }
+
+    public void setParameter(int index, final Object parameter) {
+        parameters().set(index, parameter);
+    }
+
+    public void setParameter(int index, long parameter) {
+        parameters().set(index, parameter);
+    }
+
+    public void setParameter(int index, double parameter) {
+        parameters().set(index, parameter);
     }
 
-    public Object[] getParameters() {
+    public void setParameter(int index, float parameter) {
+        parameters().set(index, parameter);
+    }
+
+    public void setParameter(int index, boolean parameter) {
+        parameters().set(index, parameter);
+    }
+
+    public void setParameter(int index, char parameter) {
+        parameters().set(index, parameter);
+    }
+
+    private PreparedStatementParameters parameters() {
+        if (parameters == null) {
+            parameters = new PreparedStatementParameters();
+        }
         return parameters;
     }
 
-    public int getMaxIndex() {
-        return maxIndex;
+    /**
+     * @return the parameters set to the statement, null if none.
+     */
+    public PreparedStatementParameters getParameters() {
+        return parameters;
     }
 }
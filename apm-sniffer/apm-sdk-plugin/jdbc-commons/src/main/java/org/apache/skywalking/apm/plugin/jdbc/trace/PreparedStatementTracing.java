@@ -25,7 +25,7 @@ import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
 import org.apache.skywalking.apm.plugin.jdbc.JDBCPluginConfig;
-import org.apache.skywalking.apm.plugin.jdbc.PreparedStatementParameterBuilder;
+import org.apache.skywalking.apm.plugin.jdbc.PreparedStatementParameters;
 import org.apache.skywalking.apm.plugin.jdbc.define.StatementEnhanceInfos;
 
 /**
@@ -46,10 +46,9 @@ public class PreparedStatementTracing {
             span.setComponent(connectInfo.getComponent());
             SpanLayer.asDB(span);
             if (JDBCPluginConfig.Plugin.JDBC.TRACE_SQL_PARAMETERS && Objects.nonNull(statementEnhanceInfos)) {
-                final Object[] parameters = statementEnhanceInfos.getParameters();
-                if (parameters != null && parameters.length > 0) {
-                    int maxIndex = statementEnhanceInfos.getMaxIndex();
-                    Tags.SQL_PARAMETERS.set(span, getParameterString(parameters, maxIndex));
+                final PreparedStatementParameters parameters = statementEnhanceInfos.getParameters();
+                if (parameters != null) {
+                    parameters.tag(span);
                 }
             }
             return exec.exe(realStatement, sql);
@@ -61,13 +60,6 @@ public class PreparedStatementTracing {
         }
     }
 
-    private static String getParameterString(Object[] parameters, int maxIndex) {
-        return new PreparedStatementParameterBuilder()
-                .setParameters(parameters)
-                .setMaxIndex(maxIndex)
-                .build();
-    }
-
     public interface Executable<R> {
 
         R exe(java.sql.PreparedStatement realConnection, String sql) throws SQLException;
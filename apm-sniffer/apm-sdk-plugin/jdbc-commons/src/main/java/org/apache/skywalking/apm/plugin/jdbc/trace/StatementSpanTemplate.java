@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdbc.trace;
+
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
+import org.apache.skywalking.apm.network.trace.component.OfficialComponent;
+import org.apache.skywalking.apm.plugin.jdbc.SqlBodyUtil;
+
+/**
+ * {@link StatementSpanTemplate} holds what the exit spans of one statement share, the operation names of the execute
+ * methods, the limited sql body, the peer, the db tags and the component. It is built once per statement and creates
+ * the exit span of every execution of the statement.
+ */
+public class StatementSpanTemplate {
+    private static final String[] EXECUTE_METHODS = {
+        "execute",
+        "executeQuery",
+        "executeUpdate",
+        "executeLargeUpdate",
+        "executeBatch",
+        "executeLargeBatch"
+    };
+
+    private final String operationNamePrefix;
+    private final String[] operationNames;
+    private final String peer;
+    private final String dbType;
+    private final String dbInstance;
+    private final String sqlBody;
+    private final OfficialComponent component;
+
+    public StatementSpanTemplate(ConnectionInfo connectionInfo, String statementName, String sql) {
+        this.operationNamePrefix = connectionInfo.getDBType() + "/JDBC/" + statementName + "/";
+        this.operationNames = new String[EXECUTE_METHODS.length];
+        for (int i = 0; i < EXECUTE_METHODS.length; i++) {
+            operationNames[i] = operationNamePrefix + EXECUTE_METHODS[i];
+        }
+        this.peer = connectionInfo.getDatabasePeer();
+        this.dbType = connectionInfo.getDBType();
+        this.dbInstance = connectionInfo.getDatabaseName();
+        this.sqlBody = SqlBodyUtil.limitSqlBodySize(sql);
+        this.component = connectionInfo.getComponent();
+    }
+
+    public String getOperationName(String methodName) {
+        for (int i = 0; i < EXECUTE_METHODS.length; i++) {
+            if (EXECUTE_METHODS[i].equals(methodName)) {
+                return operationNames[i];
+            }
+        }
+        return operationNamePrefix + methodName;
+    }
+
+    /**
+     * Create the exit span of the execute method, tagged by the sql body of the statement.
+     */
+    public AbstractSpan createExitSpan(String methodName) {
+        return createExitSpan(methodName, sqlBody);
+    }
+
+    /**
+     * Create the exit span of the execute method, tagged by the given sql body, e.g. the limited sql argument of {@link
+     * java.sql.Statement#execute(String)}, as a plain statement runs a different sql in every execution.
+     */
+    public AbstractSpan createExitSpan(String methodName, String statement) {
+        AbstractSpan span = ContextManager.createExitSpan(getOperationName(methodName), peer);
+        Tags.DB_TYPE.set(span, dbType);
+        Tags.DB_INSTANCE.set(span, dbInstance);
+        Tags.DB_STATEMENT.set(span, statement);
+        span.setComponent(component);
+        SpanLayer.asDB(span);
+        return span;
+    }
+}
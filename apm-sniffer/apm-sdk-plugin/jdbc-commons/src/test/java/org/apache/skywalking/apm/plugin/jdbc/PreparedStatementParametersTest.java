@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdbc;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.math.BigDecimal;
+import java.util.List;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractTracingSpan;
+import org.apache.skywalking.apm.agent.core.context.util.TagValuePair;
+import org.apache.skywalking.apm.agent.test.helper.SegmentHelper;
+import org.apache.skywalking.apm.agent.test.helper.SpanHelper;
+import org.apache.skywalking.apm.agent.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.agent.test.tools.SegmentStorage;
+import org.apache.skywalking.apm.agent.test.tools.SegmentStoragePoint;
+import org.apache.skywalking.apm.agent.test.tools.TracingSegmentRunner;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TracingSegmentRunner.class)
+public class PreparedStatementParametersTest {
+
+    @SegmentStoragePoint
+    private SegmentStorage segmentStorage;
+
+    @Rule
+    public AgentServiceRule serviceRule = new AgentServiceRule();
+
+    @After
+    public void tearDown() {
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH = 512;
+    }
+
+    @Test
+    public void testRenderPrimitives() {
+        PreparedStatementParameters parameters = new PreparedStatementParameters();
+        parameters.set(1, 1234);
+        parameters.set(2, 10.5d);
+        parameters.set(3, 1.1f);
+        parameters.set(4, true);
+        parameters.set(5, 'c');
+        parameters.set(6, (Object) 5678L);
+        parameters.set(7, (Object) 2.5f);
+        parameters.set(9, "test");
+        assertThat(parameters.getMaxIndex(), is(9));
+        assertThat(parameters.render(0), is("[1234,10.5,1.1,true,c,5678,2.5,null,test]"));
+    }
+
+    @Test
+    public void testReuseAcrossExecutions() {
+        PreparedStatementParameters parameters = new PreparedStatementParameters();
+        parameters.set(1, "test");
+        parameters.set(1, 1234);
+        parameters.set(20, 5678);
+        assertThat(parameters.render(0), is("[1234,null,null,null,null,null,null,null,null,null,"
+            + "null,null,null,null,null,null,null,null,null,5678]"));
+        parameters.set(0, 1);
+        assertThat(parameters.getMaxIndex(), is(20));
+    }
+
+    @Test
+    public void testMaxLength() {
+        PreparedStatementParameters parameters = new PreparedStatementParameters();
+        parameters.set(1, "test");
+        parameters.set(2, 1234);
+        assertThat(parameters.render(10), is("[test,1234..."));
+        assertThat(parameters.render(11), is("[test,1234]"));
+
+        StringBuilder longParameter = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longParameter.append("abcdefghij");
+        }
+        parameters.set(1, longParameter.toString());
+        assertThat(parameters.render(8), is("[abcdefg..."));
+    }
+
+    @Test
+    public void testTagRenderedLazily() {
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH = 0;
+        PreparedStatementParameters parameters = new PreparedStatementParameters();
+        parameters.set(1, "test");
+        parameters.set(2, 1234);
+
+        ContextManager.createLocalSpan("/test");
+        AbstractSpan span = ContextManager.createExitSpan("/test/execute", "127.0.0.1:3306");
+        parameters.tag(span);
+        ContextManager.stopSpan();
+        parameters.set(1, "next");
+        span = ContextManager.createExitSpan("/test/execute", "127.0.0.1:3306");
+        parameters.tag(span);
+        ContextManager.stopSpan();
+        ContextManager.stopSpan();
+
+        List<AbstractTracingSpan> spans = SegmentHelper.getSpans(segmentStorage.getTraceSegments().get(0));
+        assertThat(spans.size(), is(3));
+        assertSqlParameters(spans.get(0), "[test,1234]");
+        assertSqlParameters(spans.get(1), "[next,1234]");
+    }
+
+    @Test
+    public void testStringifyMutableParametersWhenTagged() {
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH = 0;
+        PreparedStatementParameters parameters = new PreparedStatementParameters();
+        StringBuilder mutable = new StringBuilder("before");
+        parameters.set(1, mutable);
+        parameters.set(2, new BigDecimal("1.50"));
+
+        ContextManager.createLocalSpan("/test");
+        AbstractSpan span = ContextManager.createExitSpan("/test/execute", "127.0.0.1:3306");
+        parameters.tag(span);
+        mutable.setLength(0);
+        mutable.append("after");
+        ContextManager.stopSpan();
+        ContextManager.stopSpan();
+
+        List<AbstractTracingSpan> spans = SegmentHelper.getSpans(segmentStorage.getTraceSegments().get(0));
+        assertSqlParameters(spans.get(0), "[before,1.50]");
+    }
+
+    @Test
+    public void testTagManyParameters() {
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH = 0;
+        PreparedStatementParameters parameters = new PreparedStatementParameters();
+        StringBuilder expected = new StringBuilder("[");
+        for (int i = 1; i <= 40; i++) {
+            parameters.set(i, i);
+            expected.append(i).append(i < 40 ? "," : "]");
+        }
+
+        ContextManager.createLocalSpan("/test");
+        AbstractSpan span = ContextManager.createExitSpan("/test/execute", "127.0.0.1:3306");
+        parameters.tag(span);
+        ContextManager.stopSpan();
+        ContextManager.stopSpan();
+
+        List<AbstractTracingSpan> spans = SegmentHelper.getSpans(segmentStorage.getTraceSegments().get(0));
+        assertSqlParameters(spans.get(0), expected.toString());
+    }
+
+    private void assertSqlParameters(AbstractTracingSpan span, String expected) {
+        List<TagValuePair> tags = SpanHelper.getTags(span);
+        assertThat(tags.size(), is(1));
+        assertThat(tags.get(0).getKey().key(), is(Tags.SQL_PARAMETERS.key()));
+        assertThat(tags.get(0).getValue(), is(expected));
+    }
+}
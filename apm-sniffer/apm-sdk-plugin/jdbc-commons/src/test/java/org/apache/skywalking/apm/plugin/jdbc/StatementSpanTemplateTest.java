@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdbc;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.util.List;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractTracingSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.core.context.util.TagValuePair;
+import org.apache.skywalking.apm.agent.test.helper.SegmentHelper;
+import org.apache.skywalking.apm.agent.test.helper.SpanHelper;
+import org.apache.skywalking.apm.agent.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.agent.test.tools.SegmentStorage;
+import org.apache.skywalking.apm.agent.test.tools.SegmentStoragePoint;
+import org.apache.skywalking.apm.agent.test.tools.TracingSegmentRunner;
+import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
+import org.apache.skywalking.apm.plugin.jdbc.define.StatementEnhanceInfos;
+import org.apache.skywalking.apm.plugin.jdbc.trace.ConnectionInfo;
+import org.apache.skywalking.apm.plugin.jdbc.trace.StatementSpanTemplate;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TracingSegmentRunner.class)
+public class StatementSpanTemplateTest extends AbstractStatementTest {
+
+    @SegmentStoragePoint
+    private SegmentStorage segmentStorage;
+
+    @Rule
+    public AgentServiceRule serviceRule = new AgentServiceRule();
+
+    private final ConnectionInfo connectionInfo = new ConnectionInfo(
+        ComponentsDefine.MYSQL_JDBC_DRIVER, "Mysql", "127.0.0.1", 3306, "test");
+
+    @After
+    public void tearDown() {
+        JDBCPluginConfig.Plugin.JDBC.SQL_BODY_MAX_LENGTH = 2048;
+    }
+
+    @Test
+    public void testSpanTemplateIsBuiltOnce() {
+        StatementEnhanceInfos infos = new StatementEnhanceInfos(connectionInfo, "SELECT 1", "PreparedStatement");
+        StatementSpanTemplate template = infos.getSpanTemplate();
+        assertThat(infos.getSpanTemplate(), sameInstance(template));
+        assertThat(
+            new StatementEnhanceInfos(null, "SELECT 1", "PreparedStatement").getSpanTemplate(), nullValue());
+    }
+
+    @Test
+    public void testOperationName() {
+        StatementSpanTemplate template = new StatementSpanTemplate(connectionInfo, "PreparedStatement", "SELECT 1");
+        assertThat(template.getOperationName("executeQuery"), is("Mysql/JDBC/PreparedStatement/executeQuery"));
+        assertThat(template.getOperationName("executeQuery"), sameInstance(template.getOperationName("executeQuery")));
+        assertThat(template.getOperationName("executeInternal"), is("Mysql/JDBC/PreparedStatement/executeInternal"));
+    }
+
+    @Test
+    public void testCreateExitSpan() {
+        JDBCPluginConfig.Plugin.JDBC.SQL_BODY_MAX_LENGTH = 6;
+        StatementSpanTemplate template = new StatementSpanTemplate(connectionInfo, "PreparedStatement", "SELECT 1");
+        ContextManager.createLocalSpan("/test");
+        AbstractSpan span = template.createExitSpan("execute");
+        ContextManager.stopSpan(span);
+        span = template.createExitSpan("executeUpdate", "UPDATE test");
+        ContextManager.stopSpan(span);
+        ContextManager.stopSpan();
+
+        TraceSegment segment = segmentStorage.getTraceSegments().get(0);
+        List<AbstractTracingSpan> spans = SegmentHelper.getSpans(segment);
+        assertThat(spans.size(), is(3));
+        assertDBSpan(spans.get(0), "Mysql/JDBC/PreparedStatement/execute", "SELECT...");
+        assertDBSpan(spans.get(1), "Mysql/JDBC/PreparedStatement/executeUpdate", "UPDATE test");
+        List<TagValuePair> tags = SpanHelper.getTags(spans.get(0));
+        assertThat(tags.size(), is(3));
+        assertThat(SpanHelper.getComponentId(spans.get(0)), is(ComponentsDefine.MYSQL_JDBC_DRIVER.getId()));
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InterceptedMethod;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
 import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
 import org.apache.skywalking.apm.util.StringUtil;
@@ -37,11 +38,20 @@ public class JedisMethodInterceptor implements InstanceMethodsAroundInterceptor
     @Override
     public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes,
                              MethodInterceptResult result) throws Throwable {
+        beforeMethod(objInst, "Jedis/" + method.getName(), method.getName(), allArguments);
+    }
+
+    @Override
+    public void beforeMethod(EnhancedInstance objInst, InterceptedMethod method, Object[] allArguments,
+                             MethodInterceptResult result) throws Throwable {
+        beforeMethod(objInst, method.getOperationName("Jedis/"), method.getName(), allArguments);
+    }
+
+    private void beforeMethod(EnhancedInstance objInst, String operationName, String methodName, Object[] allArguments) {
         String peer = String.valueOf(objInst.getSkyWalkingDynamicField());
-        AbstractSpan span = ContextManager.createExitSpan("Jedis/" + method.getName(), peer);
+        AbstractSpan span = ContextManager.createExitSpan(operationName, peer);
         span.setComponent(ComponentsDefine.JEDIS);
         SpanLayer.asCache(span);
-        String methodName = method.getName();
         Tags.CACHE_TYPE.set(span, "Redis");
         if (objInst instanceof Pipeline || objInst instanceof Transaction) {
             Tags.CACHE_CMD.set(span, "BATCH_EXECUTE");
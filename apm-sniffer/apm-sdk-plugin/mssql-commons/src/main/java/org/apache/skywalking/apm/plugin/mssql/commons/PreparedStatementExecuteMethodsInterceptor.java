@@ -19,17 +19,13 @@
 package org.apache.skywalking.apm.plugin.mssql.commons;
 
 import org.apache.skywalking.apm.agent.core.context.ContextManager;
-import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
-import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
 import org.apache.skywalking.apm.plugin.jdbc.JDBCPluginConfig;
-import org.apache.skywalking.apm.plugin.jdbc.PreparedStatementParameterBuilder;
-import org.apache.skywalking.apm.plugin.jdbc.SqlBodyUtil;
+import org.apache.skywalking.apm.plugin.jdbc.PreparedStatementParameters;
 import org.apache.skywalking.apm.plugin.jdbc.define.StatementEnhanceInfos;
-import org.apache.skywalking.apm.plugin.jdbc.trace.ConnectionInfo;
 
 import java.lang.reflect.Method;
 
@@ -42,22 +38,13 @@ public class PreparedStatementExecuteMethodsInterceptor implements InstanceMetho
         StatementEnhanceInfos cacheObject = (StatementEnhanceInfos) objInst.getSkyWalkingDynamicField();
 
         if (cacheObject != null && cacheObject.getConnectionInfo() != null) {
-            ConnectionInfo connectInfo = cacheObject.getConnectionInfo();
-            AbstractSpan span = ContextManager.createExitSpan(
-                buildOperationName(connectInfo, method.getName(), cacheObject
-                    .getStatementName()), connectInfo.getDatabasePeer());
-            Tags.DB_TYPE.set(span, connectInfo.getDBType());
-            Tags.DB_INSTANCE.set(span, connectInfo.getDatabaseName());
-            Tags.DB_STATEMENT.set(span, SqlBodyUtil.limitSqlBodySize(cacheObject.getSql()));
-            span.setComponent(connectInfo.getComponent());
+            AbstractSpan span = cacheObject.getSpanTemplate().createExitSpan(method.getName());
             if (JDBCPluginConfig.Plugin.JDBC.TRACE_SQL_PARAMETERS) {
-                final Object[] parameters = cacheObject.getParameters();
-                if (parameters != null && parameters.length > 0) {
-                    int maxIndex = cacheObject.getMaxIndex();
-                    Tags.SQL_PARAMETERS.set(span, getParameterString(parameters, maxIndex));
+                final PreparedStatementParameters parameters = cacheObject.getParameters();
+                if (parameters != null) {
+                    parameters.tag(span);
                 }
             }
-            SpanLayer.asDB(span);
         }
     }
 
@@ -79,15 +66,4 @@ public class PreparedStatementExecuteMethodsInterceptor implements InstanceMetho
             ContextManager.activeSpan().log(t);
         }
     }
-
-    private String buildOperationName(ConnectionInfo connectionInfo, String methodName, String statementName) {
-        return connectionInfo.getDBType() + "/JDBC/" + statementName + "/" + methodName;
-    }
-
-    private String getParameterString(Object[] parameters, int maxIndex) {
-        return new PreparedStatementParameterBuilder()
-            .setParameters(parameters)
-            .setMaxIndex(maxIndex)
-            .build();
-    }
 }
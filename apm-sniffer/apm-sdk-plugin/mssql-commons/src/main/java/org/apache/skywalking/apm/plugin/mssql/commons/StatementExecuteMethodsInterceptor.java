@@ -20,9 +20,6 @@ package org.apache.skywalking.apm.plugin.mssql.commons;
 
 import java.lang.reflect.Method;
 import org.apache.skywalking.apm.agent.core.context.ContextManager;
-import org.apache.skywalking.apm.agent.core.context.tag.Tags;
-import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
-import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
@@ -37,22 +34,8 @@ public class StatementExecuteMethodsInterceptor implements InstanceMethodsAround
         StatementEnhanceInfos cacheObject = (StatementEnhanceInfos) objInst.getSkyWalkingDynamicField();
         ConnectionInfo connectInfo = cacheObject.getConnectionInfo();
         if (connectInfo != null) {
-
-            AbstractSpan span = ContextManager.createExitSpan(
-                buildOperationName(connectInfo, method.getName(), cacheObject
-                    .getStatementName()), connectInfo.getDatabasePeer());
-            Tags.DB_TYPE.set(span, connectInfo.getDBType());
-            Tags.DB_INSTANCE.set(span, connectInfo.getDatabaseName());
-
-            String sql = "";
-            if (allArguments.length > 0) {
-                sql = (String) allArguments[0];
-                sql = SqlBodyUtil.limitSqlBodySize(sql);
-            }
-            Tags.DB_STATEMENT.set(span, sql);
-            span.setComponent(connectInfo.getComponent());
-
-            SpanLayer.asDB(span);
+            String sql = allArguments.length > 0 ? (String) allArguments[0] : "";
+            cacheObject.getSpanTemplate().createExitSpan(method.getName(), SqlBodyUtil.limitSqlBodySize(sql));
         }
     }
 
@@ -74,8 +57,4 @@ public class StatementExecuteMethodsInterceptor implements InstanceMethodsAround
             ContextManager.activeSpan().log(t);
         }
     }
-
-    private String buildOperationName(ConnectionInfo connectionInfo, String methodName, String statementName) {
-        return connectionInfo.getDBType() + "/JDBC/" + statementName + "/" + methodName;
-    }
 }
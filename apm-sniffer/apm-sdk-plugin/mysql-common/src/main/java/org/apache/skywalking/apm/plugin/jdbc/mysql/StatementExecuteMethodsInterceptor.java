@@ -19,9 +19,6 @@
 package org.apache.skywalking.apm.plugin.jdbc.mysql;
 
 import org.apache.skywalking.apm.agent.core.context.ContextManager;
-import org.apache.skywalking.apm.agent.core.context.tag.Tags;
-import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
-import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
@@ -45,25 +42,12 @@ public class StatementExecuteMethodsInterceptor implements InstanceMethodsAround
          * @see JDBCDriverInterceptor#afterMethod(EnhancedInstance, Method, Object[], Class[], Object)
          */
         if (connectInfo != null) {
-
-            AbstractSpan span = ContextManager.createExitSpan(buildOperationName(connectInfo, method.getName(), cacheObject
-                .getStatementName()), connectInfo.getDatabasePeer());
-            Tags.DB_TYPE.set(span, connectInfo.getDBType());
-            Tags.DB_INSTANCE.set(span, connectInfo.getDatabaseName());
-
             /**
              * The first argument of all intercept method in `com.mysql.jdbc.StatementImpl` class is SQL, except the
              * `executeBatch` method that the jdbc plugin need to trace, because of this method argument size is zero.
              */
-            String sql = "";
-            if (allArguments.length > 0) {
-                sql = (String) allArguments[0];
-                sql = SqlBodyUtil.limitSqlBodySize(sql);
-            }
-            Tags.DB_STATEMENT.set(span, sql);
-            span.setComponent(connectInfo.getComponent());
-
-            SpanLayer.asDB(span);
+            String sql = allArguments.length > 0 ? (String) allArguments[0] : "";
+            cacheObject.getSpanTemplate().createExitSpan(method.getName(), SqlBodyUtil.limitSqlBodySize(sql));
         }
     }
 
@@ -85,8 +69,4 @@ public class StatementExecuteMethodsInterceptor implements InstanceMethodsAround
             ContextManager.activeSpan().log(t);
         }
     }
-
-    private String buildOperationName(ConnectionInfo connectionInfo, String methodName, String statementName) {
-        return connectionInfo.getDBType() + "/JDBC/" + statementName + "/" + methodName;
-    }
 }
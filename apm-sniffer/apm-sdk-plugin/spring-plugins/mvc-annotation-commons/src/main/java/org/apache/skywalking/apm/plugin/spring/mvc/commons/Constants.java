@@ -18,6 +18,9 @@
 
 package org.apache.skywalking.apm.plugin.spring.mvc.commons;
 
+import org.apache.skywalking.apm.agent.core.context.RuntimeContextSlot;
+import org.apache.skywalking.apm.plugin.spring.mvc.commons.interceptor.StackDepth;
+
 /**
  * Interceptor class name constant variables
  */
@@ -41,4 +44,18 @@ public class Constants {
     public static final String WEBFLUX_REQUEST_KEY = "SW_WEBFLUX_REQUEST_KEY";
 
     public static final String CONTROLLER_METHOD_STACK_DEPTH = "SW_CONTROLLER_METHOD_STACK_DEPTH";
+
+    /*
+     * The slots of the keys above, read and written per request. The servlet container plugins keep using the string
+     * keys, which are resolved to the same slots.
+     */
+    public static final RuntimeContextSlot<Object> REQUEST_SLOT = RuntimeContextSlot.register(REQUEST_KEY_IN_RUNTIME_CONTEXT);
+
+    public static final RuntimeContextSlot<Object> RESPONSE_SLOT = RuntimeContextSlot.register(RESPONSE_KEY_IN_RUNTIME_CONTEXT);
+
+    public static final RuntimeContextSlot<Object> REACTIVE_ASYNC_SPAN_SLOT = RuntimeContextSlot.register(REACTIVE_ASYNC_SPAN_IN_RUNTIME_CONTEXT);
+
+    public static final RuntimeContextSlot<Boolean> FORWARD_REQUEST_FLAG_SLOT = RuntimeContextSlot.register(FORWARD_REQUEST_FLAG);
+
+    public static final RuntimeContextSlot<StackDepth> CONTROLLER_METHOD_STACK_DEPTH_SLOT = RuntimeContextSlot.register(CONTROLLER_METHOD_STACK_DEPTH);
 }
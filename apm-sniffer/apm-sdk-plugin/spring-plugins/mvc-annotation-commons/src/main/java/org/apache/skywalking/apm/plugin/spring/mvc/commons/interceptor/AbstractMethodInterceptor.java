@@ -45,11 +45,11 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.lang.reflect.Method;
 
-import static org.apache.skywalking.apm.plugin.spring.mvc.commons.Constants.CONTROLLER_METHOD_STACK_DEPTH;
-import static org.apache.skywalking.apm.plugin.spring.mvc.commons.Constants.FORWARD_REQUEST_FLAG;
-import static org.apache.skywalking.apm.plugin.spring.mvc.commons.Constants.REACTIVE_ASYNC_SPAN_IN_RUNTIME_CONTEXT;
-import static org.apache.skywalking.apm.plugin.spring.mvc.commons.Constants.REQUEST_KEY_IN_RUNTIME_CONTEXT;
-import static org.apache.skywalking.apm.plugin.spring.mvc.commons.Constants.RESPONSE_KEY_IN_RUNTIME_CONTEXT;
+import static org.apache.skywalking.apm.plugin.spring.mvc.commons.Constants.CONTROLLER_METHOD_STACK_DEPTH_SLOT;
+import static org.apache.skywalking.apm.plugin.spring.mvc.commons.Constants.FORWARD_REQUEST_FLAG_SLOT;
+import static org.apache.skywalking.apm.plugin.spring.mvc.commons.Constants.REACTIVE_ASYNC_SPAN_SLOT;
+import static org.apache.skywalking.apm.plugin.spring.mvc.commons.Constants.REQUEST_SLOT;
+import static org.apache.skywalking.apm.plugin.spring.mvc.commons.Constants.RESPONSE_SLOT;
 
 /**
  * the abstract method interceptor
@@ -94,7 +94,7 @@ public abstract class AbstractMethodInterceptor implements InstanceMethodsAround
     public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes,
                              MethodInterceptResult result) throws Throwable {
 
-        Boolean forwardRequestFlag = (Boolean) ContextManager.getRuntimeContext().get(FORWARD_REQUEST_FLAG);
+        Boolean forwardRequestFlag = ContextManager.getRuntimeContext().get(FORWARD_REQUEST_FLAG_SLOT);
         /**
          * Spring MVC plugin do nothing if current request is forward request.
          * Ref: https://github.com/apache/skywalking/pull/1325
@@ -103,10 +103,10 @@ public abstract class AbstractMethodInterceptor implements InstanceMethodsAround
             return;
         }
 
-        Object request = ContextManager.getRuntimeContext().get(REQUEST_KEY_IN_RUNTIME_CONTEXT);
+        Object request = ContextManager.getRuntimeContext().get(REQUEST_SLOT);
 
         if (request != null) {
-            StackDepth stackDepth = (StackDepth) ContextManager.getRuntimeContext().get(CONTROLLER_METHOD_STACK_DEPTH);
+            StackDepth stackDepth = ContextManager.getRuntimeContext().get(CONTROLLER_METHOD_STACK_DEPTH_SLOT);
 
             if (stackDepth == null) {
                 final ContextCarrier contextCarrier = new ContextCarrier();
@@ -188,7 +188,7 @@ public abstract class AbstractMethodInterceptor implements InstanceMethodsAround
                 }
 
                 stackDepth = new StackDepth();
-                ContextManager.getRuntimeContext().put(CONTROLLER_METHOD_STACK_DEPTH, stackDepth);
+                ContextManager.getRuntimeContext().put(CONTROLLER_METHOD_STACK_DEPTH_SLOT, stackDepth);
             } else {
                 AbstractSpan span = ContextManager.createLocalSpan(buildOperationName(objInst, method));
                 span.setComponent(ComponentsDefine.SPRING_MVC_ANNOTATION);
@@ -202,7 +202,7 @@ public abstract class AbstractMethodInterceptor implements InstanceMethodsAround
     public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes,
                               Object ret) throws Throwable {
         final RuntimeContext runtimeContext = ContextManager.getRuntimeContext();
-        Boolean forwardRequestFlag = (Boolean) runtimeContext.get(FORWARD_REQUEST_FLAG);
+        Boolean forwardRequestFlag = runtimeContext.get(FORWARD_REQUEST_FLAG_SLOT);
         /**
          * Spring MVC plugin do nothing if current request is forward request.
          * Ref: https://github.com/apache/skywalking/pull/1325
@@ -211,11 +211,11 @@ public abstract class AbstractMethodInterceptor implements InstanceMethodsAround
             return ret;
         }
 
-        Object request = runtimeContext.get(REQUEST_KEY_IN_RUNTIME_CONTEXT);
+        Object request = runtimeContext.get(REQUEST_SLOT);
 
         if (request != null) {
             try {
-                StackDepth stackDepth = (StackDepth) runtimeContext.get(CONTROLLER_METHOD_STACK_DEPTH);
+                StackDepth stackDepth = runtimeContext.get(CONTROLLER_METHOD_STACK_DEPTH_SLOT);
                 if (stackDepth == null) {
                     throw new IllegalMethodStackDepthException();
                 } else {
@@ -225,7 +225,7 @@ public abstract class AbstractMethodInterceptor implements InstanceMethodsAround
                 AbstractSpan span = ContextManager.activeSpan();
 
                 if (stackDepth.depth() == 0) {
-                    Object response = runtimeContext.get(RESPONSE_KEY_IN_RUNTIME_CONTEXT);
+                    Object response = runtimeContext.get(RESPONSE_SLOT);
                     if (response == null) {
                         throw new ServletResponseNotFoundException();
                     }
@@ -240,7 +240,7 @@ public abstract class AbstractMethodInterceptor implements InstanceMethodsAround
                         if (IS_SERVLET_GET_STATUS_METHOD_EXIST || IS_JAKARTA_SERVLET_GET_STATUS_METHOD_EXIST) {
                             statusCode = ((ServerHttpResponse) response).getRawStatusCode();
                         }
-                        Object context = runtimeContext.get(REACTIVE_ASYNC_SPAN_IN_RUNTIME_CONTEXT);
+                        Object context = runtimeContext.get(REACTIVE_ASYNC_SPAN_SLOT);
                         if (context != null) {
                             ((AbstractSpan[]) context)[0] = span.prepareForAsync();
                         }
@@ -253,10 +253,10 @@ public abstract class AbstractMethodInterceptor implements InstanceMethodsAround
                         }
                     }
 
-                    runtimeContext.remove(REACTIVE_ASYNC_SPAN_IN_RUNTIME_CONTEXT);
-                    runtimeContext.remove(REQUEST_KEY_IN_RUNTIME_CONTEXT);
-                    runtimeContext.remove(RESPONSE_KEY_IN_RUNTIME_CONTEXT);
-                    runtimeContext.remove(CONTROLLER_METHOD_STACK_DEPTH);
+                    runtimeContext.remove(REACTIVE_ASYNC_SPAN_SLOT);
+                    runtimeContext.remove(REQUEST_SLOT);
+                    runtimeContext.remove(RESPONSE_SLOT);
+                    runtimeContext.remove(CONTROLLER_METHOD_STACK_DEPTH_SLOT);
                 }
 
                 // Active HTTP parameter collection automatically in the profiling context.
@@ -34,7 +34,8 @@ public enum MockContextSnapshot {
             "/for-test-entryOperationName",
             new CorrelationContext(),
             new ExtensionContext(),
-            ProfileStatusContext.createWithNone()
+            ProfileStatusContext.createWithNone(),
+            false
         );
     }
 
@@ -22,38 +22,18 @@ import org.apache.skywalking.apm.agent.core.context.trace.TraceSegmentRef;
 
 public class SegmentRefHelper {
     public static String getPeerHost(TraceSegmentRef ref) {
-        try {
-            return FieldGetter.getValue(ref, "addressUsedAtClient");
-        } catch (Exception e) {
-        }
-
-        return null;
+        return ref.getAddressUsedAtClient();
     }
 
     public static String getTraceSegmentId(TraceSegmentRef ref) {
-        try {
-            return FieldGetter.getValue(ref, "traceId");
-        } catch (Exception e) {
-        }
-
-        return null;
+        return ref.getTraceId();
     }
 
     public static int getSpanId(TraceSegmentRef ref) {
-        try {
-            return FieldGetter.getValue(ref, "spanId");
-        } catch (Exception e) {
-        }
-
-        return -1;
+        return ref.getSpanId();
     }
 
     public static String getParentServiceInstance(TraceSegmentRef ref) {
-        try {
-            return FieldGetter.getValue(ref, "parentServiceInstance");
-        } catch (Exception e) {
-        }
-
-        return "Unknown";
+        return ref.getParentServiceInstance();
     }
 }
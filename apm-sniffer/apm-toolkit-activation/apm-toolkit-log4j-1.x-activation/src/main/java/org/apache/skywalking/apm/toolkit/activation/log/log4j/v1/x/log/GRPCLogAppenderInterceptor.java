@@ -23,19 +23,13 @@ import java.util.Objects;
 import org.apache.log4j.AppenderSkeleton;
 import org.apache.log4j.spi.LoggingEvent;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
-import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.ContextManager;
-import org.apache.skywalking.apm.agent.core.context.util.ThrowableTransformer;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
+import org.apache.skywalking.apm.agent.core.remote.CapturedLogEvent;
 import org.apache.skywalking.apm.agent.core.remote.LogReportServiceClient;
-import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
 import org.apache.skywalking.apm.network.logging.v3.LogData;
-import org.apache.skywalking.apm.network.logging.v3.LogDataBody;
-import org.apache.skywalking.apm.network.logging.v3.LogTags;
-import org.apache.skywalking.apm.network.logging.v3.TextLog;
-import org.apache.skywalking.apm.network.logging.v3.TraceContext;
 
 public class GRPCLogAppenderInterceptor implements InstanceMethodsAroundInterceptor {
 
@@ -69,52 +63,36 @@ public class GRPCLogAppenderInterceptor implements InstanceMethodsAroundIntercep
     }
 
     /**
-     * transforms {@link LoggingEvent}  to {@link LogData}
-     *
+     * captures {@link LoggingEvent} as the {@link CapturedLogEvent}, which is transformed to {@link LogData} in the
+     * reporting thread
      *
      * @param appender the real {@link AppenderSkeleton appender}
      * @param event {@link LoggingEvent}
-     * @return {@link LogData.Builder} with filtered trace context in order to reduce the cost on the network
+     * @return {@link CapturedLogEvent} with filtered trace context in order to reduce the cost on the network
      */
-    private LogData.Builder transform(final AppenderSkeleton appender, LoggingEvent event) {
-        LogData.Builder builder = LogData.newBuilder()
-                .setTimestamp(event.getTimeStamp())
-                .setServiceInstance(Config.Agent.INSTANCE_NAME)
-                .setTraceContext(TraceContext.newBuilder()
-                        .setTraceId(ContextManager.getGlobalTraceId())
-                        .setSpanId(ContextManager.getSpanId())
-                        .setTraceSegmentId(ContextManager.getSegmentId())
-                        .build())
-                .setTags(LogTags.newBuilder()
-                        .addData(KeyStringValuePair.newBuilder()
-                                .setKey("level").setValue(event.getLevel().toString()).build())
-                        .addData(KeyStringValuePair.newBuilder()
-                                .setKey("logger").setValue(event.getLoggerName()).build())
-                        .addData(KeyStringValuePair.newBuilder()
-                                .setKey("thread").setValue(event.getThreadName()).build())
-                        .build())
-                .setBody(LogDataBody.newBuilder().setType(LogDataBody.ContentCase.TEXT.name())
-                                    .setText(TextLog.newBuilder().setText(transformLogText(appender, event)).build()).build());
-
-        String primaryEndpointName = ContextManager.getPrimaryEndpointName();
-        if (primaryEndpointName != null) {
-            builder.setEndpoint(primaryEndpointName);
+    private CapturedLogEvent transform(final AppenderSkeleton appender, LoggingEvent event) {
+        CapturedLogEvent.CapturedLogEventBuilder builder = CapturedLogEvent.builder()
+                .timestamp(event.getTimeStamp())
+                .level(event.getLevel().toString())
+                .logger(event.getLoggerName())
+                .thread(event.getThreadName())
+                .endpoint(ContextManager.getPrimaryEndpointName());
+        if (appender.getLayout() != null) {
+            builder.text(appender.getLayout().format(event));
+        } else {
+            // The throwable is rendered after the message in the reporting thread.
+            builder.text(String.valueOf(event.getMessage()))
+                   .throwable(Objects.isNull(event.getThrowableInformation()) ?
+                                  null : event.getThrowableInformation().getThrowable())
+                   .throwableInText(true);
         }
 
-        return -1 == ContextManager.getSpanId() ? builder
-                : builder.setTraceContext(TraceContext.newBuilder()
-                        .setTraceId(ContextManager.getGlobalTraceId())
-                        .setSpanId(ContextManager.getSpanId())
-                        .setTraceSegmentId(ContextManager.getSegmentId())
-                        .build());
-    }
-
-    private String transformLogText(final AppenderSkeleton appender, final LoggingEvent event) {
-        if (appender.getLayout() != null) {
-            return appender.getLayout().format(event);
+        int spanId = ContextManager.getSpanId();
+        if (-1 != spanId) {
+            builder.traceId(ContextManager.getGlobalTraceId())
+                   .traceSegmentId(ContextManager.getSegmentId())
+                   .spanId(spanId);
         }
-        final String throwableString = Objects.isNull(event.getThrowableInformation()) ? "" :
-            ThrowableTransformer.INSTANCE.convert2String(event.getThrowableInformation().getThrowable(), 2048);
-        return event.getMessage() + "\n" + throwableString;
+        return builder.build();
     }
 }
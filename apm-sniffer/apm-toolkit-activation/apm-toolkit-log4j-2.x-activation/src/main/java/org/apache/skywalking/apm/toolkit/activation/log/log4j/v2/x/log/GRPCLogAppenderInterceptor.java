@@ -20,24 +20,17 @@ package org.apache.skywalking.apm.toolkit.activation.log.log4j.v2.x.log;
 
 import java.lang.reflect.Method;
 import java.util.Objects;
-import java.util.Optional;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.appender.AbstractAppender;
 import org.apache.logging.log4j.core.async.RingBufferLogEvent;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
-import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.ContextManager;
-import org.apache.skywalking.apm.agent.core.context.util.ThrowableTransformer;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
+import org.apache.skywalking.apm.agent.core.remote.CapturedLogEvent;
 import org.apache.skywalking.apm.agent.core.remote.LogReportServiceClient;
-import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
 import org.apache.skywalking.apm.network.logging.v3.LogData;
-import org.apache.skywalking.apm.network.logging.v3.LogDataBody;
-import org.apache.skywalking.apm.network.logging.v3.LogTags;
-import org.apache.skywalking.apm.network.logging.v3.TextLog;
-import org.apache.skywalking.apm.network.logging.v3.TraceContext;
 import org.apache.skywalking.apm.toolkit.logging.common.log.SkyWalkingContext;
 import org.apache.skywalking.apm.toolkit.logging.common.log.ToolkitConfig;
 
@@ -73,75 +66,57 @@ public class GRPCLogAppenderInterceptor implements InstanceMethodsAroundIntercep
     }
 
     /**
-     * transforms {@link LogEvent}  to {@link LogData}
-     *
+     * captures {@link LogEvent} as the {@link CapturedLogEvent}, which is transformed to {@link LogData} in the
+     * reporting thread
      *
      * @param appender the real {@link AbstractAppender appender}
      * @param event {@link LogEvent}
-     * @return {@link LogData} with filtered trace context in order to reduce the cost on the network
+     * @return {@link CapturedLogEvent} with filtered trace context in order to reduce the cost on the network
      */
-    private LogData.Builder transform(final AbstractAppender appender, LogEvent event) {
-        LogTags.Builder logTags = LogTags.newBuilder()
-                .addData(KeyStringValuePair.newBuilder()
-                        .setKey("level").setValue(event.getLevel().toString()).build())
-                .addData(KeyStringValuePair.newBuilder()
-                        .setKey("logger").setValue(event.getLoggerName()).build())
-                .addData(KeyStringValuePair.newBuilder()
-                        .setKey("thread").setValue(event.getThreadName()).build());
-        if (!ToolkitConfig.Plugin.Toolkit.Log.TRANSMIT_FORMATTED) {
-            if (event.getMessage().getParameters() != null) {
-                for (int i = 0; i < event.getMessage().getParameters().length; i++) {
-                    String value = Optional.ofNullable(event.getMessage().getParameters()[i]).orElse("null").toString();
-                    logTags.addData(KeyStringValuePair.newBuilder()
-                            .setKey("argument." + i).setValue(value).build());
+    private CapturedLogEvent transform(final AbstractAppender appender, LogEvent event) {
+        CapturedLogEvent.CapturedLogEventBuilder builder = CapturedLogEvent.builder()
+                .timestamp(event.getTimeMillis())
+                .level(event.getLevel().toString())
+                .logger(event.getLoggerName())
+                .thread(event.getThreadName())
+                .endpoint(ContextManager.getPrimaryEndpointName());
+        if (ToolkitConfig.Plugin.Toolkit.Log.TRANSMIT_FORMATTED) {
+            if (appender.getLayout() != null) {
+                builder.text(new String(appender.getLayout().toByteArray(event)));
+            } else {
+                // The throwable is rendered after the message in the reporting thread.
+                builder.text(event.getMessage().getFormattedMessage())
+                       .throwable(event.getThrown())
+                       .throwableInText(true);
+            }
+        } else {
+            builder.text(event.getMessage().getFormat());
+            final Object[] parameters = event.getMessage().getParameters();
+            if (parameters != null) {
+                String[] arguments = new String[parameters.length];
+                for (int i = 0; i < parameters.length; i++) {
+                    arguments[i] = String.valueOf(parameters[i]);
                 }
+                builder.arguments(arguments);
             }
 
-            if (event.getThrown() != null) {
-                logTags.addData(KeyStringValuePair.newBuilder()
-                        .setKey("exception").setValue(ThrowableTransformer.INSTANCE.convert2String(event.getThrown(), 2048)).build());
-            }
-        }
-
-        LogData.Builder builder = LogData.newBuilder()
-                .setTimestamp(event.getTimeMillis())
-                .setService(Config.Agent.SERVICE_NAME)
-                .setServiceInstance(Config.Agent.INSTANCE_NAME)
-                .setTags(logTags.build())
-                .setBody(LogDataBody.newBuilder().setType(LogDataBody.ContentCase.TEXT.name())
-                        .setText(TextLog.newBuilder().setText(transformLogText(appender, event)).build()).build());
-
-        String primaryEndpointName = ContextManager.getPrimaryEndpointName();
-        if (primaryEndpointName != null) {
-            builder.setEndpoint(primaryEndpointName);
+            builder.throwable(event.getThrown());
         }
 
         if (event instanceof RingBufferLogEvent) {
             EnhancedInstance instance = (EnhancedInstance) event;
             SkyWalkingContext context = (SkyWalkingContext) instance.getSkyWalkingDynamicField();
-            return builder.setTraceContext(TraceContext.newBuilder()
-                    .setTraceId(context.getTraceId())
-                    .setSpanId(context.getSpanId())
-                    .setTraceSegmentId(context.getTraceSegmentId())
-                    .build());
+            builder.traceId(context.getTraceId())
+                   .traceSegmentId(context.getTraceSegmentId())
+                   .spanId(context.getSpanId());
         } else {
-            return -1 == ContextManager.getSpanId() ? builder
-                    : builder.setTraceContext(TraceContext.newBuilder()
-                    .setTraceId(ContextManager.getGlobalTraceId())
-                    .setSpanId(ContextManager.getSpanId())
-                    .setTraceSegmentId(ContextManager.getSegmentId())
-                    .build());
-        }
-    }
-
-    private String transformLogText(final AbstractAppender appender, final LogEvent event) {
-        if (ToolkitConfig.Plugin.Toolkit.Log.TRANSMIT_FORMATTED) {
-            if (appender.getLayout() != null) {
-                return new String(appender.getLayout().toByteArray(event));
+            int spanId = ContextManager.getSpanId();
+            if (-1 != spanId) {
+                builder.traceId(ContextManager.getGlobalTraceId())
+                       .traceSegmentId(ContextManager.getSegmentId())
+                       .spanId(spanId);
             }
-            return event.getMessage().getFormattedMessage() + "\n" + ThrowableTransformer.INSTANCE.convert2String(event.getThrown(), 2048);
-        } else {
-            return event.getMessage().getFormat();
         }
+        return builder.build();
     }
 }
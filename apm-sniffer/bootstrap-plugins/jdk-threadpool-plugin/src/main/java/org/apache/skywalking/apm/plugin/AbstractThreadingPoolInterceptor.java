@@ -23,7 +23,12 @@ import org.apache.skywalking.apm.agent.core.context.ContextSnapshot;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
+import org.apache.skywalking.apm.plugin.wrapper.CoalescedTasks;
+import org.apache.skywalking.apm.plugin.wrapper.SwCallableWrapper;
+import org.apache.skywalking.apm.plugin.wrapper.SwRunnableWrapper;
 import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
 
 public abstract class AbstractThreadingPoolInterceptor implements InstanceMethodsAroundInterceptor {
     @Override
@@ -56,6 +61,24 @@ public abstract class AbstractThreadingPoolInterceptor implements InstanceMethod
      */
     public abstract Object wrap(Object param);
 
+    protected static SwRunnableWrapper wrapRunnable(Runnable runnable) {
+        TaskSpanMode mode = JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.TASK_SPAN_MODE;
+        if (mode == TaskSpanMode.COALESCE) {
+            CoalescedTasks coalescedTasks = CoalescedTasks.join();
+            return new SwRunnableWrapper(runnable, coalescedTasks.getSnapshot(), mode, coalescedTasks);
+        }
+        return new SwRunnableWrapper(runnable, ContextManager.capture(), mode, null);
+    }
+
+    protected static SwCallableWrapper wrapCallable(Callable callable) {
+        TaskSpanMode mode = JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.TASK_SPAN_MODE;
+        if (mode == TaskSpanMode.COALESCE) {
+            CoalescedTasks coalescedTasks = CoalescedTasks.join();
+            return new SwCallableWrapper(callable, coalescedTasks.getSnapshot(), mode, coalescedTasks);
+        }
+        return new SwCallableWrapper(callable, ContextManager.capture(), mode, null);
+    }
+
     @Override
     public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes, Object ret) throws Throwable {
         return ret;
@@ -63,6 +86,10 @@ public abstract class AbstractThreadingPoolInterceptor implements InstanceMethod
 
     @Override
     public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes, Throwable t) {
+        if (t instanceof RejectedExecutionException) {
+            // the rejected task never runs, don't keep its coalesced tasks waiting for it
+            CoalescedTasks.abandon(allArguments[0]);
+        }
         ContextManager.activeSpan().log(t);
     }
 }
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+*/
+
+package org.apache.skywalking.apm.plugin;
+
+import org.apache.skywalking.apm.agent.core.boot.PluginConfig;
+
+public class JDKThreadPoolPluginConfig {
+    public static class Plugin {
+        @PluginConfig(root = JDKThreadPoolPluginConfig.class)
+        public static class JdkThreadPool {
+            /**
+             * How the tasks submitted to the thread pools are traced, see {@link TaskSpanMode}.
+             */
+            public static TaskSpanMode TASK_SPAN_MODE = TaskSpanMode.SPAN;
+
+            /**
+             * The tasks not creating any span and shorter than it are coalesced in the {@link TaskSpanMode#COALESCE}
+             * mode. Unit, millisecond.
+             */
+            public static long COALESCE_THRESHOLD_MS = 10;
+        }
+    }
+}
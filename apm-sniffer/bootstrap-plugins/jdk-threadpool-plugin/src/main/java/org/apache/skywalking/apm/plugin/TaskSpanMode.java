@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+*/
+
+package org.apache.skywalking.apm.plugin;
+
+/**
+ * How the tasks submitted to the thread pools are traced.
+ */
+public enum TaskSpanMode {
+    /**
+     * Every task creates a local span continuing the context of the submitter.
+     */
+    SPAN,
+    /**
+     * The tasks only carry the context of the submitter, it is continued by the spans the task creates, and nothing is
+     * traced if the task doesn't create any span.
+     */
+    PROPAGATION_ONLY,
+    /**
+     * Same as {@link #PROPAGATION_ONLY}, except that the tasks not creating any span are traced too. The ones shorter
+     * than {@code plugin.jdkthreadpool.coalesce_threshold_ms} are coalesced into one span per submitting span, tagged
+     * by the number of them, the longer ones get a span of their own.
+     */
+    COALESCE
+}
@@ -19,7 +19,6 @@
 package org.apache.skywalking.apm.plugin;
 
 import org.apache.skywalking.apm.plugin.wrapper.SwRunnableWrapper;
-import org.apache.skywalking.apm.agent.core.context.ContextManager;
 import java.util.concurrent.RunnableFuture;
 
 public class ThreadPoolExecuteMethodInterceptor extends AbstractThreadingPoolInterceptor {
@@ -39,7 +38,7 @@ public class ThreadPoolExecuteMethodInterceptor extends AbstractThreadingPoolInt
         }
 
         Runnable runnable = (Runnable) param;
-        return new SwRunnableWrapper(runnable, ContextManager.capture());
+        return wrapRunnable(runnable);
     }
 
 }
@@ -18,11 +18,14 @@
 
 package org.apache.skywalking.apm.plugin;
 
-import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
+import org.apache.skywalking.apm.plugin.wrapper.CoalescedTasks;
 import org.apache.skywalking.apm.plugin.wrapper.SwCallableWrapper;
 import org.apache.skywalking.apm.plugin.wrapper.SwRunnableWrapper;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 public class ThreadPoolSubmitMethodInterceptor extends AbstractThreadingPoolInterceptor {
 
@@ -34,14 +37,28 @@ public class ThreadPoolSubmitMethodInterceptor extends AbstractThreadingPoolInte
 
         if (param instanceof Callable) {
             Callable callable = (Callable) param;
-            return new SwCallableWrapper(callable, ContextManager.capture());
+            return wrapCallable(callable);
         }
 
         if (param instanceof Runnable) {
             Runnable runnable = (Runnable) param;
-            return new SwRunnableWrapper(runnable, ContextManager.capture());
+            return wrapRunnable(runnable);
         }
 
         return null;
     }
+
+    @Override
+    public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes, Object ret) throws Throwable {
+        Object task = allArguments[0];
+        if (JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.TASK_SPAN_MODE == TaskSpanMode.COALESCE
+            && ret instanceof EnhancedInstance && (task instanceof SwRunnableWrapper || task instanceof SwCallableWrapper)) {
+            // let the future abandon the coalesced task when it is cancelled before running
+            ((EnhancedInstance) ret).setSkyWalkingDynamicField(task);
+            if (((Future) ret).isCancelled()) {
+                CoalescedTasks.abandon(task);
+            }
+        }
+        return ret;
+    }
 }
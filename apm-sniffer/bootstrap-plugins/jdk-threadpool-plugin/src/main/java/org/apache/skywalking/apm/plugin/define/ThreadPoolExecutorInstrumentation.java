@@ -37,10 +37,14 @@ public class ThreadPoolExecutorInstrumentation extends ClassInstanceMethodsEnhan
 
     private static final String INTERCEPT_SUBMIT_METHOD = "submit";
 
+    private static final String INTERCEPT_SHUTDOWN_NOW_METHOD = "shutdownNow";
+
     private static final String INTERCEPT_EXECUTE_METHOD_HANDLE = "org.apache.skywalking.apm.plugin.ThreadPoolExecuteMethodInterceptor";
 
     private static final String INTERCEPT_SUBMIT_METHOD_HANDLE = "org.apache.skywalking.apm.plugin.ThreadPoolSubmitMethodInterceptor";
 
+    private static final String INTERCEPT_SHUTDOWN_NOW_METHOD_HANDLE = "org.apache.skywalking.apm.plugin.ThreadPoolShutdownNowMethodInterceptor";
+
     @Override
     public boolean isBootstrapInstrumentation() {
         return true;
@@ -90,6 +94,22 @@ public class ThreadPoolExecutorInstrumentation extends ClassInstanceMethodsEnhan
                     public boolean isOverrideArgs() {
                         return true;
                     }
+                },
+                new InstanceMethodsInterceptPoint() {
+                    @Override
+                    public ElementMatcher<MethodDescription> getMethodsMatcher() {
+                        return ElementMatchers.named(INTERCEPT_SHUTDOWN_NOW_METHOD);
+                    }
+
+                    @Override
+                    public String getMethodsInterceptor() {
+                        return INTERCEPT_SHUTDOWN_NOW_METHOD_HANDLE;
+                    }
+
+                    @Override
+                    public boolean isOverrideArgs() {
+                        return false;
+                    }
                 }
         };
     }
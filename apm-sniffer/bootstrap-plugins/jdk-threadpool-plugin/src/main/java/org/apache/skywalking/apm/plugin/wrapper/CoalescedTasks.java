@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+*/
+
+package org.apache.skywalking.apm.plugin.wrapper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.ContextSnapshot;
+import org.apache.skywalking.apm.agent.core.context.RuntimeContext;
+import org.apache.skywalking.apm.agent.core.context.RuntimeContextSlot;
+import org.apache.skywalking.apm.agent.core.context.tag.AbstractTag;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
+import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
+import org.apache.skywalking.apm.plugin.JDKThreadPoolPluginConfig;
+import org.apache.skywalking.apm.plugin.TaskSpanMode;
+
+/**
+ * The tasks submitted in the same span in the {@link TaskSpanMode#COALESCE} mode, sharing one snapshot of the
+ * submitter. The short tasks not creating any span are counted, and one span for all of them is created when the last
+ * submitted task finishes or is abandoned. The tasks submitted after that join a new one.
+ */
+public class CoalescedTasks {
+    private static final RuntimeContextSlot<CoalescedTasks> SLOT = RuntimeContextSlot.register("SW_COALESCED_TASKS");
+    private static final String OPERATION_NAME = "ThreadPoolExecutor/coalesced";
+    private static final AbstractTag<String> TASK_COUNT = Tags.ofKey("task.count");
+
+    private final AbstractSpan submittingSpan;
+    private final ContextSnapshot snapshot;
+    /**
+     * The submitted tasks not finished yet, no task could join once it reaches 0.
+     */
+    private final AtomicInteger running = new AtomicInteger(1);
+    private final AtomicInteger coalesced = new AtomicInteger();
+    private final AtomicLong startTime = new AtomicLong(Long.MAX_VALUE);
+
+    private CoalescedTasks(AbstractSpan submittingSpan, ContextSnapshot snapshot) {
+        this.submittingSpan = submittingSpan;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Join the tasks submitted in the active span, called by the submitting thread.
+     */
+    public static CoalescedTasks join() {
+        AbstractSpan activeSpan = ContextManager.activeSpan();
+        RuntimeContext runtimeContext = ContextManager.getRuntimeContext();
+        CoalescedTasks tasks = runtimeContext.get(SLOT);
+        if (tasks != null && tasks.submittingSpan == activeSpan && tasks.tryJoin()) {
+            return tasks;
+        }
+        tasks = new CoalescedTasks(activeSpan, ContextManager.capture());
+        runtimeContext.put(SLOT, tasks);
+        return tasks;
+    }
+
+    public ContextSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return true if the current thread runs in the context the snapshot was captured from, such as the submitting
+     * thread running the task by the {@link java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy}. The task is
+     * traced in that context already, so it must not continue the snapshot.
+     */
+    public static boolean inSubmittingContext(ContextSnapshot snapshot) {
+        return ContextManager.isActive() && snapshot.isFromCurrent();
+    }
+
+    /**
+     * Called by the thread running the task after it finished.
+     *
+     * @param operationNamePrefix the operation name prefix of the span of a long task
+     * @param taskStartTime       the start time of the task
+     * @param traced              true if the task created any span
+     */
+    public void finish(String operationNamePrefix, long taskStartTime, boolean traced) {
+        if (!traced) {
+            if (System.currentTimeMillis() - taskStartTime < JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.COALESCE_THRESHOLD_MS) {
+                coalesced.incrementAndGet();
+                startTime.accumulateAndGet(taskStartTime, Math::min);
+            } else {
+                createSpan(operationNamePrefix + Thread.currentThread().getName(), taskStartTime, 1);
+            }
+        }
+        leave();
+    }
+
+    /**
+     * Release the join of a task which will never run, such as rejected, cancelled before running or dropped by
+     * the shutdown of the pool.
+     *
+     * @param task the submitted {@link SwRunnableWrapper} or {@link SwCallableWrapper}, or the future of it
+     */
+    public static void abandon(Object task) {
+        if (task instanceof EnhancedInstance) {
+            task = ((EnhancedInstance) task).getSkyWalkingDynamicField();
+        }
+        if (task instanceof SwRunnableWrapper) {
+            ((SwRunnableWrapper) task).abandon();
+        } else if (task instanceof SwCallableWrapper) {
+            ((SwCallableWrapper) task).abandon();
+        }
+    }
+
+    /**
+     * Called once per joined task, after it finished or when it is abandoned.
+     */
+    void leave() {
+        if (running.decrementAndGet() == 0) {
+            int count = coalesced.get();
+            if (count > 0) {
+                createSpan(OPERATION_NAME, startTime.get(), count);
+            }
+        }
+    }
+
+    private boolean tryJoin() {
+        int current;
+        do {
+            current = running.get();
+            if (current == 0) {
+                return false;
+            }
+        }
+        while (!running.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void createSpan(String operationName, long spanStartTime, int count) {
+        // the last task may leave in the submitting thread, e.g. rejected, where the span is a child of the submitter
+        boolean inSubmittingContext = inSubmittingContext(snapshot);
+        AbstractSpan span = ContextManager.createLocalSpan(operationName);
+        span.start(spanStartTime);
+        span.setComponent(ComponentsDefine.JDK_THREADING);
+        span.tag(TASK_COUNT, String.valueOf(count));
+        if (!inSubmittingContext) {
+            ContextManager.continued(snapshot);
+        }
+        ContextManager.stopSpan(span);
+    }
+}
@@ -22,21 +22,67 @@ import org.apache.skywalking.apm.agent.core.context.ContextManager;
 import org.apache.skywalking.apm.agent.core.context.ContextSnapshot;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
+import org.apache.skywalking.apm.plugin.TaskSpanMode;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 public class SwCallableWrapper implements Callable {
+    private static final String OPERATION_NAME_PREFIX = "SwCallableWrapper/";
+    private static final AtomicIntegerFieldUpdater<SwCallableWrapper> CLAIMED =
+        AtomicIntegerFieldUpdater.newUpdater(SwCallableWrapper.class, "claimed");
 
     private Callable callable;
 
     private ContextSnapshot contextSnapshot;
 
+    private TaskSpanMode mode;
+
+    /**
+     * The tasks coalesced with this one in the {@link TaskSpanMode#COALESCE} mode.
+     */
+    private CoalescedTasks coalescedTasks;
+
+    /**
+     * 1 once the task started or has been abandoned, only the first of them leaves the coalesced tasks.
+     */
+    private volatile int claimed;
+
     public SwCallableWrapper(Callable callable, ContextSnapshot contextSnapshot) {
+        this(callable, contextSnapshot, TaskSpanMode.SPAN, null);
+    }
+
+    public SwCallableWrapper(Callable callable, ContextSnapshot contextSnapshot, TaskSpanMode mode, CoalescedTasks coalescedTasks) {
         this.callable = callable;
         this.contextSnapshot = contextSnapshot;
+        this.mode = mode;
+        this.coalescedTasks = coalescedTasks;
     }
 
     @Override
     public Object call() throws Exception {
+        if (mode != TaskSpanMode.SPAN) {
+            CoalescedTasks joined = coalescedTasks != null && CLAIMED.compareAndSet(this, 0, 1) ? coalescedTasks : null;
+            if (CoalescedTasks.inSubmittingContext(contextSnapshot)) {
+                // run by the submitting thread, traced in the context of the submitter already
+                try {
+                    return callable.call();
+                } finally {
+                    if (joined != null) {
+                        joined.leave();
+                    }
+                }
+            }
+            long startTime = joined == null ? 0 : System.currentTimeMillis();
+            ContextManager.continuedLazily(contextSnapshot);
+            try {
+                return callable.call();
+            } finally {
+                boolean traced = ContextManager.clearLazyContinuation();
+                if (joined != null) {
+                    joined.finish(OPERATION_NAME_PREFIX, startTime, traced);
+                }
+            }
+        }
         AbstractSpan span = ContextManager.createLocalSpan(getOperationName());
         span.setComponent(ComponentsDefine.JDK_THREADING);
         ContextManager.continued(contextSnapshot);
@@ -47,7 +93,16 @@ public class SwCallableWrapper implements Callable {
         }
     }
 
+    /**
+     * Leave the coalesced tasks, as this task will never run. It is ignored once the task started.
+     */
+    public void abandon() {
+        if (coalescedTasks != null && CLAIMED.compareAndSet(this, 0, 1)) {
+            coalescedTasks.leave();
+        }
+    }
+
     private String getOperationName() {
-        return "SwCallableWrapper/" + Thread.currentThread().getName();
+        return OPERATION_NAME_PREFIX + Thread.currentThread().getName();
     }
 }
@@ -22,20 +22,68 @@ import org.apache.skywalking.apm.agent.core.context.ContextManager;
 import org.apache.skywalking.apm.agent.core.context.ContextSnapshot;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
+import org.apache.skywalking.apm.plugin.TaskSpanMode;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 public class SwRunnableWrapper implements Runnable {
+    private static final String OPERATION_NAME_PREFIX = "SwRunnableWrapper/";
+    private static final AtomicIntegerFieldUpdater<SwRunnableWrapper> CLAIMED =
+        AtomicIntegerFieldUpdater.newUpdater(SwRunnableWrapper.class, "claimed");
 
     private Runnable runnable;
 
     private ContextSnapshot contextSnapshot;
 
+    private TaskSpanMode mode;
+
+    /**
+     * The tasks coalesced with this one in the {@link TaskSpanMode#COALESCE} mode.
+     */
+    private CoalescedTasks coalescedTasks;
+
+    /**
+     * 1 once the task started or has been abandoned, only the first of them leaves the coalesced tasks.
+     */
+    private volatile int claimed;
+
     public SwRunnableWrapper(Runnable runnable, ContextSnapshot contextSnapshot) {
+        this(runnable, contextSnapshot, TaskSpanMode.SPAN, null);
+    }
+
+    public SwRunnableWrapper(Runnable runnable, ContextSnapshot contextSnapshot, TaskSpanMode mode, CoalescedTasks coalescedTasks) {
         this.runnable = runnable;
         this.contextSnapshot = contextSnapshot;
+        this.mode = mode;
+        this.coalescedTasks = coalescedTasks;
     }
 
     @Override
     public void run() {
+        if (mode != TaskSpanMode.SPAN) {
+            CoalescedTasks joined = coalescedTasks != null && CLAIMED.compareAndSet(this, 0, 1) ? coalescedTasks : null;
+            if (CoalescedTasks.inSubmittingContext(contextSnapshot)) {
+                // run by the submitting thread, traced in the context of the submitter already
+                try {
+                    runnable.run();
+                } finally {
+                    if (joined != null) {
+                        joined.leave();
+                    }
+                }
+                return;
+            }
+            long startTime = joined == null ? 0 : System.currentTimeMillis();
+            ContextManager.continuedLazily(contextSnapshot);
+            try {
+                runnable.run();
+            } finally {
+                boolean traced = ContextManager.clearLazyContinuation();
+                if (joined != null) {
+                    joined.finish(OPERATION_NAME_PREFIX, startTime, traced);
+                }
+            }
+            return;
+        }
         AbstractSpan span = ContextManager.createLocalSpan(getOperationName());
         span.setComponent(ComponentsDefine.JDK_THREADING);
         ContextManager.continued(contextSnapshot);
@@ -46,7 +94,16 @@ public class SwRunnableWrapper implements Runnable {
         }
     }
 
+    /**
+     * Leave the coalesced tasks, as this task will never run. It is ignored once the task started.
+     */
+    public void abandon() {
+        if (coalescedTasks != null && CLAIMED.compareAndSet(this, 0, 1)) {
+            coalescedTasks.leave();
+        }
+    }
+
     private String getOperationName() {
-        return "SwRunnableWrapper/" + Thread.currentThread().getName();
+        return OPERATION_NAME_PREFIX + Thread.currentThread().getName();
     }
 }
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.wrapper;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractTracingSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
+import org.apache.skywalking.apm.agent.test.helper.SegmentHelper;
+import org.apache.skywalking.apm.agent.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.agent.test.tools.SegmentStorage;
+import org.apache.skywalking.apm.agent.test.tools.SegmentStoragePoint;
+import org.apache.skywalking.apm.agent.test.tools.SpanAssert;
+import org.apache.skywalking.apm.agent.test.tools.TracingSegmentRunner;
+import org.apache.skywalking.apm.plugin.FutureTaskCancelMethodInterceptor;
+import org.apache.skywalking.apm.plugin.JDKThreadPoolPluginConfig;
+import org.apache.skywalking.apm.plugin.TaskSpanMode;
+import org.apache.skywalking.apm.plugin.ThreadPoolExecuteMethodInterceptor;
+import org.apache.skywalking.apm.plugin.ThreadPoolShutdownNowMethodInterceptor;
+import org.apache.skywalking.apm.plugin.ThreadPoolSubmitMethodInterceptor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TracingSegmentRunner.class)
+public class CoalescedTasksTest {
+
+    @SegmentStoragePoint
+    private SegmentStorage segmentStorage;
+
+    @Rule
+    public AgentServiceRule agentServiceRule = new AgentServiceRule();
+
+    @Before
+    public void setUp() {
+        JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.TASK_SPAN_MODE = TaskSpanMode.COALESCE;
+        JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.COALESCE_THRESHOLD_MS = 60_000;
+    }
+
+    @After
+    public void tearDown() {
+        JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.TASK_SPAN_MODE = TaskSpanMode.SPAN;
+        JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.COALESCE_THRESHOLD_MS = 10;
+    }
+
+    @Test
+    public void testJoinTasksOfSameSpan() {
+        ContextManager.createEntrySpan("/submit", null);
+        CoalescedTasks first = CoalescedTasks.join();
+        assertThat(CoalescedTasks.join(), sameInstance(first));
+
+        ContextManager.createLocalSpan("/nested");
+        CoalescedTasks nested = CoalescedTasks.join();
+        assertThat(nested, not(sameInstance(first)));
+        nested.leave();
+        ContextManager.stopSpan();
+
+        first.leave();
+        first.leave();
+        // no task could join once all the joined ones left
+        assertThat(CoalescedTasks.join(), not(sameInstance(first)));
+        ContextManager.stopSpan();
+    }
+
+    @Test
+    public void testAbandonRejectedTask() throws Throwable {
+        ThreadPoolExecuteMethodInterceptor interceptor = new ThreadPoolExecuteMethodInterceptor();
+        ContextManager.createEntrySpan("/submit", null);
+        Object[] finished = arguments(() -> { });
+        interceptor.beforeMethod(null, null, finished, null, null);
+        Object[] rejected = arguments(() -> { });
+        interceptor.beforeMethod(null, null, rejected, null, null);
+        interceptor.handleMethodException(null, null, rejected, null, new RejectedExecutionException());
+        ContextManager.stopSpan();
+
+        runInThread((Runnable) finished[0]);
+
+        assertCoalesced(1);
+    }
+
+    @Test
+    public void testAbandonCancelledFuture() throws Throwable {
+        ThreadPoolSubmitMethodInterceptor interceptor = new ThreadPoolSubmitMethodInterceptor();
+        ContextManager.createEntrySpan("/submit", null);
+        Object[] finished = arguments(() -> { });
+        interceptor.beforeMethod(null, null, finished, null, null);
+        Object[] cancelled = arguments(() -> { });
+        interceptor.beforeMethod(null, null, cancelled, null, null);
+        EnhancedFutureTask future = new EnhancedFutureTask((Runnable) cancelled[0]);
+        interceptor.afterMethod(null, null, cancelled, null, future);
+        ContextManager.stopSpan();
+
+        runInThread((Runnable) finished[0]);
+        assertThat(segmentStorage.getTraceSegments().size(), is(1));
+        new FutureTaskCancelMethodInterceptor().afterMethod(future, null, new Object[] {false}, null, future.cancel(false));
+
+        assertCoalesced(1);
+    }
+
+    @Test
+    public void testAbandonTasksDrainedByShutdownNow() throws Throwable {
+        ContextManager.createEntrySpan("/submit", null);
+        CoalescedTasks coalescedTasks = CoalescedTasks.join();
+        Object[] executed = arguments(() -> { });
+        new ThreadPoolExecuteMethodInterceptor().beforeMethod(null, null, executed, null, null);
+        Object[] submitted = arguments(() -> { });
+        ThreadPoolSubmitMethodInterceptor submitInterceptor = new ThreadPoolSubmitMethodInterceptor();
+        submitInterceptor.beforeMethod(null, null, submitted, null, null);
+        EnhancedFutureTask future = new EnhancedFutureTask((Runnable) submitted[0]);
+        submitInterceptor.afterMethod(null, null, submitted, null, future);
+        coalescedTasks.leave();
+
+        List<Runnable> drained = Arrays.asList((Runnable) executed[0], future);
+        new ThreadPoolShutdownNowMethodInterceptor().afterMethod(null, null, new Object[0], null, drained);
+
+        assertThat(CoalescedTasks.join(), not(sameInstance(coalescedTasks)));
+        ContextManager.stopSpan();
+        // nothing coalesced, as none of them ran
+        assertThat(segmentStorage.getTraceSegments().size(), is(1));
+    }
+
+    @Test
+    public void testRunBySubmittingThread() throws Throwable {
+        ThreadPoolExecuteMethodInterceptor interceptor = new ThreadPoolExecuteMethodInterceptor();
+        ContextManager.createEntrySpan("/submit", null);
+        Object[] callerRuns = arguments(() -> ContextManager.stopSpan(ContextManager.createLocalSpan("/task")));
+        interceptor.beforeMethod(null, null, callerRuns, null, null);
+        ((Runnable) callerRuns[0]).run();
+        ContextManager.stopSpan();
+
+        // traced in the submitting segment, neither continued nor coalesced
+        List<TraceSegment> segments = segmentStorage.getTraceSegments();
+        assertThat(segments.size(), is(1));
+        List<AbstractTracingSpan> spans = SegmentHelper.getSpans(segments.get(0));
+        assertThat(spans.size(), is(2));
+        assertThat(spans.get(0).getOperationName(), is("/task"));
+        assertThat(segments.get(0).getRef(), nullValue());
+    }
+
+    private void assertCoalesced(int count) {
+        List<TraceSegment> segments = segmentStorage.getTraceSegments();
+        assertThat(segments.size(), is(2));
+        List<AbstractTracingSpan> spans = SegmentHelper.getSpans(segments.get(1));
+        assertThat(spans.get(0).getOperationName(), is("ThreadPoolExecutor/coalesced"));
+        SpanAssert.assertTag(spans.get(0), 0, String.valueOf(count));
+    }
+
+    private static Object[] arguments(Runnable task) {
+        return new Object[] {task};
+    }
+
+    private static void runInThread(Runnable task) throws InterruptedException {
+        Thread thread = new Thread(task);
+        thread.start();
+        thread.join();
+    }
+
+    private static class EnhancedFutureTask extends FutureTask<Object> implements EnhancedInstance {
+        private Object dynamicField;
+
+        EnhancedFutureTask(Runnable runnable) {
+            super(runnable, null);
+        }
+
+        @Override
+        public Object getSkyWalkingDynamicField() {
+            return dynamicField;
+        }
+
+        @Override
+        public void setSkyWalkingDynamicField(Object value) {
+            this.dynamicField = value;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.wrapper;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractTracingSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.test.helper.SegmentHelper;
+import org.apache.skywalking.apm.agent.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.agent.test.tools.SegmentStorage;
+import org.apache.skywalking.apm.agent.test.tools.SegmentStoragePoint;
+import org.apache.skywalking.apm.agent.test.tools.SpanAssert;
+import org.apache.skywalking.apm.agent.test.tools.TracingSegmentRunner;
+import org.apache.skywalking.apm.plugin.JDKThreadPoolPluginConfig;
+import org.apache.skywalking.apm.plugin.TaskSpanMode;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TracingSegmentRunner.class)
+public class SwCallableWrapperTest {
+
+    @SegmentStoragePoint
+    private SegmentStorage segmentStorage;
+
+    @Rule
+    public AgentServiceRule agentServiceRule = new AgentServiceRule();
+
+    @After
+    public void tearDown() {
+        JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.COALESCE_THRESHOLD_MS = 10;
+    }
+
+    @Test
+    public void testPropagationOnly() throws Exception {
+        ContextManager.createEntrySpan("/submit", null);
+        FutureTask<Object> traced = new FutureTask<Object>(new SwCallableWrapper(() -> {
+            ContextManager.stopSpan(ContextManager.createLocalSpan("/task"));
+            return "traced";
+        }, ContextManager.capture(), TaskSpanMode.PROPAGATION_ONLY, null));
+        FutureTask<Object> untraced = new FutureTask<Object>(new SwCallableWrapper(
+            () -> "untraced", ContextManager.capture(), TaskSpanMode.PROPAGATION_ONLY, null));
+        ContextManager.stopSpan();
+
+        runInThread(traced);
+        runInThread(untraced);
+
+        assertThat(traced.get(), is("traced"));
+        assertThat(untraced.get(), is("untraced"));
+        List<TraceSegment> segments = segmentStorage.getTraceSegments();
+        assertThat(segments.size(), is(2));
+        assertThat(segments.get(1).getRef(), notNullValue());
+        List<AbstractTracingSpan> spans = SegmentHelper.getSpans(segments.get(1));
+        assertThat(spans.size(), is(1));
+        assertThat(spans.get(0).getOperationName(), is("/task"));
+    }
+
+    @Test
+    public void testCoalesceFailedTasks() throws Exception {
+        JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.COALESCE_THRESHOLD_MS = 60_000;
+        ContextManager.createEntrySpan("/submit", null);
+        FutureTask<Object> succeeded = new FutureTask<Object>(coalesce(() -> "succeeded"));
+        FutureTask<Object> failed = new FutureTask<Object>(coalesce(() -> {
+            throw new IllegalStateException("failed");
+        }));
+        ContextManager.stopSpan();
+
+        runInThread(succeeded);
+        runInThread(failed);
+
+        assertThat(succeeded.get(), is("succeeded"));
+        List<TraceSegment> segments = segmentStorage.getTraceSegments();
+        assertThat(segments.size(), is(2));
+        List<AbstractTracingSpan> spans = SegmentHelper.getSpans(segments.get(1));
+        assertThat(spans.get(0).getOperationName(), is("ThreadPoolExecutor/coalesced"));
+        SpanAssert.assertTag(spans.get(0), 0, "2");
+    }
+
+    @Test
+    public void testAbandonBeforeRunning() throws Exception {
+        JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.COALESCE_THRESHOLD_MS = 60_000;
+        ContextManager.createEntrySpan("/submit", null);
+        SwCallableWrapper abandoned = coalesce(() -> "abandoned");
+        FutureTask<Object> finished = new FutureTask<Object>(coalesce(() -> "finished"));
+        ContextManager.stopSpan();
+
+        runInThread(finished);
+        assertThat(segmentStorage.getTraceSegments().size(), is(1));
+        abandoned.abandon();
+
+        List<TraceSegment> segments = segmentStorage.getTraceSegments();
+        assertThat(segments.size(), is(2));
+        SpanAssert.assertTag(SegmentHelper.getSpans(segments.get(1)).get(0), 0, "1");
+    }
+
+    private static SwCallableWrapper coalesce(Callable callable) {
+        CoalescedTasks coalescedTasks = CoalescedTasks.join();
+        return new SwCallableWrapper(callable, coalescedTasks.getSnapshot(), TaskSpanMode.COALESCE, coalescedTasks);
+    }
+
+    private static void runInThread(Runnable task) throws InterruptedException {
+        Thread thread = new Thread(task);
+        thread.start();
+        thread.join();
+    }
+}
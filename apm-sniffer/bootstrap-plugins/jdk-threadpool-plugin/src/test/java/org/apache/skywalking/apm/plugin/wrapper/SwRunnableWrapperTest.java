@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.wrapper;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractTracingSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.test.helper.SegmentHelper;
+import org.apache.skywalking.apm.agent.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.agent.test.tools.SegmentStorage;
+import org.apache.skywalking.apm.agent.test.tools.SegmentStoragePoint;
+import org.apache.skywalking.apm.agent.test.tools.SpanAssert;
+import org.apache.skywalking.apm.agent.test.tools.TracingSegmentRunner;
+import org.apache.skywalking.apm.plugin.JDKThreadPoolPluginConfig;
+import org.apache.skywalking.apm.plugin.TaskSpanMode;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TracingSegmentRunner.class)
+public class SwRunnableWrapperTest {
+
+    @SegmentStoragePoint
+    private SegmentStorage segmentStorage;
+
+    @Rule
+    public AgentServiceRule agentServiceRule = new AgentServiceRule();
+
+    @After
+    public void tearDown() {
+        JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.COALESCE_THRESHOLD_MS = 10;
+    }
+
+    @Test
+    public void testPropagationOnly() throws InterruptedException {
+        ContextManager.createEntrySpan("/submit", null);
+        SwRunnableWrapper traced = new SwRunnableWrapper(
+            () -> ContextManager.stopSpan(ContextManager.createLocalSpan("/task")), ContextManager.capture(),
+            TaskSpanMode.PROPAGATION_ONLY, null
+        );
+        SwRunnableWrapper untraced = new SwRunnableWrapper(
+            () -> { }, ContextManager.capture(), TaskSpanMode.PROPAGATION_ONLY, null);
+        ContextManager.stopSpan();
+
+        runInThread(traced);
+        runInThread(untraced);
+
+        List<TraceSegment> segments = segmentStorage.getTraceSegments();
+        assertThat(segments.size(), is(2));
+        TraceSegment taskSegment = segments.get(1);
+        assertThat(taskSegment.getRef(), notNullValue());
+        List<AbstractTracingSpan> spans = SegmentHelper.getSpans(taskSegment);
+        assertThat(spans.size(), is(1));
+        assertThat(spans.get(0).getOperationName(), is("/task"));
+    }
+
+    @Test
+    public void testCoalesce() throws InterruptedException {
+        JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.COALESCE_THRESHOLD_MS = 60_000;
+        ContextManager.createEntrySpan("/submit", null);
+        SwRunnableWrapper first = coalesce(() -> { });
+        SwRunnableWrapper second = coalesce(() -> { });
+        ContextManager.stopSpan();
+
+        runInThread(first);
+        assertThat(segmentStorage.getTraceSegments().size(), is(1));
+        runInThread(second);
+
+        List<TraceSegment> segments = segmentStorage.getTraceSegments();
+        assertThat(segments.size(), is(2));
+        assertThat(segments.get(1).getRef(), notNullValue());
+        List<AbstractTracingSpan> spans = SegmentHelper.getSpans(segments.get(1));
+        assertThat(spans.size(), is(1));
+        assertThat(spans.get(0).getOperationName(), is("ThreadPoolExecutor/coalesced"));
+        SpanAssert.assertTag(spans.get(0), 0, "2");
+    }
+
+    @Test
+    public void testLongTaskInCoalesce() throws InterruptedException {
+        JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.COALESCE_THRESHOLD_MS = 0;
+        ContextManager.createEntrySpan("/submit", null);
+        SwRunnableWrapper task = coalesce(() -> { });
+        ContextManager.stopSpan();
+
+        runInThread(task);
+
+        List<TraceSegment> segments = segmentStorage.getTraceSegments();
+        assertThat(segments.size(), is(2));
+        List<AbstractTracingSpan> spans = SegmentHelper.getSpans(segments.get(1));
+        assertThat(spans.get(0).getOperationName().startsWith("SwRunnableWrapper/"), is(true));
+        SpanAssert.assertTag(spans.get(0), 0, "1");
+    }
+
+    @Test
+    public void testAbandonOnlyBeforeRunning() throws InterruptedException {
+        JDKThreadPoolPluginConfig.Plugin.JdkThreadPool.COALESCE_THRESHOLD_MS = 60_000;
+        ContextManager.createEntrySpan("/submit", null);
+        SwRunnableWrapper abandoned = coalesce(() -> { });
+        SwRunnableWrapper finished = coalesce(() -> { });
+        ContextManager.stopSpan();
+
+        abandoned.abandon();
+        runInThread(finished);
+        finished.abandon();
+        // an abandoned task still runs if it is submitted again, without leaving the coalesced tasks twice
+        runInThread(abandoned);
+
+        List<TraceSegment> segments = segmentStorage.getTraceSegments();
+        assertThat(segments.size(), is(2));
+        SpanAssert.assertTag(SegmentHelper.getSpans(segments.get(1)).get(0), 0, "1");
+    }
+
+    private static SwRunnableWrapper coalesce(Runnable runnable) {
+        CoalescedTasks coalescedTasks = CoalescedTasks.join();
+        return new SwRunnableWrapper(runnable, coalescedTasks.getSnapshot(), TaskSpanMode.COALESCE, coalescedTasks);
+    }
+
+    private static void runInThread(Runnable task) throws InterruptedException {
+        Thread thread = new Thread(task);
+        thread.start();
+        thread.join();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdk.virtualthread;
+
+import java.lang.reflect.Method;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.ContextSnapshot;
+import org.apache.skywalking.apm.agent.core.context.ContextStorageMode;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.StaticMethodsAroundInterceptor;
+
+/**
+ * Wrap the task of every new virtual thread, created by {@code Thread.ofVirtual()}, {@code
+ * Thread.startVirtualThread(Runnable)} or the virtual thread executors, to capture the context of the creator thread.
+ */
+public class NewVirtualThreadInterceptor implements StaticMethodsAroundInterceptor {
+    private static final int TASK_INDEX = 3;
+
+    @Override
+    public void beforeMethod(Class clazz, Method method, Object[] allArguments, Class<?>[] parameterTypes,
+        MethodInterceptResult result) {
+        Object task = allArguments[TASK_INDEX];
+        if (!(task instanceof Runnable) || task instanceof VirtualThreadTaskWrapper) {
+            return;
+        }
+        ContextSnapshot snapshot = null;
+        // Avoid duplicate propagation, the task has been enhanced by the threading plugin or the toolkit wrappers.
+        if (ContextManager.isActive() && !(task instanceof EnhancedInstance
+            && ((EnhancedInstance) task).getSkyWalkingDynamicField() instanceof ContextSnapshot)) {
+            snapshot = ContextManager.capture();
+        }
+        // The VIRTUAL_THREAD_AWARE storage needs to know when the virtual thread terminates, even not traced yet.
+        boolean clearContexts = Config.Agent.CONTEXT_STORAGE == ContextStorageMode.VIRTUAL_THREAD_AWARE;
+        if (snapshot != null || clearContexts) {
+            allArguments[TASK_INDEX] = new VirtualThreadTaskWrapper((Runnable) task, snapshot, clearContexts);
+        }
+    }
+
+    @Override
+    public Object afterMethod(Class clazz, Method method, Object[] allArguments, Class<?>[] parameterTypes,
+        Object ret) {
+        return ret;
+    }
+
+    @Override
+    public void handleMethodException(Class clazz, Method method, Object[] allArguments, Class<?>[] parameterTypes,
+        Throwable t) {
+    }
+}
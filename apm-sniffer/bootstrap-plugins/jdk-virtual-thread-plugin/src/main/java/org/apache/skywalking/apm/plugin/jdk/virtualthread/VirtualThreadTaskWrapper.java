@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdk.virtualthread;
+
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.ContextSnapshot;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
+
+/**
+ * The task of a virtual thread, continuing the context of the creator thread. It runs once per virtual thread, the
+ * context stays with the virtual thread when it is unmounted and mounted again on another carrier thread, so the
+ * continuations don't need to be intercepted.
+ */
+public class VirtualThreadTaskWrapper implements Runnable {
+    private static final String OPERATION_NAME = "VirtualThread/run";
+
+    private final Runnable task;
+    private ContextSnapshot snapshot;
+    private final boolean clearContexts;
+
+    /**
+     * @param snapshot      the context of the creator thread, null if it is not traced.
+     * @param clearContexts true to drop the contexts left in the storage when the task ends.
+     */
+    public VirtualThreadTaskWrapper(Runnable task, ContextSnapshot snapshot, boolean clearContexts) {
+        this.task = task;
+        this.snapshot = snapshot;
+        this.clearContexts = clearContexts;
+    }
+
+    @Override
+    public void run() {
+        AbstractSpan span = null;
+        if (snapshot != null) {
+            span = ContextManager.createLocalSpan(OPERATION_NAME);
+            span.setComponent(ComponentsDefine.JDK_THREADING);
+            ContextManager.continued(snapshot);
+            // Release the snapshot, the virtual thread keeps its task until it terminates.
+            snapshot = null;
+        }
+        try {
+            task.run();
+        } catch (Throwable t) {
+            if (span != null) {
+                span.log(t);
+            }
+            throw t;
+        } finally {
+            if (span != null) {
+                ContextManager.stopSpan(span);
+            }
+            if (clearContexts) {
+                ContextManager.clearThreadContexts();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdk.virtualthread.define;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.StaticMethodsInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.ClassStaticMethodsEnhancePluginDefine;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.NameMatch;
+
+import static net.bytebuddy.matcher.ElementMatchers.isStatic;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+/**
+ * Propagate the context into the virtual threads of JDK 21+. All the virtual threads are created by {@code
+ * ThreadBuilders#newVirtualThread(Executor, String, int, Runnable)}. {@code java.lang.VirtualThread} itself can't be
+ * enhanced, it is loaded before the agent starts, and the retransformation can't add the field and the methods of the
+ * enhancement. {@code java.lang.ThreadBuilders} is loaded at the first virtual thread or thread builder, after the
+ * agent starts. It doesn't exist in the older JDK, so the plugin does nothing there.
+ */
+public class ThreadBuildersInstrumentation extends ClassStaticMethodsEnhancePluginDefine {
+
+    private static final String THREAD_BUILDERS_CLASS = "java.lang.ThreadBuilders";
+
+    private static final String NEW_VIRTUAL_THREAD_METHOD = "newVirtualThread";
+    private static final String NEW_VIRTUAL_THREAD_INTERCEPTOR = "org.apache.skywalking.apm.plugin.jdk.virtualthread.NewVirtualThreadInterceptor";
+
+    @Override
+    protected ClassMatch enhanceClass() {
+        return NameMatch.byName(THREAD_BUILDERS_CLASS);
+    }
+
+    @Override
+    public StaticMethodsInterceptPoint[] getStaticMethodsInterceptPoints() {
+        return new StaticMethodsInterceptPoint[]{
+                new StaticMethodsInterceptPoint() {
+                    @Override
+                    public ElementMatcher<MethodDescription> getMethodsMatcher() {
+                        return isStatic().and(named(NEW_VIRTUAL_THREAD_METHOD))
+                                         .and(takesArguments(4))
+                                         .and(takesArgument(3, Runnable.class));
+                    }
+
+                    @Override
+                    public String getMethodsInterceptor() {
+                        return NEW_VIRTUAL_THREAD_INTERCEPTOR;
+                    }
+
+                    @Override
+                    public boolean isOverrideArgs() {
+                        return true;
+                    }
+                }
+        };
+    }
+
+    @Override
+    public boolean isBootstrapInstrumentation() {
+        return true;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdk.virtualthread;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.ContextStorageMode;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractTracingSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.test.helper.SegmentHelper;
+import org.apache.skywalking.apm.agent.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.agent.test.tools.SegmentStorage;
+import org.apache.skywalking.apm.agent.test.tools.SegmentStoragePoint;
+import org.apache.skywalking.apm.agent.test.tools.TracingSegmentRunner;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TracingSegmentRunner.class)
+public class NewVirtualThreadInterceptorTest {
+
+    @SegmentStoragePoint
+    private SegmentStorage segmentStorage;
+
+    @Rule
+    public AgentServiceRule agentServiceRule = new AgentServiceRule();
+
+    private final NewVirtualThreadInterceptor interceptor = new NewVirtualThreadInterceptor();
+
+    @After
+    public void tearDown() {
+        Config.Agent.CONTEXT_STORAGE = ContextStorageMode.THREAD_LOCAL;
+    }
+
+    @Test
+    public void testContinueInTask() throws Throwable {
+        ContextManager.createEntrySpan("/create", null);
+        Object[] arguments = newVirtualThread(() -> ContextManager.stopSpan(ContextManager.createLocalSpan("/task")));
+        ContextManager.stopSpan();
+
+        assertThat(arguments[3], instanceOf(VirtualThreadTaskWrapper.class));
+        runInThread((Runnable) arguments[3]);
+
+        assertTaskSegment();
+    }
+
+    @Test
+    public void testKeepTaskOfUntracedCreator() {
+        Runnable task = () -> { };
+        Object[] arguments = newVirtualThread(task);
+
+        assertThat(arguments[3], sameInstance(task));
+    }
+
+    @Test
+    public void testWrapTaskForVirtualThreadAwareStorage() {
+        Config.Agent.CONTEXT_STORAGE = ContextStorageMode.VIRTUAL_THREAD_AWARE;
+        Object[] arguments = newVirtualThread(() -> { });
+
+        assertThat(arguments[3], instanceOf(VirtualThreadTaskWrapper.class));
+        Object[] wrapped = newVirtualThread((Runnable) arguments[3]);
+        assertThat(wrapped[3], sameInstance(arguments[3]));
+    }
+
+    @Test
+    public void testContinueInRealVirtualThread() throws Throwable {
+        // Only runs on JDK 21+, the interceptor is called the way the enhanced java.lang.ThreadBuilders does.
+        Method startVirtualThread = findStartVirtualThread();
+        Assume.assumeTrue(startVirtualThread != null);
+        AtomicReference<Boolean> virtual = new AtomicReference<>();
+        ContextManager.createEntrySpan("/create", null);
+        Object[] arguments = newVirtualThread(() -> {
+            virtual.set(isVirtual(Thread.currentThread()));
+            ContextManager.stopSpan(ContextManager.createLocalSpan("/task"));
+        });
+        ContextManager.stopSpan();
+
+        Thread thread = (Thread) startVirtualThread.invoke(null, arguments[3]);
+        thread.join();
+
+        assertThat(virtual.get(), is(true));
+        assertTaskSegment();
+    }
+
+    private Object[] newVirtualThread(Runnable task) {
+        Object[] arguments = new Object[] {null, null, 0, task};
+        interceptor.beforeMethod(null, (Method) null, arguments, null, null);
+        return arguments;
+    }
+
+    private void assertTaskSegment() {
+        List<TraceSegment> segments = segmentStorage.getTraceSegments();
+        assertThat(segments.size(), is(2));
+        TraceSegment taskSegment = segments.get(1);
+        assertThat(taskSegment.getRef(), notNullValue());
+        List<AbstractTracingSpan> spans = SegmentHelper.getSpans(taskSegment);
+        assertThat(spans.size(), is(2));
+        assertThat(spans.get(0).getOperationName(), is("/task"));
+        assertThat(spans.get(1).getOperationName(), is("VirtualThread/run"));
+    }
+
+    private static Method findStartVirtualThread() {
+        try {
+            return Thread.class.getMethod("startVirtualThread", Runnable.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static void runInThread(Runnable task) throws InterruptedException {
+        Thread thread = new Thread(task);
+        thread.start();
+        thread.join();
+    }
+}
@@ -67,6 +67,30 @@ public class KafkaReporterPluginConfig {
              * Class name of decoding encoded information in kafka configuration.
              */
             public static String DECODE_CLASS = "";
+
+            /**
+             * <B>compression_type</B>: the `compression.type` of the Kafka producer, such as `gzip`, `lz4`. Empty means
+             * the producer default. Notice it will be overridden by `plugin.kafka.producer_config[compression.type]`.
+             */
+            public static String COMPRESSION_TYPE = "";
+
+            /**
+             * <B>linger_ms</B>: the `linger.ms` of the Kafka producer, negative means the producer default. Notice it
+             * will be overridden by `plugin.kafka.producer_config[linger.ms]`.
+             */
+            public static int LINGER_MS = -1;
+
+            /**
+             * If true, pack multiple segments into one record as a `SegmentCollection`, rather than one `SegmentObject`
+             * per record. The consumer of the segment topic must decode the records as `SegmentCollection`.
+             */
+            public static boolean SEGMENT_BATCH_ENABLE = false;
+
+            /**
+             * The max serialized size of the segments packed into one record, it should be less than the
+             * `max.request.size` of the producer. A segment larger than it is sent in its own record.
+             */
+            public static int SEGMENT_BATCH_MAX_BYTES = 512 * 1024;
         }
     }
 }
@@ -18,10 +18,12 @@
 
 package org.apache.skywalking.apm.agent.core.kafka;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
-import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.utils.Bytes;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
@@ -35,21 +37,29 @@ import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.agent.core.remote.TraceSegmentServiceClient;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.AdaptiveWaitStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.SleepWaitStrategy;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentCollection;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.ADAPTIVE_CONSUMER_WAIT;
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.BUFFER_SIZE;
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.CHANNEL_SIZE;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.CONSUME_CYCLE;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.USE_RING_BUFFER;
 
 /**
- * A tracing segment data reporter.
+ * A tracing segment data reporter. With {@link KafkaReporterPluginConfig.Plugin.Kafka#SEGMENT_BATCH_ENABLE}, the
+ * segments are packed into the records as the length-prefixed `SegmentCollection`, keyed by the trace id of the first
+ * segment, the segments of the same trace are kept together.
  */
 @OverrideImplementor(TraceSegmentServiceClient.class)
 public class KafkaTraceSegmentServiceClient implements BootService, IConsumer<TraceSegment>, TracingContextListener, KafkaConnectionStatusListener {
     private static final ILog LOGGER = LogManager.getLogger(KafkaTraceSegmentServiceClient.class);
 
     private String topic;
-    private KafkaProducer<String, Bytes> producer;
+    private Producer<String, Bytes> producer;
 
     private volatile DataCarrier<TraceSegment> carrier;
 
@@ -62,8 +72,9 @@ public class KafkaTraceSegmentServiceClient implements BootService, IConsumer<Tr
 
     @Override
     public void boot() {
-        carrier = new DataCarrier<>(CHANNEL_SIZE, BUFFER_SIZE, BufferStrategy.IF_POSSIBLE);
-        carrier.consume(this, 1);
+        carrier = new DataCarrier<>(
+            CHANNEL_SIZE, BUFFER_SIZE, USE_RING_BUFFER ? BufferStrategy.RING : BufferStrategy.IF_POSSIBLE);
+        carrier.consume(this, 1, CONSUME_CYCLE, ADAPTIVE_CONSUMER_WAIT ? AdaptiveWaitStrategy.CREATOR : SleepWaitStrategy.CREATOR);
     }
 
     @Override
@@ -87,18 +98,67 @@ public class KafkaTraceSegmentServiceClient implements BootService, IConsumer<Tr
         if (producer == null) {
             return;
         }
+        if (KafkaReporterPluginConfig.Plugin.Kafka.SEGMENT_BATCH_ENABLE) {
+            consumeInBatches(data);
+            return;
+        }
         data.forEach(traceSegment -> {
             SegmentObject upstreamSegment = traceSegment.transform();
-            ProducerRecord<String, Bytes> record = new ProducerRecord<>(
-                topic,
-                upstreamSegment.getTraceSegmentId(),
-                Bytes.wrap(upstreamSegment.toByteArray())
-            );
-            producer.send(record, (m, e) -> {
-                if (Objects.nonNull(e)) {
-                    LOGGER.error("Failed to report TraceSegment.", e);
-                }
-            });
+            send(upstreamSegment.getTraceSegmentId(), upstreamSegment.toByteArray(), 1);
+        });
+    }
+
+    private void consumeInBatches(final List<TraceSegment> data) {
+        List<SegmentObject> segments = new ArrayList<>(data.size());
+        for (TraceSegment traceSegment : data) {
+            segments.add(traceSegment.transform());
+        }
+        segments.sort(Comparator.comparing(SegmentObject::getTraceId));
+
+        int from = 0;
+        int bytes = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            // The serialized size is memoized by the segment for the following write.
+            int size = computeElementSize(segments.get(i).getSerializedSize());
+            if (i > from && bytes + size > KafkaReporterPluginConfig.Plugin.Kafka.SEGMENT_BATCH_MAX_BYTES) {
+                sendBatch(segments.subList(from, i));
+                from = i;
+                bytes = 0;
+            }
+            bytes += size;
+        }
+        if (from < segments.size()) {
+            sendBatch(segments.subList(from, segments.size()));
+        }
+    }
+
+    /**
+     * The collection only refers to the segments, which are serialized straight into one exactly sized array, and the
+     * producer takes the array of {@link Bytes} as is.
+     */
+    private void sendBatch(List<SegmentObject> segments) {
+        byte[] value = SegmentCollection.newBuilder().addAllSegments(segments).build().toByteArray();
+        send(segments.get(0).getTraceId(), value, segments.size());
+    }
+
+    /**
+     * @return the size of a `SegmentCollection.segments` element, the one byte tag and the varint length prefix
+     * included.
+     */
+    static int computeElementSize(int segmentSize) {
+        int lengthPrefixSize = 1;
+        for (int value = segmentSize >>> 7; value != 0; value >>>= 7) {
+            lengthPrefixSize++;
+        }
+        return 1 + lengthPrefixSize + segmentSize;
+    }
+
+    private void send(String key, byte[] value, int segmentNum) {
+        ProducerRecord<String, Bytes> record = new ProducerRecord<>(topic, key, Bytes.wrap(value));
+        producer.send(record, (m, e) -> {
+            if (Objects.nonNull(e)) {
+                LOGGER.error(e, "Failed to report {} TraceSegment(s).", segmentNum);
+            }
         });
     }
 
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.kafka;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.BytesSerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.skywalking.apm.agent.core.context.ids.PropagatedTraceId;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measure the throughput of reporting one consumed batch of 100 segments, in 20 traces, to a {@link MockProducer},
+ * sent one record per segment or packed into the records as `SegmentCollection`.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class KafkaTraceSegmentReportBenchmark {
+
+    @State(Scope.Thread)
+    public static class ReportState {
+        private final KafkaTraceSegmentServiceClient client = new KafkaTraceSegmentServiceClient();
+        private final MockProducer<String, Bytes> producer = new MockProducer<>(
+            true, new StringSerializer(), new BytesSerializer());
+        private final List<TraceSegment> segments = new ArrayList<>();
+
+        @Setup
+        public void setup() throws Exception {
+            for (int i = 0; i < 100; i++) {
+                TraceSegment segment = new TraceSegment();
+                segment.relatedGlobalTrace(new PropagatedTraceId("trace-" + i % 20));
+                segments.add(segment.finish(false));
+            }
+            setField("topic", "skywalking-segments");
+            setField("producer", producer);
+        }
+
+        private void setField(String name, Object value) throws Exception {
+            Field field = KafkaTraceSegmentServiceClient.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(client, value);
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public void recordPerSegment(ReportState state) {
+        KafkaReporterPluginConfig.Plugin.Kafka.SEGMENT_BATCH_ENABLE = false;
+        state.client.consume(state.segments);
+        state.producer.clear();
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public void segmentCollectionRecords(ReportState state) {
+        KafkaReporterPluginConfig.Plugin.Kafka.SEGMENT_BATCH_ENABLE = true;
+        state.client.consume(state.segments);
+        state.producer.clear();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(KafkaTraceSegmentReportBenchmark.class.getSimpleName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.kafka;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.BytesSerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.ids.PropagatedTraceId;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentCollection;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class KafkaTraceSegmentServiceClientTest {
+    private KafkaTraceSegmentServiceClient client;
+    private MockProducer<String, Bytes> producer;
+
+    @Before
+    public void setUp() throws Exception {
+        Config.Agent.SERVICE_NAME = "service";
+        client = new KafkaTraceSegmentServiceClient();
+        producer = new MockProducer<>(true, new StringSerializer(), new BytesSerializer());
+        setField("topic", "skywalking-segments");
+        setField("producer", producer);
+    }
+
+    @After
+    public void tearDown() {
+        KafkaReporterPluginConfig.Plugin.Kafka.SEGMENT_BATCH_ENABLE = false;
+        KafkaReporterPluginConfig.Plugin.Kafka.SEGMENT_BATCH_MAX_BYTES = 512 * 1024;
+    }
+
+    @Test
+    public void testOneRecordPerSegment() throws Exception {
+        List<TraceSegment> segments = newSegments("trace-b", "trace-a", "trace-b");
+        client.consume(segments);
+
+        List<ProducerRecord<String, Bytes>> records = producer.history();
+        assertThat(records.size(), is(3));
+        for (int i = 0; i < records.size(); i++) {
+            SegmentObject segment = SegmentObject.parseFrom(records.get(i).value().get());
+            assertThat(records.get(i).key(), is(segments.get(i).getTraceSegmentId()));
+            assertThat(segment.getTraceSegmentId(), is(segments.get(i).getTraceSegmentId()));
+        }
+    }
+
+    @Test
+    public void testPackSegmentsGroupedByTrace() throws Exception {
+        KafkaReporterPluginConfig.Plugin.Kafka.SEGMENT_BATCH_ENABLE = true;
+        client.consume(newSegments("trace-b", "trace-a", "trace-b", "trace-a"));
+
+        List<ProducerRecord<String, Bytes>> records = producer.history();
+        assertThat(records.size(), is(1));
+        assertThat(records.get(0).key(), is("trace-a"));
+        SegmentCollection collection = SegmentCollection.parseFrom(records.get(0).value().get());
+        List<String> traceIds = new ArrayList<>();
+        collection.getSegmentsList().forEach(segment -> traceIds.add(segment.getTraceId()));
+        assertThat(traceIds, is(Arrays.asList("trace-a", "trace-a", "trace-b", "trace-b")));
+    }
+
+    @Test
+    public void testSplitBatchByMaxBytes() throws Exception {
+        KafkaReporterPluginConfig.Plugin.Kafka.SEGMENT_BATCH_ENABLE = true;
+        List<TraceSegment> segments = newSegments("trace-a", "trace-a", "trace-a", "trace-a", "trace-a");
+        int segmentSize = SegmentCollection.newBuilder()
+                                           .addSegments(segments.get(0).transform())
+                                           .build()
+                                           .getSerializedSize();
+        assertThat(
+            KafkaTraceSegmentServiceClient.computeElementSize(segments.get(0).transform().getSerializedSize()),
+            is(segmentSize)
+        );
+        // Two segments per record at most.
+        KafkaReporterPluginConfig.Plugin.Kafka.SEGMENT_BATCH_MAX_BYTES = segmentSize * 2 + 1;
+        client.consume(segments);
+
+        List<ProducerRecord<String, Bytes>> records = producer.history();
+        assertThat(records.size(), is(3));
+        int total = 0;
+        for (ProducerRecord<String, Bytes> record : records) {
+            total += SegmentCollection.parseFrom(record.value().get()).getSegmentsCount();
+        }
+        assertThat(total, is(5));
+    }
+
+    private List<TraceSegment> newSegments(String... traceIds) {
+        List<TraceSegment> segments = new ArrayList<>(traceIds.length);
+        for (String traceId : traceIds) {
+            TraceSegment segment = new TraceSegment();
+            segment.relatedGlobalTrace(new PropagatedTraceId(traceId));
+            segments.add(segment.finish(false));
+        }
+        return segments;
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        Field field = KafkaTraceSegmentServiceClient.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(client, value);
+    }
+}
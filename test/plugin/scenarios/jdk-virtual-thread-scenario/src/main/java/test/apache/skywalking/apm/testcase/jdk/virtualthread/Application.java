@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.apache.skywalking.apm.testcase.jdk.threading;
+package test.apache.skywalking.apm.testcase.jdk.virtualthread;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@SpringBootApplication
+public class Application {
+
+    public static void main(String[] args) {
+        SpringApplication.run(Application.class, args);
+    }
+
+    @RestController
+    @RequestMapping("/case")
+    static class TestController {
+        private static final String HEALTH_CHECK_URL = "http://localhost:8080/jdk-virtual-thread-scenario/case/healthCheck";
+
+        private final OkHttpClient client = new OkHttpClient();
+
+        @GetMapping("/healthCheck")
+        public String healthCheck() {
+            return "Success";
+        }
+
+        @GetMapping("/virtual-thread")
+        public String virtualThread() throws InterruptedException, ExecutionException {
+            Thread.ofVirtual().start(this::callHealthCheck).join();
+
+            try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+                executorService.submit(this::callHealthCheck).get();
+            }
+            return "Success";
+        }
+
+        private String callHealthCheck() {
+            Request request = new Request.Builder().url(HEALTH_CHECK_URL).build();
+            try (Response response = client.newCall(request).execute()) {
+                return response.body().string();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}